@@ -18,7 +18,6 @@ import static org.talend.dataprep.transformation.actions.datablending.Lookup.Par
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -27,40 +26,41 @@ import org.slf4j.LoggerFactory;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
-import org.talend.dataprep.api.dataset.row.LightweightExportableDataSet;
 import org.talend.dataprep.transformation.actions.PrototypeScope;
 
 /**
- * A default implementation of {@link LookupRowMatcher}.
+ * A default implementation of {@link LookupRowMatcher}, matching rows with the {@link LookupIndex index} of a lookup
+ * data set held by the {@link LookupDatasetsManager}. The index is read until the matcher is {@link #destroy()
+ * destroyed}.
  */
 @PrototypeScope
 public class DefaultLookupRowMatcher implements LookupRowMatcher {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultLookupRowMatcher.class);
 
-    private final LightweightExportableDataSet cache;
-
     private final String datasetId;
 
+    /** The reader of the index of the lookup data set. */
+    private final LookupIndex.Reader index;
+
     private DataSetRow emptyRow;
 
     // Used in dynamic instantiation
     public DefaultLookupRowMatcher(HashMap<String, String> parameters) {
         this.datasetId = parameters.get(LOOKUP_DS_ID.getKey());
-        this.cache = LookupDatasetsManager.get(datasetId);
+        this.index = LookupDatasetsManager.open(datasetId);
 
-        if (cache == null) {
+        if (index == null) {
             throw new IllegalArgumentException("The lookup data set could not be found");
         }
 
-        if (cache.getMetadata() != null) {
-            emptyRow = getEmptyRow(cache.getMetadata().getColumns());
+        final LookupIndex lookup = index.getIndex();
+        if (lookup.getMetadata() != null) {
+            emptyRow = getEmptyRow(lookup.getMetadata().getColumns());
         } else {
             LOGGER.warn("The data set with id '" + datasetId + "' has no metadata");
-            Optional<Map<String, String>> optionalFirstRow = cache.getRecords().values().stream().findFirst();
-            if (optionalFirstRow.isPresent()) {
-                Map<String, String> firstRow = optionalFirstRow.get();
-                List<ColumnMetadata> columns = IntStream.range(0, firstRow.size()).mapToObj(i -> {
+            if (!lookup.isEmpty()) {
+                List<ColumnMetadata> columns = IntStream.range(0, lookup.getFirstRecordSize()).mapToObj(i -> {
                     ColumnMetadata columnMetadata = new ColumnMetadata();
                     columnMetadata.setName("COL" + i);
                     return columnMetadata;
@@ -71,24 +71,29 @@ public class DefaultLookupRowMatcher implements LookupRowMatcher {
                 LOGGER.warn("The data set with id '" + datasetId + "' has no records");
             }
         }
-        if (cache.getRecords().isEmpty()) {
+        if (lookup.isEmpty()) {
             LOGGER.warn("The  lookup data set identified with");
         }
-
     }
 
     @Override
     public DataSetRow getMatchingRow(String joinOn, String joinValue) {
-        Map<String, String> values = cache.getRecords().get(joinValue);
+        Map<String, String> values = index.get(joinValue);
         if (values != null) {
             LOGGER.debug("Looking for value" + joinValue + " and found " + values.values());
-            return new DataSetRow(cache.getMetadata(), values);
+            return new DataSetRow(index.getIndex().getMetadata(), values);
         } else {
             LOGGER.debug("Looking for value" + joinValue + " and found: null");
             return emptyRow;
         }
     }
 
+    /**
+     * Releases the lookup index (called on transformation context cleanup).
+     */
+    public void destroy() {
+        index.close();
+    }
     /**
      * Returns an empty default row based on the given dataset metadata.
      *
@@ -175,7 +175,7 @@ public class Lookup extends AbstractActionMetadata implements DataSetAction {
      * @param parameters the action parameters.
      * @return the list of columns to merge.
      */
-    private List<LookupSelectedColumnParameter> getColsToAdd(Map<String, String> parameters) {
+    static List<LookupSelectedColumnParameter> getColsToAdd(Map<String, String> parameters) {
         List<LookupSelectedColumnParameter> result;
         try {
             final String cols = parameters.get(LOOKUP_SELECTED_COLS.getKey());
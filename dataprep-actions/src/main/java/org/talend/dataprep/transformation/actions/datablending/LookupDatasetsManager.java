@@ -12,18 +12,40 @@
 
 package org.talend.dataprep.transformation.actions.datablending;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.talend.dataprep.api.dataset.LightweightExportableDataSetUtils;
+import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.LightweightExportableDataSet;
 
+/**
+ * Holds the lookup data sets by id. Data sets are only kept as {@link LookupIndex indexes} (records are not kept in the
+ * heap), shared by all the pipelines looking up the same data set. The least recently used indexes are unmapped when
+ * the total size of the mapped ones exceeds the "dataprep.lookup.index.max-bytes" system property (256MB by default),
+ * and mapped again on their next use.
+ */
 public class LookupDatasetsManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LookupDatasetsManager.class);
 
-    private final Map<String, LightweightExportableDataSet> datasets;
+    /** Maximum total size (in bytes) of the mapped lookup indexes. */
+    private static final long INDEXES_MAX_BYTES = Long.getLong("dataprep.lookup.index.max-bytes", 256L * 1024 * 1024);
+
+    /** Lookup indexes by data set id. */
+    private final Map<String, LookupIndex> datasets;
+
+    /** Mapped lookup indexes by data set id, in access order. */
+    private final LinkedHashMap<String, LookupIndex> mapped = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Total size (in bytes) of the mapped lookup indexes. */
+    private long mappedSize;
 
     private static LookupDatasetsManager uniqueInstance;
 
@@ -38,28 +60,111 @@ public class LookupDatasetsManager {
         }
     }
 
-    private Map<String, LightweightExportableDataSet> getDatasets() {
+    private Map<String, LookupIndex> getDatasets() {
         return datasets;
     }
 
-    public static synchronized boolean put(String dataSetId, LightweightExportableDataSet dataSet) {
-        if (uniqueInstance.getDatasets().containsKey(dataSetId)) {
+    /**
+     * Adds a lookup data set. The data set is indexed right away and can be dropped by caller.
+     *
+     * @param dataSetId the lookup data set id.
+     * @param dataSet the lookup data set, its records being mapped by join value.
+     * @return <code>true</code> if the data set was added, <code>false</code> if there's already one with this id.
+     */
+    public static boolean put(String dataSetId, LightweightExportableDataSet dataSet) {
+        if (contains(dataSetId)) {
             LOGGER.debug("The DATASET of id: " + dataSetId + " has already been added");
             return false;
-        } else {
-            LOGGER.debug("Adding the DATASET of id: " + dataSetId);
-            uniqueInstance.getDatasets().put(dataSetId, dataSet);
-            return true;
         }
+        return add(dataSetId, LookupIndex.build(dataSet));
     }
 
-    public static synchronized LightweightExportableDataSet remove(String dataSetId) {
+    /**
+     * Adds a lookup data set read from its JSON content. Records are indexed as they are read, they are never all held
+     * in memory.
+     *
+     * @param dataSetId the lookup data set id.
+     * @param content the JSON content of the data set (metadata and records).
+     * @param joinOn the id of the column to join on.
+     * @return <code>true</code> if the data set was added, <code>false</code> if there's already one with this id.
+     * @throws IOException if the content cannot be read.
+     */
+    public static boolean put(String dataSetId, InputStream content, String joinOn) throws IOException {
+        if (contains(dataSetId)) {
+            LOGGER.debug("The DATASET of id: " + dataSetId + " has already been added");
+            return false;
+        }
+        try (LookupIndex.Builder builder = new LookupIndex.Builder()) {
+            final RowMetadata metadata = LightweightExportableDataSetUtils.parseLookupDataSet(content, joinOn, builder::add);
+            return add(dataSetId, builder.build(metadata));
+        }
+    }
+
+    /**
+     * Removes a lookup data set, deleting its index.
+     *
+     * @param dataSetId the lookup data set id.
+     * @return <code>true</code> if the data set was removed, <code>false</code> if there was none with this id.
+     */
+    public static synchronized boolean remove(String dataSetId) {
         LOGGER.debug("removing the DATASET of id: " + dataSetId);
-        return uniqueInstance.getDatasets().remove(dataSetId);
+        final LookupIndex index = uniqueInstance.getDatasets().remove(dataSetId);
+        if (index == null) {
+            return false;
+        }
+        if (uniqueInstance.mapped.remove(dataSetId) != null) {
+            uniqueInstance.mappedSize -= index.size();
+        }
+        index.close();
+        return true;
     }
 
-    public static LightweightExportableDataSet get(String dataSetId) {
+    /**
+     * Opens a reader on the index of a lookup data set, mapping it if needed.
+     *
+     * @param dataSetId the lookup data set id.
+     * @return a reader of the index of the lookup data set (to be closed once done with it), or <code>null</code> if
+     * there's no such data set.
+     */
+    static synchronized LookupIndex.Reader open(String dataSetId) {
         LOGGER.debug("Retrieving the DATASET of id: " + dataSetId);
-        return uniqueInstance.getDatasets().get(dataSetId);
+        final LookupIndex index = uniqueInstance.getDatasets().get(dataSetId);
+        if (index == null) {
+            return null;
+        }
+        final LookupIndex.Reader reader = index.open();
+        if (uniqueInstance.mapped.put(dataSetId, index) == null) {
+            uniqueInstance.mappedSize += index.size();
+            uniqueInstance.unmapLeastRecentlyUsed();
+        }
+        return reader;
+    }
+
+    private static synchronized boolean contains(String dataSetId) {
+        return uniqueInstance.getDatasets().containsKey(dataSetId);
+    }
+
+    private static synchronized boolean add(String dataSetId, LookupIndex index) {
+        if (uniqueInstance.getDatasets().containsKey(dataSetId)) {
+            // added concurrently
+            LOGGER.debug("The DATASET of id: " + dataSetId + " has already been added");
+            index.close();
+            return false;
+        }
+        LOGGER.debug("Adding the DATASET of id: " + dataSetId);
+        uniqueInstance.getDatasets().put(dataSetId, index);
+        return true;
+    }
+
+    private void unmapLeastRecentlyUsed() {
+        final Iterator<Map.Entry<String, LookupIndex>> iterator = mapped.entrySet().iterator();
+        // Always keep the most recently used index, whatever its size
+        while (mappedSize > INDEXES_MAX_BYTES && mapped.size() > 1) {
+            final Map.Entry<String, LookupIndex> eldest = iterator.next();
+            LOGGER.debug("Unmapping lookup index of {}", eldest.getKey());
+            iterator.remove();
+            mappedSize -= eldest.getValue().size();
+            eldest.getValue().unmap();
+        }
     }
 }
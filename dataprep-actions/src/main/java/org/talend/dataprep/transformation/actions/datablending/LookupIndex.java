@@ -0,0 +1,387 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.actions.datablending;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.LightweightExportableDataSet;
+import org.talend.dataprep.util.SharedMappedBuffer;
+
+/**
+ * A read-only hash table of lookup records (join value -> values of the record) stored in a temporary file, so a
+ * lookup data set does not live in the heap: the index is written while the lookup content is read (see
+ * {@link Builder}) and read through a memory mapping, the operating system paging it in and out as needed.
+ * <p>
+ * File layout is a sequence of entries (join value, number of values, then the column id and value of each value; each
+ * string as an int length, -1 for null, followed by its UTF-8 bytes), followed by an open addressing table of entry
+ * offsets (0 for an empty slot, offset + 1 otherwise).
+ * </p>
+ * <p>
+ * The mapping is created on the first {@link #open()} and shared by all the {@link Reader readers} of the index. It can
+ * be {@link #unmap() dropped} to free address space (the next {@link #open()} maps the file again); actual unmapping
+ * happens once the last reader using it is closed. Instances are thread safe.
+ * </p>
+ */
+class LookupIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LookupIndex.class);
+
+    /** Length written for a null value. */
+    private static final int NULL_LENGTH = -1;
+
+    /** The index file (deleted on {@link #close()}). */
+    private final File file;
+
+    /** The metadata of the lookup data set (may be null). */
+    private final RowMetadata metadata;
+
+    /** Number of values of the first indexed record. */
+    private final int firstRecordSize;
+
+    /** Number of indexed records. */
+    private final int count;
+
+    /** Position of the slot table in the index file. */
+    private final int slotsStart;
+
+    /** Number of slots (a power of 2). */
+    private final int capacity;
+
+    /** The current mapping of the index file, null if not mapped. */
+    private SharedMappedBuffer mapping;
+
+    private boolean closed;
+
+    private LookupIndex(File file, RowMetadata metadata, int firstRecordSize, int count, int slotsStart, int capacity) {
+        this.file = file;
+        this.metadata = metadata;
+        this.firstRecordSize = firstRecordSize;
+        this.count = count;
+        this.slotsStart = slotsStart;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Builds the index of the given lookup data set.
+     *
+     * @param dataSet the lookup data set, its records being mapped by join value.
+     * @return the index of the lookup data set.
+     */
+    static LookupIndex build(LightweightExportableDataSet dataSet) {
+        try (Builder builder = new Builder()) {
+            if (dataSet.getRecords() != null) {
+                dataSet.getRecords().forEach(builder::add);
+            }
+            return builder.build(dataSet.getMetadata());
+        }
+    }
+
+    /**
+     * Maps the index if needed and opens a reader on it.
+     *
+     * @return a reader of the index, to be closed once done with it.
+     */
+    synchronized Reader open() {
+        if (closed) {
+            throw new IllegalStateException("Lookup index " + file + " is closed");
+        }
+        if (mapping == null) {
+            try {
+                mapping = SharedMappedBuffer.map(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to map the lookup index", e);
+            }
+        }
+        mapping.retain();
+        return new Reader(mapping);
+    }
+
+    /**
+     * Drops the mapping of the index file. Opened readers keep reading it until they are closed.
+     */
+    synchronized void unmap() {
+        if (mapping != null) {
+            mapping.release();
+            mapping = null;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the index file is currently mapped.
+     */
+    synchronized boolean isMapped() {
+        return mapping != null;
+    }
+
+    /**
+     * Drops the mapping and deletes the index file. Opened readers keep reading it until they are closed.
+     */
+    synchronized void close() {
+        unmap();
+        closed = true;
+        delete(file);
+    }
+
+    /**
+     * @return the metadata of the lookup data set (may be null).
+     */
+    RowMetadata getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * @return the number of values of the first indexed record (to name columns of a data set without metadata).
+     */
+    int getFirstRecordSize() {
+        return firstRecordSize;
+    }
+
+    /**
+     * @return <code>true</code> if there's no record in the index.
+     */
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @return the size (in bytes) of the index.
+     */
+    long size() {
+        return slotsStart + 4L * capacity;
+    }
+
+    /**
+     * A reader of the index, holding a reference on the mapping it was opened with.
+     */
+    class Reader implements Closeable {
+
+        private final SharedMappedBuffer mapping;
+
+        private boolean released;
+
+        private Reader(SharedMappedBuffer mapping) {
+            this.mapping = mapping;
+        }
+
+        /**
+         * @param joinValue a value of the join column.
+         * @return the values (by column id) of the record matching the join value, or <code>null</code> if there's none.
+         */
+        Map<String, String> get(String joinValue) {
+            if (joinValue == null) {
+                return null;
+            }
+            final byte[] key = joinValue.getBytes(UTF_8);
+            final ByteBuffer view = mapping.view();
+            int slot = joinValue.hashCode() & (capacity - 1);
+            int entry;
+            while ((entry = view.getInt(slotsStart + slot * 4)) != 0) {
+                view.position(entry - 1);
+                if (matches(view, key)) {
+                    final int size = view.getInt();
+                    final Map<String, String> values = new HashMap<>(size * 2);
+                    for (int i = 0; i < size; i++) {
+                        values.put(read(view), read(view));
+                    }
+                    return values;
+                }
+                slot = (slot + 1) & (capacity - 1);
+            }
+            return null;
+        }
+
+        /**
+         * @return the index this reader reads.
+         */
+        LookupIndex getIndex() {
+            return LookupIndex.this;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                mapping.release();
+            }
+        }
+    }
+
+    /**
+     * Writes an index record after record, so records are never held in memory: only the offset and hash of each
+     * entry are kept until the slot table is written.
+     */
+    static class Builder implements Closeable {
+
+        private final File file;
+
+        private final DataOutputStream output;
+
+        private long position;
+
+        private int count;
+
+        private int firstRecordSize;
+
+        private int[] offsets = new int[1024];
+
+        private int[] hashes = new int[1024];
+
+        private boolean built;
+
+        Builder() {
+            try {
+                file = File.createTempFile("lookup-", ".idx");
+                output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to create the lookup index", e);
+            }
+        }
+
+        /**
+         * Adds a record to the index. When several records have the same join value, the last one wins.
+         *
+         * @param joinValue the value of the join column of the record (records without join value are ignored).
+         * @param values the values of the record by column id.
+         */
+        void add(String joinValue, Map<String, String> values) {
+            if (joinValue == null) {
+                return;
+            }
+            if (position >= Integer.MAX_VALUE - 1) {
+                throw new IllegalArgumentException("The lookup data set is too large to be indexed");
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+                hashes = Arrays.copyOf(hashes, count * 2);
+            }
+            if (count == 0) {
+                firstRecordSize = values.size();
+            }
+            offsets[count] = (int) position;
+            hashes[count] = joinValue.hashCode();
+            count++;
+            try {
+                position += write(output, joinValue);
+                output.writeInt(values.size());
+                position += 4;
+                for (Map.Entry<String, String> value : values.entrySet()) {
+                    position += write(output, value.getKey());
+                    position += write(output, value.getValue());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write the lookup index", e);
+            }
+        }
+
+        /**
+         * Writes the slot table and returns the index.
+         *
+         * @param metadata the metadata of the lookup data set.
+         * @return the index of the added records.
+         */
+        LookupIndex build(RowMetadata metadata) {
+            final int capacity = Integer.highestOneBit(Math.max(count, 1) * 2 - 1) << 1;
+            if (position + 4L * capacity > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The lookup data set is too large to be indexed");
+            }
+            final int[] slots = new int[capacity];
+            // Last records first, so they come first in the probe sequence of their join value
+            for (int i = count - 1; i >= 0; i--) {
+                int slot = hashes[i] & (capacity - 1);
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                slots[slot] = offsets[i] + 1;
+            }
+            try {
+                for (int slot : slots) {
+                    output.writeInt(slot);
+                }
+                output.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write the lookup index", e);
+            }
+            built = true;
+            LOGGER.debug("Lookup index of {} records built in {} ({} bytes)", count, file, position + 4L * capacity);
+            return new LookupIndex(file, metadata, firstRecordSize, count, (int) position, capacity);
+        }
+
+        /**
+         * Deletes the index file, unless the index was built.
+         */
+        @Override
+        public void close() {
+            if (!built) {
+                try {
+                    output.close();
+                } catch (IOException e) {
+                    LOGGER.debug("Unable to close lookup index {}", file, e);
+                }
+                delete(file);
+            }
+        }
+    }
+
+    private static int write(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(NULL_LENGTH);
+            return 4;
+        }
+        final byte[] bytes = value.getBytes(UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+        return 4 + bytes.length;
+    }
+
+    private static String read(ByteBuffer view) {
+        final int length = view.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        view.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static boolean matches(ByteBuffer view, byte[] key) {
+        final int length = view.getInt();
+        if (length != key.length) {
+            return false;
+        }
+        final byte[] bytes = new byte[length];
+        view.get(bytes);
+        return Arrays.equals(bytes, key);
+    }
+
+    private static void delete(File file) {
+        if (file != null && !file.delete() && file.exists()) {
+            // still mapped on some platforms
+            file.deleteOnExit();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.actions.datablending;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.talend.dataprep.transformation.actions.datablending.LookupTest.getValuesMap;
+
+import java.io.ByteArrayInputStream;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.row.LightweightExportableDataSet;
+
+public class LookupIndexTest {
+
+    @After
+    public void tearDown() {
+        LookupDatasetsManager.remove("cities");
+    }
+
+    @Test
+    public void shouldReturnValuesOfMatchingRecord() {
+        // given
+        final LookupIndex index = LookupIndex.build(cities(1000));
+
+        // when
+        try (LookupIndex.Reader reader = index.open()) {
+
+            // then
+            for (int i = 0; i < 1000; i++) {
+                final Map<String, String> values = reader.get("city" + i);
+                assertEquals(3, values.size());
+                assertEquals("city" + i, values.get("0000"));
+                assertEquals("name" + i, values.get("0001"));
+                assertEquals(String.valueOf(i * 10), values.get("0002"));
+            }
+            assertNull(reader.get("unknown"));
+            assertNull(reader.get(null));
+        } finally {
+            index.close();
+        }
+    }
+
+    @Test
+    public void shouldReturnLastRecordOfJoinValue() {
+        // given
+        final LookupIndex index;
+        try (LookupIndex.Builder builder = new LookupIndex.Builder()) {
+            builder.add("city0", getValuesMap("city0", "first"));
+            builder.add("city1", getValuesMap("city1", "other"));
+            builder.add("city0", getValuesMap("city0", "last"));
+            index = builder.build(null);
+        }
+
+        // when
+        try (LookupIndex.Reader reader = index.open()) {
+
+            // then
+            assertEquals("last", reader.get("city0").get("0001"));
+            assertEquals("other", reader.get("city1").get("0001"));
+            assertEquals(2, index.getFirstRecordSize());
+        } finally {
+            index.close();
+        }
+    }
+
+    @Test
+    public void shouldIndexStreamedContent() throws Exception {
+        // given
+        final StringBuilder content = new StringBuilder("{\"metadata\":{\"columns\":[" //
+                + "{\"id\":\"0000\",\"name\":\"city\",\"type\":\"string\"}," //
+                + "{\"id\":\"0001\",\"name\":\"name\",\"type\":\"string\"}]},\"records\":[");
+        for (int i = 0; i < 100; i++) {
+            content.append(i == 0 ? "" : ",").append("{\"0000\":\"city").append(i).append("\",\"0001\":\"name").append(i)
+                    .append("\"}");
+        }
+        content.append("]}");
+
+        // when
+        LookupDatasetsManager.put("cities", new ByteArrayInputStream(content.toString().getBytes(UTF_8)), "0000");
+
+        // then
+        try (LookupIndex.Reader reader = LookupDatasetsManager.open("cities")) {
+            assertEquals(2, reader.getIndex().getMetadata().getColumns().size());
+            assertEquals("name42", reader.get("city42").get("0001"));
+            assertNull(reader.get("city100"));
+        }
+    }
+
+    @Test
+    public void shouldKeepReadingUnmappedIndexUntilReaderIsClosed() {
+        // given
+        LookupDatasetsManager.put("cities", cities(10));
+        final LookupIndex.Reader reader = LookupDatasetsManager.open("cities");
+        final LookupIndex index = reader.getIndex();
+
+        // when
+        index.unmap();
+
+        // then
+        assertFalse(index.isMapped());
+        assertEquals("name5", reader.get("city5").get("0001"));
+        reader.close();
+        try (LookupIndex.Reader remapped = LookupDatasetsManager.open("cities")) {
+            assertTrue(index.isMapped());
+            assertEquals("name5", remapped.get("city5").get("0001"));
+        }
+    }
+
+    @Test
+    public void shouldReplaceRemovedDataSet() {
+        // given
+        LookupDatasetsManager.put("cities", cities(10));
+        final LookupIndex.Reader reader = LookupDatasetsManager.open("cities");
+
+        // when
+        assertTrue(LookupDatasetsManager.remove("cities"));
+        LookupDatasetsManager.put("cities", cities(20));
+
+        // then
+        try (LookupIndex.Reader newReader = LookupDatasetsManager.open("cities")) {
+            assertNull(reader.get("city15"));
+            assertEquals("name15", newReader.get("city15").get("0001"));
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static LightweightExportableDataSet cities(int size) {
+        final LightweightExportableDataSet dataSet = new LightweightExportableDataSet();
+        for (int i = 0; i < size; i++) {
+            dataSet.addRecord("city" + i, getValuesMap("city" + i, "name" + i, String.valueOf(i * 10)));
+        }
+        return dataSet;
+    }
+}
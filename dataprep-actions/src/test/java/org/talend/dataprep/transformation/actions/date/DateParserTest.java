@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.text.ParseException;
 import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.util.ArrayList;
@@ -101,6 +102,26 @@ public class DateParserTest extends BaseDateTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void shouldParseMixedFormatColumn() {
+        // given
+        final ColumnMetadata column = ActionMetadataTestUtils.getColumn(Type.DATE);
+        final List<PatternFrequency> patternFrequencies = column.getStatistics().getPatternFrequencies();
+        patternFrequencies.add(new PatternFrequency("yyyy/MM/dd", 10));
+        patternFrequencies.add(new PatternFrequency("MM-dd-yy", 5));
+        final LocalDateTime expected = LocalDate.of(2015, 8, 17).atStartOfDay();
+
+        // when (less frequent pattern gets tried first once it matched more values)
+        for (int i = 0; i < 3; i++) {
+            assertEquals(expected, action.parse("08-17-15", column));
+        }
+
+        // then
+        assertEquals(expected, action.parse("2015/08/17", column));
+        assertEquals(expected, action.parse("08-17-15", column));
+        assertEquals(2, patternFrequencies.size());
+    }
+
     @Test
     public void shouldComputePatternFromDQ() {
         final ColumnMetadata column = ActionMetadataTestUtils.getColumn(Type.DATE);
@@ -18,6 +18,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 import org.apache.commons.io.IOExceptionWithCause;
 import org.apache.commons.lang.StringUtils;
@@ -80,21 +81,20 @@ public class LightweightExportableDataSetUtils {
         }
     }
 
-    private static LightweightExportableDataSet parseRecords(JsonParser jsonParser, RowMetadata rowMetadata, String joinOnColumn)
-            throws IOException {
+    private static void parseRecords(JsonParser jsonParser, String joinOnColumn,
+            BiConsumer<String, Map<String, String>> records) throws IOException {
         try {
-            LightweightExportableDataSet lookupDataset = new LightweightExportableDataSet();
-            lookupDataset.setMetadata(rowMetadata);
+            int count = 0;
             jsonParser.nextToken();
             while (jsonParser.nextToken() != JsonToken.END_ARRAY && !jsonParser.isClosed()) {
                 Map<String, String> values = jsonParser.readValueAs(Map.class);
-                lookupDataset.addRecord(values.get(joinOnColumn), values);
+                records.accept(values.get(joinOnColumn), values);
+                count++;
             }
-            if (lookupDataset.isEmpty()) {
+            if (count == 0) {
                 throw new IllegalArgumentException(
                         "No lookup record has been retrieved when trying to parse the retrieved data set.");
             }
-            return lookupDataset;
         } catch (IOException e) {
             throw new IOExceptionWithCause("Unable to parse and retrieve the records of the data set", e);
         }
@@ -110,13 +110,30 @@ public class LightweightExportableDataSetUtils {
      */
     public static LightweightExportableDataSet parseAndMapLookupDataSet(InputStream inputStream, String joinOnColumn)
             throws IOException {
+        LightweightExportableDataSet lookupDataset = new LightweightExportableDataSet();
+        lookupDataset.setMetadata(parseLookupDataSet(inputStream, joinOnColumn, lookupDataset::addRecord));
+        return lookupDataset;
+    }
+
+    /**
+     * Reads the data set from the specified input stream, handing each record over to the given consumer as soon as it
+     * is read (records are not kept in memory).
+     *
+     * @param inputStream the input stream containing the data set
+     * @param joinOnColumn the column used to join the lookup data set
+     * @param records the consumer of the records (value of the join column, values of the record by column id)
+     * @return the row metadata of the data set
+     * @throws IOException In case of JSON exception related error.
+     */
+    public static RowMetadata parseLookupDataSet(InputStream inputStream, String joinOnColumn,
+            BiConsumer<String, Map<String, String>> records) throws IOException {
         if (inputStream == null) {
             throw new IllegalArgumentException("The provided input stream must not be null");
         }
 
         try (JsonParser jsonParser = mapper.getFactory().createParser(inputStream)) {
-            LightweightExportableDataSet lookupDataset = new LightweightExportableDataSet();
             RowMetadata rowMetadata = new RowMetadata();
+            boolean hasRecords = false;
 
             while (jsonParser.nextToken() != JsonToken.END_OBJECT && !jsonParser.isClosed()) {
                 String currentField = jsonParser.getCurrentName();
@@ -126,14 +143,15 @@ public class LightweightExportableDataSetUtils {
 
                 currentField = jsonParser.getCurrentName();
                 if (StringUtils.equalsIgnoreCase("records", currentField)) {
-                    lookupDataset = parseRecords(jsonParser, rowMetadata, joinOnColumn);
+                    parseRecords(jsonParser, joinOnColumn, records);
+                    hasRecords = true;
                 }
             }
-            if (lookupDataset.isEmpty()) {
+            if (!hasRecords) {
                 throw new IllegalArgumentException(
                         "No lookup data has been retrieved when trying to parse the specified data set .");
             }
-            return lookupDataset;
+            return rowMetadata;
         }
     }
 
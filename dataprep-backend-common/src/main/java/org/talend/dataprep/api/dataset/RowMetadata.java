@@ -48,6 +48,12 @@ public class RowMetadata implements Serializable {
 
     private static final String COLUMN_ID_PATTERN = "0000";
 
+    /** Number of dense slots available for generated column ids (one per value of {@link #COLUMN_ID_PATTERN}). */
+    public static final int MAX_SLOTS = 10000;
+
+    /** Lazily populated cache of generated column ids, indexed by slot. */
+    private static final String[] SLOT_IDS = new String[MAX_SLOTS];
+
     /** List of row metadata. */
     @JsonProperty("columns")
     @JsonDeserialize(using = ColumnContextDeserializer.class)
@@ -302,6 +308,41 @@ public class RowMetadata implements Serializable {
         return clone;
     }
 
+    /**
+     * Returns the dense slot of a column id generated by this class (e.g. "0003" is slot 3). Slots preserve the natural
+     * order of ids: for two generated ids, slot order is the same as <code>String</code> order.
+     *
+     * @param columnId A column id.
+     * @return The slot of the column id, or <code>-1</code> if the column id was not generated by a {@link RowMetadata}.
+     */
+    public static int slotOf(String columnId) {
+        if (columnId == null || columnId.length() != COLUMN_ID_PATTERN.length()) {
+            return -1;
+        }
+        int slot = 0;
+        for (int i = 0; i < columnId.length(); i++) {
+            final char c = columnId.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            slot = slot * 10 + (c - '0');
+        }
+        return slot;
+    }
+
+    /**
+     * @param slot A slot as returned by {@link #slotOf(String)}.
+     * @return The column id for the given slot.
+     */
+    public static String columnIdOf(int slot) {
+        String columnId = SLOT_IDS[slot];
+        if (columnId == null) {
+            columnId = new DecimalFormat(COLUMN_ID_PATTERN).format(slot);
+            SLOT_IDS[slot] = columnId;
+        }
+        return columnId;
+    }
+
     public Schema toSchema() {
         return RowMetadataUtils.toSchema(this);
     }
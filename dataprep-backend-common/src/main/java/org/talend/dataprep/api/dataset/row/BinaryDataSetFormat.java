@@ -0,0 +1,316 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.api.dataset.row;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.*;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p>
+ * A compact binary encoding of a {@link DataSet} used between services, as an alternative to its JSON document. Content
+ * starts with a header (magic number, version, flags) followed by records, each starting with its type:
+ * </p>
+ * <ul>
+ * <li>{@link #METADATA}: the data set metadata as JSON (first record, if any).</li>
+ * <li>{@link #KEY}: declares the next column id.</li>
+ * <li>{@link #ROW}: technical id, then (column index, value) pairs.</li>
+ * <li>{@link #END}: end of content.</li>
+ * </ul>
+ * Numbers are written as variable length longs, strings as length-prefixed UTF-8 bytes. Records may optionally be
+ * compressed.
+ */
+public class BinaryDataSetFormat {
+
+    /** Media type of the binary data set content. */
+    public static final String MEDIA_TYPE = "application/vnd.talend.dataprep.dataset+binary";
+
+    private static final int MAGIC = 0x54445052; // "TDPR"
+
+    private static final int VERSION = 1;
+
+    private static final int COMPRESSED = 1;
+
+    private static final int END = 0;
+
+    private static final int KEY = 1;
+
+    private static final int ROW = 2;
+
+    private static final int METADATA = 3;
+
+    private BinaryDataSetFormat() {
+    }
+
+    /**
+     * Writes the data set (metadata if any, then records) in binary format. Records stream is closed once written.
+     *
+     * @param dataSet The data set to write.
+     * @param output Where to write the data set.
+     * @param mapper The mapper used to write the data set metadata.
+     * @param compression <code>true</code> to compress the records.
+     * @throws IOException If content can't be written.
+     */
+    public static void write(DataSet dataSet, OutputStream output, ObjectMapper mapper, boolean compression)
+            throws IOException {
+        final DataOutputStream header = new DataOutputStream(output);
+        header.writeInt(MAGIC);
+        header.writeByte(VERSION);
+        header.writeByte(compression ? COMPRESSED : 0);
+        header.flush();
+        final Deflater deflater = compression ? new Deflater(Deflater.BEST_SPEED) : null;
+        final DeflaterOutputStream deflaterOutput = compression ? new DeflaterOutputStream(output, deflater, 8192, true)
+                : null;
+        final DataOutputStream data = new DataOutputStream(
+                new BufferedOutputStream(compression ? deflaterOutput : output));
+        try {
+            if (dataSet.getMetadata() != null) {
+                data.writeByte(METADATA);
+                writeString(data, new String(mapper.writeValueAsBytes(dataSet.getMetadata()), UTF_8));
+            }
+            final Map<String, Integer> keys = new HashMap<>();
+            final Stream<DataSetRow> records = dataSet.getRecords() == null ? Stream.empty() : dataSet.getRecords();
+            try {
+                final Iterator<DataSetRow> iterator = records.iterator();
+                while (iterator.hasNext()) {
+                    writeRow(data, iterator.next(), keys);
+                }
+            } finally {
+                records.close();
+            }
+            data.writeByte(END);
+            data.flush();
+            if (deflaterOutput != null) {
+                deflaterOutput.finish();
+            }
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+        output.flush();
+    }
+
+    private static void writeRow(DataOutputStream data, DataSetRow row, Map<String, Integer> keys) throws IOException {
+        final Map<String, Object> values = row.values();
+        Long tdpId = row.getTdpId();
+        int size = 0;
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            final String key = entry.getKey();
+            if (FlagNames.TDP_ID.equals(key)) {
+                // Technical id may be a value of the row (see data set service)
+                if (tdpId == null && entry.getValue() != null) {
+                    tdpId = Long.parseLong(String.valueOf(entry.getValue()));
+                }
+                continue;
+            }
+            if (!keys.containsKey(key)) {
+                keys.put(key, keys.size());
+                data.writeByte(KEY);
+                writeString(data, key);
+            }
+            size++;
+        }
+        data.writeByte(ROW);
+        writeVarLong(data, tdpId == null ? 0 : tdpId + 1);
+        writeVarLong(data, size);
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            if (!FlagNames.TDP_ID.equals(entry.getKey())) {
+                writeVarLong(data, keys.get(entry.getKey()));
+                // null values are read as empty strings (as in JSON content)
+                writeString(data, entry.getValue() == null ? "" : String.valueOf(entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Reads a data set. Content in binary format is decoded from this format, any other content is parsed as the JSON
+     * document of a data set. Records are lazily decoded, so <code>input</code> must remain open (and be closed by
+     * caller) while records are consumed.
+     *
+     * @param input The data set content.
+     * @param mapper The mapper used to read the data set metadata (or the JSON content).
+     * @return The data set.
+     * @throws IOException If content can't be decoded.
+     */
+    public static DataSet read(InputStream input, ObjectMapper mapper) throws IOException {
+        final BufferedInputStream content = new BufferedInputStream(input);
+        content.mark(4);
+        final DataInputStream header = new DataInputStream(content);
+        final int magic;
+        try {
+            magic = header.readInt();
+        } catch (EOFException e) {
+            return DataSet.empty();
+        }
+        if (magic != MAGIC) {
+            content.reset();
+            final JsonParser parser = mapper.getFactory().createParser(content);
+            return mapper.readerFor(DataSet.class).readValue(parser);
+        }
+        final int version = header.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary data set version " + version + ".");
+        }
+        final DataInputStream data;
+        if ((header.readByte() & COMPRESSED) != 0) {
+            data = new DataInputStream(new BufferedInputStream(new InflaterInputStream(content)));
+        } else {
+            data = new DataInputStream(content);
+        }
+        final DataSet dataSet = new DataSet();
+        final BinaryRowIterator iterator = new BinaryRowIterator(data);
+        if (iterator.next == METADATA) {
+            dataSet.setMetadata(mapper.readerFor(DataSetMetadata.class).readValue(readString(data)));
+            iterator.next = -1;
+        }
+        if (dataSet.getMetadata() != null) {
+            iterator.row = new DataSetRow(new RowMetadata(dataSet.getMetadata().getRowMetadata().getColumns()));
+        }
+        final Iterable<DataSetRow> rowIterable = () -> iterator;
+        dataSet.setRecords(StreamSupport.stream(rowIterable.spliterator(), false));
+        return dataSet;
+    }
+
+    /**
+     * Writes a positive long using 7 bits per byte (the high bit indicates more bytes follow).
+     *
+     * @param output Where to write the value.
+     * @param value A positive long.
+     * @throws IOException If value can't be written.
+     */
+    public static void writeVarLong(DataOutput output, long value) throws IOException {
+        long current = value;
+        while ((current & ~0x7FL) != 0) {
+            output.writeByte((int) ((current & 0x7F) | 0x80));
+            current >>>= 7;
+        }
+        output.writeByte((int) current);
+    }
+
+    /**
+     * @param input Where to read the value from.
+     * @return A long written with {@link #writeVarLong(DataOutput, long)}.
+     * @throws IOException If value can't be read.
+     */
+    public static long readVarLong(DataInput input) throws IOException {
+        long value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = input.readByte();
+            value |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Writes a string as its UTF-8 bytes prefixed by their length.
+     *
+     * @param output Where to write the value.
+     * @param value A non null string.
+     * @throws IOException If value can't be written.
+     */
+    public static void writeString(DataOutput output, String value) throws IOException {
+        final byte[] bytes = value.getBytes(UTF_8);
+        writeVarLong(output, bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * @param input Where to read the value from.
+     * @return A string written with {@link #writeString(DataOutput, String)}.
+     * @throws IOException If value can't be read.
+     */
+    public static String readString(DataInput input) throws IOException {
+        final byte[] bytes = new byte[(int) readVarLong(input)];
+        input.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * Decodes rows. The same {@link DataSetRow} instance is cleaned and reused at each iteration (as
+     * {@link org.talend.dataprep.api.dataset.json.DataSetRowIterator} does).
+     */
+    private static class BinaryRowIterator implements Iterator<DataSetRow> {
+
+        private final DataInputStream data;
+
+        private final List<String> keys = new ArrayList<>();
+
+        private DataSetRow row = new DataSetRow(new RowMetadata());
+
+        /** Type of the next record to read (-1 if not read yet). */
+        private int next;
+
+        private BinaryRowIterator(DataInputStream data) throws IOException {
+            this.data = data;
+            this.next = data.read();
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next < 0 || next == KEY) {
+                    if (next == KEY) {
+                        keys.add(readString(data));
+                    }
+                    next = data.read();
+                    if (next < 0) {
+                        // end of content
+                        next = END;
+                    }
+                }
+                return next == ROW;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public DataSetRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                row.clear();
+                final long id = readVarLong(data);
+                row.setTdpId(id == 0 ? null : id - 1);
+                final int size = (int) readVarLong(data);
+                for (int i = 0; i < size; i++) {
+                    final String key = keys.get((int) readVarLong(data));
+                    row.set(key, readString(data));
+                }
+                next = -1;
+                return row;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
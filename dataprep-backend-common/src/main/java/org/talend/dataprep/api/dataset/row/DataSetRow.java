@@ -13,7 +13,6 @@
 
 package org.talend.dataprep.api.dataset.row;
 
-import static java.util.stream.Collectors.joining;
 import static java.util.stream.StreamSupport.stream;
 import static org.talend.dataprep.api.dataset.row.FlagNames.INTERNAL_PROPERTY_PREFIX;
 import static org.talend.dataprep.api.dataset.row.FlagNames.TDP_INVALID;
@@ -31,6 +30,10 @@ import org.talend.dataprep.api.type.Type;
 
 /**
  * A DataSetRow is a row of a dataset. Values in data set row are <b>alphabetically</b> ordered by name.
+ * <p>
+ * Values are stored by column slot (see {@link RowMetadata#slotOf(String)}) and {@link #clone() clones} share values
+ * with the original row until one of them is modified.
+ * </p>
  */
 public class DataSetRow implements Cloneable, Serializable {
 
@@ -51,7 +54,7 @@ public class DataSetRow implements Cloneable, Serializable {
     private RowMetadata rowMetadata;
 
     /** Values of the dataset row. */
-    private Map<String, String> values = new TreeMap<>();
+    private RowValues values = new RowValues();
 
     /** True if this row is deleted. */
     private boolean deleted;
@@ -62,8 +65,11 @@ public class DataSetRow implements Cloneable, Serializable {
     /** Row id */
     private Long rowId;
 
-    /** A structure to speed up invalid related operations */
-    private final Set<String> invalidColumnIds = new HashSet<>();
+    /** Slots of the invalid columns (see {@link RowMetadata#slotOf(String)}). */
+    private BitSet invalidSlots = new BitSet();
+
+    /** Invalid column ids that do not have a slot (lazily created). */
+    private Set<String> invalidColumnIds;
 
     /**
      * Constructor with values.
@@ -112,8 +118,9 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     public DataSetRow set(final String id, final String value) {
         if (TDP_INVALID.equals(id)) {
-            final List<String> ids = Arrays.asList(value.split(","));
-            invalidColumnIds.addAll(ids);
+            for (String invalidColumnId : value.split(",")) {
+                setInvalid(invalidColumnId);
+            }
         } else if (FlagNames.TDP_ID.equals(id)) {
             setTdpId(Long.parseLong(value));
         } else {
@@ -137,6 +144,17 @@ public class DataSetRow implements Cloneable, Serializable {
         }
     }
 
+    /**
+     * Get the value of a column from its slot, without resolving the column id on each call (callers that read the same
+     * columns of many rows resolve slots once).
+     *
+     * @param slot the slot of the column, see {@link RowMetadata#slotOf(String)}.
+     * @return the value as string, <code>null</code> if there is no value in this slot.
+     */
+    public String get(final int slot) {
+        return values.get(slot);
+    }
+
     /**
      * Check if the row is deleted
      */
@@ -170,7 +188,7 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     public Map<String, Object> values() {
 
-        final Map<String, Object> result = new LinkedHashMap<>(values.size() + 1);
+        final Map<String, Object> result = new LinkedHashMap<>((values.size() + 1) * 2);
 
         // put all invalid column ids
         getInternalValues().entrySet().forEach(e -> {
@@ -181,14 +199,14 @@ public class DataSetRow implements Cloneable, Serializable {
 
         // if not old value, no diff to compute
         if (this.oldValue == null) {
-            result.putAll(values);
+            values.forEach(result::put);
             return result;
         }
 
         // row is no more deleted : we write row values with the *NEW* flag
         if (oldValue.isDeleted() && !isDeleted()) {
             result.put(FlagNames.ROW_DIFF_KEY, Flag.NEW.getValue());
-            result.putAll(values);
+            values.forEach(result::put);
         }
         // row has been deleted : we write row values with the *DELETED* flag
         else if (!oldValue.isDeleted() && isDeleted()) {
@@ -203,9 +221,9 @@ public class DataSetRow implements Cloneable, Serializable {
         final Map<String, Object> originalValues = oldValue.values();
 
         // compute the new value (column is not found in old value)
-        values.entrySet().forEach(entry -> {
-            if (!originalValues.containsKey(entry.getKey())) {
-                diff.put(entry.getKey(), Flag.NEW.getValue());
+        values.forEach((id, value) -> {
+            if (!originalValues.containsKey(id)) {
+                diff.put(id, Flag.NEW.getValue());
             }
         });
 
@@ -219,16 +237,16 @@ public class DataSetRow implements Cloneable, Serializable {
         });
 
         // compute the update values (column is still here but value is different)
-        values.entrySet().forEach(entry -> {
-            if (originalValues.containsKey(entry.getKey())) {
-                final Object originalValue = originalValues.get(entry.getKey());
-                if (!StringUtils.equals(entry.getValue(), (String) originalValue)) {
-                    diff.put(entry.getKey(), Flag.UPDATE.getValue());
+        values.forEach((id, value) -> {
+            if (originalValues.containsKey(id)) {
+                final Object originalValue = originalValues.get(id);
+                if (!StringUtils.equals(value, (String) originalValue)) {
+                    diff.put(id, Flag.UPDATE.getValue());
                 }
             }
         });
 
-        result.putAll(values);
+        values.forEach(result::put);
         if (!diff.isEmpty()) {
             result.put(FlagNames.DIFF_KEY, diff);
         }
@@ -253,21 +271,45 @@ public class DataSetRow implements Cloneable, Serializable {
         oldValue = null;
         rowId = null;
         values.clear();
-        invalidColumnIds.clear();
+        invalidSlots.clear();
+        invalidColumnIds = null;
     }
 
     /**
+     * Values are not copied: clone and this row share values until one of them is modified.
+     *
      * @see Cloneable#clone()
      */
     @Override
     public DataSetRow clone() {
-        final DataSetRow clone = new DataSetRow(rowMetadata, values);
-        clone.invalidColumnIds.addAll(invalidColumnIds);
+        final DataSetRow clone = new DataSetRow(rowMetadata);
+        clone.values = values.copy();
+        clone.invalidSlots = (BitSet) invalidSlots.clone();
+        clone.invalidColumnIds = invalidColumnIds == null ? null : new HashSet<>(invalidColumnIds);
         clone.setDeleted(this.isDeleted());
         clone.setTdpId(this.rowId);
         return clone;
     }
 
+    /**
+     * Copies <code>source</code> (values, row metadata, row id, deleted and invalid flags) into this row, reusing the
+     * storage of this row instead of allocating a new one as {@link #clone()} does.
+     *
+     * @param source The row to copy.
+     * @return This row.
+     */
+    public DataSetRow copyFrom(DataSetRow source) {
+        rowMetadata = source.rowMetadata;
+        values.copyFrom(source.values);
+        invalidSlots.clear();
+        invalidSlots.or(source.invalidSlots);
+        invalidColumnIds = source.invalidColumnIds == null ? null : new HashSet<>(source.invalidColumnIds);
+        deleted = source.deleted;
+        oldValue = null;
+        rowId = source.rowId;
+        return this;
+    }
+
     /**
      * Determine if the row should be written
      */
@@ -289,7 +331,8 @@ public class DataSetRow implements Cloneable, Serializable {
         if (o == null || getClass() != o.getClass())
             return false;
         DataSetRow that = (DataSetRow) o;
-        return Objects.equals(deleted, that.deleted) && Objects.equals(values, that.values) && Objects.equals(rowId, that.rowId);
+        return Objects.equals(deleted, that.deleted) && Objects.equals(values.toMap(), that.values.toMap())
+                && Objects.equals(rowId, that.rowId);
     }
 
     /**
@@ -297,7 +340,7 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(deleted, values);
+        return Objects.hash(deleted, values.toMap());
     }
 
     @Override
@@ -329,14 +372,13 @@ public class DataSetRow implements Cloneable, Serializable {
             throw new IllegalArgumentException("Expected " + values.size() + " columns but got " + columns.size());
         }
 
-        Map<String, String> orderedValues = new LinkedHashMap<>();
+        final List<String> ids = new ArrayList<>(columns.size());
         for (ColumnMetadata column : columns) {
-            final String id = column.getId();
-            orderedValues.put(id, values.get(id));
+            ids.add(column.getId());
         }
 
         final DataSetRow dataSetRow = new DataSetRow(rowMetadata);
-        dataSetRow.values = orderedValues;
+        dataSetRow.values = values.select(ids);
         return dataSetRow;
     }
 
@@ -361,11 +403,7 @@ public class DataSetRow implements Cloneable, Serializable {
     public boolean deleteColumnById(String id) {
         rowMetadata.deleteColumnById(id);
 
-        if (values.containsKey(id)) {
-            values.remove(id);
-            return true;
-        }
-        return false;
+        return values.remove(id);
     }
 
     /**
@@ -377,7 +415,7 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     @SafeVarargs
     public final String[] toArray(Predicate<Map.Entry<String, String>>... filters) {
-        Stream<Map.Entry<String, String>> stream = stream(values.entrySet().spliterator(), false);
+        Stream<Map.Entry<String, String>> stream = stream(values.toMap().entrySet().spliterator(), false);
         // Apply filters
         for (Predicate<Map.Entry<String, String>> filter : filters) {
             stream = stream.filter(filter);
@@ -389,6 +427,24 @@ public class DataSetRow implements Cloneable, Serializable {
         return strings.toArray(new String[strings.size()]);
     }
 
+    /**
+     * Returns values of <code>columns</code> (in the order of <code>columns</code>) as an array of Strings. This is
+     * equivalent to <code>filter(columns).order(columns).toArray(SKIP_TDP_ID)</code> without creating intermediate rows.
+     *
+     * @param columns The columns to get values from.
+     * @param buffer An array to reuse if it has the size of <code>columns</code>, may be <code>null</code>.
+     * @return <code>buffer</code> filled with the values if it has the size of <code>columns</code>, a new array
+     * otherwise.
+     */
+    public String[] toArray(List<ColumnMetadata> columns, String[] buffer) {
+        final int size = columns.size();
+        final String[] array = buffer != null && buffer.length == size ? buffer : new String[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = String.valueOf(get(columns.get(i).getId()));
+        }
+        return array;
+    }
+
     public Long getTdpId() {
         return rowId;
     }
@@ -402,7 +458,7 @@ public class DataSetRow implements Cloneable, Serializable {
      * <code>false</code> otherwise.
      */
     public boolean isEmpty() {
-        return values.isEmpty() || values.values().stream().filter(s -> !StringUtils.isEmpty(s)).count() == 0;
+        return values.isEmpty() || values.toMap().values().stream().filter(s -> !StringUtils.isEmpty(s)).count() == 0;
     }
 
     /**
@@ -419,18 +475,20 @@ public class DataSetRow implements Cloneable, Serializable {
 
     public DataSetRow filter(List<ColumnMetadata> filteredColumns) {
         final Set<String> columnsToKeep = filteredColumns.stream().map(ColumnMetadata::getId).collect(Collectors.toSet());
-        final Set<String> columnsToDelete = values.entrySet().stream()
-                .filter(e -> !columnsToKeep.contains(e.getKey())) //
-                .map(Map.Entry::getKey)
+        final Map<String, String> filteredValues = values.toMap();
+        final Set<String> columnsToDelete = filteredValues.keySet().stream() //
+                .filter(id -> !columnsToKeep.contains(id)) //
                 .collect(Collectors.toSet());
         final RowMetadata rowMetadataClone = rowMetadata.clone();
-        final LinkedHashMap<String, String> filteredValues = new LinkedHashMap<>(this.values);
         for (String columnId : columnsToDelete) {
             filteredValues.remove(columnId);
             rowMetadataClone.deleteColumnById(columnId);
         }
         final DataSetRow filteredDataSetRow = new DataSetRow(rowMetadataClone, filteredValues);
-        filteredDataSetRow.invalidColumnIds.addAll(invalidColumnIds);
+        filteredDataSetRow.invalidSlots.or(invalidSlots);
+        if (invalidColumnIds != null) {
+            filteredDataSetRow.invalidColumnIds = new HashSet<>(invalidColumnIds);
+        }
         return filteredDataSetRow;
     }
 
@@ -441,8 +499,21 @@ public class DataSetRow implements Cloneable, Serializable {
      * @return <code>true</code> if column is marked as invalid in row, <code>false</code> otherwise or if column does not exist.
      */
     public boolean isInvalid(String columnId) {
-        final String currentInvalidColumnIds = get(TDP_INVALID);
-        return currentInvalidColumnIds != null && currentInvalidColumnIds.contains(columnId);
+        final int slot = RowMetadata.slotOf(columnId);
+        if (slot >= 0) {
+            return invalidSlots.get(slot);
+        }
+        return invalidColumnIds != null && invalidColumnIds.contains(columnId);
+    }
+
+    /**
+     * Check if a column has an invalid value in this row, from the slot of the column.
+     *
+     * @param slot the slot of the column, see {@link RowMetadata#slotOf(String)}.
+     * @return <code>true</code> if column is marked as invalid in row, <code>false</code> otherwise.
+     */
+    public boolean isInvalid(int slot) {
+        return invalidSlots.get(slot);
     }
 
     /**
@@ -452,7 +523,15 @@ public class DataSetRow implements Cloneable, Serializable {
      * @see #unsetInvalid(String)
      */
     public void setInvalid(String columnId) {
-        invalidColumnIds.add(columnId);
+        final int slot = RowMetadata.slotOf(columnId);
+        if (slot >= 0) {
+            invalidSlots.set(slot);
+        } else {
+            if (invalidColumnIds == null) {
+                invalidColumnIds = new HashSet<>();
+            }
+            invalidColumnIds.add(columnId);
+        }
     }
 
     /**
@@ -462,7 +541,12 @@ public class DataSetRow implements Cloneable, Serializable {
      * @see #setInvalid(String)
      */
     public void unsetInvalid(String columnId) {
-        invalidColumnIds.remove(columnId);
+        final int slot = RowMetadata.slotOf(columnId);
+        if (slot >= 0) {
+            invalidSlots.clear(slot);
+        } else if (invalidColumnIds != null) {
+            invalidColumnIds.remove(columnId);
+        }
     }
 
     /**
@@ -470,8 +554,23 @@ public class DataSetRow implements Cloneable, Serializable {
      * @see FlagNames
      */
     public Map<String, String> getInternalValues() {
+        final StringBuilder invalid = new StringBuilder();
+        for (int slot = invalidSlots.nextSetBit(0); slot >= 0; slot = invalidSlots.nextSetBit(slot + 1)) {
+            if (invalid.length() > 0) {
+                invalid.append(',');
+            }
+            invalid.append(RowMetadata.columnIdOf(slot));
+        }
+        if (invalidColumnIds != null) {
+            for (String invalidColumnId : invalidColumnIds) {
+                if (invalid.length() > 0) {
+                    invalid.append(',');
+                }
+                invalid.append(invalidColumnId);
+            }
+        }
         final Map<String, String> internalValues = new HashMap<>(1);
-        internalValues.put(TDP_INVALID, invalidColumnIds.stream().collect(joining(",")));
+        internalValues.put(TDP_INVALID, invalid.toString());
         return internalValues;
     }
 
@@ -518,11 +617,26 @@ public class DataSetRow implements Cloneable, Serializable {
             return delegate.get(id);
         }
 
+        @Override
+        public String get(int slot) {
+            return delegate.get(slot);
+        }
+
         @Override
         public boolean isDeleted() {
             return deleted;
         }
 
+        @Override
+        public boolean isInvalid(String columnId) {
+            return delegate.isInvalid(columnId);
+        }
+
+        @Override
+        public boolean isInvalid(int slot) {
+            return delegate.isInvalid(slot);
+        }
+
         @Override
         public void setDeleted(boolean deleted) {
             // UnmodifiableDataSetRow means unmodifiable
@@ -26,6 +26,16 @@ public class InvalidMarker implements Function<DataSetRow, DataSetRow> {
      */
     private final List<ColumnMetadata> columns;
 
+    /**
+     * Values of the current row (reused from one row to another)
+     */
+    private String[] values;
+
+    /**
+     * The columns with a new invalid value in the current row (reused from one row to another)
+     */
+    private final BitSet invalidBitSet = new BitSet();
+
     public InvalidMarker(List<ColumnMetadata> columns, Analyzer<Analyzers.Result> analyzer) {
         this.columns = columns;
         this.invalidCount = new long[columns.size()];
@@ -35,12 +45,12 @@ public class InvalidMarker implements Function<DataSetRow, DataSetRow> {
     @Override
     public DataSetRow apply(DataSetRow dataSetRow) {
         // get the analyze from beginning
-        final String[] values = dataSetRow.filter(columns).order(columns).toArray(DataSetRow.SKIP_TDP_ID);
+        values = dataSetRow.toArray(columns, values);
         analyzer.analyze(values);
         final List<Analyzers.Result> columnsAnalysis = analyzer.getResult();
 
         // we will mark the columns that has a new invalid
-        final BitSet invalidBitSet = new BitSet(values.length);
+        invalidBitSet.clear();
 
         // update the invalid count for each columns and mark those that have new invalids
         for (int i = 0; i < columnsAnalysis.size(); i++) {
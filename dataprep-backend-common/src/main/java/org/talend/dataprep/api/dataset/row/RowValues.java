@@ -0,0 +1,272 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.api.dataset.row;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+import org.talend.dataprep.api.dataset.RowMetadata;
+
+/**
+ * Values storage for {@link DataSetRow}. Values of generated column ids (see {@link RowMetadata#slotOf(String)}) are
+ * stored in an array indexed by slot, all other ids go to an overflow map.
+ * <p>
+ * Values are iterated in natural (alphabetical) order of ids unless an explicit order was set with
+ * {@link #select(List)}. Copies made with {@link #copy()} share storage with the original until one of them is modified
+ * (copy-on-write).
+ * </p>
+ */
+final class RowValues implements Serializable {
+
+    /** Serialization UID. */
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] NO_VALUES = new String[0];
+
+    /** Values of generated column ids, indexed by slot. */
+    private String[] slots = NO_VALUES;
+
+    /** Slots holding a value (a value may be <code>null</code>). */
+    private BitSet present = new BitSet();
+
+    /** Values for ids that do not have a slot (lazily created). */
+    private TreeMap<String, String> others;
+
+    /** Explicit iteration order, <code>null</code> for natural order. */
+    private List<String> order;
+
+    /** Number of values. */
+    private int size;
+
+    /** <code>true</code> if storage is (possibly) shared with another instance. */
+    private boolean shared;
+
+    /**
+     * @return A copy of these values, storage is shared until one of the instances is modified.
+     */
+    RowValues copy() {
+        final RowValues copy = new RowValues();
+        copy.slots = slots;
+        copy.present = present;
+        copy.others = others;
+        copy.order = order;
+        copy.size = size;
+        copy.shared = true;
+        shared = true;
+        return copy;
+    }
+
+    /**
+     * Replaces these values with a copy of <code>source</code>, reusing the storage of these values when it is not
+     * shared.
+     *
+     * @param source The values to copy.
+     */
+    void copyFrom(RowValues source) {
+        if (shared) {
+            slots = NO_VALUES;
+            present = new BitSet();
+            others = null;
+            order = null;
+            shared = false;
+        }
+        if (slots.length < source.slots.length) {
+            slots = new String[source.slots.length];
+        } else {
+            Arrays.fill(slots, source.slots.length, slots.length, null);
+        }
+        System.arraycopy(source.slots, 0, slots, 0, source.slots.length);
+        present.clear();
+        present.or(source.present);
+        if (others != null) {
+            others.clear();
+        }
+        if (source.others != null && !source.others.isEmpty()) {
+            if (others == null) {
+                others = new TreeMap<>();
+            }
+            others.putAll(source.others);
+        }
+        if (source.order == null) {
+            order = null;
+        } else if (order == null) {
+            order = new ArrayList<>(source.order);
+        } else {
+            order.clear();
+            order.addAll(source.order);
+        }
+        size = source.size;
+    }
+
+    String get(String id) {
+        final int slot = RowMetadata.slotOf(id);
+        if (slot >= 0) {
+            return get(slot);
+        }
+        return others == null ? null : others.get(id);
+    }
+
+    String get(int slot) {
+        return slot < slots.length ? slots[slot] : null;
+    }
+
+    boolean containsKey(String id) {
+        final int slot = RowMetadata.slotOf(id);
+        if (slot >= 0) {
+            return present.get(slot);
+        }
+        return others != null && others.containsKey(id);
+    }
+
+    void put(String id, String value) {
+        ensureOwned();
+        final int slot = RowMetadata.slotOf(id);
+        final boolean added;
+        if (slot >= 0) {
+            if (slot >= slots.length) {
+                slots = Arrays.copyOf(slots, Math.min(RowMetadata.MAX_SLOTS, Math.max(slot + 1, slots.length * 2)));
+            }
+            added = !present.get(slot);
+            present.set(slot);
+            slots[slot] = value;
+        } else {
+            if (others == null) {
+                others = new TreeMap<>();
+            }
+            added = !others.containsKey(id);
+            others.put(id, value);
+        }
+        if (added) {
+            size++;
+            if (order != null) {
+                order.add(id);
+            }
+        }
+    }
+
+    boolean remove(String id) {
+        if (!containsKey(id)) {
+            return false;
+        }
+        ensureOwned();
+        final int slot = RowMetadata.slotOf(id);
+        if (slot >= 0) {
+            present.clear(slot);
+            slots[slot] = null;
+        } else {
+            others.remove(id);
+        }
+        size--;
+        if (order != null) {
+            order.remove(id);
+        }
+        return true;
+    }
+
+    void clear() {
+        if (shared) {
+            slots = new String[slots.length];
+            present = new BitSet();
+            others = null;
+            order = order == null ? null : new ArrayList<>();
+            shared = false;
+        } else {
+            Arrays.fill(slots, null);
+            present.clear();
+            if (others != null) {
+                others.clear();
+            }
+            if (order != null) {
+                order.clear();
+            }
+        }
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param ids The ids to select, in iteration order.
+     * @return New values that only contain <code>ids</code> and iterate values in the order of <code>ids</code>. Ids
+     * without value in these values are selected with a <code>null</code> value.
+     */
+    RowValues select(List<String> ids) {
+        final RowValues selected = new RowValues();
+        selected.order = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            selected.put(id, get(id));
+        }
+        return selected;
+    }
+
+    /**
+     * Performs the given action for each value in iteration order.
+     *
+     * @param action The action to be performed for each id and value.
+     */
+    void forEach(BiConsumer<String, String> action) {
+        if (order != null) {
+            for (String id : order) {
+                action.accept(id, get(id));
+            }
+            return;
+        }
+        final Iterator<Map.Entry<String, String>> iterator = others == null ? Collections.emptyIterator()
+                : others.entrySet().iterator();
+        Map.Entry<String, String> other = iterator.hasNext() ? iterator.next() : null;
+        for (int slot = present.nextSetBit(0); slot >= 0; slot = present.nextSetBit(slot + 1)) {
+            final String id = RowMetadata.columnIdOf(slot);
+            while (other != null && other.getKey().compareTo(id) < 0) {
+                action.accept(other.getKey(), other.getValue());
+                other = iterator.hasNext() ? iterator.next() : null;
+            }
+            action.accept(id, slots[slot]);
+        }
+        while (other != null) {
+            action.accept(other.getKey(), other.getValue());
+            other = iterator.hasNext() ? iterator.next() : null;
+        }
+    }
+
+    /**
+     * @return A snapshot of the values as a map with the same iteration order.
+     */
+    Map<String, String> toMap() {
+        final Map<String, String> map = new LinkedHashMap<>(size * 2);
+        forEach(map::put);
+        return map;
+    }
+
+    private void ensureOwned() {
+        if (shared) {
+            slots = slots.clone();
+            present = (BitSet) present.clone();
+            others = others == null ? null : new TreeMap<>(others);
+            order = order == null ? null : new ArrayList<>(order);
+            shared = false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
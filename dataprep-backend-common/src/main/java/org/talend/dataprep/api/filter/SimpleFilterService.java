@@ -15,12 +15,18 @@ package org.talend.dataprep.api.filter;
 import static org.apache.commons.lang.StringUtils.isEmpty;
 import static org.talend.dataprep.util.NumericHelper.isBigDecimal;
 
+import java.text.Format;
 import java.text.ParseException;
 import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
 import java.util.function.Predicate;
 
 import org.apache.commons.lang.StringUtils;
@@ -75,6 +81,25 @@ public class SimpleFilterService implements FilterService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleFilterService.class);
 
+    /** Maximum number of parsed filters kept in {@link #PARSED_FILTERS}. */
+    private static final int MAX_PARSED_FILTERS = 100;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Parsed filters by filter string (most recently used ones), as the same filter is built for each page, preview,
+     * aggregation or export of a content. Predicates themselves are not cached: they depend on the (mutable)
+     * {@link RowMetadata} given to {@link #build(String, RowMetadata)}.
+     */
+    private static final Map<String, JsonNode> PARSED_FILTERS = Collections
+            .synchronizedMap(new LinkedHashMap<String, JsonNode>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, JsonNode> eldest) {
+                    return size() > MAX_PARSED_FILTERS;
+                }
+            });
+
     private final DateManipulator dateManipulator = new DateManipulator();
 
     private DateParser dateParser;
@@ -96,8 +121,11 @@ public class SimpleFilterService implements FilterService {
             return r -> true;
         }
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            final JsonNode root = mapper.reader().readTree(filterAsString);
+            JsonNode root = PARSED_FILTERS.get(filterAsString);
+            if (root == null) {
+                root = MAPPER.reader().readTree(filterAsString);
+                PARSED_FILTERS.put(filterAsString, root);
+            }
             final Iterator<JsonNode> elements = root.elements();
             if (!elements.hasNext()) {
                 throw new IllegalArgumentException("Malformed filter: " + filterAsString);
@@ -257,15 +285,9 @@ public class SimpleFilterService implements FilterService {
      */
     private Predicate<DataSetRow> createEqualsPredicate(final JsonNode node, final String columnId, final String value) {
         checkValidValue(node, value);
-        return r -> {
-            if (StringUtils.equals(r.get(columnId), value)) {
-                return true;
-            } else {
-                return isBigDecimal(r.get(columnId)) //
-                        && isBigDecimal(value) //
-                        && NumberUtils.compare(toBigDecimal(r.get(columnId)), toBigDecimal(value)) == 0;
-            }
-        };
+        final Predicate<DataSetRow> numberEquals = createNumberPredicate(columnId, value, comparison -> comparison == 0);
+        final Function<DataSetRow, String> columnValue = valueOf(columnId);
+        return r -> StringUtils.equals(columnValue.apply(r), value) || numberEquals.test(r);
     }
 
     /**
@@ -278,9 +300,7 @@ public class SimpleFilterService implements FilterService {
      */
     private Predicate<DataSetRow> createGreaterThanPredicate(final JsonNode node, final String columnId, final String value) {
         checkValidValue(node, value);
-        return r -> isBigDecimal(r.get(columnId)) //
-                && isBigDecimal(value) //
-                && toBigDecimal(r.get(columnId)) > toBigDecimal(value);
+        return createNumberPredicate(columnId, value, comparison -> comparison > 0);
     }
 
     /**
@@ -293,9 +313,7 @@ public class SimpleFilterService implements FilterService {
      */
     private Predicate<DataSetRow> createLowerThanPredicate(final JsonNode node, final String columnId, final String value) {
         checkValidValue(node, value);
-        return r -> isBigDecimal(r.get(columnId)) //
-                && isBigDecimal(value) //
-                && toBigDecimal(r.get(columnId)) < toBigDecimal(value);
+        return createNumberPredicate(columnId, value, comparison -> comparison < 0);
     }
 
     /**
@@ -308,9 +326,7 @@ public class SimpleFilterService implements FilterService {
      */
     private Predicate<DataSetRow> createGreaterOrEqualsPredicate(final JsonNode node, final String columnId, final String value) {
         checkValidValue(node, value);
-        return r -> isBigDecimal(r.get(columnId)) //
-                && isBigDecimal(value) //
-                && toBigDecimal(r.get(columnId)) >= toBigDecimal(value);
+        return createNumberPredicate(columnId, value, comparison -> comparison >= 0);
     }
 
     /**
@@ -323,9 +339,31 @@ public class SimpleFilterService implements FilterService {
      */
     private Predicate<DataSetRow> createLowerOrEqualsPredicate(final JsonNode node, final String columnId, final String value) {
         checkValidValue(node, value);
-        return r -> isBigDecimal(r.get(columnId)) //
-                && isBigDecimal(value) //
-                && toBigDecimal(r.get(columnId)) <= toBigDecimal(value);
+        return createNumberPredicate(columnId, value, comparison -> comparison <= 0);
+    }
+
+    /**
+     * Create a predicate that compares the var to a value as numbers. The value is parsed once, when the predicate is
+     * created.
+     *
+     * @param columnId The column id
+     * @param value The compare value
+     * @param comparison Test of the result of the comparison between the var and the value (as in
+     * {@link NumberUtils#compare(double, double)})
+     * @return The number comparison predicate (always false if value is not a number)
+     */
+    private Predicate<DataSetRow> createNumberPredicate(final String columnId, final String value,
+            final IntPredicate comparison) {
+        if (!isBigDecimal(value)) {
+            return r -> false;
+        }
+        final double comparedValue = toBigDecimal(value);
+        final Function<DataSetRow, String> valueOfColumn = valueOf(columnId);
+        return r -> {
+            final String columnValue = valueOfColumn.apply(r);
+            return isBigDecimal(columnValue) //
+                    && comparison.test(NumberUtils.compare(toBigDecimal(columnValue), comparedValue));
+        };
     }
 
     /**
@@ -338,7 +376,8 @@ public class SimpleFilterService implements FilterService {
      */
     private Predicate<DataSetRow> createContainsPredicate(final JsonNode node, final String columnId, final String value) {
         checkValidValue(node, value);
-        return r -> StringUtils.containsIgnoreCase(r.get(columnId), value);
+        final Function<DataSetRow, String> columnValue = valueOf(columnId);
+        return r -> StringUtils.containsIgnoreCase(columnValue.apply(r), value);
     }
 
     /**
@@ -351,7 +390,9 @@ public class SimpleFilterService implements FilterService {
      */
     private Predicate<DataSetRow> createMatchesPredicate(final JsonNode node, final String columnId, final String value) {
         checkValidValue(node, value);
-        return r -> matches(r.get(columnId), value);
+        final Predicate<String> matcher = createMatcher(value);
+        final Function<DataSetRow, String> columnValue = valueOf(columnId);
+        return r -> matcher.test(columnValue.apply(r));
     }
 
     /**
@@ -361,7 +402,7 @@ public class SimpleFilterService implements FilterService {
      * @return The invalid value predicate
      */
     private Predicate<DataSetRow> createInvalidPredicate(final String columnId) {
-        return r -> r.isInvalid(columnId);
+        return isInvalid(columnId);
     }
 
     /**
@@ -371,7 +412,9 @@ public class SimpleFilterService implements FilterService {
      * @return The valid value predicate
      */
     private Predicate<DataSetRow> createValidPredicate(final String columnId) {
-        return r -> !r.isInvalid(columnId) && !isEmpty(r.get(columnId));
+        final Predicate<DataSetRow> invalid = isInvalid(columnId);
+        final Function<DataSetRow, String> columnValue = valueOf(columnId);
+        return r -> !invalid.test(r) && !isEmpty(columnValue.apply(r));
     }
 
     /**
@@ -381,7 +424,8 @@ public class SimpleFilterService implements FilterService {
      * @return The empty value predicate
      */
     private Predicate<DataSetRow> createEmptyPredicate(final String columnId) {
-        return r -> isEmpty(r.get(columnId));
+        final Function<DataSetRow, String> columnValue = valueOf(columnId);
+        return r -> isEmpty(columnValue.apply(r));
     }
 
     /**
@@ -395,15 +439,30 @@ public class SimpleFilterService implements FilterService {
             final RowMetadata rowMetadata) {
         final String start = nodeContent.get("start").asText();
         final String end = nodeContent.get("end").asText();
-        return r -> {
-            final String columnType = rowMetadata.getById(columnId).getType();
-            Type parsedType = Type.get(columnType);
-            if (Type.DATE.isAssignableFrom(parsedType)) {
-                return createDateRangePredicate(columnId, start, end, rowMetadata).test(r);
-            } else {
-                // Assume range can be parsed as number (may happen if column is currently marked as string, but will
-                // contain some numbers).
-                return createNumberRangePredicate(columnId, start, end).test(r);
+        // Column type is read for each row (it may change while rows are processed), range predicates are created once
+        return new Predicate<DataSetRow>() {
+
+            private Predicate<DataSetRow> dateRangePredicate;
+
+            private Predicate<DataSetRow> numberRangePredicate;
+
+            @Override
+            public boolean test(DataSetRow r) {
+                final String columnType = rowMetadata.getById(columnId).getType();
+                Type parsedType = Type.get(columnType);
+                if (Type.DATE.isAssignableFrom(parsedType)) {
+                    if (dateRangePredicate == null) {
+                        dateRangePredicate = createDateRangePredicate(columnId, start, end, rowMetadata);
+                    }
+                    return dateRangePredicate.test(r);
+                } else {
+                    // Assume range can be parsed as number (may happen if column is currently marked as string, but
+                    // will contain some numbers).
+                    if (numberRangePredicate == null) {
+                        numberRangePredicate = createNumberRangePredicate(columnId, start, end);
+                    }
+                    return numberRangePredicate.test(r);
+                }
             }
         };
     }
@@ -425,9 +484,11 @@ public class SimpleFilterService implements FilterService {
             final LocalDateTime minDate = dateManipulator.fromEpochMillisecondsWithSystemOffset(minTimestamp);
             final LocalDateTime maxDate = dateManipulator.fromEpochMillisecondsWithSystemOffset(maxTimestamp);
 
+            final DateParser parser = getDateParser();
+            final Function<DataSetRow, String> valueOfColumn = valueOf(columnId);
             return safeDate(r -> {
                 final ColumnMetadata columnMetadata = rowMetadata.getById(columnId);
-                final LocalDateTime columnValue = getDateParser().parse(r.get(columnId), columnMetadata);
+                final LocalDateTime columnValue = parser.parse(valueOfColumn.apply(r), columnMetadata);
                 return minDate.compareTo(columnValue) == 0 || (minDate.isBefore(columnValue) && maxDate.isAfter(columnValue));
             });
         } catch (Exception e) {
@@ -461,8 +522,9 @@ public class SimpleFilterService implements FilterService {
         try {
             final double min = toBigDecimal(start);
             final double max = toBigDecimal(end);
+            final Function<DataSetRow, String> columnValue = valueOf(columnId);
             return r -> {
-                final String value = r.get(columnId);
+                final String value = columnValue.apply(r);
                 if (NumericHelper.isBigDecimal(value)) {
                     final double columnValue = toBigDecimal(value);
                     return NumberUtils.compare(columnValue, min) == 0 || (columnValue > min && columnValue < max);
@@ -476,6 +538,35 @@ public class SimpleFilterService implements FilterService {
         }
     }
 
+    /**
+     * Resolves the column once, when a predicate is created: values of generated column ids are then read from their
+     * slot (see {@link RowMetadata#slotOf(String)}) instead of parsing the column id for each row.
+     *
+     * @param columnId The column id
+     * @return A function that returns the value of the column in a row
+     */
+    private static Function<DataSetRow, String> valueOf(final String columnId) {
+        final int slot = RowMetadata.slotOf(columnId);
+        if (slot >= 0) {
+            return r -> r.get(slot);
+        }
+        return r -> r.get(columnId);
+    }
+
+    /**
+     * Resolves the column once, as {@link #valueOf(String)} does, to check if its value is invalid.
+     *
+     * @param columnId The column id
+     * @return A predicate that checks if the value of the column is marked as invalid in a row
+     */
+    private static Predicate<DataSetRow> isInvalid(final String columnId) {
+        final int slot = RowMetadata.slotOf(columnId);
+        if (slot >= 0) {
+            return r -> r.isInvalid(slot);
+        }
+        return r -> r.isInvalid(columnId);
+    }
+
     /**
      * check if the node has a non null value
      *
@@ -502,52 +593,69 @@ public class SimpleFilterService implements FilterService {
     }
 
     /**
-     * Test a string value against a pattern returned during value analysis.
+     * Create a test of string values against a pattern returned during value analysis. The pattern is parsed once, when
+     * the test is created.
      *
-     * @param value A string value. May be null.
      * @param pattern A pattern as returned in value analysis.
-     * @return <code>true</code> if value matches, <code>false</code> otherwise.
+     * @return A test returning <code>true</code> if value (may be null) matches, <code>false</code> otherwise.
      */
-    private boolean matches(String value, String pattern) {
-        if (value == null && pattern == null) {
-            return true;
-        }
-        if (value == null) {
-            return false;
+    private Predicate<String> createMatcher(String pattern) {
+        if (pattern == null) {
+            return value -> value == null;
         }
         // Character based patterns
         if (StringUtils.containsAny(pattern, new char[] { 'A', 'a', '9' })) {
-            if (value.length() != pattern.length()) {
-                return false;
-            }
-            final char[] valueArray = value.toCharArray();
             final char[] patternArray = pattern.toCharArray();
-            for (int i = 0; i < valueArray.length; i++) {
-                if (patternArray[i] == 'A') {
-                    if (!Character.isUpperCase(valueArray[i])) {
-                        return false;
-                    }
-                } else if (patternArray[i] == 'a') {
-                    if (!Character.isLowerCase(valueArray[i])) {
-                        return false;
-                    }
-                } else if (patternArray[i] == '9') {
-                    if (!Character.isDigit(valueArray[i])) {
-                        return false;
-                    }
-                } else {
-                    if (valueArray[i] != patternArray[i]) {
-                        return false;
-                    }
-                }
+            return value -> value != null && matches(value, patternArray);
+        }
+        final Format format;
+        try {
+            format = DateTimeFormatter.ofPattern(pattern).toFormat();
+        } catch (IllegalArgumentException e) {
+            LOGGER.debug("Unable to parse date pattern '{}'.", pattern, e);
+            return value -> false;
+        }
+        return value -> {
+            if (value == null) {
+                return false;
             }
-        } else {
-            final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
             try {
-                formatter.toFormat().parseObject(value);
+                format.parseObject(value);
+                return true;
             } catch (ParseException e) {
                 return false;
             }
+        };
+    }
+
+    /**
+     * Test a string value against a character based pattern ('A' for upper case, 'a' for lower case, '9' for digit).
+     *
+     * @param value A string value.
+     * @param patternArray A character based pattern.
+     * @return <code>true</code> if value matches, <code>false</code> otherwise.
+     */
+    private static boolean matches(String value, char[] patternArray) {
+        if (value.length() != patternArray.length) {
+            return false;
+        }
+        for (int i = 0; i < patternArray.length; i++) {
+            final char valueChar = value.charAt(i);
+            if (patternArray[i] == 'A') {
+                if (!Character.isUpperCase(valueChar)) {
+                    return false;
+                }
+            } else if (patternArray[i] == 'a') {
+                if (!Character.isLowerCase(valueChar)) {
+                    return false;
+                }
+            } else if (patternArray[i] == '9') {
+                if (!Character.isDigit(valueChar)) {
+                    return false;
+                }
+            } else if (valueChar != patternArray[i]) {
+                return false;
+            }
         }
         return true;
     }
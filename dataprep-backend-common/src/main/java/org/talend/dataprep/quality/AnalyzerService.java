@@ -291,6 +291,18 @@ public class AnalyzerService {
                 Analysis.SEMANTIC, Analysis.QUANTILES, Analysis.SUMMARY, Analysis.HISTOGRAM);
     }
 
+    /**
+     * Combines {@link #schemaAnalysis(List)} and {@link #full(List)} in one analyzer, so that all statistics are computed
+     * in a single pass over content.
+     *
+     * @param columns the columns to analyze.
+     * @return the analyzers to perform for the schema and the full statistics.
+     */
+    public Analyzer<Analyzers.Result> schemaAndFull(final List<ColumnMetadata> columns) {
+        return build(columns, Analysis.TYPE, Analysis.QUALITY, Analysis.CARDINALITY, Analysis.FREQUENCY, Analysis.PATTERNS,
+                Analysis.LENGTH, Analysis.SEMANTIC, Analysis.QUANTILES, Analysis.SUMMARY, Analysis.HISTOGRAM);
+    }
+
     public Analyzer<Analyzers.Result> qualityAnalysis(List<ColumnMetadata> columns) {
         return build(columns, Analysis.QUALITY, Analysis.SUMMARY, Analysis.SEMANTIC);
     }
@@ -403,8 +415,11 @@ public class AnalyzerService {
         }
 
         @Override
-        public Analyzer<Analyzers.Result> merge(Analyzer<Analyzers.Result> analyzer) {
-            return analyzer.merge(analyzer);
+        public Analyzer<Analyzers.Result> merge(Analyzer<Analyzers.Result> another) {
+            if (another instanceof ResourceMonitoredAnalyzer) {
+                return analyzer.merge(((ResourceMonitoredAnalyzer) another).analyzer);
+            }
+            return analyzer.merge(another);
         }
 
         @Override
@@ -16,12 +16,16 @@ package org.talend.dataprep.transformation.actions.date;
 import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang.StringUtils.isNotEmpty;
 
+import java.text.ParsePosition;
 import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
@@ -36,13 +40,34 @@ import org.talend.dataquality.statistics.frequency.pattern.PatternFrequencyStati
 
 /**
  * Component in charge of parsing dates.
+ * <p>
+ * Date patterns of a column are compiled once (and compiled again when column patterns change), then tried in the order
+ * of the values they recently matched. Values are tested against patterns without exceptions, and guessed patterns are
+ * remembered for the most recent values.
+ * </p>
  */
 public class DateParser {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DateParser.class);
 
+    /** Maximum number of values in {@link #guessedPatterns}. */
+    private static final int MAX_GUESSED_PATTERNS = 1000;
+
     private final AnalyzerService analyzerService;
 
+    /** Compiled date patterns by column id. */
+    private final Map<String, ColumnPatterns> columnPatterns = new ConcurrentHashMap<>();
+
+    /** Patterns guessed by DQ (or empty if DQ found none) by value, for the most recently guessed values. */
+    private final Map<String, Optional<DatePattern>> guessedPatterns = Collections
+            .synchronizedMap(new LinkedHashMap<String, Optional<DatePattern>>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Optional<DatePattern>> eldest) {
+                    return size() > MAX_GUESSED_PATTERNS;
+                }
+            });
+
     public DateParser() {
         this(Providers.get(AnalyzerService.class));
     }
@@ -63,12 +88,18 @@ public class DateParser {
      * @throws DateTimeException if the date cannot be parsed, or if value is empty or null.
      */
     public LocalDateTime parse(String value, ColumnMetadata column) {
-        try {
-            return parseDateFromPatterns(value, getPatterns(column.getStatistics().getPatternFrequencies()));
-        } catch (DateTimeException e) {
-            LOGGER.debug("Unable to parse date '{}'", value, e);
-            return guessAndParse(value, column);
+        final List<PatternFrequency> patternFrequencies = column.getStatistics().getPatternFrequencies();
+        ColumnPatterns patterns = columnPatterns.get(column.getId());
+        if (patterns == null || !patterns.isCompiledFrom(patternFrequencies)) {
+            patterns = new ColumnPatterns(patternFrequencies, getPatterns(patternFrequencies));
+            columnPatterns.put(column.getId(), patterns);
+        }
+        final LocalDateTime result = patterns.parse(value);
+        if (result != null) {
+            return result;
         }
+        LOGGER.debug("Unable to parse date '{}'", value);
+        return guessAndParse(value, column);
     }
 
     /**
@@ -102,6 +133,29 @@ public class DateParser {
         if (StringUtils.isEmpty(value)) {
             throw new DateTimeException("No pattern can be found out of '" + value + "'");
         }
+        final Optional<DatePattern> guessedPattern = guessedPatterns.get(value);
+        if (guessedPattern != null) {
+            return guessedPattern.orElseThrow(() -> new DateTimeException("DQ did not find any pattern for '" + value + "'"));
+        }
+        try {
+            final DatePattern pattern = analyzePattern(value, column);
+            guessedPatterns.put(value, Optional.of(pattern));
+            return pattern;
+        } catch (DateTimeException e) {
+            guessedPatterns.put(value, Optional.empty());
+            throw e;
+        }
+    }
+
+    /**
+     * Analyze the pattern of the given value with DQ.
+     *
+     * @param value the value to get the date time from.
+     * @param column the column metadata
+     * @return the pattern of the value.
+     * @throws DateTimeException if DQ does not find any date pattern for the value.
+     */
+    private DatePattern analyzePattern(String value, ColumnMetadata column) {
         // call DQ on the given value
         try (Analyzer<Analyzers.Result> analyzer = analyzerService.build(column, AnalyzerService.Analysis.PATTERNS)) {
             analyzer.analyze(value);
@@ -146,27 +200,44 @@ public class DateParser {
         }
 
         for (DatePattern pattern : patterns) {
-            final DateTimeFormatter formatter = new DateTimeFormatterBuilder().parseCaseInsensitive()
-                    .append(pattern.getFormatter()).toFormatter(Locale.ENGLISH);
-
-            // first try to parse directly as LocalDateTime
-            try {
-                return LocalDateTime.parse(value, formatter);
-            } catch (DateTimeException e) {
-                LOGGER.trace("Unable to parse date '{}' using LocalDateTime.", value, e);
-                // if it fails, let's try the LocalDate first
-                try {
-                    LocalDate temp = LocalDate.parse(value, formatter);
-                    return temp.atStartOfDay();
-                } catch (DateTimeException e2) {
-                    LOGGER.trace("Unable to parse date '{}' using LocalDate.", value, e2);
-                    // nothing to do here, just try the next formatter
-                }
+            final LocalDateTime result = parse(value, pattern.getParseFormatter());
+            if (result != null) {
+                return result;
             }
         }
         throw new DateTimeException("'" + value + "' does not match any known pattern");
     }
 
+    /**
+     * Parse the date from the given formatter, without any exception if the text does not match the formatter.
+     *
+     * @param value the text to parse.
+     * @param formatter the formatter to use.
+     * @return the parsed date-time (for date only value, time is set to 00:00:00), or <code>null</code> if the text
+     * does not match the formatter.
+     */
+    private static LocalDateTime parse(String value, DateTimeFormatter formatter) {
+        // first check the text matches the pattern (this does not throw any exception)
+        final ParsePosition position = new ParsePosition(0);
+        if (formatter.parseUnresolved(value, position) == null || position.getIndex() != value.length()) {
+            return null;
+        }
+        try {
+            // then parse as LocalDateTime, or as LocalDate if value has no time
+            final TemporalAccessor parsed = formatter.parse(value);
+            final LocalDate date = parsed.query(TemporalQueries.localDate());
+            if (date == null) {
+                return null;
+            }
+            final LocalTime time = parsed.query(TemporalQueries.localTime());
+            return time == null ? date.atStartOfDay() : LocalDateTime.of(date, time);
+        } catch (DateTimeException e) {
+            // text matches the pattern but not a valid date (e.g. February 30th)
+            LOGGER.trace("Unable to parse date '{}'.", value, e);
+            return null;
+        }
+    }
+
     /**
      * Utility method to read/parse/create DateFormatter and sort the given patterns.
      *
@@ -189,4 +260,74 @@ public class DateParser {
                 }).filter(datePattern -> datePattern != null) // remove non valid date patterns
                 .sorted().collect(toList());
     }
+
+    /**
+     * The compiled date patterns of a column, tried in the order of the values they recently matched: each time a
+     * pattern matches more values than the pattern before it, both patterns are swapped.
+     */
+    private static class ColumnPatterns {
+
+        /** The column patterns these patterns are compiled from. */
+        private final List<String> patternFrequencies;
+
+        /** The date patterns, in the order they are tried. */
+        private volatile DatePattern[] patterns;
+
+        /** Number of values matched by each pattern (by pattern). */
+        private final Map<DatePattern, Long> matches = new ConcurrentHashMap<>();
+
+        private ColumnPatterns(List<PatternFrequency> patternFrequencies, List<DatePattern> patterns) {
+            this.patternFrequencies = patternFrequencies.stream().map(PatternFrequency::getPattern).collect(toList());
+            this.patterns = patterns.toArray(new DatePattern[patterns.size()]);
+        }
+
+        /**
+         * @param patternFrequencies the patterns of a column.
+         * @return <code>true</code> if these patterns are compiled from the given ones.
+         */
+        private boolean isCompiledFrom(List<PatternFrequency> patternFrequencies) {
+            if (patternFrequencies.size() != this.patternFrequencies.size()) {
+                return false;
+            }
+            for (int i = 0; i < patternFrequencies.size(); i++) {
+                if (!StringUtils.equals(patternFrequencies.get(i).getPattern(), this.patternFrequencies.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @param value the text to parse.
+         * @return the parsed date-time, or <code>null</code> if value is null or does not match any pattern.
+         */
+        private LocalDateTime parse(String value) {
+            if (value == null) {
+                return null;
+            }
+            final DatePattern[] current = patterns;
+            for (int i = 0; i < current.length; i++) {
+                final LocalDateTime result = DateParser.parse(value, current[i].getParseFormatter());
+                if (result != null) {
+                    reorder(current, i);
+                    return result;
+                }
+            }
+            return null;
+        }
+
+        private void reorder(DatePattern[] current, int index) {
+            final long patternMatches = matches.merge(current[index], 1L, Long::sum);
+            if (index > 0 && patternMatches > matches.getOrDefault(current[index - 1], 0L)) {
+                synchronized (this) {
+                    if (patterns == current) {
+                        final DatePattern[] reordered = current.clone();
+                        reordered[index - 1] = current[index];
+                        reordered[index] = current[index - 1];
+                        patterns = reordered;
+                    }
+                }
+            }
+        }
+    }
 }
@@ -14,6 +14,7 @@
 package org.talend.dataprep.transformation.actions.date;
 
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
 import java.util.Locale;
 import java.util.Objects;
 
@@ -37,6 +38,11 @@ public class DatePattern implements Comparable {
      */
     private final DateTimeFormatter formatter;
 
+    /**
+     * The case insensitive formatter used to parse dates with this pattern.
+     */
+    private final DateTimeFormatter parseFormatter;
+
     /**
      * Constructor with the pattern.
      *
@@ -45,6 +51,8 @@ public class DatePattern implements Comparable {
     public DatePattern(final String pattern) {
         this.pattern = pattern;
         this.formatter = DateTimeFormatter.ofPattern(pattern, Locale.ENGLISH);
+        this.parseFormatter = new DateTimeFormatterBuilder().parseCaseInsensitive().append(formatter)
+                .toFormatter(Locale.ENGLISH);
     }
 
     /**
@@ -79,6 +87,13 @@ public class DatePattern implements Comparable {
         return formatter;
     }
 
+    /**
+     * @return the case insensitive formatter used to parse dates
+     */
+    public DateTimeFormatter getParseFormatter() {
+        return parseFormatter;
+    }
+
     /**
      * @see Comparable#compareTo(Object)
      */
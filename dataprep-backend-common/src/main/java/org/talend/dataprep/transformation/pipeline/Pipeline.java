@@ -16,9 +16,13 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
@@ -33,6 +37,7 @@ import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.preparation.PreparationMessage;
+import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.quality.AnalyzerService;
 import org.talend.dataprep.transformation.actions.category.ScopeCategory;
@@ -43,7 +48,9 @@ import org.talend.dataprep.transformation.actions.common.RunnableAction;
 import org.talend.dataprep.transformation.pipeline.builder.ActionNodesBuilder;
 import org.talend.dataprep.transformation.pipeline.builder.NodeBuilder;
 import org.talend.dataprep.transformation.pipeline.node.BasicNode;
+import org.talend.dataprep.transformation.pipeline.node.ConcurrentNode;
 import org.talend.dataprep.transformation.pipeline.node.FilteredNode;
+import org.talend.dataprep.transformation.pipeline.node.PartitionedNode;
 
 public class Pipeline implements Node, RuntimeNode, Serializable {
 
@@ -55,6 +62,9 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
 
     private Node node;
 
+    /** Number of rows submitted at once to the pipeline nodes (1 to submit rows one by one). */
+    private int batchSize = 1;
+
     /** Flag used to know if the pipeline is stopped or not. */
     private final AtomicBoolean isStopped = new AtomicBoolean();
 
@@ -81,30 +91,133 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
         this.node = node;
     }
 
+    /**
+     * @param node The source node (the node in the pipeline that submit content to the pipeline).
+     * @param batchSize The number of rows to submit at once to <code>node</code> (1 to submit rows one by one).
+     * @see Builder to create a new instance of this class.
+     */
+    public Pipeline(Node node, int batchSize) {
+        this.node = node;
+        this.batchSize = batchSize;
+    }
+
     public void execute(DataSet dataSet) {
         final RowMetadata rowMetadata = dataSet.getMetadata().getRowMetadata().clone();
         try (Stream<DataSetRow> records = dataSet.getRecords()) {
 
             // get the lock on isFinished to make the signal(STOP) method wait for the whole pipeline to finish
             synchronized (isFinished) {
+                final long count;
+                try {
+                    count = batchSize > 1 ? executeBatch(records, rowMetadata) : executeRows(records, rowMetadata);
+                } catch (RuntimeException e) {
+                    releaseConcurrentNodes();
+                    throw e;
+                }
+                LOG.debug("{} rows sent in the pipeline", count);
+                node.exec().signal(Signal.END_OF_STREAM);
+            }
+        }
+    }
 
-                AtomicLong counter = new AtomicLong();
-
-                // we use map/allMatch to stop the stream when isStopped = true
-                // with only forEach((row) -> if(isStopped)) for ex we just stop the processed code
-                // but we proceed all the rows of the stream
-                // to replace when java introduce more useful functions to stream (ex: takeWhile)
-                records //
-                        .map(row -> { //
-                            node.exec().receive(row, rowMetadata);
-                            counter.addAndGet(1L);
-                            return row;
-                        }) //
-                        .allMatch(row -> !isStopped.get());
-                LOG.debug("{} rows sent in the pipeline", counter.get());
+    /**
+     * Submits <code>records</code> one by one to the pipeline.
+     *
+     * @param records The records to submit.
+     * @param rowMetadata The row metadata of the records.
+     * @return The number of rows sent to the pipeline.
+     */
+    private long executeRows(Stream<DataSetRow> records, RowMetadata rowMetadata) {
+        AtomicLong counter = new AtomicLong();
+
+        // we use map/allMatch to stop the stream when isStopped = true
+        // with only forEach((row) -> if(isStopped)) for ex we just stop the processed code
+        // but we proceed all the rows of the stream
+        // to replace when java introduce more useful functions to stream (ex: takeWhile)
+        records //
+                .map(row -> { //
+                    node.exec().receive(row, rowMetadata);
+                    counter.addAndGet(1L);
+                    return row;
+                }) //
+                .allMatch(row -> !isStopped.get());
+        return counter.get();
+    }
+
+    /**
+     * Ends threads started by {@link ConcurrentNode concurrent nodes} (if any) when rows could not be submitted to the
+     * pipeline.
+     */
+    private void releaseConcurrentNodes() {
+        if (hasConcurrentNodes()) {
+            try {
+                node.exec().signal(Signal.CANCEL);
                 node.exec().signal(Signal.END_OF_STREAM);
+            } catch (Exception e) {
+                LOG.debug("Unable to end pipeline after error.", e);
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the pipeline contains {@link ConcurrentNode concurrent nodes}.
+     */
+    private boolean hasConcurrentNodes() {
+        final AtomicBoolean hasConcurrentNodes = new AtomicBoolean();
+        accept(new Visitor() {
+
+            @Override
+            public void visitNode(Node node) {
+                if (node instanceof ConcurrentNode) {
+                    hasConcurrentNodes.set(true);
+                }
+                super.visitNode(node);
+            }
+        });
+        return hasConcurrentNodes.get();
+    }
+
+    /**
+     * Submits <code>records</code> to the pipeline in batches of {@link #batchSize} rows.
+     * <p>
+     * Records may reuse the same row instance, so each record is copied to a row of the batch. Rows (and the batch
+     * array) are reused from one batch to the next, as nodes are done with a batch once they return from
+     * {@link RuntimeNode#receiveBatch(DataSetRow[], RowMetadata)}. This does not hold when the pipeline contains
+     * {@link ConcurrentNode concurrent nodes}, which hand batches over to other threads: each batch then gets its own
+     * rows.
+     * </p>
+     *
+     * @param records The records to submit.
+     * @param rowMetadata The row metadata of the records.
+     * @return The number of rows sent to the pipeline.
+     */
+    private long executeBatch(Stream<DataSetRow> records, RowMetadata rowMetadata) {
+        final Iterator<DataSetRow> iterator = records.iterator();
+        final boolean reuseRows = !hasConcurrentNodes();
+        final DataSetRow[] holders = new DataSetRow[batchSize];
+        DataSetRow[] batch = new DataSetRow[batchSize];
+        long count = 0;
+        while (iterator.hasNext() && !isStopped.get()) {
+            if (!reuseRows) {
+                batch = new DataSetRow[batchSize];
+            }
+            int size = 0;
+            while (size < batchSize && iterator.hasNext()) {
+                final DataSetRow record = iterator.next();
+                if (reuseRows && record.getClass() == DataSetRow.class) {
+                    if (holders[size] == null) {
+                        holders[size] = new DataSetRow(rowMetadata);
+                    }
+                    batch[size] = holders[size].copyFrom(record);
+                } else {
+                    batch[size] = record.clone();
+                }
+                size++;
             }
+            node.exec().receiveBatch(size == batchSize ? batch : Arrays.copyOf(batch, size), rowMetadata);
+            count += size;
         }
+        return count;
     }
 
     public void setNode(Node node) {
@@ -128,6 +241,11 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
         throw new UnsupportedOperationException("Pipeline only manage single rows as input");
     }
 
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        node.exec().receiveBatch(rows, metadata);
+    }
+
     @Override
     public Link getLink() {
         return node.getLink();
@@ -174,7 +292,7 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
 
     @Override
     public Node copyShallow() {
-        return new Pipeline(node);
+        return new Pipeline(node, batchSize);
     }
 
     public Node getNode() {
@@ -209,6 +327,18 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
 
         private PreparationMessage preparation;
 
+        private int batchSize = 1;
+
+        private Executor executor;
+
+        private int stages = 1;
+
+        private Executor partitionExecutor;
+
+        private int partitions = 1;
+
+        private Function<Step, Node> checkpoints = step -> null;
+
         public static Builder builder() {
             return new Builder();
         }
@@ -274,6 +404,50 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
             return this;
         }
 
+        /**
+         * @param batchSize The number of rows to submit at once to the pipeline nodes, 1 (default) submits rows one by
+         * one.
+         */
+        public Builder withBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * @param executor The executor used to run groups of actions concurrently.
+         * @param stages The number of groups of actions running concurrently, 1 (default) runs the whole pipeline in
+         * the calling thread.
+         * @see ActionNodesBuilder#concurrency(Executor, int)
+         */
+        public Builder withConcurrency(Executor executor, int stages) {
+            this.executor = executor;
+            this.stages = stages;
+            return this;
+        }
+
+        /**
+         * @param executor The executor used to run partitions of batches.
+         * @param partitions The maximum number of partitions of a batch running concurrently, 1 (default) runs the
+         * whole pipeline in the calling thread. Partitioned execution is ignored when a step of the preparation needs a
+         * checkpoint (checkpoints receive rows in a single thread).
+         * @see ActionNodesBuilder#partitions(Executor, int)
+         */
+        public Builder withPartitions(Executor executor, int partitions) {
+            this.partitionExecutor = executor;
+            this.partitions = partitions;
+            return this;
+        }
+
+        /**
+         * @param checkpoints A function that returns a node to receive the rows produced by a step of the preparation
+         * (or <code>null</code> if step's rows don't need to be received).
+         * @see StepNodeTransformer#transform(Node, List, Function)
+         */
+        public Builder withCheckpoints(Function<Step, Node> checkpoints) {
+            this.checkpoints = checkpoints;
+            return this;
+        }
+
         public Pipeline build() {
             final NodeBuilder current;
             if (inFilter != null) {
@@ -310,6 +484,8 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
             }
 
             // Build nodes for actions
+            final boolean singleThreaded = partitions > 1 && preparation != null && hasCheckpoints(preparation.getSteps());
+            final int actionsPartitions = singleThreaded ? 1 : partitions;
             final Node actionsNode = ActionNodesBuilder.builder() //
                     .initialMetadata(rowMetadata) //
                     .actions(runnableActions) //
@@ -321,12 +497,15 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
                     .actionRegistry(actionRegistry) //
                     .analyzerService(analyzerService) //
                     .statisticsAdapter(adapter) //
+                    .concurrency(executor, stages) //
+                    .partitions(partitionExecutor, actionsPartitions) //
+                    .transformPartitions(this::transformPartition) //
                     .build();
 
-            if (preparation != null) {
+            if (preparation != null && !isPartitioned(actionsNode)) {
                 LOG.debug("Applying step node transformations...");
                 actionsNode.logStatus(LOG, "Before transformation\n{}");
-                final Node node = StepNodeTransformer.transform(actionsNode, preparation.getSteps());
+                final Node node = StepNodeTransformer.transform(actionsNode, preparation.getSteps(), checkpoints);
                 current.to(node);
                 node.logStatus(LOG, "After transformation\n{}");
             } else {
@@ -340,7 +519,60 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
             current.to(outputSupplier.get());
             current.to(monitorSupplier.get());
             // Finally build pipeline
-            return new Pipeline(current.build());
+            return new Pipeline(current.build(), batchSize);
+        }
+
+        /**
+         * @return <code>true</code> if a checkpoint is needed for one of the <code>steps</code>.
+         */
+        private boolean hasCheckpoints(List<Step> steps) {
+            return steps.stream().map(checkpoints).anyMatch(Objects::nonNull);
+        }
+
+        /**
+         * Groups step related nodes of a partition into step nodes (see {@link StepNodeTransformer}). The first
+         * partition uses the preparation steps (so their metadata is updated as in a single threaded pipeline), others
+         * use copies of the steps, as steps are not shared by threads.
+         *
+         * @param partition The partition index.
+         * @param node The first node of the partition.
+         * @return The transformed nodes of the partition.
+         */
+        private Node transformPartition(int partition, Node node) {
+            if (preparation == null) {
+                return node;
+            }
+            final List<Step> steps = partition == 0 ? preparation.getSteps() : copy(preparation.getSteps());
+            return StepNodeTransformer.transform(node, steps);
+        }
+
+        private static List<Step> copy(List<Step> steps) {
+            final List<Step> copies = new ArrayList<>(steps.size());
+            for (Step step : steps) {
+                final Step copy = new Step(step.getParent(), step.getContent(), step.getAppVersion(), step.getDiff());
+                copy.setId(step.getId());
+                copy.setRowMetadata(step.getRowMetadata() == null ? null : step.getRowMetadata().clone());
+                copies.add(copy);
+            }
+            return copies;
+        }
+
+        /**
+         * @return <code>true</code> if actions run on partitions (see {@link PartitionedNode}).
+         */
+        private static boolean isPartitioned(Node actionsNode) {
+            final AtomicBoolean isPartitioned = new AtomicBoolean();
+            actionsNode.accept(new Visitor() {
+
+                @Override
+                public void visitNode(Node node) {
+                    if (node instanceof PartitionedNode) {
+                        isPartitioned.set(true);
+                    }
+                    super.visitNode(node);
+                }
+            });
+            return isPartitioned.get();
         }
     }
 }
@@ -27,6 +27,22 @@ public interface RuntimeLink extends Serializable {
      */
     void emit(DataSetRow[] rows, RowMetadata[] metadatas);
 
+    /**
+     * Emits a batch of rows sharing the same metadata.
+     * <p>
+     * Default implementation emits rows one by one with {@link #emit(DataSetRow, RowMetadata)}.
+     * </p>
+     *
+     * @param rows The {@link DataSetRow rows} to emit to the next {@link RuntimeNode}.
+     * @param metadata The {@link RowMetadata row metadata} to be used by the next {@link RuntimeNode}.
+     * @see RuntimeNode#receiveBatch(DataSetRow[], RowMetadata)
+     */
+    default void emitBatch(DataSetRow[] rows, RowMetadata metadata) {
+        for (DataSetRow row : rows) {
+            emit(row, metadata);
+        }
+    }
+
     /**
      * Sends a {@link Signal event} to the {@link RuntimeNode}. Signals are data-independent events to indicate external
      * events (such as end of the stream).
@@ -24,6 +24,24 @@ public interface RuntimeNode {
      */
     void receive(DataSetRow[] rows, RowMetadata[] metadatas);
 
+    /**
+     * Called by an incoming {@link RuntimeLink} when a batch of rows is submitted to the pipeline. Unlike
+     * {@link #receive(DataSetRow[], RowMetadata[])}, rows are consecutive rows of the same data set and share the same
+     * <code>metadata</code>. Implementations may replace rows in <code>rows</code> before passing the array to the next
+     * node.
+     * <p>
+     * Default implementation submits rows one by one to {@link #receive(DataSetRow, RowMetadata)}.
+     * </p>
+     *
+     * @param rows The {@link DataSetRow rows} to be processed by this node.
+     * @param metadata The {@link RowMetadata row metadata} to be used when processing the <code>rows</code>.
+     */
+    default void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        for (DataSetRow row : rows) {
+            receive(row, metadata);
+        }
+    }
+
     /**
      * Sends a {@link Signal event} to the node. Signals are data-independent events to indicate external events (such
      * as end of the stream). Node implementations are responsible of the signal propagation using the
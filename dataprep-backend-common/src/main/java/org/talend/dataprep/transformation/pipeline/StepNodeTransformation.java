@@ -18,6 +18,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +39,8 @@ class StepNodeTransformation extends Visitor {
 
     private final Iterator<Step> steps;
 
+    private final Function<Step, Node> checkpoints;
+
     private State DISPATCH = new Dispatch();
 
     private State DEFAULT = new DefaultState();
@@ -51,13 +54,15 @@ class StepNodeTransformation extends Visitor {
      * each new {@link StepNode}, one of the <code>steps</code> is consumed.
      *
      * @param steps The {@link Step steps} to be used when creating new {@link StepNode}.
+     * @param checkpoints A function that returns the node to insert after a {@link StepNode} (or <code>null</code>).
      */
-    StepNodeTransformation(List<Step> steps) {
-        if (!steps.isEmpty() && !Step.ROOT_STEP.getId().equals(steps.get(0).getId())) {
-            // Code expects root step to be located at the beginning of iterator.
+    StepNodeTransformation(List<Step> steps, Function<Step, Node> checkpoints) {
+        if (steps.size() > 1 && Step.ROOT_STEP.getId().equals(steps.get(steps.size() - 1).getId())) {
+            // Code expects steps from root to head (steps may not start with root when only the last steps are replayed).
             Collections.reverse(steps);
         }
         this.steps = steps.iterator();
+        this.checkpoints = checkpoints;
     }
 
     Node getTransformedNode() {
@@ -171,6 +176,7 @@ class StepNodeTransformation extends Visitor {
                 // and plug the previous link to the new StepNode
                 ofNullable(previous).ifPresent(n -> n.setLink(new BasicLink(stepNode)));
                 builder.to(stepNode);
+                ofNullable(checkpoints.apply(nextStep)).ifPresent(builder::to);
 
                 return this;
             } else if (node instanceof ActionNode) {
@@ -13,6 +13,7 @@
 package org.talend.dataprep.transformation.pipeline;
 
 import java.util.List;
+import java.util.function.Function;
 
 import org.talend.dataprep.api.preparation.Step;
 
@@ -35,7 +36,22 @@ public class StepNodeTransformer {
      * reachable from <code>node/code>).
      */
     public static Node transform(Node node, List<Step> steps) {
-        final StepNodeTransformation visitor = new StepNodeTransformation(steps);
+        return transform(node, steps, step -> null);
+    }
+
+    /**
+     * Groups all nodes (accessible from <code>node</code>) into {@link org.talend.dataprep.transformation.pipeline.node.StepNode
+     * step nodes} when applicable, and inserts the node returned by <code>checkpoints</code> (if any) right after each
+     * step node.
+     *
+     * @param node The pipeline (as {@link Node}) to transform.
+     * @param steps The {@link Step steps} to use when creating group nodes.
+     * @param checkpoints A function that returns the node that receives the rows produced by a step, or
+     * <code>null</code> if nothing should be inserted after this step.
+     * @return The transformed pipeline, based on copies of the original <code>node</code>.
+     */
+    public static Node transform(Node node, List<Step> steps, Function<Step, Node> checkpoints) {
+        final StepNodeTransformation visitor = new StepNodeTransformation(steps, checkpoints);
         node.accept(visitor);
         return visitor.getTransformedNode();
     }
@@ -1,10 +1,15 @@
 package org.talend.dataprep.transformation.pipeline.builder;
 
+import static org.talend.dataprep.api.action.ActionDefinition.Behavior.FORBID_DISTRIBUTED;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.talend.dataprep.api.action.ActionDefinition;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.quality.AnalyzerService;
@@ -14,8 +19,11 @@ import org.talend.dataprep.transformation.api.action.context.TransformationConte
 import org.talend.dataprep.transformation.pipeline.ActionRegistry;
 import org.talend.dataprep.transformation.pipeline.Node;
 import org.talend.dataprep.transformation.pipeline.node.ActionNode;
+import org.talend.dataprep.transformation.pipeline.node.BasicNode;
 import org.talend.dataprep.transformation.pipeline.node.CleanUpNode;
 import org.talend.dataprep.transformation.pipeline.node.CompileNode;
+import org.talend.dataprep.transformation.pipeline.node.ConcurrentNode;
+import org.talend.dataprep.transformation.pipeline.node.PartitionedNode;
 
 public class ActionNodesBuilder {
 
@@ -39,6 +47,18 @@ public class ActionNodesBuilder {
 
     private AnalyzerService analyzerService;
 
+    // concurrent execution
+    private Executor executor;
+
+    private int stages = 1;
+
+    // partitioned execution
+    private Executor partitionExecutor;
+
+    private int partitions = 1;
+
+    private BiFunction<Integer, Node, Node> partitionTransformation = (partition, node) -> node;
+
     public static ActionNodesBuilder builder() {
         return new ActionNodesBuilder();
     }
@@ -83,6 +103,88 @@ public class ActionNodesBuilder {
         return this;
     }
 
+    /**
+     * Split actions in <code>stages</code> groups of consecutive actions, each group running in its own thread (see
+     * {@link ConcurrentNode}). Concurrent execution is ignored if an action depends on a context shared by all rows (see
+     * {@link ActionDefinition.Behavior#FORBID_DISTRIBUTED}).
+     *
+     * @param executor The executor to run groups of actions.
+     * @param stages The number of groups of actions, 1 (default) runs all actions in the calling thread.
+     */
+    public ActionNodesBuilder concurrency(final Executor executor, final int stages) {
+        this.executor = executor;
+        this.stages = stages;
+        return this;
+    }
+
+    /**
+     * Run actions on <code>partitions</code> partitions of each batch, each partition in its own thread with its own
+     * action contexts (see {@link PartitionedNode}). Partitioned execution is ignored if an action depends on a context
+     * shared by all rows (see {@link ActionDefinition.Behavior#FORBID_DISTRIBUTED}) or needs statistics of the rows
+     * before it. Statistics after actions are also computed on partitions (see
+     * {@link StatisticsNodesBuilder#partitions(Executor, int)}). When partitioned, actions do not run in concurrent
+     * groups.
+     *
+     * @param executor The executor to run partitions.
+     * @param partitions The maximum number of partitions of a batch, 1 (default) runs all actions in the calling thread.
+     */
+    public ActionNodesBuilder partitions(final Executor executor, final int partitions) {
+        this.partitionExecutor = executor;
+        this.partitions = partitions;
+        return this;
+    }
+
+    /**
+     * @param partitionTransformation A function that transforms the nodes of a partition (given the partition index and
+     * the first node of the partition), applied when actions run on partitions.
+     * @see #partitions(Executor, int)
+     */
+    public ActionNodesBuilder transformPartitions(final BiFunction<Integer, Node, Node> partitionTransformation) {
+        this.partitionTransformation = partitionTransformation;
+        return this;
+    }
+
+    /**
+     * @return <code>true</code> if actions can be split in concurrent groups.
+     */
+    private boolean isConcurrent() {
+        return executor != null && stages > 1 && isDistributable();
+    }
+
+    /**
+     * @param reservoirs The nodes that compute statistics needed by each action (<code>null</code> if none).
+     * @return <code>true</code> if actions can run on partitions.
+     */
+    private boolean isPartitioned(List<Node> reservoirs) {
+        if (partitionExecutor == null || partitions <= 1 || !isDistributable()) {
+            return false;
+        }
+        for (Node reservoir : reservoirs) {
+            if (reservoir != null && reservoir.getClass() != BasicNode.class) {
+                LOGGER.debug("Actions need intermediate statistics, partitioned execution ignored.");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return <code>true</code> if no action depends on a context shared by all rows.
+     */
+    private boolean isDistributable() {
+        if (actions.isEmpty() || actionRegistry == null) {
+            return false;
+        }
+        for (RunnableAction action : actions) {
+            final ActionDefinition actionDefinition = actionRegistry.get(action.getName());
+            if (actionDefinition == null || actionDefinition.getBehavior().contains(FORBID_DISTRIBUTED)) {
+                LOGGER.debug("Action '{}' prevents concurrent execution.", action.getName());
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Build the actions pipeline
      */
@@ -93,7 +195,8 @@ public class ActionNodesBuilder {
                 .statisticsAdapter(statisticsAdapter) //
                 .allowSchemaAnalysis(allowSchemaAnalysis) //
                 .actions(actions) //
-                .columns(initialMetadata.getColumns());
+                .columns(initialMetadata.getColumns()) //
+                .partitions(partitionExecutor, partitions);
 
         final NodeBuilder builder = NodeBuilder.source();
 
@@ -104,21 +207,58 @@ public class ActionNodesBuilder {
             builder.to(statisticsNodesBuilder.buildPreStatistics());
         }
 
+        // some actions need fresh statistics
+        // in those cases, we gather the rows in a reservoir node that triggers statistics computation
+        // before dispatching each row to the next node
+        final List<Node> reservoirs = new ArrayList<>(actions.size());
+        for (final RunnableAction nextAction : actions) {
+            reservoirs.add(statisticsNodesBuilder.buildIntermediateStatistics(nextAction));
+        }
+
         // transformation context is the parent of every action context
         // it will hold all the action context
         // that makes it the perfect entry point to clean up all the contexts
         final TransformationContext context = new TransformationContext();
 
+        // in partitioned mode, each partition holds its own action nodes (and contexts)
+        if (isPartitioned(reservoirs)) {
+            builder.to(buildPartitions());
+        } else {
+            appendActions(builder, context, reservoirs);
+        }
+
+        // global analysis after actions
+        // when it is explicitly asked and the actions changes the columns
+        if (needStatisticsAfter) {
+            builder.to(statisticsNodesBuilder.buildPostStatistics());
+        }
+
+        // cleanup all contexts after all actions
+        builder.to(new CleanUpNode(context));
+
+        return builder.build();
+    }
+
+    /**
+     * Append actions nodes, sharing the same transformation context.
+     */
+    private void appendActions(NodeBuilder builder, TransformationContext context, List<Node> reservoirs) {
+        // in concurrent mode, each group of actions (and post actions nodes) starts with a concurrent node
+        final boolean concurrent = isConcurrent();
+        final int actionsPerStage = concurrent ? (actions.size() + stages - 1) / stages : 0;
+        int actionIndex = 0;
+
         // append actions
         // actions are composed of
         // * a reservoir if fresh statistics are needed for the action
         // * a compile node
         // * an action node
-        for (final RunnableAction nextAction : actions) {
-            // some actions need fresh statistics
-            // in those cases, we gather the rows in a reservoir node that triggers statistics computation
-            // before dispatching each row to the next node
-            final Node neededReservoir = statisticsNodesBuilder.buildIntermediateStatistics(nextAction);
+        for (int i = 0; i < actions.size(); i++) {
+            final RunnableAction nextAction = actions.get(i);
+            if (concurrent && actionIndex++ % actionsPerStage == 0) {
+                builder.to(new ConcurrentNode(executor));
+            }
+            final Node neededReservoir = reservoirs.get(i);
             if (neededReservoir != null) {
                 builder.to(neededReservoir);
             }
@@ -128,15 +268,32 @@ public class ActionNodesBuilder {
             builder.to(new ActionNode(nextAction, context.in(rowAction)));
         }
 
-        // global analysis after actions
-        // when it is explicitly asked and the actions changes the columns
-        if (needStatisticsAfter) {
-            builder.to(statisticsNodesBuilder.buildPostStatistics());
+        if (concurrent) {
+            builder.to(new ConcurrentNode(executor));
         }
+    }
 
-        // cleanup all contexts after all actions
-        builder.to(new CleanUpNode(context));
-
-        return builder.build();
+    /**
+     * Build the actions nodes of each partition: each partition runs all actions with its own transformation context,
+     * cleaned up at the end of the partition.
+     */
+    private Node buildPartitions() {
+        final Node[] partitionNodes = new Node[partitions];
+        final PartitionedNode.Output[] outputs = new PartitionedNode.Output[partitions];
+        for (int partition = 0; partition < partitions; partition++) {
+            final TransformationContext partitionContext = new TransformationContext();
+            final NodeBuilder partitionBuilder = NodeBuilder.source();
+            for (final RunnableAction nextAction : actions) {
+                final DataSetRowAction rowAction = nextAction.getRowAction();
+                partitionBuilder.to(new CompileNode(nextAction, partitionContext.create(rowAction, initialMetadata)));
+                partitionBuilder.to(new ActionNode(nextAction, partitionContext.in(rowAction)));
+            }
+            partitionBuilder.to(new CleanUpNode(partitionContext));
+            outputs[partition] = new PartitionedNode.Output();
+            partitionBuilder.to(outputs[partition]);
+            partitionNodes[partition] = partitionTransformation.apply(partition, partitionBuilder.build());
+        }
+        LOGGER.debug("Actions run on {} partitions.", partitions);
+        return new PartitionedNode(partitionExecutor, partitionNodes, outputs);
     }
 }
@@ -10,17 +10,20 @@ public class ActionsProfile {
 
     private final boolean needOnlyInvalidAnalysis;
 
+    private final boolean createColumns;
+
     private final Predicate<ColumnMetadata> filterForFullAnalysis;
 
     private final Predicate<ColumnMetadata> filterForInvalidAnalysis;
 
     private final Predicate<ColumnMetadata> filterForPatternAnalysis;
 
-    public ActionsProfile(final boolean needFullAnalysis, final boolean needOnlyInvalidAnalysis,
+    public ActionsProfile(final boolean needFullAnalysis, final boolean needOnlyInvalidAnalysis, final boolean createColumns,
             final Predicate<ColumnMetadata> filterForFullAnalysis, final Predicate<ColumnMetadata> filterForInvalidAnalysis,
             final Predicate<ColumnMetadata> filterForPatternAnalysis) {
         this.needFullAnalysis = needFullAnalysis;
         this.needOnlyInvalidAnalysis = needOnlyInvalidAnalysis;
+        this.createColumns = createColumns;
         this.filterForFullAnalysis = filterForFullAnalysis;
         this.filterForInvalidAnalysis = filterForInvalidAnalysis;
         this.filterForPatternAnalysis = filterForPatternAnalysis;
@@ -45,4 +48,11 @@ public class ActionsProfile {
     public boolean needOnlyInvalidAnalysis() {
         return needOnlyInvalidAnalysis;
     }
+
+    /**
+     * @return <code>true</code> if actions create (or copy) columns.
+     */
+    public boolean createColumns() {
+        return createColumns;
+    }
 }
@@ -15,7 +15,10 @@ import org.talend.dataprep.parameters.ParameterType;
 import org.talend.dataprep.transformation.actions.common.RunnableAction;
 import org.talend.dataprep.transformation.pipeline.ActionRegistry;
 
-class ActionsStaticProfiler {
+/**
+ * Profiles actions without running them: tells which analyses a pipeline running these actions needs.
+ */
+public class ActionsStaticProfiler {
 
     private final ActionRegistry actionRegistry;
 
@@ -102,8 +105,8 @@ class ActionsStaticProfiler {
         // only the columns with metadata change or value changes need to re-evaluate invalids
         Predicate<ColumnMetadata> filterForInvalidAnalysis = new FilterForInvalidAnalysis(filterForFullAnalysis, metadataModifiedColumns);
 
-        return new ActionsProfile(needFullAnalysis, needOnlyInvalidAnalysis, filterForFullAnalysis, filterForInvalidAnalysis,
-                filterForInvalidAnalysis);
+        return new ActionsProfile(needFullAnalysis, needOnlyInvalidAnalysis, createColumnActions > 0, filterForFullAnalysis,
+                filterForInvalidAnalysis, filterForInvalidAnalysis);
     }
 
     private static class FilterForFullAnalysis implements SerializablePredicate<ColumnMetadata> {
@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -47,6 +48,11 @@ public class StatisticsNodesBuilder {
 
     private Map<Action, ActionDefinition> actionToMetadata;
 
+    // concurrent analysis
+    private Executor executor;
+
+    private int partitions = 1;
+
     private StatisticsNodesBuilder() {
     }
 
@@ -84,6 +90,18 @@ public class StatisticsNodesBuilder {
         return this;
     }
 
+    /**
+     * Analyze batches in <code>partitions</code> partitions, each one in its own thread (see {@link StatisticsNode}).
+     *
+     * @param executor The executor to analyze partitions.
+     * @param partitions The maximum number of partitions of a batch, 1 (default) analyzes rows in the calling thread.
+     */
+    public StatisticsNodesBuilder partitions(final Executor executor, final int partitions) {
+        this.executor = executor;
+        this.partitions = partitions;
+        return this;
+    }
+
     public Node buildPreStatistics() {
         // TODO remove this and fix tests
         if (analyzerService == null) {
@@ -215,10 +233,10 @@ public class StatisticsNodesBuilder {
     }
 
     private Node getQualityStatisticsNode(final Predicate<ColumnMetadata> columnFilter) {
-        return new StatisticsNode(getQualityAnalyzer(), columnFilter, statisticsAdapter);
+        return new StatisticsNode(getQualityAnalyzer(), columnFilter, statisticsAdapter, executor, partitions);
     }
 
     private Node getFullStatisticsNode(final Predicate<ColumnMetadata> columnFilter) {
-        return new StatisticsNode(getFullAnalyzer(), columnFilter, statisticsAdapter);
+        return new StatisticsNode(getFullAnalyzer(), columnFilter, statisticsAdapter, executor, partitions);
     }
 }
@@ -22,6 +22,15 @@ public class BasicLink implements Link, RuntimeLink {
         target.exec().receive(rows, metadatas);
     }
 
+    /**
+     * Forwards the whole batch to target node. Subclasses that override {@link #emit(DataSetRow, RowMetadata)} must
+     * also override this method.
+     */
+    @Override
+    public void emitBatch(DataSetRow[] rows, RowMetadata metadata) {
+        target.exec().receiveBatch(rows, metadata);
+    }
+
     @Override
     public void accept(Visitor visitor) {
         visitor.visitBasicLink(this);
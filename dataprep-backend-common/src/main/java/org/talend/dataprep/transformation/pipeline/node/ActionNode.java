@@ -40,17 +40,7 @@ public class ActionNode extends BasicNode implements Monitored {
         final DataSetRow actionRow;
         final long start = System.currentTimeMillis();
         try {
-            switch (actionContext.getActionStatus()) {
-            case NOT_EXECUTED:
-            case OK:
-                actionRow = action.getRowAction().apply(row, actionContext);
-                break;
-            case DONE:
-            case CANCELED:
-            default:
-                actionRow = row;
-                break;
-            }
+            actionRow = apply(row);
         } finally {
             totalTime += System.currentTimeMillis() - start;
             count++;
@@ -61,6 +51,36 @@ public class ActionNode extends BasicNode implements Monitored {
         }
     }
 
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        final long start = System.currentTimeMillis();
+        try {
+            for (int i = 0; i < rows.length; i++) {
+                final DataSetRow row = rows[i];
+                rows[i] = apply(row);
+                row.setRowMetadata(actionContext.getRowMetadata());
+            }
+        } finally {
+            totalTime += System.currentTimeMillis() - start;
+            count += rows.length;
+        }
+        if (link != null) {
+            link.exec().emitBatch(rows, actionContext.getRowMetadata());
+        }
+    }
+
+    private DataSetRow apply(DataSetRow row) {
+        switch (actionContext.getActionStatus()) {
+        case NOT_EXECUTED:
+        case OK:
+            return action.getRowAction().apply(row, actionContext);
+        case DONE:
+        case CANCELED:
+        default:
+            return row;
+        }
+    }
+
     @Override
     public void accept(Visitor visitor) {
         visitor.visitAction(this);
@@ -34,6 +34,34 @@ public class BasicNode implements Node, RuntimeNode {
         }
     }
 
+    /**
+     * Passes the rows of the batch one by one to {@link #receive(DataSetRow, RowMetadata)}, so subclasses that only
+     * override it still see every row. A plain node forwards the whole batch: subclasses that only forward rows (or
+     * process the whole batch) override this method and call {@link #forwardBatch(DataSetRow[], RowMetadata)}.
+     */
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        if (getClass() == BasicNode.class) {
+            forwardBatch(rows, metadata);
+        } else {
+            for (DataSetRow row : rows) {
+                receive(row, metadata);
+            }
+        }
+    }
+
+    /**
+     * Forwards the whole batch to next node.
+     *
+     * @param rows the rows to forward.
+     * @param metadata the metadata of the rows.
+     */
+    protected void forwardBatch(DataSetRow[] rows, RowMetadata metadata) {
+        if (link != null) {
+            link.exec().emitBatch(rows, metadata);
+        }
+    }
+
     @Override
     public Link getLink() {
         return link;
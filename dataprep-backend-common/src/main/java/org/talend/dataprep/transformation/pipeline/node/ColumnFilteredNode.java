@@ -38,6 +38,10 @@ abstract class ColumnFilteredNode extends BasicNode {
     }
 
     void performColumnFilter(DataSetRow row, RowMetadata metadata) {
+        if (metadata == rowMetadata && filteredColumns != null) {
+            // same metadata as previous row: nothing to refresh (and no column list to allocate)
+            return;
+        }
         final boolean needRefresh = rowMetadata == null || !metadata.equals(rowMetadata);
         List<ColumnMetadata> columns = metadata.getColumns();
         if (!columns.isEmpty()) {
@@ -34,6 +34,21 @@ public class CompileNode extends BasicNode {
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
+        compile(metadata);
+        row.setRowMetadata(actionContext.getRowMetadata());
+        link.exec().emit(row, actionContext.getRowMetadata());
+    }
+
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        compile(metadata);
+        for (DataSetRow row : rows) {
+            row.setRowMetadata(actionContext.getRowMetadata());
+        }
+        link.exec().emitBatch(rows, actionContext.getRowMetadata());
+    }
+
+    private void compile(RowMetadata metadata) {
         boolean needCompile = actionContext.getActionStatus() == ActionContext.ActionStatus.NOT_EXECUTED;
         if (actionContext.getRowMetadata() == null || hashCode != metadata.hashCode()) {
             actionContext.setRowMetadata(metadata.clone());
@@ -43,8 +58,6 @@ public class CompileNode extends BasicNode {
         if (needCompile) {
             action.getRowAction().compile(actionContext);
         }
-        row.setRowMetadata(actionContext.getRowMetadata());
-        link.exec().emit(row, actionContext.getRowMetadata());
     }
 
     @Override
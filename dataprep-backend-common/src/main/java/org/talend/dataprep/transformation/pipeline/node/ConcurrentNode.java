@@ -0,0 +1,280 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.daikon.exception.TalendRuntimeException;
+import org.talend.dataprep.BaseErrorCodes;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.pipeline.Monitored;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.Signal;
+
+/**
+ * <p>
+ * A node that hands rows over to another thread: nodes after this one run concurrently with nodes before it. Rows,
+ * batches and signals are processed by next nodes in the order they were received, so next nodes see the same sequence
+ * of events as in a single threaded pipeline.
+ * </p>
+ * <p>
+ * {@link Signal#END_OF_STREAM} waits for all received rows to be processed by next nodes.
+ * </p>
+ * <p>
+ * Next nodes get their own copy of the row metadata (refreshed when metadata received by this node changes), so
+ * metadata is never shared by two threads. If executor has no thread available, next nodes run in the calling thread.
+ * </p>
+ */
+public class ConcurrentNode extends BasicNode implements Monitored {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentNode.class);
+
+    /** Default number of pending rows or batches before receive blocks. */
+    public static final int DEFAULT_QUEUE_SIZE = 16;
+
+    /** The executor that runs next nodes. */
+    private final transient Executor executor;
+
+    /** Number of pending rows or batches before receive blocks. */
+    private final int queueSize;
+
+    /** Pending events for next nodes (<code>null</code> when no consumer is running). */
+    private transient BlockingQueue<Event> queue;
+
+    /** Released when consumer processed {@link Signal#END_OF_STREAM}. */
+    private transient CountDownLatch finished;
+
+    /** <code>true</code> if next nodes run in the calling thread until end of stream (no thread was available). */
+    private transient boolean direct;
+
+    /** The last metadata received from previous nodes. */
+    private transient RowMetadata received;
+
+    /** Hash code of {@link #received} when it was copied. */
+    private transient int receivedHashCode;
+
+    /** The copy of {@link #received} sent to next nodes. */
+    private transient RowMetadata stageMetadata;
+
+    /** First error that occurred in next nodes (if any). */
+    private transient volatile Exception failure;
+
+    /** Time spent waiting for next nodes. */
+    private long totalTime;
+
+    private long count;
+
+    public ConcurrentNode(Executor executor) {
+        this(executor, DEFAULT_QUEUE_SIZE);
+    }
+
+    public ConcurrentNode(Executor executor, int queueSize) {
+        this.executor = executor;
+        this.queueSize = queueSize;
+    }
+
+    @Override
+    public void receive(DataSetRow row, RowMetadata metadata) {
+        final RowMetadata copy = stageMetadata(metadata);
+        // row instance may be reused by previous node once this method returns
+        final DataSetRow clone = row.clone();
+        clone.setRowMetadata(copy);
+        submit(new Event(clone, null, copy, null));
+        count++;
+    }
+
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        final RowMetadata copy = stageMetadata(metadata);
+        for (DataSetRow row : rows) {
+            row.setRowMetadata(copy);
+        }
+        submit(new Event(null, rows, copy, null));
+        count += rows.length;
+    }
+
+    /**
+     * Previous nodes may change their metadata while next nodes read (or change) metadata they received: next nodes
+     * get a copy of the metadata, made in the thread of previous nodes. As in {@link CompileNode}, metadata is copied
+     * again when its hash code changes.
+     *
+     * @param metadata The metadata received from previous nodes.
+     * @return The metadata to send to next nodes.
+     */
+    private RowMetadata stageMetadata(RowMetadata metadata) {
+        if (metadata == null) {
+            return null;
+        }
+        final int hashCode = metadata.hashCode();
+        if (stageMetadata == null || metadata != received || hashCode != receivedHashCode) {
+            received = metadata;
+            receivedHashCode = hashCode;
+            stageMetadata = metadata.clone();
+        }
+        return stageMetadata;
+    }
+
+    @Override
+    public void signal(Signal signal) {
+        final CountDownLatch latch = submit(new Event(null, null, null, signal));
+        if (signal == Signal.END_OF_STREAM) {
+            received = null;
+            stageMetadata = null;
+            final long start = System.currentTimeMillis();
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+            } finally {
+                totalTime += System.currentTimeMillis() - start;
+            }
+            if (failure != null) {
+                throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, failure);
+            }
+        }
+    }
+
+    /**
+     * Add <code>event</code> to the pending events, and starts a consumer if none is running.
+     *
+     * @param event The event to be processed by next nodes.
+     * @return A latch released when the consumer that will process <code>event</code> has ended.
+     */
+    private synchronized CountDownLatch submit(Event event) {
+        if (queue == null && !direct) {
+            final BlockingQueue<Event> events = new ArrayBlockingQueue<>(queueSize);
+            final CountDownLatch latch = new CountDownLatch(1);
+            failure = null;
+            try {
+                executor.execute(() -> consume(events, latch));
+                queue = events;
+                finished = latch;
+            } catch (RejectedExecutionException e) {
+                LOGGER.warn("No thread available for concurrent pipeline stage, running it in the calling thread.");
+                LOGGER.debug("Unable to start concurrent pipeline stage.", e);
+                direct = true;
+            }
+        }
+        if (direct) {
+            if (event.signal == Signal.END_OF_STREAM) {
+                // next stream may run concurrently
+                direct = false;
+            }
+            dispatch(event);
+            return new CountDownLatch(0);
+        }
+        final CountDownLatch latch = finished;
+        final long start = System.currentTimeMillis();
+        try {
+            queue.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+        } finally {
+            totalTime += System.currentTimeMillis() - start;
+        }
+        if (event.signal == Signal.END_OF_STREAM) {
+            // next events (if any) go to a new consumer
+            queue = null;
+        }
+        return latch;
+    }
+
+    /**
+     * Sends <code>event</code> to next nodes.
+     */
+    private void dispatch(Event event) {
+        if (event.signal != null) {
+            super.signal(event.signal);
+        } else if (event.rows != null) {
+            forwardBatch(event.rows, event.metadata);
+        } else {
+            super.receive(event.row, event.metadata);
+        }
+    }
+
+    /**
+     * Process events until {@link Signal#END_OF_STREAM}. After an error, rows are discarded but signals are still sent to
+     * next nodes.
+     */
+    private void consume(BlockingQueue<Event> events, CountDownLatch latch) {
+        try {
+            while (true) {
+                final Event event = events.take();
+                try {
+                    if (event.signal != null || failure == null) {
+                        dispatch(event);
+                    }
+                } catch (Exception e) {
+                    LOGGER.error("Unable to process rows.", e);
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+                if (event.signal == Signal.END_OF_STREAM) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        } finally {
+            latch.countDown();
+        }
+    }
+
+    @Override
+    public Node copyShallow() {
+        return new ConcurrentNode(executor, queueSize);
+    }
+
+    @Override
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    @Override
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * A row, a batch of rows or a signal to be sent to next nodes.
+     */
+    private static class Event {
+
+        private final DataSetRow row;
+
+        private final DataSetRow[] rows;
+
+        private final RowMetadata metadata;
+
+        private final Signal signal;
+
+        private Event(DataSetRow row, DataSetRow[] rows, RowMetadata metadata, Signal signal) {
+            this.row = row;
+            this.rows = rows;
+            this.metadata = metadata;
+            this.signal = signal;
+        }
+    }
+}
@@ -38,6 +38,13 @@ public class FilterNode extends BasicNode {
         }
     }
 
+    @Override
+    public void receiveBatch(final DataSetRow[] rows, final RowMetadata metadata) {
+        for (DataSetRow row : rows) {
+            receive(row, metadata);
+        }
+    }
+
     @Override
     public void receive(final DataSetRow[] rows, final RowMetadata[] metadatas) {
         if (test(rows, metadatas)) {
@@ -12,6 +12,7 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
+import java.util.Arrays;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -31,13 +32,32 @@ public class FilteredNode extends BasicNode {
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
+        if (getInstance(metadata).test(row)) {
+            super.receive(row, metadata);
+        }
+    }
+
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        final Predicate<DataSetRow> predicate = getInstance(metadata);
+        final DataSetRow[] filteredRows = new DataSetRow[rows.length];
+        int size = 0;
+        for (DataSetRow row : rows) {
+            if (predicate.test(row)) {
+                filteredRows[size++] = row;
+            }
+        }
+        if (size > 0) {
+            forwardBatch(size == rows.length ? filteredRows : Arrays.copyOf(filteredRows, size), metadata);
+        }
+    }
+
+    private Predicate<DataSetRow> getInstance(RowMetadata metadata) {
         synchronized (filter) {
             if (instance == null) {
                 instance = filter.apply(metadata);
             }
-        }
-        if (instance.test(row)) {
-            super.receive(row, metadata);
+            return instance;
         }
     }
 
@@ -12,6 +12,7 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
+import java.util.Arrays;
 import java.util.function.Predicate;
 
 import org.talend.dataprep.api.dataset.RowMetadata;
@@ -33,6 +34,20 @@ public class FilteredSourceNode extends SourceNode {
         }
     }
 
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        final DataSetRow[] filteredRows = new DataSetRow[rows.length];
+        int size = 0;
+        for (DataSetRow row : rows) {
+            if (filter.test(row)) {
+                filteredRows[size++] = row;
+            }
+        }
+        if (size > 0) {
+            forwardBatch(size == rows.length ? filteredRows : Arrays.copyOf(filteredRows, size), metadata);
+        }
+    }
+
     @Override
     public Node copyShallow() {
         return new FilteredSourceNode(filter);
@@ -51,18 +51,36 @@ public class InvalidDetectionNode extends ColumnFilteredNode implements Monitore
     public void receive(DataSetRow row, RowMetadata metadata) {
         final long start = System.currentTimeMillis();
         try {
-            performColumnFilter(row, metadata);
-            if (configuredAnalyzer == null) {
-                this.configuredAnalyzer = getAnalyzerService().build(filteredColumns, AnalyzerService.Analysis.QUALITY);
-                this.invalidMarker = new InvalidMarker(filteredColumns, configuredAnalyzer);
-            }
-            super.receive(invalidMarker.apply(row), metadata);
+            super.receive(mark(row, metadata), metadata);
         } finally {
             totalTime += System.currentTimeMillis() - start;
             count++;
         }
     }
 
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        final long start = System.currentTimeMillis();
+        try {
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = mark(rows[i], metadata);
+            }
+            forwardBatch(rows, metadata);
+        } finally {
+            totalTime += System.currentTimeMillis() - start;
+            count += rows.length;
+        }
+    }
+
+    private DataSetRow mark(DataSetRow row, RowMetadata metadata) {
+        performColumnFilter(row, metadata);
+        if (configuredAnalyzer == null) {
+            this.configuredAnalyzer = getAnalyzerService().build(filteredColumns, AnalyzerService.Analysis.QUALITY);
+            this.invalidMarker = new InvalidMarker(filteredColumns, configuredAnalyzer);
+        }
+        return invalidMarker.apply(row);
+    }
+
     private AnalyzerService getAnalyzerService() {
         if (analyzerService == null) {
             this.analyzerService = Providers.get(AnalyzerService.class);
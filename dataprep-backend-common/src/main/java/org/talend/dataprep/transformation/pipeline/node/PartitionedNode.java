@@ -0,0 +1,193 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataprep.transformation.pipeline.Visitor;
+
+/**
+ * <p>
+ * A node that runs a group of nodes on several partitions of each batch concurrently: a batch is split in ordered
+ * chunks of consecutive rows, each chunk is processed by its own copy of the nodes (a partition), then the rows
+ * produced by partitions are sent to next nodes in the order of the chunks, so next nodes see the same rows, in the
+ * same order, as in a single threaded pipeline.
+ * </p>
+ * <p>
+ * Each partition ends with an {@link Output} that keeps the rows of its chunk until next nodes receive them. Nodes of
+ * a partition must not depend on other rows than the ones they process (see
+ * {@link org.talend.dataprep.api.action.ActionDefinition.Behavior#FORBID_DISTRIBUTED}): the nodes of the first
+ * partition are the ones seen by {@link Visitor visitors}. Single rows are processed by the first partition.
+ * </p>
+ * <p>
+ * Rows produced by a partition are sent with the metadata of the first partition (partitions produce the same
+ * metadata, each one in its own copy). Signals are sent to next nodes, then to all partitions.
+ * </p>
+ */
+public class PartitionedNode extends BasicNode {
+
+    /** The executor that runs partitions (but the first one, that runs in the calling thread). */
+    private final transient Executor executor;
+
+    /** The first node of each partition. */
+    private final Node[] partitions;
+
+    /** The last node of each partition. */
+    private final Output[] outputs;
+
+    /**
+     * @param executor The executor that runs partitions.
+     * @param partitions The first node of each partition.
+     * @param outputs The last node of each partition (in the same order as <code>partitions</code>).
+     */
+    public PartitionedNode(Executor executor, Node[] partitions, Output[] outputs) {
+        if (partitions.length == 0 || partitions.length != outputs.length) {
+            throw new IllegalArgumentException("Each partition needs an output.");
+        }
+        this.executor = executor;
+        this.partitions = partitions;
+        this.outputs = outputs;
+    }
+
+    @Override
+    public void receive(DataSetRow row, RowMetadata metadata) {
+        partitions[0].exec().receive(row, metadata);
+        final Output output = outputs[0];
+        for (int i = 0; i < output.size; i++) {
+            if (link != null) {
+                link.exec().emit(output.rows[i], output.metadata);
+            }
+        }
+        output.size = 0;
+    }
+
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        final int count = Partitions.count(partitions.length, rows.length);
+        if (count == 1) {
+            partitions[0].exec().receiveBatch(rows, metadata);
+        } else {
+            Partitions.run(executor, count, partition -> {
+                final DataSetRow[] chunk = Arrays.copyOfRange(rows, Partitions.start(partition, count, rows.length),
+                        Partitions.start(partition + 1, count, rows.length));
+                partitions[partition].exec().receiveBatch(chunk, metadata);
+            });
+        }
+        forwardOutputs(rows, count, metadata);
+    }
+
+    /**
+     * Sends the rows produced by the first <code>count</code> partitions to next nodes, in the order of partitions.
+     *
+     * @param rows The rows received by this node (the array is reused if partitions produced as many rows).
+     * @param count The number of partitions that processed rows.
+     * @param metadata The metadata received by this node.
+     */
+    private void forwardOutputs(DataSetRow[] rows, int count, RowMetadata metadata) {
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            size += outputs[i].size;
+        }
+        final RowMetadata outputMetadata = outputs[0].metadata != null ? outputs[0].metadata : metadata;
+        final DataSetRow[] result = size == rows.length ? rows : new DataSetRow[size];
+        int position = 0;
+        for (int i = 0; i < count; i++) {
+            final Output output = outputs[i];
+            for (int j = 0; j < output.size; j++) {
+                final DataSetRow row = output.rows[j];
+                row.setRowMetadata(outputMetadata);
+                result[position++] = row;
+            }
+            output.size = 0;
+        }
+        forwardBatch(result, outputMetadata);
+    }
+
+    @Override
+    public void signal(Signal signal) {
+        super.signal(signal);
+        for (Node partition : partitions) {
+            partition.exec().signal(signal);
+        }
+    }
+
+    @Override
+    public void accept(Visitor visitor) {
+        partitions[0].accept(visitor);
+        visitor.visitNode(this);
+    }
+
+    @Override
+    public Node copyShallow() {
+        return new PartitionedNode(executor, partitions, outputs);
+    }
+
+    /**
+     * The last node of a partition: keeps the rows produced by the partition until {@link PartitionedNode} sends them
+     * to next nodes. Copies share the rows of the original node.
+     */
+    public static class Output extends BasicNode {
+
+        /** The rows produced by the partition (shared by copies of this node). */
+        private final Output buffer;
+
+        private DataSetRow[] rows = new DataSetRow[0];
+
+        private int size;
+
+        private RowMetadata metadata;
+
+        public Output() {
+            this.buffer = this;
+        }
+
+        private Output(Output buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void receive(DataSetRow row, RowMetadata metadata) {
+            buffer.add(row, metadata);
+        }
+
+        @Override
+        public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+            for (DataSetRow row : rows) {
+                buffer.add(row, metadata);
+            }
+        }
+
+        private void add(DataSetRow row, RowMetadata metadata) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, Math.max(16, size * 2));
+            }
+            rows[size++] = row;
+            this.metadata = metadata;
+        }
+
+        @Override
+        public void signal(Signal signal) {
+            // Signals are sent to next nodes by the partitioned node
+        }
+
+        @Override
+        public Node copyShallow() {
+            return new Output(buffer);
+        }
+    }
+}
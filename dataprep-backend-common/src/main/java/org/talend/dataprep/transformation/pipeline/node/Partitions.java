@@ -0,0 +1,85 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntConsumer;
+
+/**
+ * Splits batches in ordered chunks of consecutive rows (one per partition) and processes chunks concurrently.
+ */
+final class Partitions {
+
+    /** Minimum number of rows in a partition (smaller batches use fewer partitions). */
+    static final int MIN_PARTITION_SIZE = 128;
+
+    private Partitions() {
+    }
+
+    /**
+     * @param partitions The maximum number of partitions.
+     * @param size The number of rows of the batch.
+     * @return The number of partitions to split a batch of <code>size</code> rows in (1 to process it in the calling
+     * thread).
+     */
+    static int count(int partitions, int size) {
+        return Math.max(1, Math.min(partitions, size / MIN_PARTITION_SIZE));
+    }
+
+    /**
+     * @param partition A partition index (or <code>count</code> for the end of the last partition).
+     * @param count The number of partitions.
+     * @param size The number of rows of the batch.
+     * @return The index of the first row of <code>partition</code>.
+     */
+    static int start(int partition, int count, int size) {
+        return (int) ((long) size * partition / count);
+    }
+
+    /**
+     * Runs <code>task</code> for each partition: first partition runs in the calling thread, others in
+     * <code>executor</code>. Returns once all partitions are processed, rethrowing the first error (if any).
+     *
+     * @param executor The executor to run partitions (but the first one).
+     * @param count The number of partitions.
+     * @param task The task to run, given the partition index.
+     */
+    static void run(Executor executor, int count, IntConsumer task) {
+        final CompletableFuture<?>[] others = new CompletableFuture<?>[count - 1];
+        for (int i = 1; i < count; i++) {
+            final int partition = i;
+            others[i - 1] = CompletableFuture.runAsync(() -> task.accept(partition), executor);
+        }
+        RuntimeException failure = null;
+        try {
+            task.accept(0);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        // wait for all partitions, even on error: nodes of a partition must not be used by two threads
+        for (CompletableFuture<?> other : others) {
+            try {
+                other.join();
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
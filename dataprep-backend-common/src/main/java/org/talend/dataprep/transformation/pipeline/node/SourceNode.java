@@ -12,11 +12,18 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.transformation.pipeline.Node;
 import org.talend.dataprep.transformation.pipeline.Visitor;
 
 public class SourceNode extends BasicNode {
 
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        forwardBatch(rows, metadata);
+    }
+
     @Override
     public void accept(Visitor visitor) {
         visitor.visitSource(this);
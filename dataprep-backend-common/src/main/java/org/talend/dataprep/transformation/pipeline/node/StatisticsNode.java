@@ -12,7 +12,9 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -35,6 +37,11 @@ import org.talend.dataquality.common.inference.Analyzers;
  * <p>
  * Please note this class does not perform invalid values detection (see {@link InvalidDetectionNode} for this).
  * </p>
+ * <p>
+ * When built with an executor, batches are split in partitions analyzed concurrently, each one by its own analyzer,
+ * and results of all analyzers are {@link Analyzer#merge(Analyzer) merged} on end of stream. This requires analyzers
+ * to support merge (checked on first batch): rows are analyzed in the calling thread otherwise.
+ * </p>
  */
 public class StatisticsNode extends ColumnFilteredNode {
 
@@ -46,12 +53,48 @@ public class StatisticsNode extends ColumnFilteredNode {
 
     private Analyzer<Analyzers.Result> configuredAnalyzer;
 
+    /** Values given to the analyzer (reused from one row to another). */
+    private String[] values;
+
+    /** The executor that analyzes partitions of batches (<code>null</code> to analyze rows in the calling thread). */
+    private final transient Executor executor;
+
+    /** The maximum number of partitions of a batch. */
+    private final int partitions;
+
+    /** The analyzers of partitions, the first one being {@link #configuredAnalyzer}. */
+    private final List<Analyzer<Analyzers.Result>> partitionAnalyzers = new ArrayList<>();
+
+    /** Values given to the analyzer of each partition. */
+    private String[][] partitionValues;
+
+    /** <code>true</code> if analyzers support merge, <code>null</code> if not checked yet. */
+    private Boolean mergeable;
+
     public StatisticsNode(Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer,
                           Predicate<? super ColumnMetadata> filter,
                           StatisticsAdapter adapter) {
+        this(analyzer, filter, adapter, null, 1);
+    }
+
+    /**
+     * @param analyzer The function that creates an analyzer for the filtered columns.
+     * @param filter The filter of the analyzed columns.
+     * @param adapter The adapter that sets the analysis results in the columns metadata.
+     * @param executor The executor that analyzes partitions of batches (<code>null</code> to analyze all rows in the
+     * calling thread).
+     * @param partitions The maximum number of partitions of a batch (1 to analyze all rows in the calling thread).
+     */
+    public StatisticsNode(Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer,
+                          Predicate<? super ColumnMetadata> filter,
+                          StatisticsAdapter adapter,
+                          Executor executor,
+                          int partitions) {
         super(filter);
         this.analyzer = analyzer;
         this.adapter = adapter;
+        this.executor = executor;
+        this.partitions = partitions;
     }
 
     /**
@@ -86,20 +129,120 @@ public class StatisticsNode extends ColumnFilteredNode {
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
+        analyze(row, metadata);
+        super.receive(row, metadata);
+    }
+
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        final int count = getPartitionCount(rows, metadata);
+        if (count > 1) {
+            analyzePartitions(rows, count);
+        } else {
+            for (DataSetRow row : rows) {
+                analyze(row, metadata);
+            }
+        }
+        forwardBatch(rows, metadata);
+    }
+
+    private void analyze(DataSetRow row, RowMetadata metadata) {
         performColumnFilter(row, metadata);
         if (configuredAnalyzer == null) {
             this.configuredAnalyzer = analyzer.apply(filteredColumns);
         }
-        if (!row.isDeleted()) {
-            configuredAnalyzer.analyze(row.filter(filteredColumns).order(filteredColumns).toArray(DataSetRow.SKIP_TDP_ID));
+        values = analyze(row, configuredAnalyzer, values);
+    }
+
+    private String[] analyze(DataSetRow row, Analyzer<Analyzers.Result> rowAnalyzer, String[] buffer) {
+        if (row.isDeleted()) {
+            return buffer;
+        }
+        final String[] rowValues = row.toArray(filteredColumns, buffer);
+        rowAnalyzer.analyze(rowValues);
+        return rowValues;
+    }
+
+    /**
+     * @return The number of partitions to analyze <code>rows</code> (1 to analyze them in the calling thread).
+     */
+    private int getPartitionCount(DataSetRow[] rows, RowMetadata metadata) {
+        final int count = executor == null ? 1 : Partitions.count(partitions, rows.length);
+        if (count == 1) {
+            return 1;
+        }
+        performColumnFilter(rows[0], metadata);
+        if (configuredAnalyzer == null) {
+            this.configuredAnalyzer = analyzer.apply(filteredColumns);
+        }
+        return isMergeable() ? count : 1;
+    }
+
+    /**
+     * Checks once whether analyzers support merge, by merging two new analyzers.
+     */
+    private boolean isMergeable() {
+        if (mergeable == null) {
+            final Analyzer<Analyzers.Result> first = analyzer.apply(filteredColumns);
+            final Analyzer<Analyzers.Result> second = analyzer.apply(filteredColumns);
+            try {
+                first.merge(second);
+                mergeable = true;
+            } catch (RuntimeException e) {
+                LOGGER.debug("Analyzer does not support merge, rows are analyzed in a single thread.", e);
+                mergeable = false;
+            } finally {
+                close(first);
+                close(second);
+            }
+        }
+        return mergeable;
+    }
+
+    private void analyzePartitions(DataSetRow[] rows, int count) {
+        if (partitionAnalyzers.isEmpty()) {
+            partitionAnalyzers.add(configuredAnalyzer);
+            partitionValues = new String[partitions][];
+        }
+        while (partitionAnalyzers.size() < count) {
+            partitionAnalyzers.add(analyzer.apply(filteredColumns));
+        }
+        Partitions.run(executor, count, partition -> {
+            final Analyzer<Analyzers.Result> partitionAnalyzer = partitionAnalyzers.get(partition);
+            String[] buffer = partitionValues[partition];
+            final int end = Partitions.start(partition + 1, count, rows.length);
+            for (int i = Partitions.start(partition, count, rows.length); i < end; i++) {
+                buffer = analyze(rows[i], partitionAnalyzer, buffer);
+            }
+            partitionValues[partition] = buffer;
+        });
+    }
+
+    /**
+     * Merges results of partition analyzers (if any) in {@link #configuredAnalyzer}.
+     */
+    private void mergePartitions() {
+        Analyzer<Analyzers.Result> merged = configuredAnalyzer;
+        for (int i = 1; i < partitionAnalyzers.size(); i++) {
+            merged = merged.merge(partitionAnalyzers.get(i));
+        }
+        configuredAnalyzer = merged;
+        partitionAnalyzers.clear();
+    }
+
+    private static void close(Analyzer<Analyzers.Result> analyzer) {
+        try {
+            analyzer.close();
+        } catch (Exception e) {
+            LOGGER.debug("Unable to close analyzer.", e);
         }
-        super.receive(row, metadata);
     }
 
     @Override
     public void signal(Signal signal) {
         if (signal == Signal.END_OF_STREAM || signal == Signal.CANCEL || signal == Signal.STOP) {
             if (configuredAnalyzer != null) {
+                mergePartitions();
                 adapter.adapt(filteredColumns, configuredAnalyzer.getResult());
             } else {
                 LOGGER.warn("No data received.");
@@ -110,6 +253,6 @@ public class StatisticsNode extends ColumnFilteredNode {
 
     @Override
     public Node copyShallow() {
-        return new StatisticsNode(analyzer, filter, adapter);
+        return new StatisticsNode(analyzer, filter, adapter, executor, partitions);
     }
 }
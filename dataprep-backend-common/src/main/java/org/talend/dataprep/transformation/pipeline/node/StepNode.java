@@ -52,8 +52,30 @@ public class StepNode extends BasicNode {
         return step;
     }
 
+    /**
+     * @return The last node of this step (the step's action node).
+     */
+    public Node getLastNode() {
+        return lastNode;
+    }
+
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
+        entryNode.exec().receive(row, prepare(metadata));
+    }
+
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        entryNode.exec().receiveBatch(rows, prepare(metadata));
+    }
+
+    /**
+     * Updates step's row metadata (if needed) and links last node of the step to the node after this step.
+     *
+     * @param metadata The row metadata received by this node.
+     * @return The row metadata to be used for processing rows in this step.
+     */
+    private RowMetadata prepare(RowMetadata metadata) {
         Optional<RowMetadata> stepMetadata = Optional.ofNullable(step.getRowMetadata());
         final RowMetadata rowMetadata = stepMetadata.isPresent() ? stepMetadata.get() : metadata;
         if (!stepMetadata.isPresent()) {
@@ -69,7 +91,7 @@ public class StepNode extends BasicNode {
             final RuntimeLink stepLink = getLink().exec();
             lastNode.setLink(new StepLink(stepLink));
         }
-        entryNode.exec().receive(row, rowMetadata);
+        return rowMetadata;
     }
 
     @Override
@@ -108,6 +130,11 @@ public class StepNode extends BasicNode {
                     stepLink.emit(rows, metadatas);
                 }
 
+                @Override
+                public void emitBatch(DataSetRow[] rows, RowMetadata metadata) {
+                    stepLink.emitBatch(rows, metadata);
+                }
+
                 @Override
                 public void signal(Signal signal) {
                     stepLink.signal(signal);
@@ -19,7 +19,6 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.zip.GZIPInputStream;
@@ -68,6 +67,9 @@ public class TypeDetectionNode extends ColumnFilteredNode implements Monitored {
 
     private long count;
 
+    /** Values given to the analyzer (reused from one row to another). */
+    private String[] values;
+
     public TypeDetectionNode(Predicate<ColumnMetadata> filter, StatisticsAdapter adapter,
             Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer) {
         super(filter);
@@ -94,23 +96,26 @@ public class TypeDetectionNode extends ColumnFilteredNode implements Monitored {
         count++;
     }
 
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        for (DataSetRow row : rows) {
+            receive(row, metadata);
+        }
+    }
+
     // Store row in temporary file
     private void store(DataSetRow row, List<ColumnMetadata> columns) {
         try {
             generator.writeStartObject();
-            columns.forEach(column -> {
-                try {
-                    generator.writeStringField(column.getId(), row.get(column.getId()));
-                } catch (IOException e) {
-                    throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
-                }
-            });
+            for (ColumnMetadata column : columns) {
+                generator.writeStringField(column.getId(), row.get(column.getId()));
+            }
             if (row.isDeleted()) {
                 generator.writeBooleanField("_deleted", true);
             }
-            final Optional<Long> tdpId = Optional.ofNullable(row.getTdpId());
-            if (tdpId.isPresent()) {
-                generator.writeNumberField(FlagNames.TDP_ID, tdpId.get());
+            final Long tdpId = row.getTdpId();
+            if (tdpId != null) {
+                generator.writeNumberField(FlagNames.TDP_ID, tdpId);
             }
             for (Map.Entry<String, String> entry : row.getInternalValues().entrySet()) {
                 generator.writeStringField(entry.getKey(), entry.getValue());
@@ -128,9 +133,7 @@ public class TypeDetectionNode extends ColumnFilteredNode implements Monitored {
             if (resultAnalyzer == null) {
                 resultAnalyzer = analyzer.apply(filteredColumns);
             }
-            final String[] values = row.filter(filteredColumns) //
-                    .order(rowMetadata.getColumns()) //
-                    .toArray(DataSetRow.SKIP_TDP_ID.and(e -> filteredColumnNames.contains(e.getKey())));
+            values = row.toArray(filteredColumns, values);
             try {
                 resultAnalyzer.analyze(values);
             } catch (Exception e) {
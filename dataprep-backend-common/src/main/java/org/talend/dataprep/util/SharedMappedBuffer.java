@@ -0,0 +1,133 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A read-only memory-mapped file shared by several readers. The mapping is reference counted: it is created with one
+ * reference (owned by the caller of {@link #map(File)}), each reader {@link #retain() retains} it before reading and
+ * {@link #release() releases} it when done. The mapping is unmapped as soon as the last reference is released, instead
+ * of waiting for the garbage collector to collect the buffer.
+ */
+public class SharedMappedBuffer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedMappedBuffer.class);
+
+    private final MappedByteBuffer buffer;
+
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private SharedMappedBuffer(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Maps the whole content of a file.
+     *
+     * @param file the file to map.
+     * @return the mapped file, with one reference owned by the caller.
+     * @throws IOException if the file cannot be mapped.
+     */
+    public static SharedMappedBuffer map(File file) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            final FileChannel channel = randomAccessFile.getChannel();
+            return new SharedMappedBuffer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Adds a reference to this mapping.
+     *
+     * @return <code>true</code> if the reference was added, <code>false</code> if the mapping is already released.
+     */
+    public boolean retain() {
+        int count;
+        do {
+            count = references.get();
+            if (count <= 0) {
+                return false;
+            }
+        } while (!references.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    /**
+     * Removes a reference to this mapping, and unmaps it if it was the last one.
+     *
+     * @return <code>true</code> if the mapping was unmapped (the mapped file can then be deleted).
+     */
+    public boolean release() {
+        final int count = references.decrementAndGet();
+        if (count < 0) {
+            throw new IllegalStateException("Mapping is already released");
+        }
+        if (count == 0) {
+            unmap(buffer);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return <code>true</code> if the last reference to this mapping was released.
+     */
+    public boolean isReleased() {
+        return references.get() <= 0;
+    }
+
+    /**
+     * @return a new view (with its own position) of the mapped content, only valid while caller holds a reference.
+     */
+    public ByteBuffer view() {
+        return buffer.duplicate();
+    }
+
+    /**
+     * @return the size (in bytes) of the mapped content.
+     */
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Unmaps a buffer right away. Relies on the JDK internal cleaner of direct buffers: if not available, mapping is
+     * released when the buffer is garbage collected.
+     *
+     * @param buffer the buffer to unmap, must not be used afterwards.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            final Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) {
+                final Method cleanMethod = cleaner.getClass().getMethod("clean");
+                cleanMethod.setAccessible(true);
+                cleanMethod.invoke(cleaner);
+            }
+        } catch (Exception e) {
+            LOGGER.debug("Unable to unmap buffer, it will be unmapped on garbage collection.", e);
+        }
+    }
+}
@@ -336,7 +336,7 @@ public class DataSetRowTest {
         row.setInvalid("0004");
 
         // then
-        assertThat(row.values().get(TDP_INVALID), CoreMatchers.is("0004,0001"));
+        assertThat(row.values().get(TDP_INVALID), CoreMatchers.is("0001,0004"));
     }
 
     @Test
@@ -365,6 +365,94 @@ public class DataSetRowTest {
         final DataSetRow row = new DataSetRow(values);
 
         // then
-        assertThat(row.values().get(TDP_INVALID), CoreMatchers.is("0004,0001"));
+        assertThat(row.values().get(TDP_INVALID), CoreMatchers.is("0001,0004"));
+    }
+
+    @Test
+    public void should_not_share_changes_between_clones() throws Exception {
+        // given
+        final Map<String, String> values = new HashMap<>();
+        values.put("0000", "a");
+        values.put("0001", "b");
+        final DataSetRow row = new DataSetRow(values);
+        row.setInvalid("0001");
+
+        // when
+        final DataSetRow clone = row.clone();
+        clone.set("0000", "c");
+        clone.set("0002", "d");
+        clone.unsetInvalid("0001");
+
+        // then
+        assertThat(row.get("0000"), CoreMatchers.is("a"));
+        assertNull(row.get("0002"));
+        assertTrue(row.isInvalid("0001"));
+        assertThat(clone.get("0000"), CoreMatchers.is("c"));
+        assertThat(clone.get("0002"), CoreMatchers.is("d"));
+        assertFalse(clone.isInvalid("0001"));
+    }
+
+    @Test
+    public void should_order_column_ids_with_other_ids() throws Exception {
+        // given
+        final Map<String, String> values = new HashMap<>();
+        values.put("name", "a");
+        values.put("0010", "b");
+        values.put("0002", "c");
+        values.put("00", "d");
+
+        // when
+        final DataSetRow row = new DataSetRow(values);
+
+        // then
+        assertThat(new ArrayList<>(row.values().keySet()), CoreMatchers.is(Arrays.asList("00", "0002", "0010", "name")));
+        assertTrue(row.deleteColumnById("0010"));
+        assertFalse(row.deleteColumnById("0010"));
+        assertThat(row.toArray(), CoreMatchers.is(new String[] { "d", "c", "a" }));
+    }
+
+    @Test
+    public void should_reuse_buffer_for_column_values() throws Exception {
+        // given
+        final DataSetRow row = createRow(defaultValues(), false);
+        final List<ColumnMetadata> columns = Arrays.asList(column().computedId("lastName").type(Type.STRING).build(), //
+                column().computedId("age").type(Type.STRING).build());
+        final String[] buffer = new String[2];
+
+        // when
+        final String[] values = row.toArray(columns, buffer);
+
+        // then
+        assertTrue(values == buffer);
+        assertThat(values, CoreMatchers.is(row.filter(columns).order(columns).toArray(DataSetRow.SKIP_TDP_ID)));
+        assertThat(row.toArray(columns, new String[1]).length, CoreMatchers.is(2));
+    }
+
+    @Test
+    public void should_copy_row_into_existing_row() throws Exception {
+        // given
+        final DataSetRow source = createRow(defaultValues(), true);
+        source.setTdpId(12L);
+        source.setInvalid("age");
+        final DataSetRow target = new DataSetRow(Collections.singletonMap("0010", "previous"));
+        target.setInvalid("0010");
+        final DataSetRow clone = target.clone();
+
+        // when
+        final DataSetRow copy = target.copyFrom(source);
+
+        // then
+        assertTrue(copy == target);
+        assertThat(target.values(), CoreMatchers.is(source.values()));
+        assertTrue(target.isDeleted());
+        assertThat(target.getTdpId(), CoreMatchers.is(12L));
+        assertTrue(target.isInvalid("age"));
+        assertFalse(target.isInvalid("0010"));
+        assertNull(target.get("0010"));
+        // clone previously taken is left unchanged
+        assertThat(clone.get("0010"), CoreMatchers.is("previous"));
+        // changes to the copy do not reach the source
+        target.set("age", "99");
+        assertThat(source.get("age"), CoreMatchers.is(defaultValues().get("age")));
     }
 }
@@ -0,0 +1,93 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.api.dataset.row;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.DataSet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit test for the BinaryDataSetFormat.
+ *
+ * @see BinaryDataSetFormat
+ */
+public class BinaryDataSetFormatTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void shouldReadWrittenRows() throws IOException {
+        shouldReadWrittenRows(false);
+    }
+
+    @Test
+    public void shouldReadWrittenCompressedRows() throws IOException {
+        shouldReadWrittenRows(true);
+    }
+
+    private void shouldReadWrittenRows(boolean compression) throws IOException {
+        // given
+        final DataSetRow first = row("Sheriff Woody", "Tom Hanks");
+        first.setTdpId(2L);
+        final DataSetRow second = row("Buzz Lightyear", null);
+        second.setTdpId(3L);
+        final DataSet dataSet = new DataSet();
+        dataSet.setRecords(Stream.of(first, second));
+
+        // when
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BinaryDataSetFormat.write(dataSet, output, mapper, compression);
+        final DataSet read = BinaryDataSetFormat.read(new ByteArrayInputStream(output.toByteArray()), mapper);
+
+        // then
+        final List<DataSetRow> rows = read.getRecords().map(DataSetRow::clone).collect(Collectors.toList());
+        assertNull(read.getMetadata());
+        assertEquals(2, rows.size());
+        assertEquals(Long.valueOf(2), rows.get(0).getTdpId());
+        assertEquals("Sheriff Woody", rows.get(0).get("0000"));
+        assertEquals("Tom Hanks", rows.get(0).get("0001"));
+        assertEquals(Long.valueOf(3), rows.get(1).getTdpId());
+        assertEquals("Buzz Lightyear", rows.get(1).get("0000"));
+        assertEquals("", rows.get(1).get("0001")); // null values are read as empty strings
+    }
+
+    @Test
+    public void shouldReadEmptyContent() throws IOException {
+        // when
+        final DataSet read = BinaryDataSetFormat.read(new ByteArrayInputStream(new byte[0]), mapper);
+
+        // then
+        assertEquals(0, read.getRecords().count());
+    }
+
+    private static DataSetRow row(String character, String actor) {
+        final Map<String, String> values = new HashMap<>();
+        values.put("0000", character);
+        values.put("0001", actor);
+        return new DataSetRow(values);
+    }
+}
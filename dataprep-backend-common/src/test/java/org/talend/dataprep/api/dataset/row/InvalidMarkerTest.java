@@ -0,0 +1,66 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.api.dataset.row;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assume.assumeTrue;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.transformation.api.transformer.json.NullAnalyzer;
+
+public class InvalidMarkerTest {
+
+    @Test
+    public void should_not_allocate_for_each_marked_row() throws Exception {
+        // given
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled());
+
+        final List<ColumnMetadata> columns = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            columns.add(column().id(i).type(Type.STRING).build());
+        }
+        final DataSetRow row = new DataSetRow(new RowMetadata(columns));
+        for (ColumnMetadata column : columns) {
+            row.set(column.getId(), "value");
+        }
+        final InvalidMarker marker = new InvalidMarker(columns, NullAnalyzer.INSTANCE);
+        // first rows configure the marker (values buffer)
+        for (int i = 0; i < 100000; i++) {
+            marker.apply(row);
+        }
+
+        // when
+        final long threadId = Thread.currentThread().getId();
+        final long before = allocations.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100000; i++) {
+            marker.apply(row);
+        }
+        final long allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+
+        // then (a few bytes for the allocation counter itself, no allocation for each row)
+        assertThat(allocated / 100000L, lessThan(1L));
+    }
+}
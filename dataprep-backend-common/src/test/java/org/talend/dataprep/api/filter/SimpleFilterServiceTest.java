@@ -134,6 +134,26 @@ public class SimpleFilterServiceTest {
         assertThat(filter.test(datasetRowFromValues), is(false));
     }
 
+    @Test
+    public void should_create_EQ_predicate_on_column_id_without_slot() throws Exception {
+        //given
+        final String filtersDefinition = "{" +
+                "   \"eq\": {" +
+                "       \"field\": \"name\"," +
+                "       \"value\": \"toto\"" +
+                "   }" +
+                "}";
+
+        //when
+        final Predicate<DataSetRow> filter = service.build(filtersDefinition, rowMetadata);
+
+        //then
+        datasetRowFromValues.set("name", "toto");
+        assertThat(filter.test(datasetRowFromValues), is(true));
+        datasetRowFromValues.set("name", "tata");
+        assertThat(filter.test(datasetRowFromValues), is(false));
+    }
+
     @Test
     public void should_create_EQ_predicate_more_number_format_integer_predicate() throws Exception {
         //given
@@ -641,6 +661,30 @@ public class SimpleFilterServiceTest {
         assertThat(filter.test(datasetRowFromValues), is(false));
     }
 
+    @Test
+    public void should_create_MATCHES_predicate_date_pattern() throws Exception {
+        //given
+        final String filtersDefinition = "{" +
+                "   \"matches\": {" +
+                "       \"field\": \"0001\"," +
+                "       \"value\": \"yyyy-MM-dd\"" +
+                "   }" +
+                "}";
+
+        //when
+        final Predicate<DataSetRow> filter = service.build(filtersDefinition, rowMetadata);
+
+        //then
+        datasetRowFromValues.set("0001", "2016-01-15"); // same pattern
+        assertThat(filter.test(datasetRowFromValues), is(true));
+
+        datasetRowFromValues.set("0001", "15/01/2016"); // different pattern
+        assertThat(filter.test(datasetRowFromValues), is(false));
+
+        datasetRowFromValues.set("0001", null); // no value
+        assertThat(filter.test(datasetRowFromValues), is(false));
+    }
+
     @Test
     public void should_create_MATCHES_predicate_on_all() throws Exception {
         //given
@@ -17,9 +17,11 @@ import static org.junit.Assert.*;
 import static org.talend.dataprep.transformation.pipeline.Signal.END_OF_STREAM;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import org.hamcrest.CoreMatchers;
 import org.junit.Before;
@@ -288,6 +290,69 @@ public class PipelineTest {
         assertThat(output.getSignal(), is(END_OF_STREAM));
     }
 
+    @Test
+    public void testBatchPipeline() throws Exception {
+        // given
+        final Pipeline pipeline = new Pipeline(NodeBuilder.source().to(output).build(), 2);
+        final RowMetadata rowMetadata = new RowMetadata();
+        final List<DataSetRow> records = new ArrayList<>();
+        records.add(new DataSetRow(rowMetadata).set("0000", "a"));
+        records.add(new DataSetRow(rowMetadata).set("0000", "b"));
+        records.add(new DataSetRow(rowMetadata).set("0000", "c"));
+
+        final DataSet dataSet = new DataSet();
+        final DataSetMetadata metadata = new DataSetMetadata();
+        metadata.setRowMetadata(rowMetadata);
+        dataSet.setMetadata(metadata);
+        dataSet.setRecords(records.stream());
+
+        // when
+        pipeline.execute(dataSet);
+
+        // then
+        assertThat(output.getCount(), is(3));
+        assertThat(output.getBatchCount(), is(2));
+        assertThat(output.getRow().get("0000"), is("c"));
+        assertThat(output.getMetadata(), is(rowMetadata));
+        assertThat(output.getSignal(), is(END_OF_STREAM));
+    }
+
+    @Test
+    public void testBatchPipelineReusesRows() throws Exception {
+        // given
+        final List<DataSetRow[]> batches = new ArrayList<>();
+        final List<String> values = new ArrayList<>();
+        final BasicNode recorder = new BasicNode() {
+
+            @Override
+            public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+                batches.add(rows.clone());
+                for (DataSetRow row : rows) {
+                    values.add(row.get("0000"));
+                }
+            }
+        };
+        final Pipeline pipeline = new Pipeline(NodeBuilder.source().to(recorder).build(), 2);
+        final RowMetadata rowMetadata = new RowMetadata();
+        // source reuses the same row instance for all records
+        final DataSetRow record = new DataSetRow(rowMetadata);
+        final DataSet dataSet = new DataSet();
+        final DataSetMetadata metadata = new DataSetMetadata();
+        metadata.setRowMetadata(rowMetadata);
+        dataSet.setMetadata(metadata);
+        dataSet.setRecords(Stream.of("a", "b", "c", "d").map(value -> record.set("0000", value)));
+
+        // when
+        pipeline.execute(dataSet);
+
+        // then
+        assertThat(values, is(Arrays.asList("a", "b", "c", "d")));
+        assertThat(batches.size(), is(2));
+        assertNotSame(batches.get(0)[0], batches.get(0)[1]);
+        assertSame(batches.get(0)[0], batches.get(1)[0]);
+        assertSame(batches.get(0)[1], batches.get(1)[1]);
+    }
+
     @Test
     public void testCancelledPipeline() throws Exception {
         // given
@@ -413,6 +478,8 @@ public class PipelineTest {
 
         private int count;
 
+        private int batchCount;
+
         private Signal signal;
 
         @Override
@@ -422,6 +489,14 @@ public class PipelineTest {
             this.metadata = metadata;
         }
 
+        @Override
+        public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+            count += rows.length;
+            batchCount++;
+            this.row = rows[rows.length - 1];
+            this.metadata = metadata;
+        }
+
         @Override
         public void signal(Signal signal) {
             this.signal = signal;
@@ -443,6 +518,10 @@ public class PipelineTest {
         int getCount() {
             return count;
         }
+
+        int getBatchCount() {
+            return batchCount;
+        }
     }
 
 }
@@ -111,6 +111,35 @@ public class StepNodeTransformerTest {
         assertEquals(2, stepNodeCount.get());
     }
 
+    @Test
+    public void shouldInsertCheckpointAfterStepNode() throws Exception {
+        // given
+        Node node = NodeBuilder //
+                .from(new TestNode()) //
+                .to(new CompileNode(null, null)) //
+                .to(new ActionNode(null, null)) //
+                .to(new BasicNode()) //
+                .build();
+        final TestNode checkpoint = new TestNode();
+
+        // when
+        final Node processed = StepNodeTransformer.transform(node, asList(ROOT, STEP), step -> checkpoint);
+
+        // then
+        final AtomicInteger afterStepNode = new AtomicInteger();
+        processed.accept(new Visitor() {
+
+            @Override
+            public void visitStepNode(StepNode stepNode) {
+                if (stepNode.getLink().getTarget() == checkpoint) {
+                    afterStepNode.incrementAndGet();
+                }
+                super.visitStepNode(stepNode);
+            }
+        });
+        assertEquals(1, afterStepNode.get());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void shouldFailCreateStepNode() throws Exception {
         // given
@@ -41,6 +41,13 @@ public class TestLink extends BasicLink {
         super.emit(row, metadata);
     }
 
+    @Override
+    public void emitBatch(DataSetRow[] rows, RowMetadata metadata) {
+        for (DataSetRow row : rows) {
+            emit(row, metadata);
+        }
+    }
+
     @Override
     public void emit(DataSetRow[] rows, RowMetadata[] metadatas) {
         this.emittedRows.addAll(Arrays.asList(rows));
@@ -37,6 +37,13 @@ public class TestNode extends BasicNode {
         super.receive(row, metadata);
     }
 
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        for (DataSetRow row : rows) {
+            receive(row, metadata);
+        }
+    }
+
     @Override
     public void receive(DataSetRow[] rows, RowMetadata[] metadatas) {
         this.receivedRows.addAll(Arrays.asList(rows));
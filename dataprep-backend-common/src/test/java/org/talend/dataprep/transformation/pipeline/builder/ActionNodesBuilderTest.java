@@ -0,0 +1,120 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.builder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.action.ActionDefinition;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.transformation.actions.common.RunnableAction;
+import org.talend.dataprep.transformation.pipeline.ActionRegistry;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.Visitor;
+import org.talend.dataprep.transformation.pipeline.node.ActionNode;
+import org.talend.dataprep.transformation.pipeline.node.PartitionedNode;
+
+public class ActionNodesBuilderTest {
+
+    private ForkJoinPool pool;
+
+    private ActionRegistry actionRegistry;
+
+    private ActionDefinition actionDefinition;
+
+    @Before
+    public void setUp() throws Exception {
+        pool = new ForkJoinPool(2);
+        actionDefinition = mock(ActionDefinition.class);
+        actionRegistry = mock(ActionRegistry.class);
+        when(actionRegistry.get("action")).thenReturn(actionDefinition);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void should_run_actions_on_partitions() throws Exception {
+        // given
+        when(actionDefinition.getBehavior()).thenReturn(EnumSet.of(ActionDefinition.Behavior.VALUES_COLUMN));
+
+        // when
+        final Node node = buildActionNodes();
+
+        // then
+        assertThat(nodeClasses(node), hasItem(PartitionedNode.class));
+    }
+
+    @Test
+    public void should_not_run_actions_on_partitions_when_distributed_run_is_forbidden() throws Exception {
+        // given
+        when(actionDefinition.getBehavior()).thenReturn(EnumSet.of(ActionDefinition.Behavior.FORBID_DISTRIBUTED));
+
+        // when
+        final Node node = buildActionNodes();
+
+        // then
+        final List<Class> nodeClasses = nodeClasses(node);
+        assertThat(nodeClasses, not(hasItem(PartitionedNode.class)));
+        assertThat(nodeClasses, hasItem(ActionNode.class));
+    }
+
+    private Node buildActionNodes() {
+        final RunnableAction action = RunnableAction.Builder.builder() //
+                .withName("action") //
+                .withParameters(new HashMap<>()) //
+                .build();
+        return ActionNodesBuilder.builder() //
+                .initialMetadata(new RowMetadata(Collections.singletonList(column().id(0).type(Type.STRING).build()))) //
+                .actions(Collections.singletonList(action)) //
+                .actionRegistry(actionRegistry) //
+                .partitions(pool, 2) //
+                .build();
+    }
+
+    private static List<Class> nodeClasses(Node node) {
+        final List<Class> nodeClasses = new ArrayList<>();
+        node.accept(new Visitor() {
+
+            @Override
+            public void visitAction(ActionNode actionNode) {
+                nodeClasses.add(actionNode.getClass());
+                super.visitAction(actionNode);
+            }
+
+            @Override
+            public void visitNode(Node node) {
+                nodeClasses.add(node.getClass());
+                super.visitNode(node);
+            }
+        });
+        return nodeClasses;
+    }
+}
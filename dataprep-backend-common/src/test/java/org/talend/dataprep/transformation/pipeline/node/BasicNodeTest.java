@@ -15,15 +15,19 @@ package org.talend.dataprep.transformation.pipeline.node;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.talend.dataprep.transformation.pipeline.Signal.CANCEL;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
 import org.junit.Test;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.transformation.pipeline.TestLink;
+import org.talend.dataprep.transformation.pipeline.TestNode;
+import org.talend.dataprep.transformation.pipeline.link.BasicLink;
 
 public class BasicNodeTest {
     @Test
@@ -87,4 +91,57 @@ public class BasicNodeTest {
         assertThat(link.getEmittedSignals(), hasSize(1));
         assertThat(link.getEmittedSignals(), contains(CANCEL));
     }
+
+    @Test
+    public void should_pass_batch_rows_to_subclass_receiving_single_rows() {
+        // given
+        final List<DataSetRow> received = new ArrayList<>();
+        final TestLink link = new TestLink(new BasicNode());
+        final BasicNode node = new BasicNode() {
+
+            @Override
+            public void receive(DataSetRow row, RowMetadata metadata) {
+                received.add(row);
+                super.receive(row, metadata);
+            }
+        };
+        node.setLink(link);
+
+        final DataSetRow row1 = new DataSetRow(new HashMap<>());
+        final DataSetRow row2 = new DataSetRow(new HashMap<>());
+        final RowMetadata metadata = new RowMetadata(new ArrayList<>());
+
+        // when
+        node.receiveBatch(new DataSetRow[] { row1, row2 }, metadata);
+
+        // then
+        assertThat(received, contains(row1, row2));
+        assertThat(link.getEmittedRows(), contains(row1, row2));
+    }
+
+    @Test
+    public void should_forward_whole_batch_to_its_link() {
+        // given
+        final TestNode target = new TestNode();
+        final BasicNode node = new BasicNode();
+        final List<DataSetRow[]> batches = new ArrayList<>();
+        node.setLink(new BasicLink(target) {
+
+            @Override
+            public void emitBatch(DataSetRow[] rows, RowMetadata metadata) {
+                batches.add(rows);
+                super.emitBatch(rows, metadata);
+            }
+        });
+
+        final DataSetRow[] rows = new DataSetRow[] { new DataSetRow(new HashMap<>()), new DataSetRow(new HashMap<>()) };
+
+        // when
+        node.receiveBatch(rows, new RowMetadata(new ArrayList<>()));
+
+        // then
+        assertThat(batches, hasSize(1));
+        assertThat(batches.get(0), sameInstance(rows));
+        assertThat(target.getReceivedRows(), contains(rows));
+    }
 }
@@ -0,0 +1,128 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.talend.dataprep.transformation.pipeline.Signal.END_OF_STREAM;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.pipeline.TestLink;
+
+public class ConcurrentNodeTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void should_emit_rows_in_order_before_end_of_stream() {
+        // given
+        final TestLink link = new TestLink(new BasicNode());
+        final ConcurrentNode node = new ConcurrentNode(executor, 2);
+        node.setLink(link);
+        final RowMetadata metadata = new RowMetadata(new ArrayList<>());
+        final DataSetRow row = new DataSetRow(new HashMap<>());
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            // same row instance is reused (as done by data set iterators)
+            row.set("0000", String.valueOf(i));
+            node.receive(row, metadata);
+        }
+        node.receiveBatch(new DataSetRow[] { new DataSetRow(metadata).set("0000", "100") }, metadata);
+        node.signal(END_OF_STREAM);
+
+        // then
+        final List<String> values = link.getEmittedRows().stream().map(r -> r.get("0000")).collect(Collectors.toList());
+        assertThat(values, hasSize(101));
+        for (int i = 0; i < values.size(); i++) {
+            assertThat(values.get(i), is(String.valueOf(i)));
+        }
+        assertThat(link.getEmittedSignals(), contains(END_OF_STREAM));
+    }
+
+    @Test
+    public void should_emit_own_copy_of_metadata() {
+        // given
+        final TestLink link = new TestLink(new BasicNode());
+        final ConcurrentNode node = new ConcurrentNode(executor, 2);
+        node.setLink(link);
+        final RowMetadata metadata = new RowMetadata(new ArrayList<>());
+        metadata.addColumn(ColumnMetadata.Builder.column().id(0).name("name").type(Type.STRING).build());
+
+        // when
+        node.receive(new DataSetRow(metadata).set("0000", "a"), metadata);
+        node.receive(new DataSetRow(metadata).set("0000", "b"), metadata);
+        metadata.addColumn(ColumnMetadata.Builder.column().id(1).name("last name").type(Type.STRING).build());
+        node.receive(new DataSetRow(metadata).set("0000", "c"), metadata);
+        node.signal(END_OF_STREAM);
+
+        // then
+        final List<RowMetadata> emitted = link.getEmittedMetadata();
+        assertThat(emitted, hasSize(3));
+        assertThat(emitted.get(0), not(sameInstance(metadata)));
+        assertThat(emitted.get(1), sameInstance(emitted.get(0)));
+        assertThat(emitted.get(0).getColumns(), hasSize(1));
+        assertThat(emitted.get(2), not(sameInstance(emitted.get(0))));
+        assertThat(emitted.get(2).getColumns(), hasSize(2));
+        assertThat(link.getEmittedRows().get(2).getRowMetadata(), sameInstance(emitted.get(2)));
+    }
+
+    @Test
+    public void should_run_in_calling_thread_when_no_thread_is_available() {
+        // given
+        final TestLink link = new TestLink(new BasicNode());
+        final ConcurrentNode node = new ConcurrentNode(command -> {
+            throw new RejectedExecutionException("No thread available");
+        }, 2);
+        node.setLink(link);
+        final RowMetadata metadata = new RowMetadata(new ArrayList<>());
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            node.receive(new DataSetRow(metadata).set("0000", String.valueOf(i)), metadata);
+        }
+        node.signal(END_OF_STREAM);
+
+        // then
+        assertThat(link.getEmittedRows(), hasSize(10));
+        assertThat(link.getEmittedSignals(), contains(END_OF_STREAM));
+    }
+}
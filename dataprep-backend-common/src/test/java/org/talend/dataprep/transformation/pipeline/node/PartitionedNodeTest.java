@@ -0,0 +1,150 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertEquals;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.transformation.actions.common.RunnableAction;
+import org.talend.dataprep.transformation.api.action.context.TransformationContext;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataprep.transformation.pipeline.TestNode;
+import org.talend.dataprep.transformation.pipeline.builder.NodeBuilder;
+
+public class PartitionedNodeTest {
+
+    private static final int PARTITIONS = 4;
+
+    private ForkJoinPool pool;
+
+    private Set<String> threads;
+
+    private TestNode[] partitionSignals;
+
+    private RowMetadata metadata;
+
+    @Before
+    public void setUp() throws Exception {
+        pool = new ForkJoinPool(PARTITIONS);
+        threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        partitionSignals = new TestNode[PARTITIONS];
+        metadata = new RowMetadata(Collections.singletonList(column().id(0).type(Type.STRING).build()));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void should_send_partitions_rows_in_received_order() throws Exception {
+        // given
+        final TestNode output = new TestNode();
+        final Node node = NodeBuilder.source().to(partitionedNode()).to(output).build();
+        final DataSetRow[] rows = rows(1000);
+
+        // when
+        node.exec().receiveBatch(rows, metadata);
+
+        // then
+        assertEquals(1000, output.getReceivedRows().size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("VALUE " + i, output.getReceivedRows().get(i).get("0000"));
+        }
+        assertThat(threads.size(), greaterThan(1));
+    }
+
+    @Test
+    public void should_process_small_batches_and_rows_in_calling_thread() throws Exception {
+        // given
+        final TestNode output = new TestNode();
+        final Node node = NodeBuilder.source().to(partitionedNode()).to(output).build();
+        final DataSetRow[] rows = rows(Partitions.MIN_PARTITION_SIZE + 1);
+
+        // when
+        node.exec().receiveBatch(rows, metadata);
+        node.exec().receive(rows(1)[0], metadata);
+
+        // then
+        assertEquals(Partitions.MIN_PARTITION_SIZE + 2, output.getReceivedRows().size());
+        assertEquals("VALUE 0", output.getReceivedRows().get(Partitions.MIN_PARTITION_SIZE + 1).get("0000"));
+        assertThat(threads, contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    public void should_signal_next_nodes_and_partitions() throws Exception {
+        // given
+        final TestNode output = new TestNode();
+        final Node node = NodeBuilder.source().to(partitionedNode()).to(output).build();
+
+        // when
+        node.exec().signal(Signal.END_OF_STREAM);
+
+        // then
+        assertThat(output.getReceivedSignals(), contains(Signal.END_OF_STREAM));
+        for (TestNode partitionSignal : partitionSignals) {
+            assertThat(partitionSignal.getReceivedSignals(), contains(Signal.END_OF_STREAM));
+        }
+    }
+
+    private PartitionedNode partitionedNode() {
+        final RunnableAction upperCase = RunnableAction.Builder.builder() //
+                .withName("uppercase") //
+                .withParameters(new HashMap<>()) //
+                .withRow((row, context) -> {
+                    threads.add(Thread.currentThread().getName());
+                    row.set("0000", row.get("0000").toUpperCase());
+                    return row;
+                }) //
+                .build();
+        final Node[] partitions = new Node[PARTITIONS];
+        final PartitionedNode.Output[] outputs = new PartitionedNode.Output[PARTITIONS];
+        for (int i = 0; i < PARTITIONS; i++) {
+            final TransformationContext context = new TransformationContext();
+            partitionSignals[i] = new TestNode();
+            outputs[i] = new PartitionedNode.Output();
+            partitions[i] = NodeBuilder.source() //
+                    .to(new CompileNode(upperCase, context.create(upperCase.getRowAction(), metadata))) //
+                    .to(new ActionNode(upperCase, context.in(upperCase.getRowAction()))) //
+                    .to(partitionSignals[i]) //
+                    .to(outputs[i]) //
+                    .build();
+        }
+        return new PartitionedNode(pool, partitions, outputs);
+    }
+
+    private DataSetRow[] rows(int size) {
+        final DataSetRow[] rows = new DataSetRow[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = new DataSetRow(metadata);
+            rows[i].set("0000", "value " + i);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,215 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.dataset.StatisticsAdapter;
+import org.talend.dataprep.transformation.api.transformer.json.NullAnalyzer;
+import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataquality.common.inference.Analyzer;
+import org.talend.dataquality.common.inference.Analyzers;
+
+public class StatisticsNodeTest {
+
+    private ForkJoinPool pool;
+
+    private Set<String> threads;
+
+    /** Number of rows analyzed by the analyzer that gave the results. */
+    private long analyzedRows;
+
+    @Before
+    public void setUp() throws Exception {
+        pool = new ForkJoinPool(4);
+        threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void should_merge_results_of_partitions() throws Exception {
+        // given
+        final StatisticsAdapter adapter = mock(StatisticsAdapter.class);
+        final StatisticsNode node = new StatisticsNode(c -> new CountingAnalyzer(true), c -> true, adapter, pool, 4);
+        final DataSetRow[] rows = rows(1000, columns(2));
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            node.receiveBatch(rows, rows[0].getRowMetadata());
+        }
+        node.signal(Signal.END_OF_STREAM);
+
+        // then
+        assertEquals(3000, analyzedRows);
+        assertThat(threads.size(), greaterThan(1));
+        verify(adapter, times(1)).adapt(any(), any());
+    }
+
+    @Test
+    public void should_analyze_in_calling_thread_when_analyzer_does_not_merge() throws Exception {
+        // given
+        final StatisticsAdapter adapter = mock(StatisticsAdapter.class);
+        final StatisticsNode node = new StatisticsNode(c -> new CountingAnalyzer(false), c -> true, adapter, pool, 4);
+        final DataSetRow[] rows = rows(1000, columns(2));
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            node.receiveBatch(rows, rows[0].getRowMetadata());
+        }
+        node.signal(Signal.END_OF_STREAM);
+
+        // then
+        assertEquals(3000, analyzedRows);
+        assertThat(threads, contains(Thread.currentThread().getName()));
+        verify(adapter, times(1)).adapt(any(), any());
+    }
+
+    private static List<ColumnMetadata> columns(int size) {
+        final List<ColumnMetadata> columns = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            columns.add(column().id(i).type(Type.STRING).build());
+        }
+        return columns;
+    }
+
+    private static DataSetRow[] rows(int size, List<ColumnMetadata> columns) {
+        final RowMetadata metadata = new RowMetadata(columns);
+        final DataSetRow[] rows = new DataSetRow[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = new DataSetRow(metadata);
+            for (ColumnMetadata column : columns) {
+                rows[i].set(column.getId(), "value " + i);
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    public void should_not_allocate_for_each_analyzed_row() throws Exception {
+        // given
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled());
+
+        final List<ColumnMetadata> columns = new ArrayList<>();
+        final DataSetRow[] rows = new DataSetRow[100];
+        for (int i = 0; i < 20; i++) {
+            columns.add(column().id(i).type(Type.STRING).build());
+        }
+        final RowMetadata metadata = new RowMetadata(columns);
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new DataSetRow(metadata);
+            for (ColumnMetadata column : columns) {
+                rows[i].set(column.getId(), "value " + i);
+            }
+        }
+        final StatisticsNode node = new StatisticsNode(c -> NullAnalyzer.INSTANCE, c -> true, null);
+        // first rows configure the node (analyzer, filtered columns, values buffer)
+        for (int i = 0; i < 1000; i++) {
+            node.receiveBatch(rows, metadata);
+        }
+
+        // when
+        final long threadId = Thread.currentThread().getId();
+        final long before = allocations.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 1000; i++) {
+            node.receiveBatch(rows, metadata);
+        }
+        final long allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+
+        // then (a few bytes for the allocation counter itself, no allocation for each row)
+        assertThat(allocated / (1000L * rows.length), lessThan(1L));
+    }
+
+    /**
+     * An analyzer that counts analyzed rows.
+     */
+    private class CountingAnalyzer implements Analyzer<Analyzers.Result> {
+
+        private final boolean mergeable;
+
+        private long count;
+
+        private CountingAnalyzer(boolean mergeable) {
+            this.mergeable = mergeable;
+        }
+
+        @Override
+        public void init() {
+            // Nothing to do
+        }
+
+        @Override
+        public boolean analyze(String... strings) {
+            threads.add(Thread.currentThread().getName());
+            count++;
+            return true;
+        }
+
+        @Override
+        public void end() {
+            // Nothing to do
+        }
+
+        @Override
+        public List<Analyzers.Result> getResult() {
+            analyzedRows = count;
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Analyzer<Analyzers.Result> merge(Analyzer<Analyzers.Result> another) {
+            if (!mergeable) {
+                throw new UnsupportedOperationException();
+            }
+            count += ((CountingAnalyzer) another).count;
+            return this;
+        }
+
+        @Override
+        public void close() throws Exception {
+            // Nothing to do
+        }
+    }
+}
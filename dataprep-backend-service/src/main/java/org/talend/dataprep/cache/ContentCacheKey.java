@@ -45,4 +45,15 @@ public interface ContentCacheKey {
         throw new UnsupportedOperationException("Matcher is not implemented");
     }
 
+    /**
+     * Returns a prefix shared by all the keys that {@link #getMatcher() matcher} accepts, so caches can narrow the
+     * entries to test with the matcher.
+     *
+     * @return A prefix of all the keys that match this key (empty string if matching keys have no common prefix).
+     * @see ContentCache#evictMatch(ContentCacheKey)
+     */
+    default String getPrefix() {
+        return "";
+    }
+
 }
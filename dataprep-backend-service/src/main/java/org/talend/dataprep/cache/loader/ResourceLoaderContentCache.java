@@ -18,14 +18,26 @@ import static java.util.Optional.ofNullable;
 import static java.util.function.BinaryOperator.maxBy;
 import static org.apache.commons.lang.StringUtils.substringAfterLast;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
+import javax.annotation.PostConstruct;
+
 import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.stereotype.Component;
 import org.talend.daikon.content.ContentServiceEnabled;
@@ -36,13 +48,65 @@ import org.talend.dataprep.cache.ContentCacheKey;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
 
+/**
+ * A {@link ContentCache} that stores entries as resources in <code>/cache</code>. Entries are indexed in memory (key,
+ * location, size, expiration and last access) so that most lookups don't need to list resources. Entries written by
+ * other services sharing the same resources are indexed on first lookup.
+ * <p>
+ * When <code>content-service.cache.max-bytes</code> is set, least recently used entries are evicted once indexed
+ * entries exceed this size (permanent entries are never evicted).
+ * </p>
+ */
 @Component
 @ConditionalOnBean(ContentServiceEnabled.class)
 public class ResourceLoaderContentCache implements ContentCache {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceLoaderContentCache.class);
+
     @Autowired
     private ResourceResolver resolver;
 
+    /** Maximum size (in bytes) of cache entries, 0 for no limit. */
+    @Value("${content-service.cache.max-bytes:0}")
+    private long maxBytes;
+
+    /** Index of cache entries by key (sorted to look up keys by prefix), guarded by itself. */
+    private final TreeMap<String, IndexEntry> index = new TreeMap<>();
+
+    /** Size of indexed entries (in bytes). */
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictedBytes = new AtomicLong();
+
+    /**
+     * Index cache entries already present in resources.
+     */
+    @PostConstruct
+    public void init() {
+        try {
+            final DeletableResource[] resources = resolver.getResources("/cache/*");
+            for (DeletableResource resource : resources) {
+                final String filename = resource.getFilename();
+                if (filename == null || filename.startsWith(".")) {
+                    continue;
+                }
+                final String suffix = substringAfterLast(filename, ".");
+                final String key = isExpiration(suffix) ? StringUtils.substringBeforeLast(filename, ".") : filename;
+                final IndexEntry entry = index(key, resource);
+                if (entry != null) {
+                    entry.lastAccess = resource.lastModified();
+                }
+            }
+            LOGGER.info("{} cache entries indexed ({} bytes).", index.size(), totalBytes);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to index cache entries.", e);
+        }
+    }
+
     private DeletableResource getOrCreateResource(ContentCacheKey key, TimeToLive ttl) {
         return resolver.getResource(getLocation(key, ttl));
     }
@@ -56,8 +120,35 @@ public class ResourceLoaderContentCache implements ContentCache {
     }
 
     private DeletableResource getResource(ContentCacheKey key) {
+        final String cacheKey = key.getKey();
+        final IndexEntry entry;
+        synchronized (index) {
+            entry = index.get(cacheKey);
+        }
+        if (entry != null) {
+            final long now = System.currentTimeMillis();
+            final DeletableResource resource = resolver.getResource(entry.location);
+            if (entry.expiration > now && resource.exists()) {
+                entry.lastAccess = now;
+                return resource;
+            }
+            // expired, or removed by another service
+            unindex(cacheKey, entry);
+        }
+        final DeletableResource resource = lookup(cacheKey);
+        if (resource != null) {
+            index(cacheKey, resource);
+        }
+        return resource;
+    }
+
+    /**
+     * Look up the most recent valid resource for <code>cacheKey</code> (resources are listed, so this method should
+     * only be used when <code>cacheKey</code> is not indexed).
+     */
+    private DeletableResource lookup(String cacheKey) {
         try {
-            final DeletableResource[] resources = resolver.getResources( "/cache/" + key.getKey() + "*");
+            final DeletableResource[] resources = resolver.getResources("/cache/" + cacheKey + "*");
             if (resources.length <= 0) {
                 return null;
             } else { // resources.length > 0
@@ -78,30 +169,126 @@ public class ResourceLoaderContentCache implements ContentCache {
                         return 0;
                     }
                 }));
-                return reduce.filter(r -> {
-                    final String suffix = StringUtils.substringAfterLast(r.getFilename(), ".");
-                    try {
-                        final long time = parseLong(suffix);
-                        return time > System.currentTimeMillis();
-                    } catch (NumberFormatException e) {
-                        // Ignored
-                        return true;
-                    }
-                }).orElse(null);
+                return reduce.filter(r -> getExpiration(r.getFilename()) > System.currentTimeMillis()).orElse(null);
             }
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
         }
     }
 
+    /**
+     * @return The expiration time of the resource named <code>filename</code> (Long.MAX_VALUE if resource never
+     * expires).
+     */
+    private static long getExpiration(String filename) {
+        final String suffix = substringAfterLast(filename, ".");
+        return isExpiration(suffix) ? parseLong(suffix) : Long.MAX_VALUE;
+    }
+
+    private static boolean isExpiration(String suffix) {
+        return !StringUtils.isEmpty(suffix) && StringUtils.isNumeric(suffix);
+    }
+
+    /**
+     * Adds (or replaces) index entry for <code>cacheKey</code>.
+     *
+     * @return The new index entry or <code>null</code> if resource size can't be read.
+     */
+    private IndexEntry index(String cacheKey, DeletableResource resource) {
+        final long size;
+        try {
+            size = resource.contentLength();
+        } catch (IOException e) {
+            LOGGER.debug("Unable to read size of '{}'.", resource, e);
+            return null;
+        }
+        final String filename = resource.getFilename();
+        final IndexEntry entry = new IndexEntry("/cache/" + filename, size, getExpiration(filename));
+        synchronized (index) {
+            final IndexEntry previous = index.put(cacheKey, entry);
+            if (previous != null) {
+                totalBytes -= previous.size;
+            }
+            totalBytes += size;
+        }
+        return entry;
+    }
+
+    private void unindex(String cacheKey, IndexEntry entry) {
+        synchronized (index) {
+            if (index.remove(cacheKey, entry)) {
+                totalBytes -= entry.size;
+            }
+        }
+    }
+
+    /**
+     * Evicts least recently used entries until indexed entries fit in {@link #maxBytes}.
+     */
+    private void ensureCapacity() {
+        if (maxBytes <= 0) {
+            return;
+        }
+        final List<String> evictedKeys = new ArrayList<>();
+        synchronized (index) {
+            if (totalBytes <= maxBytes) {
+                return;
+            }
+            final List<Map.Entry<String, IndexEntry>> candidates = new ArrayList<>();
+            for (Map.Entry<String, IndexEntry> indexEntry : index.entrySet()) {
+                if (indexEntry.getValue().expiration != Long.MAX_VALUE) {
+                    candidates.add(indexEntry);
+                }
+            }
+            candidates.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+            for (Map.Entry<String, IndexEntry> candidate : candidates) {
+                if (totalBytes <= maxBytes) {
+                    break;
+                }
+                evictedKeys.add(candidate.getKey());
+                totalBytes -= candidate.getValue().size;
+            }
+            evictedKeys.forEach(index::remove);
+        }
+        long bytes = 0;
+        for (String evictedKey : evictedKeys) {
+            bytes += delete(evictedKey);
+        }
+        evictedBytes.addAndGet(bytes);
+        LOGGER.debug("{} cache entries evicted ({} bytes) to fit in {} bytes.", evictedKeys.size(), bytes, maxBytes);
+    }
+
+    /**
+     * Deletes all resources for <code>cacheKey</code>.
+     *
+     * @return The number of deleted bytes.
+     */
+    private long delete(String cacheKey) {
+        long bytes = 0;
+        try {
+            for (DeletableResource resource : resolver.getResources("/cache/" + cacheKey + "*")) {
+                final String filename = resource.getFilename();
+                if (filename.equals(cacheKey) || filename.startsWith(cacheKey + ".")) {
+                    bytes += resource.contentLength();
+                    resource.delete();
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to evict cache entry '{}'.", cacheKey, e);
+        }
+        return bytes;
+    }
+
     @Override
     public boolean has(ContentCacheKey key) {
-        return ofNullable(getResource(key)).isPresent();
+        return hit(getResource(key) != null);
     }
 
     @Override
     public InputStream get(ContentCacheKey key) {
-        return ofNullable(getResource(key)).map(r -> {
+        final DeletableResource resource = getResource(key);
+        hit(resource != null);
+        return ofNullable(resource).map(r -> {
             try {
                 return r.getInputStream();
             } catch (IOException e) {
@@ -110,10 +297,36 @@ public class ResourceLoaderContentCache implements ContentCache {
         }).orElse(null);
     }
 
+    private boolean hit(boolean hit) {
+        (hit ? hits : misses).incrementAndGet();
+        return hit;
+    }
+
     @Override
     public OutputStream put(ContentCacheKey key, TimeToLive timeToLive) {
         try {
-            return getOrCreateResource(key, timeToLive).getOutputStream();
+            final DeletableResource resource = getOrCreateResource(key, timeToLive);
+            final String cacheKey = key.getKey();
+            return new FilterOutputStream(resource.getOutputStream()) {
+
+                private boolean closed;
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    if (closed) {
+                        return;
+                    }
+                    closed = true;
+                    super.close();
+                    index(cacheKey, resource);
+                    ensureCapacity();
+                }
+            };
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
         }
@@ -122,6 +335,12 @@ public class ResourceLoaderContentCache implements ContentCache {
     @Override
     public void evict(ContentCacheKey key) {
         ofNullable(getResource(key)).ifPresent(r -> {
+            synchronized (index) {
+                final IndexEntry entry = index.remove(key.getKey());
+                if (entry != null) {
+                    totalBytes -= entry.size;
+                }
+            }
             try {
                 r.delete();
             } catch (IOException e) {
@@ -132,9 +351,22 @@ public class ResourceLoaderContentCache implements ContentCache {
 
     @Override
     public void evictMatch(ContentCacheKey key) {
+        final Predicate<String> matcher = key.getMatcher();
+        final String prefix = key.getPrefix();
+        synchronized (index) {
+            final List<String> evictedKeys = new ArrayList<>();
+            index.subMap(prefix, prefix + Character.MAX_VALUE).forEach((cacheKey, entry) -> {
+                if (matcher.test(substringAfterLast(entry.location, "/"))) {
+                    evictedKeys.add(cacheKey);
+                    totalBytes -= entry.size;
+                }
+            });
+            evictedKeys.forEach(index::remove);
+        }
         try {
-            final DeletableResource[] resources = resolver.getResources("/cache/**");
-            final Predicate<String> matcher = key.getMatcher();
+            // entries may have been added by other services: list resources that start with prefix
+            final String pattern = StringUtils.isEmpty(prefix) ? "/cache/**" : "/cache/" + prefix + "*";
+            final DeletableResource[] resources = resolver.getResources(pattern);
             stream(resources).filter(r -> matcher.test(r.getFilename())).forEach(r -> {
                 try {
                     r.delete();
@@ -152,7 +384,15 @@ public class ResourceLoaderContentCache implements ContentCache {
         final DeletableResource resource = getResource(from);
         if (resource != null) {
             try {
-                resource.move(getLocation(to, toTimeToLive));
+                final String location = getLocation(to, toTimeToLive);
+                resource.move(location);
+                synchronized (index) {
+                    final IndexEntry entry = index.remove(from.getKey());
+                    if (entry != null) {
+                        totalBytes -= entry.size;
+                    }
+                }
+                index(to.getKey(), resolver.getResource(location));
             } catch (IOException e) {
                 throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
             }
@@ -162,9 +402,77 @@ public class ResourceLoaderContentCache implements ContentCache {
     @Override
     public void clear() {
         try {
+            synchronized (index) {
+                index.clear();
+                totalBytes = 0;
+            }
             resolver.clear("/cache/**");
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
         }
     }
+
+    /**
+     * @return The ratio of {@link #has(ContentCacheKey)} and {@link #get(ContentCacheKey)} calls that found an entry
+     * (between 0 and 1).
+     */
+    public double getHitRatio() {
+        final long hitCount = hits.get();
+        final long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * @return The number of {@link #has(ContentCacheKey)} and {@link #get(ContentCacheKey)} calls that found an entry.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of {@link #has(ContentCacheKey)} and {@link #get(ContentCacheKey)} calls that found no entry.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return The number of bytes evicted because cache exceeded its maximum size.
+     */
+    public long getEvictedBytes() {
+        return evictedBytes.get();
+    }
+
+    /**
+     * @return The size (in bytes) of indexed cache entries.
+     */
+    public long getSize() {
+        synchronized (index) {
+            return totalBytes;
+        }
+    }
+
+    /**
+     * An indexed cache entry.
+     */
+    private static class IndexEntry {
+
+        /** The resource location. */
+        private final String location;
+
+        /** Resource size in bytes. */
+        private final long size;
+
+        /** Expiration time (Long.MAX_VALUE for permanent entries). */
+        private final long expiration;
+
+        /** Last time the entry was read or written. */
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private IndexEntry(String location, long size, long expiration) {
+            this.location = location;
+            this.size = size;
+            this.expiration = expiration;
+        }
+    }
 }
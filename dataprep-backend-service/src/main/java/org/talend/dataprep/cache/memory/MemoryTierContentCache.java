@@ -0,0 +1,197 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache.memory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.ContentCacheKey;
+
+/**
+ * A {@link ContentCache} that keeps small entries in memory (outside of Java heap, see {@link OffHeapStore}) in front
+ * of another {@link ContentCache}. Entries are written to both tiers ({@link #put(ContentCacheKey, TimeToLive)}
+ * writes through), and read from memory when possible. Evictions and moves apply to both tiers.
+ */
+public class MemoryTierContentCache implements ContentCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MemoryTierContentCache.class);
+
+    /** Size of memory allocation unit. */
+    private static final int CHUNK_SIZE = 4096;
+
+    private final ContentCache delegate;
+
+    private final OffHeapStore memory;
+
+    /** Entries larger than this size (in bytes) are only stored in {@link #delegate}. */
+    private final int maxEntrySize;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+
+    private final AtomicLong delegateHits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param delegate The cache that holds all entries.
+     * @param budget The memory (in bytes) for small entries.
+     * @param maxEntrySize The maximum size (in bytes) of an entry kept in memory.
+     */
+    public MemoryTierContentCache(ContentCache delegate, long budget, int maxEntrySize) {
+        this.delegate = delegate;
+        this.memory = new OffHeapStore(budget, CHUNK_SIZE);
+        this.maxEntrySize = maxEntrySize;
+        LOGGER.info("Using {} bytes of memory for content cache entries up to {} bytes.", budget, maxEntrySize);
+    }
+
+    @Override
+    public boolean has(ContentCacheKey key) {
+        if (memory.has(key.getKey())) {
+            memoryHits.incrementAndGet();
+            return true;
+        }
+        final boolean has = delegate.has(key);
+        (has ? delegateHits : misses).incrementAndGet();
+        return has;
+    }
+
+    @Override
+    public InputStream get(ContentCacheKey key) {
+        final byte[] content = memory.get(key.getKey());
+        if (content != null) {
+            memoryHits.incrementAndGet();
+            return new ByteArrayInputStream(content);
+        }
+        final InputStream input = delegate.get(key);
+        (input != null ? delegateHits : misses).incrementAndGet();
+        return input;
+    }
+
+    @Override
+    public OutputStream put(ContentCacheKey key, TimeToLive timeToLive) {
+        final String cacheKey = key.getKey();
+        memory.remove(cacheKey);
+        final long expiration = timeToLive.getTime() > 0 ? System.currentTimeMillis() + timeToLive.getTime() : Long.MAX_VALUE;
+        return new FilterOutputStream(delegate.put(key, timeToLive)) {
+
+            /** A copy of written bytes, <code>null</code> when entry is too large for memory. */
+            private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+            private boolean closed;
+
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                if (copy != null) {
+                    copy.write(b);
+                    checkSize();
+                }
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                if (copy != null) {
+                    copy.write(b, off, len);
+                    checkSize();
+                }
+            }
+
+            private void checkSize() {
+                if (copy.size() > maxEntrySize) {
+                    copy = null;
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                super.close();
+                if (copy != null) {
+                    memory.put(cacheKey, copy.toByteArray(), copy.size(), expiration);
+                }
+            }
+        };
+    }
+
+    @Override
+    public void evict(ContentCacheKey key) {
+        memory.remove(key.getKey());
+        delegate.evict(key);
+    }
+
+    @Override
+    public void evictMatch(ContentCacheKey key) {
+        memory.removeMatch(key.getMatcher());
+        delegate.evictMatch(key);
+    }
+
+    @Override
+    public void move(ContentCacheKey from, ContentCacheKey to, TimeToLive toTimeToLive) {
+        final byte[] content = memory.get(from.getKey());
+        memory.remove(from.getKey());
+        memory.remove(to.getKey());
+        delegate.move(from, to, toTimeToLive);
+        if (content != null) {
+            final long expiration = toTimeToLive.getTime() > 0 ? System.currentTimeMillis() + toTimeToLive.getTime()
+                    : Long.MAX_VALUE;
+            memory.put(to.getKey(), content, content.length, expiration);
+        }
+    }
+
+    @Override
+    public void clear() {
+        memory.clear();
+        delegate.clear();
+    }
+
+    /**
+     * @return The number of {@link #has(ContentCacheKey)} and {@link #get(ContentCacheKey)} calls served from memory.
+     */
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    /**
+     * @return The number of {@link #has(ContentCacheKey)} and {@link #get(ContentCacheKey)} calls served by the
+     * delegate cache.
+     */
+    public long getDelegateHits() {
+        return delegateHits.get();
+    }
+
+    /**
+     * @return The number of {@link #has(ContentCacheKey)} and {@link #get(ContentCacheKey)} calls that found no entry.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return The memory (in bytes) used by entries in memory.
+     */
+    public long getMemorySize() {
+        return memory.size();
+    }
+}
@@ -0,0 +1,202 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache.memory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Stores byte arrays by key outside of the Java heap. Memory is allocated once as direct {@link ByteBuffer} slabs
+ * split in fixed size chunks, an entry uses as many chunks as needed. When no chunk is free, least recently used
+ * entries are removed.
+ * <p>
+ * All methods are thread safe.
+ * </p>
+ */
+class OffHeapStore {
+
+    /** Size of slabs allocated at once. */
+    private static final int SLAB_SIZE = 16 * 1024 * 1024;
+
+    private final int chunkSize;
+
+    private final int chunksPerSlab;
+
+    private final ByteBuffer[] slabs;
+
+    /** Stack of free chunks indexes. */
+    private final int[] freeChunks;
+
+    private int freeCount;
+
+    /** Entries in access order (least recently used first). */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param budget The maximum number of bytes to allocate.
+     * @param chunkSize The size of a chunk (allocation unit) in bytes.
+     */
+    OffHeapStore(long budget, int chunkSize) {
+        this.chunkSize = chunkSize;
+        this.chunksPerSlab = Math.max(1, SLAB_SIZE / chunkSize);
+        final int chunkCount = (int) Math.min(Integer.MAX_VALUE, budget / chunkSize);
+        final int slabCount = (chunkCount + chunksPerSlab - 1) / chunksPerSlab;
+        this.slabs = new ByteBuffer[slabCount];
+        for (int i = 0; i < slabCount; i++) {
+            final int slabChunks = Math.min(chunksPerSlab, chunkCount - i * chunksPerSlab);
+            slabs[i] = ByteBuffer.allocateDirect(slabChunks * chunkSize);
+        }
+        this.freeChunks = new int[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            freeChunks[i] = chunkCount - 1 - i;
+        }
+        this.freeCount = chunkCount;
+    }
+
+    /**
+     * Stores <code>content</code> for <code>key</code> (replaces any previous content), least recently used entries
+     * may be removed to free memory.
+     *
+     * @param key The entry key.
+     * @param content The entry content.
+     * @param length Number of bytes of <code>content</code> to store.
+     * @param expiration The time after which the entry is no longer returned.
+     * @return <code>true</code> if content was stored, <code>false</code> if it's larger than the store.
+     */
+    synchronized boolean put(String key, byte[] content, int length, long expiration) {
+        remove(key);
+        final int needed = (length + chunkSize - 1) / chunkSize;
+        if (needed > freeChunks.length) {
+            return false;
+        }
+        final Iterator<Entry> lru = entries.values().iterator();
+        while (freeCount < needed && lru.hasNext()) {
+            release(lru.next());
+            lru.remove();
+        }
+        final int[] chunks = new int[needed];
+        for (int i = 0; i < needed; i++) {
+            chunks[i] = freeChunks[--freeCount];
+            final int offset = i * chunkSize;
+            final ByteBuffer buffer = chunk(chunks[i]);
+            buffer.put(content, offset, Math.min(chunkSize, length - offset));
+        }
+        entries.put(key, new Entry(chunks, length, expiration));
+        return true;
+    }
+
+    /**
+     * @param key The entry key.
+     * @return A copy of the content stored for <code>key</code>, or <code>null</code> if there is no valid entry.
+     */
+    synchronized byte[] get(String key) {
+        final Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiration <= System.currentTimeMillis()) {
+            remove(key);
+            return null;
+        }
+        final byte[] content = new byte[entry.length];
+        for (int i = 0; i < entry.chunks.length; i++) {
+            final int offset = i * chunkSize;
+            chunk(entry.chunks[i]).get(content, offset, Math.min(chunkSize, entry.length - offset));
+        }
+        return content;
+    }
+
+    /**
+     * @param key The entry key.
+     * @return <code>true</code> if store has a valid entry for <code>key</code>.
+     */
+    synchronized boolean has(String key) {
+        final Entry entry = entries.get(key);
+        if (entry != null && entry.expiration <= System.currentTimeMillis()) {
+            remove(key);
+            return false;
+        }
+        return entry != null;
+    }
+
+    /**
+     * Removes entry for <code>key</code> (if any).
+     */
+    synchronized void remove(String key) {
+        final Entry entry = entries.remove(key);
+        if (entry != null) {
+            release(entry);
+        }
+    }
+
+    /**
+     * Removes all entries whose key matches <code>matcher</code>.
+     */
+    synchronized void removeMatch(Predicate<String> matcher) {
+        final List<String> removed = new ArrayList<>();
+        for (String key : entries.keySet()) {
+            if (matcher.test(key)) {
+                removed.add(key);
+            }
+        }
+        removed.forEach(this::remove);
+    }
+
+    /**
+     * Removes all entries.
+     */
+    synchronized void clear() {
+        new ArrayList<>(entries.keySet()).forEach(this::remove);
+    }
+
+    /**
+     * @return Number of bytes used by entries.
+     */
+    synchronized long size() {
+        return (long) (freeChunks.length - freeCount) * chunkSize;
+    }
+
+    private void release(Entry entry) {
+        for (int chunk : entry.chunks) {
+            freeChunks[freeCount++] = chunk;
+        }
+    }
+
+    /**
+     * @return A buffer positioned at the start of chunk <code>index</code>.
+     */
+    private ByteBuffer chunk(int index) {
+        final ByteBuffer buffer = slabs[index / chunksPerSlab].duplicate();
+        buffer.position((index % chunksPerSlab) * chunkSize);
+        return buffer;
+    }
+
+    private static class Entry {
+
+        private final int[] chunks;
+
+        private final int length;
+
+        private final long expiration;
+
+        private Entry(int[] chunks, int length, long expiration) {
+            this.chunks = chunks;
+            this.length = length;
+            this.expiration = expiration;
+        }
+    }
+}
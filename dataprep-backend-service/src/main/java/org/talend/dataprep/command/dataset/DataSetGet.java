@@ -14,6 +14,7 @@
 package org.talend.dataprep.command.dataset;
 
 import static org.springframework.beans.factory.config.ConfigurableBeanFactory.SCOPE_PROTOTYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.talend.daikon.exception.ExceptionContext.build;
 import static org.talend.dataprep.command.Defaults.emptyStream;
 import static org.talend.dataprep.command.Defaults.pipeStream;
@@ -24,11 +25,13 @@ import java.io.InputStream;
 
 import javax.annotation.PostConstruct;
 
+import org.apache.http.HttpHeaders;
 import org.apache.http.client.methods.HttpGet;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.dataset.row.BinaryDataSetFormat;
 import org.talend.dataprep.command.GenericCommand;
 import org.talend.dataprep.dataset.store.content.DataSetContentLimit;
 import org.talend.dataprep.exception.TDPException;
@@ -46,6 +49,9 @@ public class DataSetGet extends GenericCommand<InputStream> {
 
     private final boolean includeInternalContent;
 
+    /** Whether content may be returned in binary format. */
+    private final boolean binary;
+
     @Autowired
     private DataSetContentLimit limit;
 
@@ -55,10 +61,24 @@ public class DataSetGet extends GenericCommand<InputStream> {
      * @param dataSetId the requested dataset id.
      */
     public DataSetGet(final String dataSetId, final boolean fullContent, final boolean includeInternalContent) {
+        this(dataSetId, fullContent, includeInternalContent, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param dataSetId the requested dataset id.
+     * @param binary <code>true</code> if content may be returned in {@link BinaryDataSetFormat binary format} (to be
+     * read with {@link BinaryDataSetFormat#read(InputStream, com.fasterxml.jackson.databind.ObjectMapper)}),
+     * <code>false</code> for JSON only.
+     */
+    public DataSetGet(final String dataSetId, final boolean fullContent, final boolean includeInternalContent,
+            final boolean binary) {
         super(DATASET_GROUP);
         this.fullContent = fullContent;
         this.dataSetId = dataSetId;
         this.includeInternalContent = includeInternalContent;
+        this.binary = binary;
 
         on(HttpStatus.NOT_FOUND).then((req, res) -> {
             throw new TDPException(DATASET_DOES_NOT_EXIST, build().put("id", dataSetId));
@@ -80,7 +100,11 @@ public class DataSetGet extends GenericCommand<InputStream> {
     private void configureLimitedDataset(final String dataSetId) {
         execute(() -> {
             final String url = datasetServiceUrl + "/datasets/" + dataSetId + "/content?metadata=true&includeInternalContent=" + includeInternalContent;
-            return new HttpGet(url);
+            final HttpGet get = new HttpGet(url);
+            if (binary) {
+                get.addHeader(HttpHeaders.ACCEPT, BinaryDataSetFormat.MEDIA_TYPE + ", " + APPLICATION_JSON_VALUE);
+            }
+            return get;
         });
     }
 
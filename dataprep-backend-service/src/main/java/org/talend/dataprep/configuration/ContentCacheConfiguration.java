@@ -0,0 +1,110 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.configuration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.cache.loader.ResourceLoaderContentCache;
+import org.talend.dataprep.cache.memory.MemoryTierContentCache;
+import org.talend.dataprep.metrics.MetricsRegistry;
+
+/**
+ * A configuration that wraps the active {@link ResourceLoaderContentCache} with a {@link MemoryTierContentCache} when
+ * <code>content-service.cache.memory.max-bytes</code> is set. Cache hits, misses and evictions are registered as gauges
+ * in the {@link MetricsRegistry}.
+ */
+@Configuration
+public class ContentCacheConfiguration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContentCacheConfiguration.class);
+
+    /**
+     * <h1>{@link BeanPostProcessor} notice</h1>
+     * Don't use any {@link org.springframework.beans.factory.annotation.Autowired} in the
+     * configuration as it will prevent autowired beans to be processed by BeanPostProcessor.
+     */
+    @Component
+    public class ContentCachePostProcessor implements BeanPostProcessor, EnvironmentAware, BeanFactoryAware {
+
+        private Environment environment;
+
+        private BeanFactory beanFactory;
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+            return bean;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (bean instanceof ResourceLoaderContentCache) {
+                final ResourceLoaderContentCache cache = (ResourceLoaderContentCache) bean;
+                final MetricsRegistry registry = getMetricsRegistry();
+                if (registry != null) {
+                    registry.gauge("ContentCache.hits", cache::getHits);
+                    registry.gauge("ContentCache.misses", cache::getMisses);
+                    registry.gauge("ContentCache.hitRatio", cache::getHitRatio);
+                    registry.gauge("ContentCache.evictedBytes", cache::getEvictedBytes);
+                    registry.gauge("ContentCache.size", cache::getSize);
+                }
+                final long budget = environment.getProperty("content-service.cache.memory.max-bytes", Long.class, 0L);
+                if (budget <= 0) {
+                    return bean;
+                }
+                final int maxEntrySize = environment.getProperty("content-service.cache.memory.max-entry-size",
+                        Integer.class, 64 * 1024);
+                LOGGER.info("Wrapping '{}' ({}) with a memory tier...", bean.getClass(), beanName);
+                final MemoryTierContentCache memoryTier = new MemoryTierContentCache(cache, budget, maxEntrySize);
+                if (registry != null) {
+                    registry.gauge("ContentCache.memory.hits", memoryTier::getMemoryHits);
+                    registry.gauge("ContentCache.memory.delegateHits", memoryTier::getDelegateHits);
+                    registry.gauge("ContentCache.memory.misses", memoryTier::getMisses);
+                    registry.gauge("ContentCache.memory.size", memoryTier::getMemorySize);
+                }
+                return memoryTier;
+            }
+            return bean;
+        }
+
+        /**
+         * @return The metrics registry, or <code>null</code> if there's none in context.
+         */
+        private MetricsRegistry getMetricsRegistry() {
+            try {
+                return beanFactory.getBean(MetricsRegistry.class);
+            } catch (NoSuchBeanDefinitionException e) {
+                LOGGER.debug("No metrics registry, content cache metrics are not registered.", e);
+                return null;
+            }
+        }
+
+        @Override
+        public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+            this.beanFactory = beanFactory;
+        }
+
+        @Override
+        public void setEnvironment(Environment environment) {
+            this.environment = environment;
+        }
+    }
+}
@@ -38,6 +38,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.talend.dataprep.http.LocalConnectionSocketFactory;
+import org.talend.dataprep.http.LocalDispatch;
 
 /**
  * Http client bean name.
@@ -72,6 +74,10 @@ public class HttpClient {
     @Autowired(required = false)
     private LayeredConnectionSocketFactory sslSocketFactory;
 
+    /** In-memory dispatch of the requests to this server. */
+    @Autowired
+    private LocalDispatch localDispatch;
+
     /**
      * @return the http connection manager.
      */
@@ -83,8 +89,10 @@ public class HttpClient {
             sslSocketFactory = SSLConnectionSocketFactory.getSocketFactory();
         }
 
+        final ConnectionSocketFactory plainSocketFactory = new LocalConnectionSocketFactory(localDispatch,
+                PlainConnectionSocketFactory.getSocketFactory());
         PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(RegistryBuilder
-                .<ConnectionSocketFactory> create().register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .<ConnectionSocketFactory> create().register("http", plainSocketFactory)
                 .register("https", sslSocketFactory).build());
 
         connectionManager.setMaxTotal(maxPoolSize);
@@ -14,8 +14,10 @@
 package org.talend.dataprep.configuration;
 
 import java.util.Collection;
+import java.util.stream.Stream;
 
 import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.LocalConnector;
 import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.springframework.beans.factory.annotation.Value;
@@ -23,6 +25,7 @@ import org.springframework.boot.context.embedded.jetty.JettyEmbeddedServletConta
 import org.springframework.boot.context.embedded.jetty.JettyServerCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.talend.dataprep.http.LocalDispatch;
 
 @Configuration
 public class JettyConfiguration {
@@ -32,8 +35,9 @@ public class JettyConfiguration {
             @Value("${server.port:8080}") final String port, //
             @Value("${jetty.threadPool.maxThreads:200}") final String maxThreads, //
             @Value("${jetty.threadPool.minThreads:8}") final String minThreads, //
-            @Value("${jetty.threadPool.idleTimeout:-1}") final String idleTimeout) {
-        return new JettyContainerConfiguration(port, maxThreads, minThreads, idleTimeout);
+            @Value("${jetty.threadPool.idleTimeout:-1}") final String idleTimeout, //
+            final LocalDispatch localDispatch) {
+        return new JettyContainerConfiguration(port, maxThreads, minThreads, idleTimeout, localDispatch);
     }
 
     private static class JettyContainerConfiguration extends JettyEmbeddedServletContainerFactory {
@@ -44,11 +48,15 @@ public class JettyConfiguration {
 
         private final String idleTimeout;
 
-        private JettyContainerConfiguration(String port, String maxThreads, String minThreads, String idleTimeout) {
+        private final LocalDispatch localDispatch;
+
+        private JettyContainerConfiguration(String port, String maxThreads, String minThreads, String idleTimeout,
+                LocalDispatch localDispatch) {
             super(Integer.valueOf(port));
             this.maxThreads = maxThreads;
             this.minThreads = minThreads;
             this.idleTimeout = idleTimeout;
+            this.localDispatch = localDispatch;
         }
 
         // Cannot be used as getServerCustomizers is called before.
@@ -70,6 +78,15 @@ public class JettyConfiguration {
                     }
                 }
 
+                // In-memory connector for requests sent to this server by co-located services
+                if (localDispatch.isEnabled()
+                        && Stream.of(server.getConnectors()).noneMatch(LocalConnector.class::isInstance)) {
+                    final LocalConnector localConnector = new LocalConnector(server);
+                    localConnector.setIdleTimeout(Long.parseLong(idleTimeout));
+                    server.addConnector(localConnector);
+                    localDispatch.setConnector(localConnector);
+                }
+
             });
 
             return jettyServerCustomizers;
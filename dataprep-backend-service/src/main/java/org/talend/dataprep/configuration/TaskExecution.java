@@ -13,10 +13,15 @@
 
 package org.talend.dataprep.configuration;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.AsyncListenableTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.talend.dataprep.schema.csv.CSVSerializer;
 
@@ -62,6 +67,55 @@ public class TaskExecution {
         return getAsyncExecutor();
     }
 
+    /**
+     * @return A {@link TaskExecutor} for concurrent transformation pipelines. Each concurrent stage of a pipeline holds
+     * a thread until the end of the pipeline, hence threads are not queued: once all threads are busy, stages run in
+     * the calling thread.
+     * @param maxThreads The maximum number of threads used by concurrent stages.
+     * @see org.talend.dataprep.transformation.pipeline.node.ConcurrentNode
+     */
+    @Bean(name = "pipeline#executor")
+    TaskExecutor getPipelineTaskExecutor(@Value("${transformation.pipeline.threads:16}") int maxThreads) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.min(Runtime.getRuntime().availableProcessors(), maxThreads));
+        executor.setMaxPoolSize(maxThreads);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("pipeline-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return AuthenticatedTaskExecutor.authenticated(executor);
+    }
+
+    /**
+     * @return A {@link TaskExecutor} for partitions of transformation pipelines, backed by a fork-join pool. Pipelines
+     * wait for their partitions, hence partitions are queued when all threads are busy.
+     * @param maxThreads The maximum number of threads used by partitions.
+     * @see org.talend.dataprep.transformation.pipeline.node.PartitionedNode
+     */
+    @Bean(name = "pipeline#partitions#executor")
+    TaskExecutor getPipelinePartitionsTaskExecutor(@Value("${transformation.pipeline.threads:16}") int maxThreads) {
+        final ForkJoinPool pool = new ForkJoinPool(Math.min(Runtime.getRuntime().availableProcessors(), maxThreads));
+        return AuthenticatedTaskExecutor.authenticated(new ConcurrentTaskExecutor(pool));
+    }
+
+    /**
+     * @return A {@link TaskExecutor} for background conversions of data set content to columnar content. Conversions
+     * that can't be queued are dropped: they are requested again on next read of the data set.
+     * @see org.talend.dataprep.dataset.store.content.file.ColumnarFileContentStore
+     */
+    @Bean(name = "columnar#executor")
+    TaskExecutor getColumnarTaskExecutor() {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setThreadNamePrefix("columnar-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return AuthenticatedTaskExecutor.authenticated(executor);
+    }
+
     /**
      * @return an Authenticated task executor ready to run.
      */
@@ -0,0 +1,63 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.row.BinaryDataSetFormat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes (and reads) {@link DataSet data sets} in {@link BinaryDataSetFormat binary format} when clients (other
+ * services) accept it, JSON remains the default format.
+ */
+@Component
+public class BinaryDataSetMessageConverter extends AbstractHttpMessageConverter<DataSet> {
+
+    /** The data-prep ready jackson module. */
+    @Autowired
+    private ObjectMapper mapper;
+
+    /** Whether binary records should be compressed. */
+    @Value("${dataset.binary.compression:false}")
+    private boolean compression;
+
+    public BinaryDataSetMessageConverter() {
+        super(MediaType.valueOf(BinaryDataSetFormat.MEDIA_TYPE));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return DataSet.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected DataSet readInternal(Class<? extends DataSet> clazz, HttpInputMessage inputMessage) throws IOException {
+        return BinaryDataSetFormat.read(inputMessage.getBody(), mapper);
+    }
+
+    @Override
+    protected void writeInternal(DataSet dataSet, HttpOutputMessage outputMessage) throws IOException {
+        BinaryDataSetFormat.write(dataSet, outputMessage.getBody(), mapper, compression);
+    }
+}
@@ -14,7 +14,10 @@
 package org.talend.dataprep.dataset.store.content;
 
 import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -48,6 +51,10 @@ public abstract class DataSetContentStore {
     @Autowired
     AnalyzerService service;
 
+    /** Invalid cells of recently streamed data sets (optional). */
+    @Autowired(required = false)
+    InvalidCellsCache invalidCells;
+
     /** Format guesser factory. */
     @Autowired
     protected FormatFamilyFactory factory;
@@ -119,9 +126,23 @@ public abstract class DataSetContentStore {
         return stream(dataSetMetadata, sampleSize);
     }
 
+    /**
+     * Same as {@link #stream(DataSetMetadata)} with technical ids and invalid values marking depending on
+     * <code>options</code>.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
+     * @param options What to add to the stored rows.
+     * @return A valid <b>{@link DataSetRow}</b> stream.
+     * @see #stream(DataSetMetadata, long, StreamOptions)
+     */
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, StreamOptions options) {
+        return stream(dataSetMetadata, sampleSize, options);
+    }
+
     /**
      * Similarly to {@link #get(DataSetMetadata)} returns the content of the data set but as a {@link Stream stream} of
-     * {@link DataSetRow rows} instead of JSON content.
+     * {@link DataSetRow rows} instead of JSON content. Same as calling
+     * {@link #stream(DataSetMetadata, long, StreamOptions)} with {@link StreamOptions#DEFAULT default options}.
      *
      * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
      * @param limit A limit to pass to raw content supplier (use -1 for "no limit). Used as parameter to call
@@ -129,33 +150,113 @@ public abstract class DataSetContentStore {
      * @return A valid <b>{@link DataSetRow}</b> stream.
      */
     public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit) {
+        return stream(dataSetMetadata, limit, StreamOptions.DEFAULT);
+    }
+
+    /**
+     * Similarly to {@link #get(DataSetMetadata)} returns the content of the data set but as a {@link Stream stream} of
+     * {@link DataSetRow rows} instead of JSON content, with technical ids and invalid values marking depending on
+     * <code>options</code>. Invalid values are marked from cached invalid cells (see {@link InvalidCellsCache}) when
+     * available, otherwise with a quality analysis of each row.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
+     * @param limit A limit to pass to raw content supplier (use -1 for "no limit). Used as parameter to call
+     * {@link #get(DataSetMetadata, long)}.
+     * @param options What to add to the stored rows.
+     * @return A valid <b>{@link DataSetRow}</b> stream.
+     */
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit, StreamOptions options) {
+        Stream<DataSetRow> dataSetRowStream = rows(dataSetMetadata, limit);
+        if (options.isInvalidMarking()) {
+            dataSetRowStream = markInvalid(dataSetMetadata, limit, dataSetRowStream);
+        }
+        if (options.isTdpIds()) {
+            final AtomicLong tdpId = new AtomicLong(1);
+            dataSetRowStream = dataSetRowStream.map(r -> { //
+                r.setTdpId(tdpId.getAndIncrement());
+                return r;
+            });
+        }
+        return dataSetRowStream;
+    }
+
+    private Stream<DataSetRow> markInvalid(DataSetMetadata dataSetMetadata, long limit, Stream<DataSetRow> rows) {
+        final List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
+        final InvalidCellsCache.InvalidCells cached = invalidCells == null ? null
+                : invalidCells.get(dataSetMetadata, limit);
+        if (cached != null) {
+            final AtomicLong index = new AtomicLong();
+            return rows.map(r -> cached.mark(r, columns, index.getAndIncrement()));
+        }
+        final Analyzer<Analyzers.Result> analyzer = service.build(columns, AnalyzerService.Analysis.QUALITY);
+        // Mark invalid columns as detected by analyzer (and release analyzer with stream).
+        final Stream<DataSetRow> marked = rows.map(new InvalidMarker(columns, analyzer)).onClose(() -> {
+            try {
+                analyzer.close();
+            } catch (Exception e) {
+                throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+            }
+        });
+        if (invalidCells == null) {
+            return marked;
+        }
+        final InvalidCellsCache.Recorder recorder = invalidCells.record(dataSetMetadata, limit);
+        return onCompletion(marked.map(r -> {
+            recorder.record(r, columns);
+            return r;
+        }), recorder::complete);
+    }
+
+    /**
+     * @return A stream with the same rows as <code>rows</code> that runs <code>callback</code> once all rows are
+     * consumed (not if stream is closed before its end).
+     */
+    private static Stream<DataSetRow> onCompletion(Stream<DataSetRow> rows, Runnable callback) {
+        final Iterator<DataSetRow> iterator = rows.iterator();
+        final Iterator<DataSetRow> completing = new Iterator<DataSetRow>() {
+
+            private boolean completed;
+
+            @Override
+            public boolean hasNext() {
+                final boolean hasNext = iterator.hasNext();
+                if (!hasNext && !completed) {
+                    completed = true;
+                    callback.run();
+                }
+                return hasNext;
+            }
+
+            @Override
+            public DataSetRow next() {
+                return iterator.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(completing, Spliterator.ORDERED), false)
+                .onClose(rows::close);
+    }
+
+    /**
+     * Returns the rows of the {@link DataSetMetadata data set} as they are stored, without any quality analysis nor
+     * technical id. Default implementation parses the JSON returned by {@link #get(DataSetMetadata, long)}, but
+     * implementations that keep content in a more efficient format are encouraged to override this method.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
+     * @param limit A limit to pass to raw content supplier (use -1 for "no limit).
+     * @return A <b>{@link DataSetRow}</b> stream that releases underlying resources when closed.
+     */
+    protected Stream<DataSetRow> rows(DataSetMetadata dataSetMetadata, long limit) {
         final InputStream inputStream = get(dataSetMetadata, limit);
         final DataSetRowIterator iterator = new DataSetRowIterator(inputStream);
         final Iterable<DataSetRow> rowIterable = () -> iterator;
-        Stream<DataSetRow> dataSetRowStream = StreamSupport.stream(rowIterable.spliterator(), false);
         // make sure to close the original input stream when closing this one
-        AtomicLong tdpId = new AtomicLong(1);
-        final List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
-        final Analyzer<Analyzers.Result> analyzer = service.build(columns, AnalyzerService.Analysis.QUALITY);
-
-        dataSetRowStream = dataSetRowStream.map(r -> {
-            final String[] values = r.order(columns).toArray(DataSetRow.SKIP_TDP_ID);
-            analyzer.analyze(values);
-            return r;
-        }) //
-        .map(new InvalidMarker(columns, analyzer)) // Mark invalid columns as detected by provided analyzer.
-        .map(r -> { //
-            r.setTdpId(tdpId.getAndIncrement());
-            return r;
-        }).onClose(() -> { //
+        return StreamSupport.stream(rowIterable.spliterator(), false).onClose(() -> { //
             try {
                 inputStream.close();
             } catch (Exception e) {
                 throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
             }
         });
-
-        return dataSetRowStream;
     }
 
     /**
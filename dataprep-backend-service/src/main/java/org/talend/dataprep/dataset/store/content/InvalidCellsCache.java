@@ -0,0 +1,230 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.dataset.row.InvalidMarker;
+
+/**
+ * Keeps, for the most recently streamed data sets, the cells marked invalid by {@link InvalidMarker} so that
+ * {@link DataSetContentStore} can mark invalid values again without running a quality analysis on every row.
+ * <p>
+ * Only rows with at least one invalid cell are kept (as a {@link BitSet} of column indexes). Entries are bound to the
+ * data set metadata they were computed for (last modification date, column ids, types and domains): any change creates
+ * a new entry and older ones are evicted on a least recently used basis.
+ * </p>
+ */
+@Component
+public class InvalidCellsCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InvalidCellsCache.class);
+
+    /** Maximum number of data sets with cached invalid cells. */
+    @Value("${dataset.invalid.cache.max-datasets:100}")
+    private int maxDataSets = 100;
+
+    /** Maximum number of rows with invalid cells kept per data set (larger data sets are not cached). */
+    @Value("${dataset.invalid.cache.max-rows:100000}")
+    private int maxRows = 100000;
+
+    /** Invalid cells by key (see {@link #key(DataSetMetadata)}), in access order. */
+    private final Map<String, InvalidCells> entries = new LinkedHashMap<String, InvalidCells>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, InvalidCells> eldest) {
+            return size() > maxDataSets;
+        }
+    };
+
+    /**
+     * @param metadata The data set metadata.
+     * @param limit The limit of the streamed rows (-1 for no limit).
+     * @return The cached invalid cells for all the streamed rows, or <code>null</code> if not cached.
+     */
+    public synchronized InvalidCells get(DataSetMetadata metadata, long limit) {
+        final InvalidCells invalidCells = entries.get(key(metadata));
+        return invalidCells != null && invalidCells.covers(limit) ? invalidCells : null;
+    }
+
+    /**
+     * @param metadata The data set metadata.
+     * @param limit The limit of the streamed rows (-1 for no limit).
+     * @return A {@link Recorder} to record invalid cells of streamed rows.
+     */
+    public Recorder record(DataSetMetadata metadata, long limit) {
+        return new Recorder(key(metadata), limit);
+    }
+
+    /**
+     * Evicts all invalid cells cached for a data set (to be called when data set content changes).
+     *
+     * @param dataSetId The data set id.
+     */
+    public synchronized void evict(String dataSetId) {
+        final String prefix = dataSetId + '#';
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * Evicts all cached invalid cells.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private synchronized void put(String key, InvalidCells invalidCells) {
+        final InvalidCells previous = entries.get(key);
+        if (previous == null || !previous.covers(invalidCells.limit)) {
+            entries.put(key, invalidCells);
+        }
+    }
+
+    private static String key(DataSetMetadata metadata) {
+        final StringBuilder key = new StringBuilder(metadata.getId()).append('#')
+                .append(metadata.getLastModificationDate());
+        for (ColumnMetadata column : metadata.getRowMetadata().getColumns()) {
+            key.append('#').append(column.getId()) //
+                    .append(':').append(column.getType()) //
+                    .append(':').append(column.getDomain());
+        }
+        return key.toString();
+    }
+
+    /**
+     * The invalid cells of the rows of a data set.
+     */
+    public static class InvalidCells {
+
+        private static final BitSet NONE = new BitSet();
+
+        /** Invalid column indexes by row index (rows without invalid cells are not in map). */
+        private final Map<Long, BitSet> rows;
+
+        /** The limit of the stream the cells were recorded from (-1 for no limit). */
+        private final long limit;
+
+        /** The number of rows recorded. */
+        private final long size;
+
+        private InvalidCells(Map<Long, BitSet> rows, long limit, long size) {
+            this.rows = rows;
+            this.limit = limit;
+            this.size = size;
+        }
+
+        /**
+         * @param requestedLimit A stream limit (-1 for no limit).
+         * @return <code>true</code> if all rows of a stream with this limit were recorded.
+         */
+        boolean covers(long requestedLimit) {
+            final boolean allRows = limit < 0 || size < limit;
+            return allRows || requestedLimit >= 0 && requestedLimit <= limit;
+        }
+
+        /**
+         * Marks the invalid cells of a row, the same way {@link InvalidMarker} does.
+         *
+         * @param row The row to mark.
+         * @param columns The data set columns.
+         * @param index The row index in stream.
+         * @return The marked row.
+         */
+        public DataSetRow mark(DataSetRow row, List<ColumnMetadata> columns, long index) {
+            final BitSet invalid = rows.getOrDefault(index, NONE);
+            for (int i = 0; i < columns.size(); i++) {
+                final String columnId = columns.get(i).getId();
+                if (invalid.get(i)) {
+                    row.setInvalid(columnId);
+                } else {
+                    row.unsetInvalid(columnId);
+                }
+            }
+            return row;
+        }
+    }
+
+    /**
+     * Records the invalid cells of streamed rows and caches them once all rows are streamed. A recorder is not thread
+     * safe (rows are recorded in stream order).
+     */
+    public class Recorder {
+
+        private final String key;
+
+        private final long limit;
+
+        private final Map<Long, BitSet> rows = new HashMap<>();
+
+        private long index;
+
+        private boolean overflow;
+
+        private Recorder(String key, long limit) {
+            this.key = key;
+            this.limit = limit;
+        }
+
+        /**
+         * Records the invalid cells of the next row.
+         *
+         * @param row The row (with invalid values marked).
+         * @param columns The data set columns.
+         */
+        public void record(DataSetRow row, List<ColumnMetadata> columns) {
+            final long current = index++;
+            if (overflow) {
+                return;
+            }
+            BitSet invalid = null;
+            for (int i = 0; i < columns.size(); i++) {
+                if (row.isInvalid(columns.get(i).getId())) {
+                    if (invalid == null) {
+                        invalid = new BitSet(columns.size());
+                    }
+                    invalid.set(i);
+                }
+            }
+            if (invalid != null) {
+                if (rows.size() >= maxRows) {
+                    LOGGER.debug("Too many rows with invalid values to cache them ({}).", key);
+                    overflow = true;
+                    rows.clear();
+                } else {
+                    rows.put(current, invalid);
+                }
+            }
+        }
+
+        /**
+         * Caches recorded cells, to be called once all rows are streamed.
+         */
+        public void complete() {
+            if (!overflow) {
+                put(key, new InvalidCells(rows, limit, index));
+            }
+        }
+    }
+}
@@ -47,6 +47,17 @@ class LimitDataSetContent implements DataSetContentLimit {
             return delegate.stream(dataSetMetadata, LimitDataSetContent.this.limit);
         }
 
+        @Override
+        public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit, StreamOptions options) {
+            return delegate.stream(dataSetMetadata, LimitDataSetContent.this.limit, options);
+        }
+
+        @Override
+        public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, StreamOptions options) {
+            // deal with dataset size limit (ignored if limit is <= 0)
+            return delegate.stream(dataSetMetadata, limit, options).limit(limit);
+        }
+
         @Override
         public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata) {
             Stream<DataSetRow> dataSetRowStream = delegate.stream(dataSetMetadata, limit);
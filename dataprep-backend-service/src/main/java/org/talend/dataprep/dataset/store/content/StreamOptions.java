@@ -0,0 +1,79 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content;
+
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * Options for {@link DataSetContentStore#stream(org.talend.dataprep.api.dataset.DataSetMetadata, long, StreamOptions)}:
+ * tells what the content store must add to the stored {@link DataSetRow rows}.
+ * <ul>
+ * <li>{@link #RAW}: rows as stored (the cheapest option, e.g. for callers that run their own analysis).</li>
+ * <li>{@link #TDP_IDS}: rows with technical ids.</li>
+ * <li>{@link #DEFAULT}: rows with technical ids and invalid values marked.</li>
+ * </ul>
+ */
+public final class StreamOptions {
+
+    /** Rows as stored, no technical id and no invalid marking. */
+    public static final StreamOptions RAW = new StreamOptions(false, false);
+
+    /** Rows with technical ids, no invalid marking. */
+    public static final StreamOptions TDP_IDS = new StreamOptions(true, false);
+
+    /** Rows with technical ids and invalid values marked (as returned by the stream methods with no options). */
+    public static final StreamOptions DEFAULT = new StreamOptions(true, true);
+
+    private final boolean tdpIds;
+
+    private final boolean invalidMarking;
+
+    private StreamOptions(boolean tdpIds, boolean invalidMarking) {
+        this.tdpIds = tdpIds;
+        this.invalidMarking = invalidMarking;
+    }
+
+    /**
+     * @param tdpIds <code>true</code> to set technical ids on rows.
+     * @param invalidMarking <code>true</code> to mark invalid values in rows.
+     * @return The stream options.
+     */
+    public static StreamOptions of(boolean tdpIds, boolean invalidMarking) {
+        if (invalidMarking) {
+            return tdpIds ? DEFAULT : new StreamOptions(false, true);
+        }
+        return tdpIds ? TDP_IDS : RAW;
+    }
+
+    /**
+     * @return <code>true</code> if technical ids are set on rows.
+     * @see DataSetRow#setTdpId(Long)
+     */
+    public boolean isTdpIds() {
+        return tdpIds;
+    }
+
+    /**
+     * @return <code>true</code> if invalid values are marked in rows.
+     * @see DataSetRow#setInvalid(String)
+     */
+    public boolean isInvalidMarking() {
+        return invalidMarking;
+    }
+
+    @Override
+    public String toString() {
+        return "StreamOptions{tdpIds=" + tdpIds + ", invalidMarking=" + invalidMarking + '}';
+    }
+}
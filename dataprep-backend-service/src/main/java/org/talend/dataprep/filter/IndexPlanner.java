@@ -0,0 +1,179 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.filter;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.talend.tql.model.*;
+import org.talend.tql.visitor.IASTVisitor;
+
+/**
+ * Plans a TQL filter using {@link SecondaryIndexes}: each expression returns the set of candidate ids, or
+ * <code>null</code> if expression can't be answered by an index (the caller then falls back to a scan).
+ * <ul>
+ * <li>equality and <code>in</code> on an indexed field use an index lookup,</li>
+ * <li>contains on an indexed field scans index values (not objects),</li>
+ * <li>regular expressions matching a literal prefix (<code>abc.*</code>) use an index range,</li>
+ * <li><code>and</code> intersects candidates of indexed sub expressions, <code>or</code> needs all sub expressions to
+ * be indexed.</li>
+ * </ul>
+ */
+class IndexPlanner implements IASTVisitor {
+
+    /** A regular expression that only matches a literal prefix. */
+    private static final Pattern PREFIX_REGEX = Pattern.compile("\\^?([\\w \\-@#:,;'\"/]*)\\.\\*");
+
+    private final SecondaryIndexes<?> indexes;
+
+    IndexPlanner(SecondaryIndexes<?> indexes) {
+        this.indexes = indexes;
+    }
+
+    @Override
+    public Set<String> visit(TqlElement tqlElement) {
+        return null;
+    }
+
+    @Override
+    public Void visit(ComparisonOperator comparisonOperator) {
+        return null;
+    }
+
+    @Override
+    public String visit(LiteralValue literalValue) {
+        return literalValue.getValue();
+    }
+
+    @Override
+    public String visit(FieldReference fieldReference) {
+        return fieldReference.getPath();
+    }
+
+    @Override
+    public Set<String> visit(Expression expression) {
+        return null;
+    }
+
+    @Override
+    public Set<String> visit(AndExpression andExpression) {
+        Set<String> candidates = null;
+        for (Expression expression : andExpression.getExpressions()) {
+            final Set<String> expressionCandidates = (Set<String>) expression.accept(this);
+            if (expressionCandidates != null) {
+                if (candidates == null) {
+                    candidates = expressionCandidates;
+                } else {
+                    candidates.retainAll(expressionCandidates);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    @Override
+    public Set<String> visit(OrExpression orExpression) {
+        final Expression[] expressions = orExpression.getExpressions();
+        if (expressions.length == 0) {
+            return null;
+        }
+        final Set<String> candidates = new HashSet<>();
+        for (Expression expression : expressions) {
+            final Set<String> expressionCandidates = (Set<String>) expression.accept(this);
+            if (expressionCandidates == null) {
+                return null;
+            }
+            candidates.addAll(expressionCandidates);
+        }
+        return candidates;
+    }
+
+    @Override
+    public Set<String> visit(ComparisonExpression comparisonExpression) {
+        final String field = comparisonExpression.getField().getPath();
+        if (!indexes.isIndexed(field) || !(comparisonExpression.getValueOrField() instanceof LiteralValue)) {
+            return null;
+        }
+        switch (comparisonExpression.getOperator().getOperator()) {
+        case EQ:
+            return indexes.equalTo(field, comparisonExpression.getValueOrField().accept(this));
+        default:
+            return null;
+        }
+    }
+
+    @Override
+    public Set<String> visit(FieldInExpression fieldInExpression) {
+        final String field = fieldInExpression.getFieldName();
+        final LiteralValue[] values = fieldInExpression.getValues();
+        if (!indexes.isIndexed(field) || values.length == 0) {
+            return null;
+        }
+        final Set<String> candidates = new HashSet<>();
+        for (LiteralValue value : values) {
+            candidates.addAll(indexes.equalTo(field, value.accept(this)));
+        }
+        return candidates;
+    }
+
+    @Override
+    public Set<String> visit(FieldIsEmptyExpression fieldIsEmptyExpression) {
+        return null;
+    }
+
+    @Override
+    public Set<String> visit(FieldIsValidExpression fieldIsValidExpression) {
+        return null;
+    }
+
+    @Override
+    public Set<String> visit(FieldIsInvalidExpression fieldIsInvalidExpression) {
+        return null;
+    }
+
+    @Override
+    public Set<String> visit(FieldMatchesRegex fieldMatchesRegex) {
+        final String field = fieldMatchesRegex.getFieldName();
+        final Matcher prefix = PREFIX_REGEX.matcher(fieldMatchesRegex.getRegex());
+        if (!indexes.isIndexed(field) || !prefix.matches()) {
+            return null;
+        }
+        return indexes.startingWith(field, prefix.group(1));
+    }
+
+    @Override
+    public Set<String> visit(FieldCompliesPattern fieldCompliesPattern) {
+        return null;
+    }
+
+    @Override
+    public Set<String> visit(FieldBetweenExpression fieldBetweenExpression) {
+        return null;
+    }
+
+    @Override
+    public Set<String> visit(NotExpression notExpression) {
+        return null;
+    }
+
+    @Override
+    public Set<String> visit(FieldContainsExpression fieldContainsExpression) {
+        final String field = fieldContainsExpression.getFieldName();
+        if (!indexes.isIndexed(field)) {
+            return null;
+        }
+        return indexes.containing(field, fieldContainsExpression.getValue());
+    }
+}
@@ -0,0 +1,214 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.filter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.tql.parser.Tql;
+
+/**
+ * In-memory secondary indexes on some fields of stored objects, used by repositories to find objects matching a TQL
+ * filter without reading all stored objects.
+ * <p>
+ * Indexes return <b>candidates</b>: a superset of ids of objects matching the filter, repositories are still expected
+ * to apply the filter (see {@link ObjectPredicateVisitor}) on candidates. Indexed values are compared ignoring case,
+ * consistently with {@link ObjectPredicateVisitor}.
+ * </p>
+ * <p>
+ * Indexes are built on first use (see {@link #candidates(String, Supplier)}) and maintained with
+ * {@link #add(Object)} and {@link #remove(String)}. The object id is always indexed (as "id").
+ * </p>
+ *
+ * @param <T> The type of indexed objects.
+ */
+public class SecondaryIndexes<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SecondaryIndexes.class);
+
+    /** Name of the id field. */
+    private static final String ID = "id";
+
+    /** Getters of indexed fields by field name. */
+    private final Map<String, Function<T, Object>> getters = new HashMap<>();
+
+    /** For each indexed field, ids by normalized value. */
+    private final Map<String, TreeMap<String, Set<String>>> indexes = new HashMap<>();
+
+    /** For each indexed field, normalized value by id. */
+    private final Map<String, Map<String, String>> values = new HashMap<>();
+
+    private final Function<T, String> id;
+
+    private boolean built;
+
+    /**
+     * @param id A function that returns the id of an object.
+     */
+    public SecondaryIndexes(Function<T, String> id) {
+        this.id = id;
+        on(ID, id::apply);
+    }
+
+    /**
+     * Adds an index on a field.
+     *
+     * @param field The field name (as used in TQL filters).
+     * @param getter A function that returns the field value of an object.
+     * @return This object for chaining calls.
+     */
+    public SecondaryIndexes<T> on(String field, Function<T, Object> getter) {
+        getters.put(field, getter);
+        indexes.put(field, new TreeMap<>());
+        values.put(field, new HashMap<>());
+        return this;
+    }
+
+    /**
+     * @param field A field name.
+     * @return <code>true</code> if field is indexed.
+     */
+    boolean isIndexed(String field) {
+        return getters.containsKey(field);
+    }
+
+    /**
+     * Adds (or updates) an object in indexes.
+     *
+     * @param object The object to index.
+     */
+    public synchronized void add(T object) {
+        final String objectId = id.apply(object);
+        if (objectId == null) {
+            return;
+        }
+        for (Map.Entry<String, Function<T, Object>> getter : getters.entrySet()) {
+            final String field = getter.getKey();
+            final String value = normalize(getter.getValue().apply(object));
+            final String previous = values.get(field).put(objectId, value);
+            if (previous != null) {
+                removeId(field, previous, objectId);
+            }
+            indexes.get(field).computeIfAbsent(value, v -> new HashSet<>()).add(objectId);
+        }
+    }
+
+    /**
+     * Removes an object from indexes.
+     *
+     * @param objectId The id of the object to remove.
+     */
+    public synchronized void remove(String objectId) {
+        if (objectId == null) {
+            return;
+        }
+        for (String field : getters.keySet()) {
+            final String previous = values.get(field).remove(objectId);
+            if (previous != null) {
+                removeId(field, previous, objectId);
+            }
+        }
+    }
+
+    /**
+     * Removes all objects from indexes, indexes will be built again on next use.
+     */
+    public synchronized void clear() {
+        indexes.values().forEach(Map::clear);
+        values.values().forEach(Map::clear);
+        built = false;
+    }
+
+    /**
+     * Returns the ids of the objects that may match <code>filter</code>.
+     *
+     * @param filter A TQL filter.
+     * @param source All stored objects, used to build indexes on first use.
+     * @return The candidate ids, or {@link Optional#empty()} if filter can't use indexes (all objects must be scanned).
+     */
+    public synchronized Optional<Set<String>> candidates(String filter, Supplier<Stream<T>> source) {
+        if (!built) {
+            try (Stream<T> objects = source.get()) {
+                objects.forEach(this::add);
+            }
+            built = true;
+            LOGGER.debug("Indexes built for {} object(s).", values.get(ID).size());
+        }
+        final Set<String> candidates = (Set<String>) Tql.parse(filter).accept(new IndexPlanner(this));
+        return Optional.ofNullable(candidates);
+    }
+
+    /**
+     * @return The ids of objects whose <code>field</code> is equal to <code>value</code> (ignoring case).
+     */
+    Set<String> equalTo(String field, Object value) {
+        final Set<String> ids = indexes.get(field).get(normalize(value));
+        return ids == null ? Collections.emptySet() : new HashSet<>(ids);
+    }
+
+    /**
+     * @return The ids of objects whose <code>field</code> starts with <code>prefix</code> (ignoring case).
+     */
+    Set<String> startingWith(String field, String prefix) {
+        final String normalizedPrefix = normalize(prefix);
+        final Set<String> ids = new HashSet<>();
+        indexes.get(field).subMap(normalizedPrefix, normalizedPrefix + Character.MAX_VALUE).values().forEach(ids::addAll);
+        return ids;
+    }
+
+    /**
+     * @return The ids of objects whose <code>field</code> contains <code>part</code> (ignoring case).
+     */
+    Set<String> containing(String field, String part) {
+        final String normalizedPart = normalize(part);
+        final Set<String> ids = new HashSet<>();
+        indexes.get(field).forEach((value, valueIds) -> {
+            if (value.contains(normalizedPart)) {
+                ids.addAll(valueIds);
+            }
+        });
+        return ids;
+    }
+
+    private void removeId(String field, String value, String objectId) {
+        final Set<String> ids = indexes.get(field).get(value);
+        if (ids != null) {
+            ids.remove(objectId);
+            if (ids.isEmpty()) {
+                indexes.get(field).remove(value);
+            }
+        }
+    }
+
+    /**
+     * Normalizes a value the same way {@link String#equalsIgnoreCase(String)} compares characters.
+     */
+    private static String normalize(Object value) {
+        final String s = String.valueOf(value);
+        final char[] chars = new char[s.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(s.charAt(i)));
+        }
+        return new String(chars);
+    }
+}
@@ -48,10 +48,13 @@ import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.DataSetErrorCodes;
 import org.talend.dataprep.folder.store.FolderRepository;
 import org.talend.dataprep.security.Security;
-import org.talend.dataprep.util.StringsHelper;
 
 /**
  * File system folder repository implementation.
+ * <p>
+ * Folder tree is indexed in memory (see {@link FolderIndex}) at startup and index is maintained on each change, so
+ * locating entries and searching folders do not walk the whole tree.
+ * </p>
  */
 @Component("folderRepository#file")
 @ConditionalOnProperty(name = "folder.store", havingValue = "file")
@@ -63,8 +66,11 @@ public class FileSystemFolderRepository implements FolderRepository {
     @Autowired
     private PathsConverter pathsConverter;
 
+    /** Index of folders and entries. */
+    private final FolderIndex index = new FolderIndex();
+
     /**
-     * Make sure the root folder is there.
+     * Make sure the root folder is there and index folder tree.
      */
     @PostConstruct
     private void init() {
@@ -73,6 +79,8 @@ public class FileSystemFolderRepository implements FolderRepository {
             if (!Files.exists(rootPath)) {
                 Files.createDirectories(rootPath);
             }
+            index.clear();
+            index.index(rootPath);
         } catch (IOException e) {
             throw new IllegalStateException(e.getMessage(), e);
         }
@@ -134,6 +142,7 @@ public class FileSystemFolderRepository implements FolderRepository {
         try {
             Path pathToCreate = pathsConverter.toPath(folderPathToCreate);
             Files.createDirectories(pathToCreate);
+            indexFolders(pathToCreate);
             return toFolder(pathToCreate, security.getUserId());
         } catch (IOException e) {
             throw new TDPException(UNABLE_TO_ADD_FOLDER, e, build().put("path", givenPath));
@@ -172,6 +181,8 @@ public class FileSystemFolderRepository implements FolderRepository {
 
         try {
             FileUtils.moveDirectory(folderPath.toFile(), newFolderPath.toFile());
+            index.removeTree(folderPath);
+            index.index(newFolderPath);
         } catch (IOException e) {
             throw new TDPException(UNABLE_TO_RENAME_FOLDER, e, build().put("path", folder.getPath()));
         }
@@ -200,6 +211,7 @@ public class FileSystemFolderRepository implements FolderRepository {
             // check parent path first
             if (Files.notExists(parentPath)) {
                 Files.createDirectories(parentPath);
+                indexFolders(parentPath);
             }
 
             entryFilepath = Files.createFile(entryFilepath);
@@ -208,6 +220,7 @@ public class FileSystemFolderRepository implements FolderRepository {
             try (OutputStream outputStream = Files.newOutputStream(entryFilepath)) {
                 writeEntryToStream(folderEntry, outputStream);
             }
+            index.addEntry(entryFilepath, folderEntry);
             return folderEntry;
         } catch (IOException e) {
             throw new TDPException(UNABLE_TO_ADD_FOLDER_ENTRY, e, build().put("path", folderPath));
@@ -230,7 +243,7 @@ public class FileSystemFolderRepository implements FolderRepository {
                 paths //
                         .filter(pathFound -> !Files.isDirectory(pathFound)) //
                         .filter(pathFile -> matches(pathFile, contentId, contentType)) //
-                        .forEach(deleteFile());
+                        .forEach(deleteFile().andThen(index::removeEntry));
             }
         } catch (IOException e) {
             throw new TDPException(UNABLE_TO_REMOVE_FOLDER_ENTRY, e, build().put("path", folderPath));
@@ -246,6 +259,7 @@ public class FileSystemFolderRepository implements FolderRepository {
         } else {
             try {
                 FileUtils.deleteDirectory(path.toFile());
+                index.removeTree(path);
             } catch (IOException e) {
                 throw new TDPException(UNABLE_TO_DELETE_FOLDER, e, build().put("path", path));
             }
@@ -280,16 +294,10 @@ public class FileSystemFolderRepository implements FolderRepository {
 
     @Override
     public Iterable<FolderEntry> findFolderEntries(String contentId, FolderContentType contentType) {
-        try (Stream<Path> filesStream = Files.walk(pathsConverter.getRootFolder())) {
-            return filesStream //
-                    .filter(Files::isRegularFile) //
-                    .map(FileSystemUtils::toFolderEntry) //
-                    .filter(entry -> StringUtils.equals(entry.getContentId(), contentId) //
-                            && Objects.equals(contentType, entry.getContentType())) //
-                    .collect(toSet());
-        } catch (IOException e) {
-            throw new RuntimeException(e.getMessage(), e);
-        }
+        return index.getEntries(contentType, contentId).stream() //
+                .filter(Files::isRegularFile) //
+                .map(FileSystemUtils::toFolderEntry) //
+                .collect(toSet());
     }
 
     @Override
@@ -304,16 +312,10 @@ public class FileSystemFolderRepository implements FolderRepository {
 
     @Override
     public Iterable<Folder> searchFolders(String queryString, boolean strict) {
-        try (Stream<Path> walk = Files.walk(pathsConverter.getRootFolder())) {
-            return walk //
-                    .filter(path -> //
-                            Files.isDirectory(path) //
-                                    && StringsHelper.match(path.getFileName().toString(), queryString, strict)) //
-                    .map(path -> toFolder(path, security.getUserId())) //
-                    .collect(toList());
-        } catch (IOException e) {
-            throw new RuntimeException(e.getMessage(), e);
-        }
+        return index.searchFolders(queryString, strict).stream() //
+                .filter(Files::isDirectory) //
+                .map(path -> toFolder(path, security.getUserId())) //
+                .collect(toList());
     }
 
     @Override
@@ -338,6 +340,8 @@ public class FileSystemFolderRepository implements FolderRepository {
         Path destinationFile = Paths.get(destinationPath.toString(), buildFileName(folderEntry));
         try {
             Files.move(originFilePath, destinationFile);
+            index.removeEntry(originFilePath);
+            index.addEntry(destinationFile, folderEntry);
         } catch (IOException e) {
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_MOVE_FOLDER_ENTRY, e);
         }
@@ -345,21 +349,13 @@ public class FileSystemFolderRepository implements FolderRepository {
 
     @Override
     public Folder locateEntry(String contentId, FolderContentType type) {
-        try (Stream<Path> walk = Files.walk(pathsConverter.getRootFolder())) {
-            return walk //
-                    .filter(Files::isRegularFile) //
-                    .filter(file -> {
-                        FolderEntry folderEntry = FileSystemUtils.toFolderEntry(file);
-                        return Objects.equals(folderEntry.getContentId(), contentId) //
-                                && Objects.equals(folderEntry.getContentType(), type);
-                    }) //
-                    .findFirst() //
-                    .map(Path::getParent) //
-                    .map(p -> toFolder(p, security.getUserId())) //
-                    .orElse(null);
-        } catch (IOException e) {
-            throw new RuntimeException(e.getMessage(), e);
-        }
+        return index.getEntries(type, contentId).stream() //
+                .filter(Files::isRegularFile) //
+                .sorted() //
+                .findFirst() //
+                .map(Path::getParent) //
+                .map(p -> toFolder(p, security.getUserId())) //
+                .orElse(null);
     }
 
     @Override
@@ -367,6 +363,14 @@ public class FileSystemFolderRepository implements FolderRepository {
         return countSubDirectories(pathsConverter.getRootFolder());
     }
 
+    /** Adds <code>folder</code> and its parents (up to root folder) to index. */
+    private void indexFolders(Path folder) {
+        final Path root = pathsConverter.getRootFolder().normalize();
+        for (Path current = folder.normalize(); current != null && current.startsWith(root); current = current.getParent()) {
+            index.addFolder(current);
+        }
+    }
+
     private static String buildFileName(FolderEntry folderEntry) {
         return folderEntry.getContentType().toString() + '@' + folderEntry.getContentId();
     }
@@ -0,0 +1,180 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.folder.store.file;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.talend.dataprep.api.folder.FolderContentType;
+import org.talend.dataprep.api.folder.FolderEntry;
+import org.talend.dataprep.util.StringsHelper;
+
+/**
+ * In-memory index of the folder tree stored by {@link FileSystemFolderRepository}: entry files by content (type and
+ * id) and folders by name, so that locating content or searching folders does not walk the whole tree.
+ * <p>
+ * Index is built by {@link #index(Path)} and maintained by the repository on each change. All methods are thread safe.
+ * </p>
+ */
+class FolderIndex {
+
+    /** Entry files by content key (see {@link #key(FolderContentType, String)}). */
+    private final Map<String, Set<Path>> entries = new HashMap<>();
+
+    /** Content key by entry file. */
+    private final Map<Path, String> keys = new HashMap<>();
+
+    /** Folders by name (ignoring case). */
+    private final TreeMap<String, Set<Path>> folders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    /**
+     * Indexes all folders and entries under <code>root</code> (including <code>root</code>).
+     *
+     * @param root The root of the tree to index.
+     * @throws IOException If tree can't be read.
+     */
+    synchronized void index(Path root) throws IOException {
+        try (Stream<Path> walk = Files.walk(root)) {
+            walk.forEach(path -> {
+                if (Files.isDirectory(path)) {
+                    addFolder(path);
+                } else if (Files.isRegularFile(path)) {
+                    addEntry(path, FileSystemUtils.toFolderEntry(path));
+                }
+            });
+        }
+    }
+
+    /**
+     * Adds a folder to index.
+     *
+     * @param folder The folder path.
+     */
+    synchronized void addFolder(Path folder) {
+        final Path normalized = folder.normalize();
+        final Path name = normalized.getFileName();
+        folders.computeIfAbsent(name == null ? "" : name.toString(), n -> new HashSet<>()).add(normalized);
+    }
+
+    /**
+     * Adds (or updates) an entry file to index.
+     *
+     * @param file The entry file.
+     * @param entry The entry stored in <code>file</code>.
+     */
+    synchronized void addEntry(Path file, FolderEntry entry) {
+        final Path normalized = file.normalize();
+        removeEntry(normalized);
+        final String key = key(entry.getContentType(), entry.getContentId());
+        entries.computeIfAbsent(key, k -> new HashSet<>()).add(normalized);
+        keys.put(normalized, key);
+    }
+
+    /**
+     * Removes an entry file from index.
+     *
+     * @param file The entry file.
+     */
+    synchronized void removeEntry(Path file) {
+        final Path normalized = file.normalize();
+        final String key = keys.remove(normalized);
+        if (key != null) {
+            final Set<Path> files = entries.get(key);
+            files.remove(normalized);
+            if (files.isEmpty()) {
+                entries.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Removes a folder, its sub folders and all their entries from index.
+     *
+     * @param folder The folder path.
+     */
+    synchronized void removeTree(Path folder) {
+        final Path normalized = folder.normalize();
+        final List<Path> removedEntries = new ArrayList<>();
+        for (Path file : keys.keySet()) {
+            if (file.startsWith(normalized)) {
+                removedEntries.add(file);
+            }
+        }
+        removedEntries.forEach(this::removeEntry);
+        final Iterator<Set<Path>> folderPaths = folders.values().iterator();
+        while (folderPaths.hasNext()) {
+            final Set<Path> paths = folderPaths.next();
+            paths.removeIf(path -> path.startsWith(normalized));
+            if (paths.isEmpty()) {
+                folderPaths.remove();
+            }
+        }
+    }
+
+    /**
+     * @param contentType The content type.
+     * @param contentId The content id.
+     * @return The entry files for the given content.
+     */
+    synchronized Set<Path> getEntries(FolderContentType contentType, String contentId) {
+        final Set<Path> files = entries.get(key(contentType, contentId));
+        return files == null ? Collections.emptySet() : new HashSet<>(files);
+    }
+
+    /**
+     * @param queryString The searched folder name.
+     * @param strict <code>true</code> for an exact match (ignoring case), <code>false</code> to search folders whose
+     * name contains <code>queryString</code> (ignoring case).
+     * @return The matching folders.
+     * @see StringsHelper#match(String, String, boolean)
+     */
+    synchronized List<Path> searchFolders(String queryString, boolean strict) {
+        final List<Path> result = new ArrayList<>();
+        if (strict) {
+            if (queryString != null) {
+                result.addAll(folders.getOrDefault(queryString, Collections.emptySet()));
+            }
+        } else {
+            folders.forEach((name, paths) -> {
+                if (StringsHelper.match(name, queryString, false)) {
+                    result.addAll(paths);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Removes everything from index.
+     */
+    synchronized void clear() {
+        entries.clear();
+        keys.clear();
+        folders.clear();
+    }
+
+    private static String key(FolderContentType contentType, String contentId) {
+        return contentType + "@" + contentId;
+    }
+}
@@ -0,0 +1,62 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.http;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpCoreContext;
+
+/**
+ * A {@link ConnectionSocketFactory} that connects to this server in memory when the {@link LocalDispatch local dispatch}
+ * accepts the target host, and delegates to another factory otherwise.
+ */
+public class LocalConnectionSocketFactory implements ConnectionSocketFactory {
+
+    private final LocalDispatch localDispatch;
+
+    private final ConnectionSocketFactory delegate;
+
+    /**
+     * @param localDispatch The local dispatch configuration.
+     * @param delegate The factory to use for remote hosts.
+     */
+    public LocalConnectionSocketFactory(LocalDispatch localDispatch, ConnectionSocketFactory delegate) {
+        this.localDispatch = localDispatch;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Socket createSocket(HttpContext context) throws IOException {
+        final Object target = context == null ? null : context.getAttribute(HttpCoreContext.HTTP_TARGET_HOST);
+        if (target instanceof HttpHost && localDispatch.accept((HttpHost) target)) {
+            return localDispatch.connect((HttpHost) target);
+        }
+        return delegate.createSocket(context);
+    }
+
+    @Override
+    public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress,
+            InetSocketAddress localAddress, HttpContext context) throws IOException {
+        if (socket instanceof LocalSocket) {
+            // already connected
+            return socket;
+        }
+        return delegate.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+    }
+}
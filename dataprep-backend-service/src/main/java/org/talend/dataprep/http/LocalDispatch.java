@@ -0,0 +1,127 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.http;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.http.HttpHost;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.BufferUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>
+ * Dispatches requests between co-located services (e.g. all services running in the same JVM as in single node
+ * deployments) without going through the network: when enabled, an in-memory {@link LocalConnector connector} is added
+ * to the embedded server and the http client uses it for all requests targeting this server.
+ * </p>
+ * <p>
+ * Requests still go through the whole servlet stack (filters, security, asynchronous responses...) and are still
+ * executed by Hystrix commands, only the socket I/O is bypassed.
+ * </p>
+ *
+ * @see LocalConnectionSocketFactory
+ */
+@Component
+public class LocalDispatch {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalDispatch.class);
+
+    /** Size of the buffer used to stream responses (when full, server waits for the client to read it). */
+    private static final int RESPONSE_BUFFER_SIZE = 32 * 1024;
+
+    /** Whether requests to this server should be dispatched in memory. */
+    @Value("${service.local.dispatch:false}")
+    private boolean enabled;
+
+    /** Host names (or addresses) resolved as local ones. */
+    private final Map<String, Boolean> localHosts = new ConcurrentHashMap<>();
+
+    /** The in-memory connector of the embedded server (null until the server is created). */
+    private volatile LocalConnector connector;
+
+    /**
+     * @return <code>true</code> if local dispatch is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param connector The in-memory connector added to the embedded server.
+     */
+    public void setConnector(LocalConnector connector) {
+        this.connector = connector;
+    }
+
+    /**
+     * @param host A target host.
+     * @return <code>true</code> if requests to this host are served by this server and can be dispatched locally.
+     */
+    public boolean accept(HttpHost host) {
+        final LocalConnector current = connector;
+        return enabled && current != null && current.isRunning() //
+                && "http".equalsIgnoreCase(host.getSchemeName()) //
+                && isServedHere(current, host.getPort()) //
+                && localHosts.computeIfAbsent(host.getHostName(), LocalDispatch::isLocal);
+    }
+
+    /**
+     * @param host The target host (must be {@link #accept(HttpHost) accepted}).
+     * @return A connected socket to this server.
+     */
+    public Socket connect(HttpHost host) {
+        final LocalConnector.LocalEndPoint endPoint = connector.connect();
+        endPoint.setGrowOutput(false);
+        endPoint.setOutput(BufferUtil.allocate(RESPONSE_BUFFER_SIZE));
+        LOGGER.trace("Dispatching requests to {} locally.", host);
+        return new LocalSocket(endPoint, InetSocketAddress.createUnresolved(host.getHostName(), host.getPort()));
+    }
+
+    private static boolean isServedHere(LocalConnector connector, int port) {
+        for (Connector serverConnector : connector.getServer().getConnectors()) {
+            if (serverConnector instanceof ServerConnector && ((ServerConnector) serverConnector).getLocalPort() == port) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLocal(String hostName) {
+        if ("localhost".equalsIgnoreCase(hostName)) {
+            return true;
+        }
+        try {
+            final InetAddress address = InetAddress.getByName(hostName);
+            return address.isLoopbackAddress() || address.isAnyLocalAddress()
+                    || NetworkInterface.getByInetAddress(address) != null;
+        } catch (UnknownHostException | SocketException e) {
+            LOGGER.debug("Unable to resolve '{}', requests will go through network.", hostName, e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.util.BufferUtil;
+
+/**
+ * A {@link Socket} connected to an in-memory {@link LocalConnector.LocalEndPoint end point} of the embedded server:
+ * bytes written to this socket are the request input of the end point, bytes read are its response output.
+ *
+ * @see LocalDispatch
+ */
+class LocalSocket extends Socket {
+
+    /** The server side of this connection. */
+    private final LocalConnector.LocalEndPoint endPoint;
+
+    /** The address this socket is "connected" to. */
+    private final InetSocketAddress remoteAddress;
+
+    private final InputStream input = new EndPointInputStream();
+
+    private final OutputStream output = new EndPointOutputStream();
+
+    /** Read timeout in milliseconds (0 for none). */
+    private volatile int timeout;
+
+    private volatile boolean closed;
+
+    private volatile boolean inputShutdown;
+
+    private volatile boolean outputShutdown;
+
+    LocalSocket(LocalConnector.LocalEndPoint endPoint, InetSocketAddress remoteAddress) {
+        this.endPoint = endPoint;
+        this.remoteAddress = remoteAddress;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        if (closed) {
+            throw new SocketException("Socket is closed");
+        }
+        return input;
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        if (closed) {
+            throw new SocketException("Socket is closed");
+        }
+        return output;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            endPoint.close();
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return true;
+    }
+
+    @Override
+    public boolean isBound() {
+        return true;
+    }
+
+    @Override
+    public void shutdownInput() {
+        inputShutdown = true;
+    }
+
+    @Override
+    public void shutdownOutput() {
+        outputShutdown = true;
+    }
+
+    @Override
+    public boolean isInputShutdown() {
+        return inputShutdown;
+    }
+
+    @Override
+    public boolean isOutputShutdown() {
+        return outputShutdown;
+    }
+
+    @Override
+    public synchronized void setSoTimeout(int timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public synchronized int getSoTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public InetAddress getInetAddress() {
+        return remoteAddress.getAddress();
+    }
+
+    @Override
+    public int getPort() {
+        return remoteAddress.getPort();
+    }
+
+    @Override
+    public SocketAddress getRemoteSocketAddress() {
+        return remoteAddress;
+    }
+
+    @Override
+    public InetAddress getLocalAddress() {
+        return InetAddress.getLoopbackAddress();
+    }
+
+    @Override
+    public int getLocalPort() {
+        return -1;
+    }
+
+    @Override
+    public SocketAddress getLocalSocketAddress() {
+        return null;
+    }
+
+    // Socket options have no meaning for an in-memory connection.
+
+    @Override
+    public void setTcpNoDelay(boolean on) {
+        // nothing to do
+    }
+
+    @Override
+    public void setSoLinger(boolean on, int linger) {
+        // nothing to do
+    }
+
+    @Override
+    public void setKeepAlive(boolean on) {
+        // nothing to do
+    }
+
+    @Override
+    public synchronized void setSendBufferSize(int size) {
+        // nothing to do
+    }
+
+    @Override
+    public synchronized void setReceiveBufferSize(int size) {
+        // nothing to do
+    }
+
+    @Override
+    public void setReuseAddress(boolean on) {
+        // nothing to do
+    }
+
+    @Override
+    public String toString() {
+        return "LocalSocket{" + remoteAddress + '}';
+    }
+
+    /**
+     * Reads the response output of the end point, waiting (up to the socket timeout) for the server to write it.
+     */
+    private class EndPointInputStream extends InputStream {
+
+        private ByteBuffer buffer = BufferUtil.EMPTY_BUFFER;
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (!buffer.hasRemaining()) {
+                if (closed || inputShutdown) {
+                    return -1;
+                }
+                final ByteBuffer next;
+                try {
+                    next = endPoint.waitForOutput(timeout > 0 ? timeout : Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for response");
+                }
+                if (next == null) {
+                    throw new SocketTimeoutException("Read timed out");
+                }
+                if (!next.hasRemaining() && endPoint.isOutputShutdown()) {
+                    // server closed the connection
+                    return -1;
+                }
+                buffer = next;
+            }
+            final int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * Writes the request input of the end point, the server processes it in its own threads.
+     */
+    private class EndPointOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (closed || outputShutdown) {
+                throw new SocketException("Socket output is shutdown");
+            }
+            if (length > 0) {
+                // caller may reuse its buffer once written
+                endPoint.addInputAndExecute(ByteBuffer.wrap(Arrays.copyOfRange(bytes, offset, offset + length)));
+            }
+        }
+    }
+}
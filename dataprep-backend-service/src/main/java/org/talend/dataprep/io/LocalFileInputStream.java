@@ -0,0 +1,69 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+/**
+ * A {@link FileInputStream} that remembers the file it reads: readers that need random access to the content (e.g.
+ * XLSX, a zip archive) can open the file directly instead of copying the stream to a temporary file.
+ * <p>
+ * Unlike {@link FileInputStream}, this stream supports {@link #mark(int)} / {@link #reset()} (by moving the file
+ * position), so callers that peek at the first bytes don't need to wrap it in a buffered stream.
+ * </p>
+ */
+public class LocalFileInputStream extends FileInputStream {
+
+    private final File file;
+
+    private long mark;
+
+    public LocalFileInputStream(File file) throws FileNotFoundException {
+        super(file);
+        this.file = file;
+    }
+
+    /**
+     * @return The file this stream reads.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+        try {
+            mark = getChannel().position();
+        } catch (IOException e) {
+            // reset() will report the error
+            mark = -1;
+        }
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        if (mark < 0) {
+            throw new IOException("Unable to reset to mark");
+        }
+        getChannel().position(mark);
+    }
+}
@@ -0,0 +1,66 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A throughput meter: counts a volume (bytes, rows...) and the time spent to process it.
+ */
+public class Meter {
+
+    private final LongAdder events = new LongAdder();
+
+    private final LongAdder volume = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Records a processed volume.
+     *
+     * @param amount The processed volume (bytes, rows...).
+     * @param duration The time spent to process <code>amount</code>.
+     * @param unit The duration unit.
+     */
+    public void mark(long amount, long duration, TimeUnit unit) {
+        events.increment();
+        volume.add(amount);
+        totalNanos.add(Math.max(0, unit.toNanos(duration)));
+    }
+
+    /**
+     * @return The total recorded volume.
+     */
+    public long getVolume() {
+        return volume.sum();
+    }
+
+    /**
+     * @return The current values of this meter (throughput is the volume per second of processing).
+     */
+    public Map<String, Object> snapshot() {
+        final long count = events.sum();
+        final long total = volume.sum();
+        final long nanos = totalNanos.sum();
+        final Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", count);
+        snapshot.put("volume", total);
+        snapshot.put("mean", count == 0 ? 0 : total / (double) count);
+        snapshot.put("throughput", nanos == 0 ? 0 : total * (double) TimeUnit.SECONDS.toNanos(1) / nanos);
+        return snapshot;
+    }
+}
@@ -0,0 +1,230 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.UnaryOperator;
+
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Records metrics of methods annotated with {@link Timed} (a latency {@link Timer timer} per method) and
+ * {@link VolumeMetered} (a bytes {@link Meter meter} per method).
+ * <p>
+ * Latency of a {@link Timed} method that returns a {@link Callable} or a {@link StreamingResponseBody} (possibly in a
+ * {@link ResponseEntity}) includes the time spent to call it or write it: the timer is recorded on completion.
+ * </p>
+ * <p>
+ * Volume of a {@link VolumeMetered} method is the number of bytes read from its {@link InputStream} arguments and
+ * written to its {@link OutputStream} arguments, plus the bytes read from or written to the {@link InputStream},
+ * {@link OutputStream} or {@link StreamingResponseBody} (possibly in a {@link ResponseEntity}) it returns (recorded
+ * when the returned content is closed or fully written).
+ * </p>
+ */
+@Configuration
+@Aspect
+class MetricsAspect {
+
+    @Autowired
+    private MetricsRegistry registry;
+
+    /**
+     * {@link org.talend.dataprep.cache.ContentCache} methods are annotated in the interface, and annotations on
+     * interface methods are not seen by annotation pointcuts.
+     */
+    @Pointcut("execution(* org.talend.dataprep.cache.ContentCache+.get(org.talend.dataprep.cache.ContentCacheKey)) "
+            + "|| execution(* org.talend.dataprep.cache.ContentCache+.put(org.talend.dataprep.cache.ContentCacheKey, ..))")
+    public void contentCache() {
+        // Pointcut declaration
+    }
+
+    @Around("@annotation(org.talend.dataprep.metrics.Timed)")
+    public Object timed(ProceedingJoinPoint pjp) throws Throwable {
+        final Timer timer = registry.timer(getName(pjp));
+        final long start = System.nanoTime();
+        final Object result;
+        try {
+            result = pjp.proceed();
+        } catch (Throwable t) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw t;
+        }
+        // Asynchronous results: record when they complete
+        final Class returnType = ((MethodSignature) pjp.getSignature()).getReturnType();
+        if (result instanceof Callable && returnType.equals(Callable.class)) {
+            final Callable<?> callable = (Callable<?>) result;
+            return (Callable<Object>) () -> {
+                try {
+                    return callable.call();
+                } finally {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            };
+        }
+        final Object timedBody = withBody(result, returnType, body -> outputStream -> {
+            try {
+                body.writeTo(outputStream);
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+        if (timedBody != null) {
+            return timedBody;
+        }
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    @Around("@annotation(org.talend.dataprep.metrics.VolumeMetered) || contentCache()")
+    public Object volumeMetered(ProceedingJoinPoint pjp) throws Throwable {
+        final Meter meter = registry.meter(getName(pjp) + ".bytes");
+        final long start = System.nanoTime();
+        // Count bytes of stream arguments
+        final Object[] args = pjp.getArgs();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof InputStream) {
+                args[i] = new CountingInputStream((InputStream) args[i]);
+            } else if (args[i] instanceof OutputStream) {
+                args[i] = new CountingOutputStream((OutputStream) args[i]);
+            }
+        }
+        final Object result = pjp.proceed(args);
+        long argumentsVolume = 0;
+        for (Object arg : args) {
+            if (arg instanceof CountingInputStream) {
+                argumentsVolume += ((CountingInputStream) arg).getByteCount();
+            } else if (arg instanceof CountingOutputStream) {
+                argumentsVolume += ((CountingOutputStream) arg).getByteCount();
+            }
+        }
+        if (argumentsVolume > 0) {
+            meter.mark(argumentsVolume, System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        // Count bytes of returned content
+        final Class returnType = ((MethodSignature) pjp.getSignature()).getReturnType();
+        if (result instanceof InputStream && returnType.isAssignableFrom(MeteredInputStream.class)) {
+            return new MeteredInputStream((InputStream) result, meter, start);
+        } else if (result instanceof OutputStream && returnType.isAssignableFrom(MeteredOutputStream.class)) {
+            return new MeteredOutputStream((OutputStream) result, meter, start);
+        }
+        final Object meteredBody = withBody(result, returnType, body -> outputStream -> {
+            final long writeStart = System.nanoTime();
+            final CountingOutputStream countingOutputStream = new CountingOutputStream(outputStream);
+            try {
+                body.writeTo(countingOutputStream);
+            } finally {
+                meter.mark(countingOutputStream.getByteCount(), System.nanoTime() - writeStart, TimeUnit.NANOSECONDS);
+            }
+        });
+        return meteredBody == null ? result : meteredBody;
+    }
+
+    /**
+     * Replaces the {@link StreamingResponseBody} returned by a method, either returned as is or as the body of a
+     * {@link ResponseEntity}.
+     *
+     * @param result The method result.
+     * @param returnType The method return type.
+     * @param wrapper The function that wraps the streaming body.
+     * @return The result with its wrapped body, or <code>null</code> if result has no streaming body.
+     */
+    private static Object withBody(Object result, Class returnType, UnaryOperator<StreamingResponseBody> wrapper) {
+        if (result instanceof StreamingResponseBody && returnType.equals(StreamingResponseBody.class)) {
+            return wrapper.apply((StreamingResponseBody) result);
+        } else if (result instanceof ResponseEntity
+                && ((ResponseEntity) result).getBody() instanceof StreamingResponseBody) {
+            final ResponseEntity<?> entity = (ResponseEntity<?>) result;
+            return new ResponseEntity<>(wrapper.apply((StreamingResponseBody) entity.getBody()), entity.getHeaders(),
+                    entity.getStatusCode());
+        }
+        return null;
+    }
+
+    private static String getName(ProceedingJoinPoint pjp) {
+        return pjp.getSignature().getDeclaringType().getSimpleName() + '.' + pjp.getSignature().getName();
+    }
+
+    /**
+     * An input stream that records bytes read in a meter when closed.
+     */
+    private static class MeteredInputStream extends CountingInputStream {
+
+        private final Meter meter;
+
+        private final long start;
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private MeteredInputStream(InputStream in, Meter meter, long start) {
+            super(in);
+            this.meter = meter;
+            this.start = start;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (closed.compareAndSet(false, true)) {
+                    meter.mark(getByteCount(), System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+
+    /**
+     * An output stream that records bytes written in a meter when closed.
+     */
+    private static class MeteredOutputStream extends CountingOutputStream {
+
+        private final Meter meter;
+
+        private final long start;
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private MeteredOutputStream(OutputStream out, Meter meter, long start) {
+            super(out);
+            this.meter = meter;
+            this.start = start;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (closed.compareAndSet(false, true)) {
+                    meter.mark(getByteCount(), System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the {@link Timer timers}, {@link Meter meters} and gauges of this service, by name. Timers are fed by methods
+ * annotated with {@link Timed}, meters by methods annotated with {@link VolumeMetered} (see {@link MetricsAspect}) and
+ * by transformation pipelines. Gauges read values maintained elsewhere (e.g. content cache hits).
+ */
+@Component
+public class MetricsRegistry {
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Meter> meters = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Supplier<?>> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * @param name A timer name.
+     * @return The timer with this name (created if needed).
+     */
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, n -> new Timer());
+    }
+
+    /**
+     * @param name A meter name.
+     * @return The meter with this name (created if needed).
+     */
+    public Meter meter(String name) {
+        return meters.computeIfAbsent(name, n -> new Meter());
+    }
+
+    /**
+     * Registers a gauge (replaces any gauge with the same name).
+     *
+     * @param name A gauge name.
+     * @param value Supplies the current value of the gauge.
+     */
+    public void gauge(String name, Supplier<?> value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * @return The current values of all timers, meters and gauges (sorted by name).
+     */
+    public Map<String, Object> snapshot() {
+        final Map<String, Object> timersSnapshot = new TreeMap<>();
+        timers.forEach((name, timer) -> timersSnapshot.put(name, timer.snapshot()));
+        final Map<String, Object> metersSnapshot = new TreeMap<>();
+        meters.forEach((name, meter) -> metersSnapshot.put(name, meter.snapshot()));
+        final Map<String, Object> gaugesSnapshot = new TreeMap<>();
+        gauges.forEach((name, gauge) -> gaugesSnapshot.put(name, gauge.get()));
+        final Map<String, Object> snapshot = new TreeMap<>();
+        snapshot.put("timers", timersSnapshot);
+        snapshot.put("meters", metersSnapshot);
+        snapshot.put("gauges", gaugesSnapshot);
+        return snapshot;
+    }
+
+    /**
+     * Removes all timers and meters (gauges are kept, their values are not held by this registry).
+     */
+    public void clear() {
+        timers.clear();
+        meters.clear();
+    }
+}
@@ -0,0 +1,111 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A latency histogram: durations are counted in buckets whose upper bounds are powers of 2 milliseconds (1 ms, 2 ms, 4
+ * ms... up to about 17 minutes), percentiles are reported as the upper bound of the bucket they fall in.
+ */
+public class Timer {
+
+    /** Number of buckets (last bucket counts all durations above 2^(BUCKETS - 2) ms). */
+    private static final int BUCKETS = 22;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records a duration.
+     *
+     * @param duration The duration.
+     * @param unit The duration unit.
+     */
+    public void record(long duration, TimeUnit unit) {
+        final long nanos = Math.max(0, unit.toNanos(duration));
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        buckets.incrementAndGet(bucket(TimeUnit.NANOSECONDS.toMillis(nanos)));
+    }
+
+    /**
+     * @return The number of recorded durations.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return The current values of this timer (durations in milliseconds).
+     */
+    public Map<String, Object> snapshot() {
+        final long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        final long max = TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+        final Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", total);
+        snapshot.put("mean", total == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.sum()) / (double) total);
+        snapshot.put("max", max);
+        snapshot.put("p50", percentile(counts, total, 0.5, max));
+        snapshot.put("p95", percentile(counts, total, 0.95, max));
+        snapshot.put("p99", percentile(counts, total, 0.99, max));
+        return snapshot;
+    }
+
+    private static long percentile(long[] counts, long total, double quantile, long max) {
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = (long) Math.ceil(quantile * total);
+        long cumulated = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulated += counts[i];
+            if (cumulated >= rank) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return The bucket for a duration: bucket <code>i</code> counts durations up to 2^i ms (included).
+     */
+    private static int bucket(long millis) {
+        if (millis <= 1) {
+            return 0;
+        }
+        final int bucket = 64 - Long.numberOfLeadingZeros(millis - 1);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+}
@@ -1,18 +1,47 @@
 package org.talend.dataprep.preparation.store;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang.ObjectUtils;
 import org.talend.dataprep.api.preparation.Identifiable;
+import org.talend.dataprep.api.preparation.Preparation;
 import org.talend.dataprep.filter.ObjectPredicateVisitor;
+import org.talend.dataprep.filter.SecondaryIndexes;
 import org.talend.tql.parser.Tql;
 
+/**
+ * A {@link PreparationRepository} that evaluates TQL filters on stored objects. Filters are planned using
+ * {@link SecondaryIndexes indexes} on commonly queried fields (id, and dataSetId, name, author, lastModificationDate for
+ * preparations), only filters on other fields need to go through all stored objects.
+ * <p>
+ * Implementations must call {@link #updateIndexes(Identifiable)}, {@link #removeFromIndexes(Identifiable)} and
+ * {@link #clearIndexes()} when content changes.
+ * </p>
+ */
 public abstract class ObjectPreparationRepository implements PreparationRepository {
 
+    /** Indexes by stored class. */
+    private final Map<Class<?>, SecondaryIndexes<Identifiable>> indexes = new ConcurrentHashMap<>();
+
     protected abstract <T extends Identifiable> Stream<T> source(Class<T> clazz);
 
+    /**
+     * Returns the stored objects among <code>ids</code>, in the same order as {@link #source(Class)}. Implementations
+     * may override this method to avoid reading objects that are not in <code>ids</code>.
+     *
+     * @param clazz The class of the wanted objects.
+     * @param ids The ids of the wanted objects.
+     * @return The stored objects with one of the given ids.
+     */
+    protected <T extends Identifiable> Stream<T> source(Class<T> clazz, Set<String> ids) {
+        return source(clazz).filter(i -> ids.contains(i.getId()));
+    }
+
     @Override
     public <T extends Identifiable> T get(String id, Class<T> clazz) {
         final Optional<T> match = source(clazz).filter(i -> ObjectUtils.equals(i.getId(), id)).findAny();
@@ -21,9 +50,7 @@ public abstract class ObjectPreparationRepository implements PreparationReposito
 
     @Override
     public <T extends Identifiable> boolean exist(Class<T> clazz, String filter) {
-        final Predicate<Object> accept = (Predicate<Object>) Tql.parse(filter)
-                .accept(new ObjectPredicateVisitor(clazz));
-        return source(clazz).filter(accept).findAny().isPresent();
+        return list(clazz, filter).findAny().isPresent();
     }
 
     @Override
@@ -35,7 +62,65 @@ public abstract class ObjectPreparationRepository implements PreparationReposito
     public <T extends Identifiable> Stream<T> list(Class<T> clazz, String filter) {
         final Predicate<Object> accept = (Predicate<Object>) Tql.parse(filter)
                 .accept(new ObjectPredicateVisitor(clazz));
+        final Optional<Set<String>> candidates = getIndexes(clazz).candidates(filter,
+                () -> source(clazz).map(i -> (Identifiable) i));
+        if (candidates.isPresent()) {
+            // keep repository order (candidates are not ordered)
+            return source(clazz, candidates.get()).filter(accept);
+        }
         return source(clazz).filter(accept);
     }
 
+    /**
+     * Updates indexes for an added (or updated) object.
+     *
+     * @param object The added object.
+     */
+    protected void updateIndexes(Identifiable object) {
+        indexes.forEach((clazz, classIndexes) -> {
+            if (clazz.isAssignableFrom(object.getClass())) {
+                classIndexes.add(object);
+            }
+        });
+    }
+
+    /**
+     * Updates indexes for a removed object.
+     *
+     * @param object The removed object (only {@link Identifiable#getId()} is used).
+     */
+    protected void removeFromIndexes(Identifiable object) {
+        indexes.forEach((clazz, classIndexes) -> {
+            if (clazz.isAssignableFrom(object.getClass())) {
+                classIndexes.remove(object.getId());
+            }
+        });
+    }
+
+    /**
+     * Clears all indexes (indexes are built again on next use).
+     */
+    protected void clearIndexes() {
+        indexes.values().forEach(SecondaryIndexes::clear);
+    }
+
+    private SecondaryIndexes<Identifiable> getIndexes(Class<?> clazz) {
+        return indexes.computeIfAbsent(clazz, ObjectPreparationRepository::createIndexes);
+    }
+
+    private static SecondaryIndexes<Identifiable> createIndexes(Class<?> clazz) {
+        final SecondaryIndexes<Identifiable> classIndexes = new SecondaryIndexes<>(Identifiable::getId);
+        if (PersistentPreparation.class.isAssignableFrom(clazz)) {
+            classIndexes.on("dataSetId", i -> ((PersistentPreparation) i).getDataSetId()) //
+                    .on("name", i -> ((PersistentPreparation) i).getName()) //
+                    .on("author", i -> ((PersistentPreparation) i).getAuthor()) //
+                    .on("lastModificationDate", i -> ((PersistentPreparation) i).getLastModificationDate());
+        } else if (Preparation.class.isAssignableFrom(clazz)) {
+            classIndexes.on("dataSetId", i -> ((Preparation) i).getDataSetId()) //
+                    .on("name", i -> ((Preparation) i).getName()) //
+                    .on("author", i -> ((Preparation) i).getAuthor()) //
+                    .on("lastModificationDate", i -> ((Preparation) i).getLastModificationDate());
+        }
+        return classIndexes;
+    }
 }
@@ -13,13 +13,14 @@
 
 package org.talend.dataprep.preparation.store.file;
 
-import static org.apache.commons.lang.StringUtils.startsWith;
-
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.Arrays;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -50,6 +51,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * File system implementation of preparation repository.
+ * <p>
+ * Names of stored files are indexed in memory, so that listing a class of objects does not need to go through all
+ * stored files. Content is always read from file system. The index is maintained on {@link #add(Identifiable)} and
+ * {@link #remove(Identifiable)}, and built again when the last modification of the folder shows that files were
+ * added or removed by another instance.
+ * </p>
  */
 @Component
 @ConditionalOnProperty(name = "preparation.store", havingValue = "file")
@@ -58,6 +65,12 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
     /** This class' logger. */
     private static final Logger LOG = LoggerFactory.getLogger(FileSystemPreparationRepository.class);
 
+    /**
+     * Resolution (in ms) of folder modification times: changes made within this delay after the index was built may
+     * not change folder modification time.
+     */
+    private static final long FOLDER_TIME_RESOLUTION = 2000;
+
     /** The dataprep ready jackson builder. */
     @Autowired
     private ObjectMapper mapper;
@@ -78,16 +91,61 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
     @Autowired
     private Security security;
 
+    /** Names of the stored files. */
+    private final NavigableSet<String> index = new ConcurrentSkipListSet<>();
+
+    /** Folder modification time when {@link #index} was built. */
+    private volatile long indexedFolderModified = -1;
+
+    /** When {@link #index} was built. */
+    private volatile long indexedAt;
+
     /**
-     * Make sure the root folder is there.
+     * Make sure the root folder is there and index stored files.
      */
     @PostConstruct
     private void init() {
         getRootFolder().mkdirs();
+        refreshIndex();
+        LOG.info("{} preparation file(s) indexed.", index.size());
         add(rootContent);
         add(rootStep);
     }
 
+    /**
+     * Builds the index of file names again if files were added or removed since it was built (by this instance or
+     * another one sharing the same folder).
+     */
+    private void refreshIndex() {
+        final File root = getRootFolder();
+        final long folderModified = root.lastModified();
+        if (folderModified == indexedFolderModified && indexedAt - folderModified > FOLDER_TIME_RESOLUTION) {
+            return;
+        }
+        synchronized (index) {
+            final long start = System.currentTimeMillis();
+            final String[] names = root.list();
+            if (names == null) {
+                LOG.error("error listing preparations");
+                return;
+            }
+            final NavigableSet<String> current = new TreeSet<>();
+            for (String name : names) {
+                if (!name.startsWith(".")) {
+                    current.add(name);
+                }
+            }
+            if (indexedFolderModified != -1 && !current.equals(index)) {
+                // files changed by another instance: secondary indexes need to be built again
+                clearIndexes();
+            }
+            index.retainAll(current);
+            index.addAll(current);
+            indexedFolderModified = folderModified;
+            indexedAt = start;
+        }
+    }
+
     /**
      * @see PreparationRepository#add(Identifiable)
      */
@@ -104,28 +162,52 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
 
         try (GZIPOutputStream output = new GZIPOutputStream(new FileOutputStream(outputFile))) {
             mapper.writer().writeValue(output, object);
+            index.add(outputFile.getName());
         } catch (IOException e) {
             LOG.error("Error saving {}", object, e);
             throw new TDPException(CommonErrorCodes.UNABLE_TO_SAVE_PREPARATION, e,
                     ExceptionContext.build().put("id", object.id()));
         }
+        updateIndexes(object);
         LOG.debug("{} #{} saved", object.getClass().getSimpleName(), object.id());
     }
 
     @Override
     public <T extends Identifiable> Stream<T> source(Class<T> clazz) {
-        File[] files = getRootFolder().listFiles();
-        if (files == null) {
-            LOG.error("error listing preparations");
-            files = new File[0];
-        }
-        final Stream<File> stream = Arrays.stream(files);
-        return stream.filter(file -> startsWith(file.getName(), clazz.getSimpleName())) //
-                .map(file -> read(file.getName(), clazz)) // read all files
+        refreshIndex();
+        final String prefix = clazz.getSimpleName() + '-';
+        return index.subSet(prefix, prefix + Character.MAX_VALUE).stream() //
+                .map(fileName -> read(fileName, clazz)) // read all indexed files
                 .filter(entry -> entry != null) // filter out null entries
-                .filter(entry -> clazz.isAssignableFrom(entry.getClass())) // filter out the unwanted objects (should not be
-                                                                           // necessary but you never know)
-                .onClose(stream::close);
+                .filter(entry -> clazz.isAssignableFrom(entry.getClass())); // filter out the unwanted objects (should not
+                                                                            // be necessary but you never know)
+    }
+
+    /**
+     * Only reads the files of the wanted objects.
+     */
+    @Override
+    protected <T extends Identifiable> Stream<T> source(Class<T> clazz, Set<String> ids) {
+        refreshIndex();
+        final String prefix = clazz.getSimpleName() + '-';
+        return index.subSet(prefix, prefix + Character.MAX_VALUE).stream() //
+                .filter(fileName -> ids.contains(fileName.substring(prefix.length()))) //
+                .map(fileName -> read(fileName, clazz)) //
+                .filter(entry -> entry != null) //
+                .filter(entry -> clazz.isAssignableFrom(entry.getClass()));
+    }
+
+    /**
+     * Reads the file for the given id (no need to go through all stored entries).
+     *
+     * @see PreparationRepository#get(String, Class)
+     */
+    @Override
+    public <T extends Identifiable> T get(String id, Class<T> clazz) {
+        if (StringUtils.isBlank(id)) {
+            return null;
+        }
+        return read(id, clazz);
     }
 
     private <T extends Identifiable> T read(String id, Class<T> clazz) {
@@ -162,6 +244,10 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
         for (File file : preparations) {
             FilesHelper.deleteQuietly(file);
         }
+        synchronized (index) {
+            index.clear();
+            clearIndexes();
+        }
 
         // add the default files
         add(rootContent);
@@ -180,6 +266,8 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
         }
         final File file = getIdentifiableFile(object);
         FilesHelper.deleteQuietly(file);
+        index.remove(file.getName());
+        removeFromIndexes(object);
         LOG.debug("identifiable {} #{} removed", object.getClass().getSimpleName(), object.id());
     }
 
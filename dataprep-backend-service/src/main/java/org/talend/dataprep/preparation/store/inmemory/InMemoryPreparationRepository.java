@@ -68,6 +68,7 @@ public class InMemoryPreparationRepository extends ObjectPreparationRepository {
     @Override
     public void add(Identifiable object) {
         store.put(object.id(), object);
+        updateIndexes(object);
     }
 
     @Override
@@ -104,6 +105,7 @@ public class InMemoryPreparationRepository extends ObjectPreparationRepository {
     @Override
     public void clear() {
         store.clear();
+        clearIndexes();
         add(rootContent);
         add(rootStep);
     }
@@ -117,6 +119,7 @@ public class InMemoryPreparationRepository extends ObjectPreparationRepository {
             return;
         }
         store.remove(object.id());
+        removeFromIndexes(object);
     }
 
 }
@@ -0,0 +1,336 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.dataprep.schema.xls.streaming;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.util.SharedMappedBuffer;
+
+import com.monitorjbl.xlsx.exceptions.ReadException;
+
+/**
+ * The shared strings of a workbook stored in a memory-mapped temporary file. Unlike POI's {@link SharedStringsTable},
+ * strings do not live in the heap: the operating system pages the index in and out as needed.
+ * <p>
+ * File layout is a sequence of strings (each one as an int length, -1 for null, followed by its UTF-8 bytes),
+ * followed by a table of string offsets (one int per string, in shared strings order).
+ * </p>
+ * <p>
+ * Indexes of workbooks read from a local file are {@link #get(File, OPCPackage) cached}, so the shared strings of a
+ * data set are indexed once and not on every read of its content. Each user of an index {@link #close() closes} it once
+ * done: the file is unmapped and deleted when it is no longer cached and its last user closed it. Instances are thread
+ * safe.
+ * </p>
+ */
+public class SharedStringsIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedStringsIndex.class);
+
+    /** Length written for a null string. */
+    private static final int NULL_LENGTH = -1;
+
+    /** Maximum number of cached indexes. */
+    private static final int CACHE_SIZE = 16;
+
+    /** Cached indexes by workbook path, least recently used first. */
+    private static final LinkedHashMap<String, SharedStringsIndex> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The signature (length, last modification and checksum of the shared strings entry) of the indexed workbook file,
+     * null if not cached.
+     */
+    private final String signature;
+
+    /** The index file (deleted once the mapping is released). */
+    private final File file;
+
+    /** The mapped index file (strings then offsets), with a reference per user and one for the cache. */
+    private final SharedMappedBuffer mapping;
+
+    /** Position of the offset table in {@link #mapping}. */
+    private final int offsetsStart;
+
+    /** Number of shared strings. */
+    private final int count;
+
+    private SharedStringsIndex(String signature, File file, SharedMappedBuffer mapping, int offsetsStart, int count) {
+        this.signature = signature;
+        this.file = file;
+        this.mapping = mapping;
+        this.offsetsStart = offsetsStart;
+        this.count = count;
+    }
+
+    /**
+     * Returns the shared strings index of a workbook file, built on first call for this file (or if the file changed
+     * since index was built). Returned index may be shared with other readers: callers must {@link #close()} it once
+     * done with it.
+     *
+     * @param workbook the workbook file.
+     * @param pkg the opened workbook.
+     * @return the shared strings index of the workbook.
+     */
+    static SharedStringsIndex get(File workbook, OPCPackage pkg) {
+        final String signature = signature(workbook, pkg);
+        if (signature == null) {
+            return build(pkg);
+        }
+        final String path = workbook.getAbsolutePath();
+        synchronized (CACHE) {
+            final SharedStringsIndex cached = CACHE.get(path);
+            if (cached != null && cached.signature.equals(signature)) {
+                return cached.retain();
+            }
+        }
+        // Build out of the lock so reads of other workbooks don't wait for it
+        final SharedStringsIndex index = build(pkg, signature);
+        synchronized (CACHE) {
+            final SharedStringsIndex cached = CACHE.get(path);
+            if (cached != null && cached.signature.equals(signature)) {
+                // built concurrently by another reader
+                index.close();
+                return cached.retain();
+            }
+            if (cached != null) {
+                cached.close();
+            }
+            // reference of the cache
+            CACHE.put(path, index.retain());
+            if (CACHE.size() > CACHE_SIZE) {
+                final Iterator<SharedStringsIndex> eldest = CACHE.values().iterator();
+                eldest.next().close();
+                eldest.remove();
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Computes the signature of a workbook file: its length and last modification, and the CRC of its shared strings
+     * entry (read from the zip directory, so content is not read), so a workbook rewritten with the same length within
+     * the file system time resolution is not mistaken for the indexed one.
+     *
+     * @param workbook the workbook file.
+     * @param pkg the opened workbook.
+     * @return the signature of the workbook file, or <code>null</code> if the file is not a readable zip file.
+     */
+    private static String signature(File workbook, OPCPackage pkg) {
+        final List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+        long crc = -1;
+        if (!parts.isEmpty()) {
+            // part names are absolute ("/xl/sharedStrings.xml"), zip entry names are not
+            final String entryName = parts.get(0).getPartName().getName().substring(1);
+            try (ZipFile zipFile = new ZipFile(workbook)) {
+                final ZipEntry entry = zipFile.getEntry(entryName);
+                if (entry == null) {
+                    return null;
+                }
+                crc = entry.getCrc();
+            } catch (IOException e) {
+                LOGGER.debug("Unable to read shared strings checksum of {}, index is not cached.", workbook, e);
+                return null;
+            }
+        }
+        return workbook.length() + "/" + workbook.lastModified() + "/" + crc;
+    }
+
+    /**
+     * Builds the shared strings index of a workbook. Returned index is owned by caller, who must {@link #close()} it.
+     *
+     * @param pkg the opened workbook.
+     * @return the shared strings index of the workbook.
+     */
+    static SharedStringsIndex build(OPCPackage pkg) {
+        return build(pkg, null);
+    }
+
+    private static SharedStringsIndex build(OPCPackage pkg, String signature) {
+        final List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+        File file = null;
+        File offsets = null;
+        try {
+            file = File.createTempFile("sst-", ".idx");
+            offsets = File.createTempFile("sst-", ".off");
+            long position = 0;
+            int count = 0;
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+                    DataOutputStream offsetsOutput = new DataOutputStream(
+                            new BufferedOutputStream(new FileOutputStream(offsets)))) {
+                if (!parts.isEmpty()) {
+                    try (InputStream content = parts.get(0).getInputStream()) {
+                        final XMLStreamReader parser = XMLInputFactory.newInstance().createXMLStreamReader(content);
+                        try {
+                            while (parser.hasNext()) {
+                                if (parser.next() == XMLStreamConstants.START_ELEMENT
+                                        && "si".equals(parser.getLocalName())) {
+                                    offsetsOutput.writeInt((int) position);
+                                    position += write(output, readString(parser));
+                                    count++;
+                                    if (position + 4L * count > Integer.MAX_VALUE) {
+                                        throw new ReadException("The shared strings table is too large to be indexed");
+                                    }
+                                }
+                            }
+                        } finally {
+                            parser.close();
+                        }
+                    }
+                }
+            }
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+                    FileInputStream offsetsInput = new FileInputStream(offsets)) {
+                randomAccessFile.getChannel().transferFrom(offsetsInput.getChannel(), position, 4L * count);
+            }
+            final SharedMappedBuffer mapping = SharedMappedBuffer.map(file);
+            LOGGER.debug("Shared strings index of {} strings built in {} ({} bytes)", count, file, mapping.capacity());
+            return new SharedStringsIndex(signature, file, mapping, (int) position, count);
+        } catch (IOException | XMLStreamException e) {
+            delete(file);
+            throw new ReadException("Unable to index shared strings", e);
+        } catch (RuntimeException e) {
+            delete(file);
+            throw e;
+        } finally {
+            delete(offsets);
+        }
+    }
+
+    /**
+     * Reads a shared string, parser being on its <code>si</code> start element.
+     *
+     * @return the plain text of the string (<code>null</code> if it has no text).
+     */
+    private static String readString(XMLStreamReader parser) throws XMLStreamException {
+        // Same as XSSFRichTextString#getString(): text of the string or of its rich text runs (phonetic runs are
+        // ignored), with escaped characters decoded
+        StringBuilder text = null;
+        int phoneticDepth = 0;
+        while (parser.hasNext()) {
+            final int event = parser.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                final String name = parser.getLocalName();
+                if ("rPh".equals(name)) {
+                    phoneticDepth++;
+                } else if ("t".equals(name) && phoneticDepth == 0) {
+                    if (text == null) {
+                        text = new StringBuilder();
+                    }
+                    text.append(parser.getElementText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                final String name = parser.getLocalName();
+                if ("rPh".equals(name)) {
+                    phoneticDepth--;
+                } else if ("si".equals(name)) {
+                    break;
+                }
+            }
+        }
+        return text == null ? null : new XSSFRichTextString(text.toString()).getString();
+    }
+
+    /**
+     * @param idx the index of a shared string.
+     * @return the plain text of the shared string.
+     */
+    public String getEntryAt(int idx) {
+        if (idx < 0 || idx >= count) {
+            throw new ReadException("Invalid shared string index " + idx);
+        }
+        final ByteBuffer view = mapping.view();
+        view.position(view.getInt(offsetsStart + idx * 4));
+        final int length = view.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        view.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * @return the number of shared strings.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Releases the reference of caller on this index. The index must not be used afterwards: it is unmapped and its file
+     * deleted once all its references (users and cache) are released.
+     */
+    public void close() {
+        if (mapping.release()) {
+            delete(file);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if all the references on this index were released.
+     */
+    boolean isReleased() {
+        return mapping.isReleased();
+    }
+
+    private SharedStringsIndex retain() {
+        if (!mapping.retain()) {
+            throw new IllegalStateException("Shared strings index " + file + " is already released");
+        }
+        return this;
+    }
+
+    private static int write(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(NULL_LENGTH);
+            return 4;
+        }
+        final byte[] bytes = value.getBytes(UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+        return 4 + bytes.length;
+    }
+
+    private static void delete(File file) {
+        if (file != null && !file.delete() && file.exists()) {
+            // still mapped on some platforms
+            file.deleteOnExit();
+        }
+    }
+}
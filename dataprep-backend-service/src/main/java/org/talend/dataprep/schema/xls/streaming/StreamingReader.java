@@ -125,7 +125,8 @@ public class StreamingReader implements Iterable<Row>, AutoCloseable {
         /**
          * Reads a given {@code InputStream} and returns a new instance of {@code Workbook}. Due to Apache POI
          * limitations, a temporary file must be written in order to create a streaming iterator. This process will use
-         * the same buffer size as specified in {@link #bufferSize(int)}.
+         * the same buffer size as specified in {@link #bufferSize(int)}. No copy is made for a
+         * {@link org.talend.dataprep.io.LocalFileInputStream}: its file is opened directly.
          *
          * @param is input stream to read in
          * @return A {@link Workbook} that can be read from
@@ -28,7 +28,6 @@ import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.util.CellReference;
-import org.apache.poi.xssf.model.SharedStringsTable;
 import org.apache.poi.xssf.model.StylesTable;
 import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 import org.apache.poi.xssf.usermodel.XSSFRichTextString;
@@ -44,7 +43,7 @@ public class StreamingSheetReader implements Iterable<Row> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger( StreamingSheetReader.class);
 
-    private final SharedStringsTable sst;
+    private final SharedStringsIndex sst;
 
     private final StylesTable stylesTable;
 
@@ -75,7 +74,7 @@ public class StreamingSheetReader implements Iterable<Row> {
     // <dimension ref="A1:B60"/>
     private String dimension = StringUtils.EMPTY;
 
-    public StreamingSheetReader(SharedStringsTable sst, StylesTable stylesTable, XMLEventReader parser, int rowCacheSize) {
+    public StreamingSheetReader(SharedStringsIndex sst, StylesTable stylesTable, XMLEventReader parser, int rowCacheSize) {
         this.sst = sst;
         this.stylesTable = stylesTable;
         this.parser = parser;
@@ -235,7 +234,7 @@ public class StreamingSheetReader implements Iterable<Row> {
         switch (currentCell.getType()) {
         case "s": // string stored in shared table
             int idx = Integer.parseInt(lastContents);
-            return new XSSFRichTextString(sst.getEntryAt(idx)).toString();
+            return sst.getEntryAt(idx);
         case "inlineStr": // inline string (not in sst)
             return new XSSFRichTextString(lastContents).toString();
         case "str": //
@@ -263,7 +262,7 @@ public class StreamingSheetReader implements Iterable<Row> {
         switch (currentCell.getType()) {
         case "s": // string stored in shared table
             int idx = Integer.parseInt(lastContents);
-            return new XSSFRichTextString(sst.getEntryAt(idx)).toString();
+            return sst.getEntryAt(idx);
         case "inlineStr": // inline string (not in sst)
             return new XSSFRichTextString(lastContents).toString();
         default:
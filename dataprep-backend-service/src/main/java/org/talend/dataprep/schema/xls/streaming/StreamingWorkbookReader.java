@@ -34,15 +34,16 @@ import javax.xml.stream.events.XMLEvent;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
 import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.poifs.crypt.Decryptor;
 import org.apache.poi.poifs.crypt.EncryptionInfo;
 import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.xssf.eventusermodel.XSSFReader;
-import org.apache.poi.xssf.model.SharedStringsTable;
 import org.apache.poi.xssf.model.StylesTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.talend.dataprep.io.LocalFileInputStream;
 import org.talend.dataprep.util.FilesHelper;
 
 import com.monitorjbl.xlsx.exceptions.OpenException;
@@ -64,6 +65,9 @@ public class StreamingWorkbookReader implements Iterable<Sheet>, AutoCloseable {
 
     private OPCPackage pkg;
 
+    /** The shared strings of the workbook (own index or reference on a cached one), closed with the workbook. */
+    private SharedStringsIndex sst;
+
     public StreamingWorkbookReader(StreamingReader.Builder builder) {
         this.sheets = new ArrayList<>();
         this.builder = builder;
@@ -83,21 +87,46 @@ public class StreamingWorkbookReader implements Iterable<Sheet>, AutoCloseable {
         }
     }
 
+    private static void closeQuietly(InputStream is) {
+        try {
+            is.close();
+        } catch (IOException e) {
+            LOGGER.debug("Unable to close input stream", e);
+        }
+    }
+
+    private void closeSst() {
+        if (sst != null) {
+            sst.close();
+            sst = null;
+        }
+    }
+
     public StreamingSheetReader first() {
         return sheets.get(0).getReader();
     }
 
     public void init(InputStream is) {
+        if (is instanceof LocalFileInputStream) {
+            // No need for a temporary copy: open the file directly
+            try {
+                init(((LocalFileInputStream) is).getFile());
+            } finally {
+                closeQuietly(is);
+            }
+            return;
+        }
         File f = null;
         try {
             f = writeInputStreamToFile(is, builder.getBufferSize());
             LOGGER.debug("Created temp file [{}", f.getAbsolutePath());
 
-            init(f);
+            init(f, false);
             tmp = f;
         } catch (IOException e) {
             throw new ReadException("Unable to read input stream", e);
         } catch (RuntimeException e) {
+            closeSst();
             FilesHelper.deleteQuietly(f);
             throw e;
         }
@@ -106,6 +135,20 @@ public class StreamingWorkbookReader implements Iterable<Sheet>, AutoCloseable {
     // to override https://bz.apache.org/bugzilla/show_bug.cgi?id=57699
 
     public void init(File f) {
+        try {
+            init(f, true);
+        } catch (RuntimeException e) {
+            closeSst();
+            throw e;
+        }
+    }
+
+    /**
+     * @param f the workbook file.
+     * @param cacheSst <code>true</code> to share the shared strings index of this file with other readers, <code>false</code>
+     * if file is a temporary copy.
+     */
+    private void init(File f, boolean cacheSst) {
         try {
             if (builder.getPassword() != null) {
                 // Based on: https://poi.apache.org/encryption.html
@@ -115,12 +158,13 @@ public class StreamingWorkbookReader implements Iterable<Sheet>, AutoCloseable {
                 d.verifyPassword(builder.getPassword());
                 pkg = OPCPackage.open(d.getDataStream(poifs));
             } else {
-                pkg = OPCPackage.open(f);
+                // read only: file may be the stored data set content
+                pkg = OPCPackage.open(f, PackageAccess.READ);
             }
 
             XSSFReader reader = new XSSFReader(pkg);
 
-            SharedStringsTable sst = reader.getSharedStringsTable();
+            sst = cacheSst ? SharedStringsIndex.get(f, pkg) : SharedStringsIndex.build(pkg);
             StylesTable styles = reader.getStylesTable();
 
             loadSheets(reader, sst, styles, builder.getRowCacheSize());
@@ -133,7 +177,7 @@ public class StreamingWorkbookReader implements Iterable<Sheet>, AutoCloseable {
         }
     }
 
-    void loadSheets(XSSFReader reader, SharedStringsTable sst, StylesTable stylesTable, int rowCacheSize)
+    void loadSheets(XSSFReader reader, SharedStringsIndex sst, StylesTable stylesTable, int rowCacheSize)
             throws IOException, InvalidFormatException, XMLStreamException {
         lookupSheetNames(reader.getWorkbookData());
         Iterator<InputStream> iter = reader.getSheetsData();
@@ -200,6 +244,7 @@ public class StreamingWorkbookReader implements Iterable<Sheet>, AutoCloseable {
             }
             pkg.revert();
         } finally {
+            closeSst();
             if (tmp != null) {
                 LOGGER.debug("Deleting tmp file [{}]", tmp.getAbsolutePath());
                 FilesHelper.deleteQuietly(tmp);
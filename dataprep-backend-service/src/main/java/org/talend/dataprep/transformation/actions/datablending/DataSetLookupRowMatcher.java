@@ -14,17 +14,16 @@ package org.talend.dataprep.transformation.actions.datablending;
 
 import static org.apache.commons.lang.StringUtils.EMPTY;
 import static org.talend.dataprep.transformation.actions.datablending.Lookup.Parameters.LOOKUP_DS_ID;
+import static org.talend.dataprep.transformation.actions.datablending.Lookup.Parameters.LOOKUP_JOIN_ON;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import javax.annotation.PostConstruct;
 
-import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
@@ -45,7 +44,9 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
- *
+ * A {@link LookupRowMatcher} reading the lookup data set from the data set service. The lookup records are written to
+ * a {@link LookupIndex} as they are read, so they are not held in the heap; the index is deleted when the matcher is
+ * destroyed.
  */
 @Component
 @Scope("prototype")
@@ -66,18 +67,15 @@ public class DataSetLookupRowMatcher implements DisposableBean, LookupRowMatcher
     /** The dataset id to lookup. */
     private String datasetId;
 
-    /** The dataset lookup input stream. */
-    private InputStream input;
+    /** The column id to join on. */
+    private String joinOn;
 
-    /** Lookup row iterator. */
-    private Iterator<DataSetRow> lookupIterator;
+    /** The reader of the index of the lookup data set. */
+    private LookupIndex.Reader index;
 
     /** Default empty row for the parsed lookup dataset. */
     private DataSetRow emptyRow;
 
-    /** Cache of dataset row. */
-    private Map<String, DataSetRow> cache = new HashMap<>();
-
     /**
      * Default constructor.
      *
@@ -85,10 +83,11 @@ public class DataSetLookupRowMatcher implements DisposableBean, LookupRowMatcher
      */
     public DataSetLookupRowMatcher(Map<String, String> parameters) {
         this.datasetId = parameters.get(LOOKUP_DS_ID.getKey());
+        this.joinOn = parameters.get(LOOKUP_JOIN_ON.getKey());
     }
 
     /**
-     * Open the connection to get the dataset content and init the row iterator.
+     * Read the dataset content and index its records by join value.
      */
     @PostConstruct
     private void init() {
@@ -97,28 +96,39 @@ public class DataSetLookupRowMatcher implements DisposableBean, LookupRowMatcher
 
         LOGGER.debug("opening {}", datasetId);
 
-        this.input = dataSetGet.execute();
-        try {
+        try (InputStream input = dataSetGet.execute(); LookupIndex.Builder builder = new LookupIndex.Builder()) {
             JsonParser jsonParser = mapper.getFactory().createParser(input);
             DataSet lookup = mapper.readerFor(DataSet.class).readValue(jsonParser);
-            this.lookupIterator = lookup.getRecords().iterator();
-            this.emptyRow = getEmptyRow(lookup.getMetadata().getRowMetadata().getColumns());
+            final RowMetadata rowMetadata = lookup.getMetadata().getRowMetadata();
+            final List<ColumnMetadata> columns = rowMetadata.getColumns();
+            // records are lazily read from the input stream
+            lookup.getRecords().forEach(row -> {
+                final Map<String, String> values = new HashMap<>(columns.size() * 2);
+                columns.forEach(column -> values.put(column.getId(), row.get(column.getId())));
+                builder.add(row.get(joinOn), values);
+            });
+            final LookupIndex lookupIndex = builder.build(rowMetadata);
+            try {
+                this.index = lookupIndex.open();
+            } finally {
+                // only this matcher reads the index: file can go as soon as the reader is closed
+                lookupIndex.close();
+            }
+            this.emptyRow = getEmptyRow(columns);
         } catch (IOException e) {
             throw new TDPException(TransformationErrorCodes.UNABLE_TO_READ_LOOKUP_DATASET, e);
         }
+        LOGGER.debug("connection to {} closed", datasetId);
     }
 
     /**
-     * Gently close the input stream as well as the http client.
+     * Release the index of the lookup dataset.
      */
     @Override
     public void destroy() {
-        try {
-            input.close();
-        } catch (IOException e) {
-            LOGGER.warn("Error cleaning LookupRowMatcher", e);
+        if (index != null) {
+            index.close();
         }
-        LOGGER.debug("connection to {} closed", datasetId);
     }
 
     /**
@@ -130,38 +140,12 @@ public class DataSetLookupRowMatcher implements DisposableBean, LookupRowMatcher
      */
     @Override
     public DataSetRow getMatchingRow(String joinOn, String joinValue) {
-
-        if (joinValue == null) {
-            LOGGER.debug("join value is null, returning empty row");
+        final Map<String, String> values = index.get(joinValue);
+        if (values == null) {
+            LOGGER.trace("no row found for {}, returning an empty row", joinValue);
             return emptyRow;
         }
-
-        // first, let's look in the cache
-        if (cache.containsKey(joinValue)) {
-            return cache.get(joinValue);
-        }
-
-        // if the value is not cached, let's update the cache
-        while (lookupIterator.hasNext()) {
-            DataSetRow nextRow = lookupIterator.next();
-            final String nextRowJoinValue = nextRow.get(joinOn);
-
-            // update the cache no matter what so that the next joinValue may be already cached !
-            if (!cache.containsKey(nextRowJoinValue)) {
-                cache.put(nextRowJoinValue, nextRow.clone());
-                LOGGER.trace("row found and cached for {} -> {}", nextRowJoinValue, nextRow.values());
-            }
-
-            // if matching row is found, let's stop here
-            if (StringUtils.equals(joinValue, nextRowJoinValue)) {
-                return nextRow;
-            }
-        }
-
-        // the join value was not found and the cache is fully updated, so let's cache an empty row and return it
-        cache.put(joinValue, this.emptyRow);
-        LOGGER.trace("no row found for {}, returning an empty row", joinValue);
-        return this.emptyRow;
+        return new DataSetRow(emptyRow.getRowMetadata(), values);
     }
 
     @Override
@@ -13,9 +13,28 @@
 
 package org.talend.dataprep.transformation.api.action.dynamic.cluster;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.ContentCacheKey;
 import org.talend.dataprep.i18n.DataprepBundle;
 import org.talend.dataprep.parameters.ClusterItem;
 import org.talend.dataprep.parameters.Clusters;
@@ -28,41 +47,146 @@ import org.talend.dataquality.record.linkage.analyzer.StringClusters;
 import org.talend.dataquality.record.linkage.analyzer.StringsClusterAnalyzer;
 import org.talend.dataquality.record.linkage.constant.AttributeMatcherType;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 /**
  * Cluster action dynamic parameter generator It takes an InputStream as argument, containing the dataset
+ * <p>
+ * Clustering runs on the distinct values of the column (counted in one pass over the records), and its result is
+ * cached by column and distinct values so the same content is only clustered once.
+ * </p>
  */
 @Component
 public class ClusterParameters implements DynamicParameters {
 
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClusterParameters.class);
+
+    /** Where cluster results are cached. */
+    @Autowired(required = false)
+    private ContentCache contentCache;
+
+    /** The dataprep ready jackson builder. */
+    @Autowired
+    private ObjectMapper mapper;
+
     @Override
     public GenericParameter getParameters(final String columnId, final DataSet content) {
-        // Analyze clusters service
-        StringsClusterAnalyzer clusterAnalyzer = new StringsClusterAnalyzer();
-        clusterAnalyzer.withPostMerges(new PostMerge(AttributeMatcherType.SOUNDEX, 0.8f));
-        clusterAnalyzer.init();
-        content.getRecords().forEach(row -> {
-            String value = row.get(columnId);
-            clusterAnalyzer.analyze(value);
-        });
-        clusterAnalyzer.end();
+        // Count distinct values of the column
+        final Map<String, Integer> distinctValues = new HashMap<>();
+        content.getRecords().forEach(row -> distinctValues.merge(row.get(columnId), 1, Integer::sum));
+        // Get clusters (as survived value followed by original values) from cache or analyze them
+        final ContentCacheKey key = new ClusterCacheKey(columnId, distinctValues);
+        List<List<String>> clusters = getCachedClusters(key);
+        if (clusters == null) {
+            clusters = analyze(distinctValues);
+            cacheClusters(key, clusters);
+        }
         // Build results
         final Clusters.Builder builder = Clusters
                 .builder()
                 .title(DataprepBundle.message("parameter.textclustering.title.1"))
                 .title(DataprepBundle.message("parameter.textclustering.title.2"));
+        for (List<String> cluster : clusters) {
+            final ClusterItem.Builder currentCluster = ClusterItem.builder();
+            for (String value : cluster.subList(1, cluster.size())) {
+                currentCluster.parameter(new ConstantParameter(value, ParameterType.BOOLEAN));
+            }
+            currentCluster.replace(new Parameter("replaceValue", ParameterType.STRING, cluster.get(0)));
+            builder.cluster(currentCluster);
+        }
+        return new GenericParameter("cluster", builder.build());
+    }
+
+    /**
+     * Clusters the distinct values of a column.
+     *
+     * @param distinctValues the distinct values of the column with their number of occurrences.
+     * @return the clusters, each one as its survived value (the most frequent one) followed by its original values.
+     */
+    private static List<List<String>> analyze(Map<String, Integer> distinctValues) {
+        // Analyze clusters service
+        StringsClusterAnalyzer clusterAnalyzer = new StringsClusterAnalyzer();
+        clusterAnalyzer.withPostMerges(new PostMerge(AttributeMatcherType.SOUNDEX, 0.8f));
+        clusterAnalyzer.init();
+        distinctValues.keySet().forEach(clusterAnalyzer::analyze);
+        clusterAnalyzer.end();
+        final List<List<String>> clusters = new ArrayList<>();
         final StringClusters result = clusterAnalyzer.getResult().get(0);
         for (StringClusters.StringCluster cluster : result) {
             // String clustering may cluster null / empty values, however not interesting for data prep.
             if (!StringUtils.isEmpty(cluster.survivedValue)) {
-                final ClusterItem.Builder currentCluster = ClusterItem.builder();
+                // Analyzer only saw each value once, so survived value is chosen here with the actual occurrences
+                String survivedValue = cluster.survivedValue;
+                for (String value : cluster.originalValues) {
+                    if (distinctValues.getOrDefault(value, 0) > distinctValues.getOrDefault(survivedValue, 0)) {
+                        survivedValue = value;
+                    }
+                }
+                final List<String> values = new ArrayList<>(cluster.originalValues.length + 1);
+                values.add(survivedValue);
                 for (String value : cluster.originalValues) {
-                    currentCluster.parameter(new ConstantParameter(value, ParameterType.BOOLEAN));
+                    values.add(value);
                 }
-                currentCluster.replace(new Parameter("replaceValue", ParameterType.STRING, cluster.survivedValue));
-                builder.cluster(currentCluster);
+                clusters.add(values);
             }
         }
-        return new GenericParameter("cluster", builder.build());
+        return clusters;
+    }
+
+    private List<List<String>> getCachedClusters(ContentCacheKey key) {
+        if (contentCache == null || !contentCache.has(key)) {
+            return null;
+        }
+        try (InputStream input = contentCache.get(key)) {
+            return mapper.readValue(input, new TypeReference<List<List<String>>>() {
+            });
+        } catch (Exception e) {
+            LOGGER.debug("Unable to read cached clusters {}.", key.getKey(), e);
+            return null;
+        }
+    }
+
+    private void cacheClusters(ContentCacheKey key, List<List<String>> clusters) {
+        if (contentCache == null) {
+            return;
+        }
+        try (OutputStream output = contentCache.put(key, ContentCache.TimeToLive.DEFAULT)) {
+            mapper.writeValue(output, clusters);
+        } catch (IOException e) {
+            LOGGER.debug("Unable to cache clusters {}.", key.getKey(), e);
+        }
+    }
+
+    /**
+     * Cache key of the clusters of a column, made of the column id and a digest of its distinct values.
+     */
+    private static class ClusterCacheKey implements ContentCacheKey {
+
+        private static final String PREFIX = "cluster_";
+
+        private final String key;
+
+        private ClusterCacheKey(String columnId, Map<String, Integer> distinctValues) {
+            final MessageDigest digest = DigestUtils.getSha1Digest();
+            distinctValues.keySet().stream() //
+                    .sorted(Comparator.nullsFirst(Comparator.naturalOrder())) //
+                    .forEach(value -> {
+                        digest.update(String.valueOf(distinctValues.get(value)).getBytes(UTF_8));
+                        digest.update((byte) 0);
+                        if (value != null) {
+                            digest.update(value.getBytes(UTF_8));
+                        }
+                        digest.update((byte) 0);
+                    });
+            this.key = PREFIX + columnId + '_' + Hex.encodeHexString(digest.digest());
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
     }
 
     private static class ConstantParameter extends Parameter {
@@ -0,0 +1,57 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache.file;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.talend.dataprep.cache.ContentCache.TimeToLive.DEFAULT;
+
+import java.io.OutputStream;
+
+import org.junit.Test;
+import org.springframework.test.context.TestPropertySource;
+import org.talend.dataprep.cache.ContentCacheKey;
+
+/**
+ * Implementation of tests for local content cache with a maximum size.
+ */
+@TestPropertySource(properties = { "content-service.store=local", "content-service.store.local.path=${java.io.tmpdir}/dataprep",
+        "content-service.cache.max-bytes=1000" })
+public class BoundedLocalContentCacheTest extends ContentCacheTests {
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntries() throws Exception {
+        // given
+        final ContentCacheKey first = new DummyCacheKey("first");
+        final ContentCacheKey second = new DummyCacheKey("second");
+        final ContentCacheKey third = new DummyCacheKey("third");
+        put(first, 400);
+        put(second, 400);
+        Thread.sleep(10);
+        assertThat(cache.has(first), is(true)); // first is now more recently used than second
+
+        // when
+        put(third, 400);
+
+        // then
+        assertThat(cache.has(first), is(true));
+        assertThat(cache.has(second), is(false));
+        assertThat(cache.has(third), is(true));
+    }
+
+    private void put(ContentCacheKey key, int size) throws Exception {
+        try (OutputStream entry = cache.put(key, DEFAULT)) {
+            entry.write(new byte[size]);
+        }
+    }
+}
@@ -60,4 +60,9 @@ public class DummyCacheKey implements ContentCacheKey {
         final Pattern pattern = Pattern.compile(regex);
         return key -> pattern.matcher(key).matches();
     }
+
+    @Override
+    public String getPrefix() {
+        return this.getClass().getSimpleName() + '_' + (name == null ? "" : name + '_');
+    }
 }
@@ -0,0 +1,121 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+import static org.talend.dataprep.cache.ContentCache.TimeToLive.DEFAULT;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.ContentCacheKey;
+
+public class MemoryTierContentCacheTest {
+
+    private ContentCache delegate;
+
+    private MemoryTierContentCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        delegate = mock(ContentCache.class);
+        when(delegate.put(any(), any())).thenAnswer(invocation -> new ByteArrayOutputStream());
+        cache = new MemoryTierContentCache(delegate, 64 * 1024, 10000);
+    }
+
+    @Test
+    public void shouldServeSmallEntriesFromMemory() throws Exception {
+        // given
+        final ContentCacheKey key = () -> "small";
+        try (OutputStream output = cache.put(key, DEFAULT)) {
+            output.write("content".getBytes());
+        }
+
+        // when
+        final String content = IOUtils.toString(cache.get(key));
+
+        // then
+        assertEquals("content", content);
+        assertTrue(cache.has(key));
+        verify(delegate).put(key, DEFAULT);
+        verify(delegate, never()).get(key);
+        verify(delegate, never()).has(key);
+        assertEquals(2, cache.getMemoryHits());
+    }
+
+    @Test
+    public void shouldNotKeepLargeEntriesInMemory() throws Exception {
+        // given
+        final ContentCacheKey key = () -> "large";
+        try (OutputStream output = cache.put(key, DEFAULT)) {
+            output.write(new byte[20000]);
+        }
+
+        // when
+        cache.has(key);
+
+        // then
+        verify(delegate).has(key);
+        assertEquals(0, cache.getMemoryHits());
+    }
+
+    @Test
+    public void shouldEvictBothTiers() throws Exception {
+        // given
+        final ContentCacheKey key = () -> "evicted";
+        try (OutputStream output = cache.put(key, DEFAULT)) {
+            output.write("content".getBytes());
+        }
+
+        // when
+        cache.evict(key);
+
+        // then
+        assertFalse(cache.has(key));
+        verify(delegate).evict(key);
+        assertEquals(0, cache.getMemorySize());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntriesWhenMemoryIsFull() throws Exception {
+        // given 16 chunks of memory, 2 entries of 8 chunks each
+        final ContentCacheKey first = () -> "first";
+        final ContentCacheKey second = () -> "second";
+        final ContentCacheKey third = () -> "third";
+        cache = new MemoryTierContentCache(delegate, 64 * 1024, 32 * 1024);
+        for (ContentCacheKey key : new ContentCacheKey[] { first, second }) {
+            try (OutputStream output = cache.put(key, DEFAULT)) {
+                output.write(new byte[32 * 1024]);
+            }
+        }
+        cache.get(first);
+
+        // when
+        try (OutputStream output = cache.put(third, DEFAULT)) {
+            output.write(new byte[32 * 1024]);
+        }
+
+        // then
+        assertTrue(cache.has(first));
+        assertTrue(cache.has(third));
+        cache.has(second);
+        verify(delegate).has(second);
+    }
+}
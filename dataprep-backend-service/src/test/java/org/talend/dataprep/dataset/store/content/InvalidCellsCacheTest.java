@@ -0,0 +1,139 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.talend.dataprep.api.type.Type.INTEGER;
+import static org.talend.dataprep.api.type.Type.STRING;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+public class InvalidCellsCacheTest {
+
+    private InvalidCellsCache cache;
+
+    private DataSetMetadata metadata;
+
+    private List<ColumnMetadata> columns;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new InvalidCellsCache();
+        columns = new ArrayList<>();
+        columns.add(ColumnMetadata.Builder.column().id(0).name("id").type(INTEGER).build());
+        columns.add(ColumnMetadata.Builder.column().id(1).name("name").type(STRING).build());
+        metadata = new DataSetMetadata("1234", "name", "author", 0, 0, new RowMetadata(columns), "1.0");
+    }
+
+    @Test
+    public void shouldReplayRecordedInvalidCells() throws Exception {
+        // given
+        final InvalidCellsCache.Recorder recorder = cache.record(metadata, -1);
+        recorder.record(row("1", "a", false), columns);
+        recorder.record(row("x", "b", true), columns);
+        recorder.record(row("3", "c", false), columns);
+
+        // when
+        recorder.complete();
+        final InvalidCellsCache.InvalidCells invalidCells = cache.get(metadata, -1);
+
+        // then
+        assertNotNull(invalidCells);
+        assertFalse(invalidCells.mark(row("1", "a", true), columns, 0).isInvalid("0000"));
+        assertTrue(invalidCells.mark(row("x", "b", false), columns, 1).isInvalid("0000"));
+        assertFalse(invalidCells.mark(row("x", "b", false), columns, 1).isInvalid("0001"));
+        assertFalse(invalidCells.mark(row("3", "c", false), columns, 2).isInvalid("0000"));
+    }
+
+    @Test
+    public void shouldNotCacheIncompleteStream() throws Exception {
+        // given
+        final InvalidCellsCache.Recorder recorder = cache.record(metadata, -1);
+
+        // when
+        recorder.record(row("x", "b", true), columns);
+
+        // then
+        assertNull(cache.get(metadata, -1));
+    }
+
+    @Test
+    public void shouldCoverSmallerLimits() throws Exception {
+        // given
+        final InvalidCellsCache.Recorder recorder = cache.record(metadata, 2);
+        recorder.record(row("1", "a", false), columns);
+        recorder.record(row("x", "b", true), columns);
+
+        // when
+        recorder.complete();
+
+        // then
+        assertNotNull(cache.get(metadata, 1));
+        assertNotNull(cache.get(metadata, 2));
+        assertNull(cache.get(metadata, 3));
+        assertNull(cache.get(metadata, -1));
+    }
+
+    @Test
+    public void shouldNotReplayWhenColumnsChange() throws Exception {
+        // given
+        final InvalidCellsCache.Recorder recorder = cache.record(metadata, -1);
+        recorder.record(row("x", "b", true), columns);
+        recorder.complete();
+
+        // when
+        metadata.getRowMetadata().getById("0000").setType(STRING.getName());
+
+        // then
+        assertNull(cache.get(metadata, -1));
+    }
+
+    @Test
+    public void shouldEvictDataSet() throws Exception {
+        // given
+        final InvalidCellsCache.Recorder recorder = cache.record(metadata, -1);
+        recorder.record(row("x", "b", true), columns);
+        recorder.complete();
+
+        // when
+        cache.evict("1234");
+
+        // then
+        assertNull(cache.get(metadata, -1));
+    }
+
+    private static DataSetRow row(String id, String name, boolean invalidId) {
+        final Map<String, String> values = new HashMap<>();
+        values.put("0000", id);
+        values.put("0001", name);
+        final DataSetRow row = new DataSetRow(values);
+        if (invalidId) {
+            row.setInvalid("0000");
+        }
+        return row;
+    }
+}
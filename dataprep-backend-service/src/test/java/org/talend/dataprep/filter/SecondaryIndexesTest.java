@@ -0,0 +1,118 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.filter;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.preparation.Preparation;
+
+public class SecondaryIndexesTest {
+
+    private final List<Preparation> preparations = new ArrayList<>();
+
+    private SecondaryIndexes<Preparation> indexes;
+
+    @Before
+    public void setUp() {
+        preparations.clear();
+        preparations.add(preparation("1", "dataset1", "Customers", "alice"));
+        preparations.add(preparation("2", "dataset1", "Customers cleanup", "bob"));
+        preparations.add(preparation("3", "dataset2", "Sales", "alice"));
+        indexes = new SecondaryIndexes<Preparation>(Preparation::getId) //
+                .on("dataSetId", Preparation::getDataSetId) //
+                .on("name", Preparation::getName) //
+                .on("author", Preparation::getAuthor);
+    }
+
+    private static Preparation preparation(String id, String dataSetId, String name, String author) {
+        final Preparation preparation = new Preparation(id, "1.0");
+        preparation.setDataSetId(dataSetId);
+        preparation.setName(name);
+        preparation.setAuthor(author);
+        return preparation;
+    }
+
+    private Optional<Set<String>> candidates(String filter) {
+        return indexes.candidates(filter, preparations::stream);
+    }
+
+    @Test
+    public void shouldUseIndexForEquality() {
+        // when
+        final Optional<Set<String>> candidates = candidates("dataSetId = 'DATASET1'");
+
+        // then
+        assertTrue(candidates.isPresent());
+        assertThat(candidates.get(), containsInAnyOrder("1", "2"));
+    }
+
+    @Test
+    public void shouldUseIndexForContainsAndPrefix() {
+        // then
+        assertThat(candidates("name contains 'clean'").get(), containsInAnyOrder("2"));
+        assertThat(candidates("name ~ 'cust.*'").get(), containsInAnyOrder("1", "2"));
+    }
+
+    @Test
+    public void shouldIntersectAndExpressions() {
+        // when
+        final Optional<Set<String>> candidates = candidates("dataSetId = 'dataset1' and author = 'alice'");
+
+        // then
+        assertThat(candidates.get(), containsInAnyOrder("1"));
+    }
+
+    @Test
+    public void shouldUseIndexedPartOfAndExpression() {
+        // when
+        final Optional<Set<String>> candidates = candidates("author = 'alice' and headId = 'step'");
+
+        // then
+        assertThat(candidates.get(), containsInAnyOrder("1", "3"));
+    }
+
+    @Test
+    public void shouldScanForUnindexedField() {
+        // then
+        assertFalse(candidates("headId = 'step'").isPresent());
+        assertFalse(candidates("author = 'alice' or headId = 'step'").isPresent());
+    }
+
+    @Test
+    public void shouldMaintainIndexes() {
+        // given
+        candidates("id = '1'"); // builds indexes
+        final Preparation updated = preparation("1", "dataset3", "Customers", "alice");
+
+        // when
+        indexes.add(updated);
+        indexes.remove("3");
+
+        // then
+        assertThat(candidates("dataSetId = 'dataset3'").get(), containsInAnyOrder("1"));
+        assertThat(candidates("dataSetId = 'dataset1'").get(), containsInAnyOrder("2"));
+        assertThat(candidates("author = 'alice'").get(), containsInAnyOrder("1"));
+        assertThat(candidates("id = '3'").get().isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,100 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.folder.store.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.talend.dataprep.folder.store.FoldersRepositoriesConstants.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.folder.FolderContentType;
+import org.talend.dataprep.api.folder.FolderEntry;
+
+public class FolderIndexTest {
+
+    private Path testFolder;
+
+    private FolderIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        testFolder = Files.createTempDirectory("dataprep_test");
+        Files.createDirectories(testFolder.resolve("foo/bar"));
+        Files.createDirectory(testFolder.resolve("Foobar"));
+        createEntry(testFolder.resolve("foo/bar/PREPARATION@prep1"), "prep1", FolderContentType.PREPARATION);
+        index = new FolderIndex();
+        index.index(testFolder);
+    }
+
+    private static void createEntry(Path testEntry, String contentId, FolderContentType contentType) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(CONTENT_TYPE, contentType.toString());
+        properties.setProperty(CONTENT_ID, contentId);
+        properties.setProperty(FOLDER_ID, "folderId");
+        try (OutputStream out = Files.newOutputStream(testEntry)) {
+            properties.store(out, "saved");
+        }
+    }
+
+    @Test
+    public void shouldFindIndexedEntries() throws Exception {
+        // then
+        assertEquals(Collections.singleton(testFolder.resolve("foo/bar/PREPARATION@prep1")),
+                index.getEntries(FolderContentType.PREPARATION, "prep1"));
+        assertTrue(index.getEntries(FolderContentType.PREPARATION, "prep2").isEmpty());
+    }
+
+    @Test
+    public void shouldSearchFolders() throws Exception {
+        // when
+        final List<Path> strict = index.searchFolders("FOO", true);
+        final List<Path> notStrict = index.searchFolders("foo", false);
+
+        // then
+        assertEquals(Collections.singletonList(testFolder.resolve("foo")), strict);
+        assertEquals(2, notStrict.size());
+    }
+
+    @Test
+    public void shouldMaintainEntries() throws Exception {
+        // given
+        final Path moved = testFolder.resolve("Foobar/PREPARATION@prep1");
+
+        // when
+        index.removeEntry(testFolder.resolve("foo/bar/PREPARATION@prep1"));
+        index.addEntry(moved, new FolderEntry(FolderContentType.PREPARATION, "prep1"));
+
+        // then
+        assertEquals(Collections.singleton(moved), index.getEntries(FolderContentType.PREPARATION, "prep1"));
+    }
+
+    @Test
+    public void shouldRemoveTree() throws Exception {
+        // when
+        index.removeTree(testFolder.resolve("foo"));
+
+        // then
+        assertTrue(index.getEntries(FolderContentType.PREPARATION, "prep1").isEmpty());
+        assertTrue(index.searchFolders("bar", true).isEmpty());
+        assertEquals(1, index.searchFolders("foo", false).size());
+    }
+}
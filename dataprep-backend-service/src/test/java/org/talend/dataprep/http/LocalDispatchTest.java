@@ -0,0 +1,64 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.http;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.talend.ServiceBaseTest;
+
+@TestPropertySource(properties = { "service.local.dispatch=true" })
+public class LocalDispatchTest extends ServiceBaseTest {
+
+    @Autowired
+    private LocalDispatch localDispatch;
+
+    @Autowired
+    private HttpClient httpClient;
+
+    @Test
+    public void shouldOnlyAcceptThisServer() throws Exception {
+        assertThat(localDispatch.accept(new HttpHost("localhost", port)), is(true));
+        assertThat(localDispatch.accept(new HttpHost("127.0.0.1", port)), is(true));
+        assertThat(localDispatch.accept(new HttpHost("localhost", port + 1)), is(false));
+        assertThat(localDispatch.accept(new HttpHost("localhost", port, "https")), is(false));
+    }
+
+    @Test
+    public void shouldDispatchRequestsLocally() throws Exception {
+        for (int i = 0; i < 3; i++) { // connection is reused after first request
+            // given
+            final HttpGet request = new HttpGet("http://localhost:" + port + "/command/test/success");
+
+            // when
+            final HttpResponse response = httpClient.execute(request);
+
+            // then
+            try {
+                assertThat(response.getStatusLine().getStatusCode(), is(200));
+                assertThat(IOUtils.toString(response.getEntity().getContent()), is("success"));
+            } finally {
+                request.releaseConnection();
+            }
+        }
+    }
+}
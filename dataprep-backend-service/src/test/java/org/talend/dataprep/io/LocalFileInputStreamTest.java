@@ -0,0 +1,50 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.io;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+public class LocalFileInputStreamTest {
+
+    @Test
+    public void shouldResetToMark() throws Exception {
+        // given
+        final File file = File.createTempFile("content-", ".txt");
+        Files.write(file.toPath(), "0123456789".getBytes(UTF_8));
+
+        try (LocalFileInputStream inputStream = new LocalFileInputStream(file)) {
+            // when
+            inputStream.skip(2);
+            inputStream.mark(8);
+            final byte[] peek = new byte[3];
+            IOUtils.readFully(inputStream, peek);
+            inputStream.reset();
+
+            // then
+            assertThat(inputStream.markSupported(), is(true));
+            assertThat(inputStream.getFile(), is(file));
+            assertThat(new String(peek, UTF_8), is("234"));
+            assertThat(IOUtils.toString(inputStream, UTF_8), is("23456789"));
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.metrics;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.Callable;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public class MetricsAspectTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    private Service service;
+
+    @Before
+    public void setUp() throws Exception {
+        final MetricsAspect aspect = new MetricsAspect();
+        ReflectionTestUtils.setField(aspect, "registry", registry);
+        final AspectJProxyFactory factory = new AspectJProxyFactory(new Service());
+        factory.addAspect(aspect);
+        service = factory.getProxy();
+    }
+
+    @Test
+    public void shouldTimeCallableOnCompletion() throws Exception {
+        // when
+        final Callable<String> callable = service.callable();
+
+        // then
+        assertEquals(0, registry.timer("Service.callable").getCount());
+        assertEquals("done", callable.call());
+        assertEquals(1, registry.timer("Service.callable").getCount());
+    }
+
+    @Test
+    public void shouldMeterAndTimeResponseEntityBody() throws Exception {
+        // when
+        final ResponseEntity<StreamingResponseBody> entity = service.entity();
+
+        // then
+        assertEquals(0, registry.timer("Service.entity").getCount());
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        entity.getBody().writeTo(output);
+        assertEquals("content", new String(output.toByteArray(), UTF_8));
+        assertEquals("text/plain", entity.getHeaders().getFirst("Content-Type"));
+        assertEquals(1, registry.timer("Service.entity").getCount());
+        assertEquals(7, registry.meter("Service.entity.bytes").getVolume());
+    }
+
+    public static class Service {
+
+        @Timed
+        public Callable<String> callable() {
+            return () -> "done";
+        }
+
+        @Timed
+        @VolumeMetered
+        public ResponseEntity<StreamingResponseBody> entity() {
+            return ResponseEntity.ok() //
+                    .header("Content-Type", "text/plain") //
+                    .body(output -> output.write("content".getBytes(UTF_8)));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class MetricsRegistryTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    @Test
+    public void shouldReuseMetricsByName() throws Exception {
+        assertSame(registry.timer("a"), registry.timer("a"));
+        assertSame(registry.meter("a"), registry.meter("a"));
+    }
+
+    @Test
+    public void shouldComputeTimerPercentiles() throws Exception {
+        // given
+        final Timer timer = registry.timer("timer");
+
+        // when
+        for (int i = 0; i < 98; i++) {
+            timer.record(3, TimeUnit.MILLISECONDS);
+        }
+        timer.record(100, TimeUnit.MILLISECONDS);
+        timer.record(1, TimeUnit.SECONDS);
+
+        // then
+        final Map<String, Object> snapshot = timer.snapshot();
+        assertEquals(100L, snapshot.get("count"));
+        assertEquals(1000L, snapshot.get("max"));
+        assertEquals(4L, snapshot.get("p50")); // 3 ms is in the (2, 4] bucket
+        assertEquals(4L, snapshot.get("p95"));
+        assertEquals(128L, snapshot.get("p99"));
+    }
+
+    @Test
+    public void shouldComputeMeterThroughput() throws Exception {
+        // given
+        final Meter meter = registry.meter("meter");
+
+        // when
+        meter.mark(1000, 1, TimeUnit.SECONDS);
+        meter.mark(3000, 1, TimeUnit.SECONDS);
+
+        // then
+        final Map<String, Object> snapshot = meter.snapshot();
+        assertEquals(2L, snapshot.get("count"));
+        assertEquals(4000L, snapshot.get("volume"));
+        assertEquals(2000.0, (Double) snapshot.get("throughput"), 0.01);
+    }
+
+    @Test
+    public void shouldListAllMetrics() throws Exception {
+        // given
+        registry.timer("timer").record(1, TimeUnit.MILLISECONDS);
+        registry.meter("meter").mark(1, 1, TimeUnit.MILLISECONDS);
+        registry.gauge("gauge", () -> 42L);
+
+        // when
+        final Map<String, Object> snapshot = registry.snapshot();
+
+        // then
+        assertTrue(((Map) snapshot.get("timers")).containsKey("timer"));
+        assertTrue(((Map) snapshot.get("meters")).containsKey("meter"));
+        assertEquals(42L, ((Map) snapshot.get("gauges")).get("gauge"));
+    }
+}
@@ -14,11 +14,16 @@ package org.talend.dataprep.preparation.store.file;
 
 import static org.junit.Assert.*;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 import javax.annotation.Resource;
 
@@ -39,6 +44,7 @@ import org.talend.dataprep.preparation.store.PreparationRepository;
 import org.talend.dataprep.preparation.store.PreparationRepositoryTest;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * Unit test for the FileSystemPreparationRepository.
@@ -56,6 +62,9 @@ public class FileSystemPreparationRepositoryTest extends PreparationRepositoryTe
     @Autowired
     private VersionService versionService;
 
+    @Autowired
+    private ObjectMapper mapper;
+
     /** The preparation repository to test. */
     @Autowired
     private PreparationRepository repository;
@@ -100,6 +109,64 @@ public class FileSystemPreparationRepositoryTest extends PreparationRepositoryTe
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void shouldGetLargeContentThatWasAdded() {
+        // given
+        final List<Action> actions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            actions.addAll(PreparationTest.getSimpleAction("uppercase", "column_name", "column_" + i));
+        }
+        final PreparationActions expected = new PreparationActions(actions, versionService.version().getVersionId());
+
+        // when
+        repository.add(expected);
+
+        // then
+        assertEquals(expected, repository.get(expected.id(), PreparationActions.class));
+        assertTrue(repository.list(PreparationActions.class).anyMatch(a -> expected.id().equals(a.id())));
+    }
+
+    @Test
+    public void shouldSeeFilesWrittenByAnotherInstance() throws Exception {
+        // given
+        final Preparation updated = getPreparation("4869135");
+        updated.setName("old name");
+        repository.add(updated);
+        repository.list(Preparation.class).count();
+
+        // when (another instance writes in the same folder)
+        final Preparation added = getPreparation("4869136");
+        updated.setName("new name");
+        write("Preparation-" + added.id(), added);
+        write("Preparation-" + updated.id(), updated);
+
+        // then
+        assertEquals("new name", repository.get(updated.id(), Preparation.class).getName());
+        final List<String> names = repository.list(Preparation.class).map(Preparation::getName).collect(Collectors.toList());
+        assertTrue(names.contains("new name"));
+        assertTrue(names.contains(added.getName()));
+    }
+
+    private void write(String fileName, Object object) throws IOException {
+        try (GZIPOutputStream output = new GZIPOutputStream(
+                new FileOutputStream(new File("target/test/store/preparation", fileName)))) {
+            mapper.writer().writeValue(output, object);
+        }
+    }
+
+    @Test
+    public void shouldNotListRemoved() {
+        // given
+        final Preparation preparation = getPreparation("id#5489613");
+        repository.add(preparation);
+
+        // when
+        repository.remove(preparation);
+
+        // then
+        assertFalse(repository.list(Preparation.class).anyMatch(p -> preparation.id().equals(p.id())));
+    }
+
     @Test
     public void shouldGetOnlyWantedClass() {
         final Step expected = new Step(rootStep, new FixedIdPreparationContent("8rq4868"), versionService.version().getVersionId());
@@ -176,6 +243,26 @@ public class FileSystemPreparationRepositoryTest extends PreparationRepositoryTe
         assertTrue(actual.contains(expected));
     }
 
+    @Test
+    public void shouldListIndexedMatchesInRepositoryOrder() {
+        // given
+        for (int i = 0; i < 20; i++) {
+            repository.add(getPreparation(i % 2 == 0 ? "even" : "odd"));
+        }
+        final List<String> expected = repository.list(Preparation.class) //
+                .filter(p -> "even".equals(p.getDataSetId())) //
+                .map(Preparation::id) //
+                .collect(Collectors.toList());
+
+        // when
+        final List<String> actual = repository.list(Preparation.class, "dataSetId = 'even'") //
+                .map(Preparation::id) //
+                .collect(Collectors.toList());
+
+        // then
+        assertEquals(10, actual.size());
+        assertEquals(expected, actual);
+    }
 
     /**
      * @param datasetId the preparation id.
@@ -0,0 +1,182 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.schema.xls.streaming;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.IOUtils;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.junit.Test;
+
+public class SharedStringsIndexTest {
+
+    @Test
+    public void shouldReadSameStringsAsPoi() throws Exception {
+        for (String workbook : new String[] { "../TDP_Epics.xlsx", "../Workbook-xlsx.xlsx", "../dates.xlsx" }) {
+            // given
+            final OPCPackage pkg = OPCPackage.open(SharedStringsIndexTest.class.getResourceAsStream(workbook));
+            final SharedStringsTable sst = new XSSFReader(pkg).getSharedStringsTable();
+
+            // when
+            final SharedStringsIndex index = SharedStringsIndex.build(pkg);
+
+            // then
+            try {
+                assertThat(index.getCount(), is(sst == null ? 0 : sst.getItems().size()));
+                for (int i = 0; i < index.getCount(); i++) {
+                    assertThat(index.getEntryAt(i), is(new XSSFRichTextString(sst.getEntryAt(i)).toString()));
+                }
+            } finally {
+                index.close();
+                pkg.revert();
+            }
+        }
+    }
+
+    @Test
+    public void shouldCacheIndexOfWorkbookFile() throws Exception {
+        // given
+        final File workbook = File.createTempFile("workbook-", ".xlsx");
+        try (InputStream content = SharedStringsIndexTest.class.getResourceAsStream("../TDP_Epics.xlsx")) {
+            Files.copy(content, workbook.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        final OPCPackage pkg = OPCPackage.open(workbook, PackageAccess.READ);
+
+        try {
+            // when
+            final SharedStringsIndex first = SharedStringsIndex.get(workbook, pkg);
+            final SharedStringsIndex second = SharedStringsIndex.get(workbook, pkg);
+            workbook.setLastModified(workbook.lastModified() - 10000);
+            final SharedStringsIndex modified = SharedStringsIndex.get(workbook, pkg);
+
+            // then
+            assertThat(second, sameInstance(first));
+            assertThat(modified, not(sameInstance(first)));
+            assertThat(modified.getEntryAt(0), is(first.getEntryAt(0)));
+            first.close();
+            second.close();
+            modified.close();
+        } finally {
+            pkg.revert();
+            workbook.delete();
+        }
+    }
+
+    @Test
+    public void shouldNotServeIndexOfOtherContentWithSameLengthAndDate() throws Exception {
+        // given
+        final File workbook = File.createTempFile("workbook-", ".xlsx");
+        write(workbook, "TDP - Epics", "TDP - Epics");
+        final long lastModified = workbook.lastModified();
+        final long length = workbook.length();
+        final SharedStringsIndex first = get(workbook);
+
+        // when
+        write(workbook, "TDP - Epics", "TDP - Epicz");
+        workbook.setLastModified(lastModified);
+        final SharedStringsIndex changed = get(workbook);
+
+        // then
+        try {
+            assertThat(workbook.length(), is(length));
+            assertThat(changed, not(sameInstance(first)));
+            assertThat(first.getEntryAt(0), is("TDP - Epics (Talend Open Integration Solution)"));
+            assertThat(changed.getEntryAt(0), is("TDP - Epicz (Talend Open Integration Solution)"));
+        } finally {
+            first.close();
+            changed.close();
+            workbook.delete();
+        }
+    }
+
+    @Test
+    public void shouldReleaseEvictedIndexOnceClosed() throws Exception {
+        // given
+        final File workbook = File.createTempFile("workbook-", ".xlsx");
+        write(workbook, "TDP - Epics", "TDP - Epics");
+        final SharedStringsIndex first = get(workbook);
+
+        // when
+        write(workbook, "TDP - Epics", "TDP - Epicz");
+        final SharedStringsIndex changed = get(workbook);
+
+        // then
+        try {
+            assertThat(first.isReleased(), is(false));
+            assertThat(first.getEntryAt(0), is("TDP - Epics (Talend Open Integration Solution)"));
+            first.close();
+            assertThat(first.isReleased(), is(true));
+            changed.close();
+            assertThat(changed.isReleased(), is(false));
+        } finally {
+            workbook.delete();
+        }
+    }
+
+    private static SharedStringsIndex get(File workbook) throws Exception {
+        final OPCPackage pkg = OPCPackage.open(workbook, PackageAccess.READ);
+        try {
+            return SharedStringsIndex.get(workbook, pkg);
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    /**
+     * Writes the TDP_Epics workbook with all its entries stored (not compressed), so replacing a shared string by
+     * another one of the same length keeps the same file length.
+     */
+    private static void write(File workbook, String target, String replacement) throws Exception {
+        try (ZipInputStream input = new ZipInputStream(
+                SharedStringsIndexTest.class.getResourceAsStream("../TDP_Epics.xlsx"));
+                ZipOutputStream output = new ZipOutputStream(new FileOutputStream(workbook))) {
+            ZipEntry entry;
+            while ((entry = input.getNextEntry()) != null) {
+                byte[] content = IOUtils.toByteArray(input);
+                if ("xl/sharedStrings.xml".equals(entry.getName())) {
+                    content = new String(content, UTF_8).replace(target, replacement).getBytes(UTF_8);
+                }
+                final CRC32 crc = new CRC32();
+                crc.update(content);
+                final ZipEntry stored = new ZipEntry(entry.getName());
+                stored.setMethod(ZipEntry.STORED);
+                stored.setTime(entry.getTime());
+                stored.setSize(content.length);
+                stored.setCompressedSize(content.length);
+                stored.setCrc(crc.getValue());
+                output.putNextEntry(stored);
+                output.write(content);
+                output.closeEntry();
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.api.action.dynamic.cluster;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.memory.MemoryTierContentCache;
+import org.talend.dataprep.parameters.Clusters;
+import org.talend.dataprep.parameters.Parameter;
+import org.talend.dataprep.transformation.api.action.dynamic.GenericParameter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class ClusterParametersTest {
+
+    private ContentCache delegate;
+
+    private ClusterParameters clusterParameters;
+
+    @Before
+    public void setUp() throws Exception {
+        delegate = mock(ContentCache.class);
+        when(delegate.put(any(), any())).thenAnswer(invocation -> new ByteArrayOutputStream());
+        clusterParameters = new ClusterParameters();
+        final ContentCache cache = new MemoryTierContentCache(delegate, 64 * 1024, 10000);
+        ReflectionTestUtils.setField(clusterParameters, "contentCache", cache);
+        ReflectionTestUtils.setField(clusterParameters, "mapper", new ObjectMapper());
+    }
+
+    @Test
+    public void shouldKeepMostFrequentValue() throws Exception {
+        // when
+        final List<List<String>> mostlyLowerCase = clusters(
+                clusterParameters.getParameters("0000", dataSet("Tata", "tata", "tata", "tata", "other")));
+        final List<List<String>> mostlyCapitalized = clusters(
+                clusterParameters.getParameters("0000", dataSet("Tata", "Tata", "Tata", "tata", "other")));
+
+        // then
+        assertEquals(1, mostlyLowerCase.size());
+        assertEquals("tata", mostlyLowerCase.get(0).get(0));
+        assertEquals(1, mostlyCapitalized.size());
+        assertEquals("Tata", mostlyCapitalized.get(0).get(0));
+    }
+
+    @Test
+    public void shouldServeSameClustersFromCache() throws Exception {
+        // given
+        final List<List<String>> analyzed = clusters(
+                clusterParameters.getParameters("0000", dataSet("Tata", "tata", "tata", "other")));
+
+        // when
+        final List<List<String>> cached = clusters(
+                clusterParameters.getParameters("0000", dataSet("tata", "other", "Tata", "tata")));
+
+        // then
+        assertEquals(analyzed, cached);
+        verify(delegate, times(1)).put(any(), any());
+    }
+
+    @Test
+    public void shouldNotServeClustersOfOtherContentFromCache() throws Exception {
+        // given
+        final List<List<String>> analyzed = clusters(
+                clusterParameters.getParameters("0000", dataSet("Tata", "tata", "tata", "other")));
+
+        // when
+        final List<List<String>> changed = clusters(
+                clusterParameters.getParameters("0000", dataSet("Tata", "Tata", "tata", "other")));
+
+        // then
+        assertEquals("tata", analyzed.get(0).get(0));
+        assertEquals("Tata", changed.get(0).get(0));
+        verify(delegate, times(2)).put(any(), any());
+    }
+
+    private static DataSet dataSet(String... values) {
+        final DataSet dataSet = new DataSet();
+        dataSet.setRecords(asList(values).stream().map(value -> new DataSetRow(singletonMap("0000", value))));
+        return dataSet;
+    }
+
+    /**
+     * @return the clusters of the parameter, each one as its replace value followed by its original values.
+     */
+    private static List<List<String>> clusters(GenericParameter parameter) {
+        return ((Clusters) parameter.getDetails()).getClusters().stream() //
+                .map(cluster -> {
+                    final List<String> values = new ArrayList<>();
+                    values.add(cluster.getReplace().getDefault());
+                    cluster.getParameters().stream().map(Parameter::getName).forEach(values::add);
+                    return values;
+                }) //
+                .collect(Collectors.toList());
+    }
+}
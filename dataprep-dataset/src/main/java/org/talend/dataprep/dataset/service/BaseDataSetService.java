@@ -28,6 +28,7 @@ import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.dataset.DataSetMetadataBuilder;
 import org.talend.dataprep.dataset.event.DataSetImportedEvent;
 import org.talend.dataprep.dataset.service.analysis.DataSetAnalyzer;
+import org.talend.dataprep.dataset.service.analysis.synchronous.SynchronousAnalysisRows;
 import org.talend.dataprep.dataset.service.analysis.synchronous.SynchronousDataSetAnalyzer;
 import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
@@ -58,6 +59,10 @@ public abstract class BaseDataSetService {
     @Autowired
     private List<SynchronousDataSetAnalyzer> synchronousAnalyzers;
 
+    /** Records shared by the synchronous analyzers (content is parsed once for all of them). */
+    @Autowired
+    private SynchronousAnalysisRows synchronousAnalysisRows;
+
     /**
      * Sort the synchronous analyzers.
      */
@@ -102,7 +107,7 @@ public abstract class BaseDataSetService {
             List<Class<? extends DataSetAnalyzer>> analysersToSkip) {
 
         // Calls all synchronous analysis first
-        try {
+        try (SynchronousAnalysisRows.Scope scope = synchronousAnalysisRows.open(id)) {
             for (SynchronousDataSetAnalyzer synchronousDataSetAnalyzer : synchronousAnalyzers) {
                 if (analysersToSkip.contains(synchronousDataSetAnalyzer.getClass())) {
                     continue;
@@ -49,6 +49,7 @@ import org.talend.dataprep.api.dataset.Import.ImportBuilder;
 import org.talend.dataprep.api.dataset.location.DataSetLocationService;
 import org.talend.dataprep.api.dataset.location.LocalStoreLocation;
 import org.talend.dataprep.api.dataset.location.locator.DataSetLocatorService;
+import org.talend.dataprep.api.dataset.row.BinaryDataSetFormat;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.dataset.row.FlagNames;
 import org.talend.dataprep.api.dataset.statistics.SemanticDomain;
@@ -64,6 +65,7 @@ import org.talend.dataprep.dataset.service.analysis.synchronous.ContentAnalysis;
 import org.talend.dataprep.dataset.service.analysis.synchronous.FormatAnalysis;
 import org.talend.dataprep.dataset.service.analysis.synchronous.SchemaAnalysis;
 import org.talend.dataprep.dataset.service.api.UpdateColumnParameters;
+import org.talend.dataprep.dataset.store.content.StreamOptions;
 import org.talend.dataprep.dataset.store.content.StrictlyBoundedInputStream;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.DataSetErrorCodes;
@@ -347,8 +349,9 @@ public class DataSetService extends BaseDataSetService {
      * @param dataSetId A data set id.
      * @return The full data set.
      */
-    @RequestMapping(value = "/datasets/{id}/content", method = RequestMethod.GET, produces = APPLICATION_JSON_VALUE)
-    @ApiOperation(value = "Get a data set by id", notes = "Get a data set content based on provided id. Id should be a UUID returned by the list operation. Not valid or non existing data set id returns empty content.")
+    @RequestMapping(value = "/datasets/{id}/content", method = RequestMethod.GET, produces = { APPLICATION_JSON_VALUE,
+            BinaryDataSetFormat.MEDIA_TYPE })
+    @ApiOperation(value = "Get a data set by id", notes = "Get a data set content based on provided id. Id should be a UUID returned by the list operation. Not valid or non existing data set id returns empty content. Content is JSON unless binary content is accepted.")
     @Timed
     @ResponseBody
     public Callable<DataSet> get(
@@ -1048,7 +1051,7 @@ public class DataSetService extends BaseDataSetService {
         LOG.debug("listing semantic categories for dataset #{} column #{}", datasetId, columnId);
 
         final DataSetMetadata metadata = dataSetMetadataRepository.get(datasetId);
-        try (final Stream<DataSetRow> records = contentStore.stream(metadata)) {
+        try (final Stream<DataSetRow> records = contentStore.stream(metadata, StreamOptions.RAW)) {
 
             final ColumnMetadata columnMetadata = metadata.getRowMetadata().getById(columnId);
             final Analyzer<Analyzers.Result> analyzer = analyzerService.build(columnMetadata, SEMANTIC);
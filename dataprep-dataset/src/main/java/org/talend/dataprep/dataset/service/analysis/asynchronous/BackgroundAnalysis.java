@@ -16,12 +16,14 @@ package org.talend.dataprep.dataset.service.analysis.asynchronous;
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_ANALYZE_DATASET_QUALITY;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
@@ -29,6 +31,7 @@ import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.dataset.service.analysis.DataSetAnalyzer;
 import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
+import org.talend.dataprep.dataset.store.content.StreamOptions;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.lock.DistributedLock;
@@ -38,7 +41,8 @@ import org.talend.dataquality.common.inference.Analyzers;
 import org.talend.dataquality.common.inference.ValueQualityStatistics;
 
 /**
- * Compute statistics analysis on the full dataset.
+ * Compute statistics analysis on the full dataset. Content is read once: all statistics are computed by a single
+ * analyzer, and base (schema) statistics of the first rows are saved on the way so that they are available early.
  */
 @Component
 public class BackgroundAnalysis {
@@ -62,6 +66,10 @@ public class BackgroundAnalysis {
     @Autowired
     StatisticsAdapter adapter;
 
+    /** Number of rows after which base statistics (schema) are published, before full statistics are available. */
+    @Value("${dataset.analysis.base.rows:10000}")
+    long baseAnalysisRows;
+
     /**
      * @see DataSetAnalyzer#analyze
      */
@@ -86,29 +94,33 @@ public class BackgroundAnalysis {
             if (columns.isEmpty()) {
                 LOGGER.debug("Skip statistics of {} (no column information).", metadata.getId());
             } else {
-                // base analysis
-                try (final Stream<DataSetRow> stream = store.stream(metadata)) {
-                    try (Analyzer<Analyzers.Result> analyzer = analyzerService.schemaAnalysis(columns)) {
-                        computeStatistics(analyzer, columns, stream);
-                        LOGGER.debug("Base statistics analysis done for{}", dataSetId);
-                        // Save base analysis
-                        saveAnalyzerResults(dataSetId, analyzer);
-                    }
-                } catch (Exception e) {
-                    LOGGER.warn("Base statistics analysis, dataset {} generates an error", dataSetId, e);
-                    throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
-                }
-                // advanced analysis
-                try (final Stream<DataSetRow> stream = store.stream(metadata)) {
-                    try (Analyzer<Analyzers.Result> analyzer = analyzerService.full(columns)) {
-                        computeStatistics(analyzer, columns, stream);
-                        updateNbRecords(metadata, analyzer.getResult());
-                        LOGGER.debug("Advanced statistics analysis done for{}", dataSetId);
-                        // Save advanced analysis
-                        saveAnalyzerResults(dataSetId, analyzer);
-                    }
+                // single pass: full analysis of all rows, base analysis published after the first rows
+                try (final Stream<DataSetRow> stream = store.stream(metadata, StreamOptions.RAW);
+                        Analyzer<Analyzers.Result> analyzer = analyzerService.schemaAndFull(columns);
+                        Analyzer<Analyzers.Result> baseAnalyzer = analyzerService.schemaAnalysis(columns)) {
+                    final AtomicLong rows = new AtomicLong();
+                    stream.map(row -> row.toArray(DataSetRow.SKIP_TDP_ID)).forEach(values -> {
+                        analyzer.analyze(values);
+                        final long count = rows.incrementAndGet();
+                        if (count <= baseAnalysisRows) {
+                            baseAnalyzer.analyze(values);
+                            if (count == baseAnalysisRows) {
+                                baseAnalyzer.end();
+                                LOGGER.debug("Base statistics analysis done for {} ({} rows)", dataSetId, count);
+                                // Save base analysis
+                                saveAnalyzerResults(dataSetId, baseAnalyzer);
+                            }
+                        }
+                    });
+                    analyzer.end();
+                    // Store results back in data set
+                    adapter.adapt(columns, analyzer.getResult());
+                    updateNbRecords(metadata, analyzer.getResult());
+                    LOGGER.debug("Advanced statistics analysis done for{}", dataSetId);
+                    // Save advanced analysis
+                    saveAnalyzerResults(dataSetId, analyzer);
                 } catch (Exception e) {
-                    LOGGER.warn("Advanced statistics analysis, dataset {} generates an error", dataSetId, e);
+                    LOGGER.warn("Statistics analysis, dataset {} generates an error", dataSetId, e);
                     throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
                 }
                 // Tag data set quality: now analyzed
@@ -164,21 +176,4 @@ public class BackgroundAnalysis {
         LOGGER.debug("nb records for {} is updated to {}", metadata.getId(), metadata.getContent().getNbRecords());
     }
 
-    /**
-     * Compute the statistics for the given dataset metadata and content.
-     *
-     * @param analyzer the analyzer to perform.
-     * @param columns the columns metadata.
-     * @param stream the content to compute the statistics from.
-     */
-    private void computeStatistics(final Analyzer<Analyzers.Result> analyzer, final List<ColumnMetadata> columns,
-            final Stream<DataSetRow> stream) {
-        // Create a content with the expected format for the StatisticsClientJson class
-        stream.map(row -> row.toArray(DataSetRow.SKIP_TDP_ID)).forEach(analyzer::analyze);
-        analyzer.end();
-
-        // Store results back in data set
-        adapter.adapt(columns, analyzer.getResult());
-    }
-
 }
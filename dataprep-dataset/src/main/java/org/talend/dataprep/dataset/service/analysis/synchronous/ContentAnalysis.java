@@ -14,8 +14,6 @@
 package org.talend.dataprep.dataset.service.analysis.synchronous;
 
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Stream;
 
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
@@ -25,9 +23,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.DataSetContent;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
-import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.dataset.service.analysis.DataSetAnalyzer;
-import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
 import org.talend.dataprep.lock.DistributedLock;
 import org.talend.dataprep.schema.csv.CSVFormatFamily;
@@ -49,9 +45,9 @@ public class ContentAnalysis implements SynchronousDataSetAnalyzer {
     @Autowired
     private DataSetMetadataRepository repository;
 
-    /** Dataset content store. */
+    /** Records read by synchronous analyzers. */
     @Autowired
-    private ContentStoreRouter contentStore;
+    private SynchronousAnalysisRows rows;
 
     /**
      * @see DataSetAnalyzer#analyze(String)
@@ -112,12 +108,8 @@ public class ContentAnalysis implements SynchronousDataSetAnalyzer {
      * @param metadata the dataset metadata to update.
      */
     private void updateLimit(DataSetMetadata metadata) {
-        // auto closable block is really important to make sure the stream is closed after the limit is set
-        try (final Stream<DataSetRow> stream = contentStore.stream(metadata)) {
-            final Optional<DataSetRow> firstAfterLimit = stream.skip(sizeLimit).findAny();
-            if (firstAfterLimit.isPresent()) {
-                metadata.getContent().setLimit(sizeLimit);
-            }
+        if (rows.hasMoreThan(metadata, sizeLimit)) {
+            metadata.getContent().setLimit(sizeLimit);
         }
     }
 
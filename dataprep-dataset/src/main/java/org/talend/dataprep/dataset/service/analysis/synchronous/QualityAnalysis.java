@@ -26,7 +26,6 @@ import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.dataset.StatisticsAdapter;
-import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
@@ -48,15 +47,15 @@ public class QualityAnalysis implements SynchronousDataSetAnalyzer {
     @Autowired
     DataSetMetadataRepository repository;
 
-    @Autowired
-    ContentStoreRouter store;
-
     @Autowired
     StatisticsAdapter adapter;
 
     @Autowired
     AnalyzerService analyzerService;
 
+    @Autowired
+    SynchronousAnalysisRows rows;
+
     /**
      * Analyse the dataset metadata quality.
      *
@@ -80,7 +79,7 @@ public class QualityAnalysis implements SynchronousDataSetAnalyzer {
                 LOGGER.debug("No need to recompute quality of data set #{} (statistics are completed).", dataSetId);
                 return;
             }
-            try (Stream<DataSetRow> stream = store.stream(metadata)) {
+            try {
                 if (!metadata.getLifecycle().schemaAnalyzed()) {
                     LOGGER.debug(
                             "Schema information must be computed before quality analysis can be performed, ignoring message");
@@ -94,7 +93,9 @@ public class QualityAnalysis implements SynchronousDataSetAnalyzer {
                 if (isNewDataSet || dataSetSize == maxRecord) {
                     // If data set size is maxRecord, performs a full scan, otherwise only take first maxRecord
                     // records.
-                    computeQuality(metadata, stream, dataSetSize == maxRecord ? -1 : maxRecord);
+                    try (Stream<String[]> records = rows.records(metadata, dataSetSize == maxRecord ? -1 : maxRecord)) {
+                        computeQuality(metadata, records);
+                    }
                 }
                 // Turn on / off "in progress" flag
                 if (isNewDataSet && metadata.getContent().getNbRecords() >= maxRecord) {
@@ -131,6 +132,22 @@ public class QualityAnalysis implements SynchronousDataSetAnalyzer {
      * @param limit indicates how many records will be read from stream. Use a number < 0 to perform a full scan of
      */
     public void computeQuality(DataSetMetadata dataset, Stream<DataSetRow> records, long limit) {
+        if (limit > 0) { // Only limit number of rows if limit > 0 (use limit to speed up sync analysis.
+            LOGGER.debug("Limit analysis to the first {}.", limit);
+            records = records.limit(limit);
+        } else {
+            LOGGER.debug("Performing full analysis.");
+        }
+        computeQuality(dataset, records.map(row -> row.toArray(DataSetRow.SKIP_TDP_ID)));
+    }
+
+    /**
+     * Compute the quality (count, valid, invalid and empty) of the given dataset.
+     *
+     * @param dataset the dataset metadata.
+     * @param records the dataset records values (without technical id).
+     */
+    private void computeQuality(DataSetMetadata dataset, Stream<String[]> records) {
         // Compute valid / invalid / empty count, need data types for analyzer first
         final List<ColumnMetadata> columns = dataset.getRowMetadata().getColumns();
         if (columns.isEmpty()) {
@@ -138,13 +155,7 @@ public class QualityAnalysis implements SynchronousDataSetAnalyzer {
             return;
         }
         try (Analyzer<Analyzers.Result> analyzer = analyzerService.qualityAnalysis(columns)) {
-            if (limit > 0) { // Only limit number of rows if limit > 0 (use limit to speed up sync analysis.
-                LOGGER.debug("Limit analysis to the first {}.", limit);
-                records = records.limit(limit);
-            } else {
-                LOGGER.debug("Performing full analysis.");
-            }
-            records.map(row -> row.toArray(DataSetRow.SKIP_TDP_ID)).forEach(analyzer::analyze);
+            records.forEach(analyzer::analyze);
             // Determine content size
             final List<Analyzers.Result> result = analyzer.getResult();
             adapter.adapt(columns, result);
@@ -23,9 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
-import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.dataset.StatisticsAdapter;
-import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.DataSetErrorCodes;
@@ -52,15 +50,15 @@ public class SchemaAnalysis implements SynchronousDataSetAnalyzer {
     @Autowired
     DataSetMetadataRepository repository;
 
-    @Autowired
-    ContentStoreRouter store;
-
     @Autowired
     StatisticsAdapter adapter;
 
     @Autowired
     AnalyzerService analyzerService;
 
+    @Autowired
+    SynchronousAnalysisRows rows;
+
     @Override
     public void analyze(String dataSetId) {
         if (StringUtils.isEmpty(dataSetId)) {
@@ -75,13 +73,13 @@ public class SchemaAnalysis implements SynchronousDataSetAnalyzer {
                 return;
             }
             // Schema analysis
-            try (Stream<DataSetRow> stream = store.stream(metadata, 100)) {
+            try (Stream<String[]> stream = rows.records(metadata, 100)) {
                 LOGGER.info("Analyzing schema in dataset #{}...", dataSetId);
                 // Configure analyzers
                 final List<ColumnMetadata> columns = metadata.getRowMetadata().getColumns();
                 try (Analyzer<Analyzers.Result> analyzer = analyzerService.schemaAnalysis(columns)) {
                     // Determine schema for the content.
-                    stream.limit(100).map(row -> row.toArray(DataSetRow.SKIP_TDP_ID)).forEach(analyzer::analyze);
+                    stream.forEach(analyzer::analyze);
 
                     // Find the best suitable type
                     adapter.adapt(columns, analyzer.getResult());
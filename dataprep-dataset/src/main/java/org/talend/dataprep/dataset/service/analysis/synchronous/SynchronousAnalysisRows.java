@@ -0,0 +1,197 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.service.analysis.synchronous;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
+import org.talend.dataprep.dataset.store.content.StreamOptions;
+
+/**
+ * <p>
+ * Records read by the synchronous analyzers. Schema, content and quality analyses all read the first records of the
+ * data set content: while the synchronous analysis of a data set is {@link #open(String) in progress}, its content is
+ * parsed once and shared by these analyzers. Content is read as analyzers need it: first records are kept for the
+ * following analyzers, later ones are only counted.
+ * </p>
+ * <p>
+ * Content is read again if its layout (columns, header or footer size) changes during the analysis. Out of a
+ * synchronous analysis (e.g. an analyzer called on its own), records are read from the content store.
+ * </p>
+ */
+@Component
+public class SynchronousAnalysisRows {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SynchronousAnalysisRows.class);
+
+    /** Number of records to keep (the records read by the quality analysis). */
+    @Value("#{'${max_records:2000}'}")
+    private int maxRecords = 2000;
+
+    /** Dataset content store. */
+    @Autowired
+    private ContentStoreRouter store;
+
+    /** The records of the data set being analyzed by the current thread. */
+    private final ThreadLocal<Records> current = new ThreadLocal<>();
+
+    /**
+     * Starts the synchronous analysis of a data set: its records are shared until returned scope is closed.
+     *
+     * @param dataSetId The data set id.
+     * @return The analysis scope, to close once analysis is over.
+     */
+    public Scope open(String dataSetId) {
+        final Records records = new Records(dataSetId);
+        current.set(records);
+        return () -> {
+            current.remove();
+            records.close();
+        };
+    }
+
+    /**
+     * @param metadata The data set metadata.
+     * @param limit The maximum number of records to read (a number < 0 to read all records).
+     * @return The first <code>limit</code> records of the data set (values without technical id, in columns order).
+     */
+    Stream<String[]> records(DataSetMetadata metadata, long limit) {
+        final Optional<Records> shared = get(metadata);
+        if (shared.isPresent() && limit >= 0 && limit <= maxRecords) {
+            final Records records = shared.get();
+            records.readUpTo(limit);
+            return records.values.subList(0, (int) Math.min(limit, records.values.size())).stream();
+        }
+        final Stream<DataSetRow> stream = limit < 0 ? store.stream(metadata, StreamOptions.RAW)
+                : store.stream(metadata, limit, StreamOptions.RAW).limit(limit);
+        return stream.map(row -> row.toArray(DataSetRow.SKIP_TDP_ID));
+    }
+
+    /**
+     * @param metadata The data set metadata.
+     * @param count A number of records.
+     * @return <code>true</code> if data set has more than <code>count</code> records.
+     */
+    boolean hasMoreThan(DataSetMetadata metadata, long count) {
+        final Optional<Records> shared = get(metadata);
+        if (shared.isPresent()) {
+            final Records records = shared.get();
+            records.readUpTo(count + 1);
+            return records.count > count;
+        }
+        try (Stream<DataSetRow> stream = store.stream(metadata, StreamOptions.RAW)) {
+            return stream.skip(count).findAny().isPresent();
+        }
+    }
+
+    /**
+     * @param metadata The data set metadata.
+     * @return The shared records of the data set, or empty if the data set is not being analyzed.
+     */
+    private Optional<Records> get(DataSetMetadata metadata) {
+        final Records records = current.get();
+        if (records == null || !records.dataSetId.equals(metadata.getId())) {
+            return Optional.empty();
+        }
+        final String layout = metadata.getRowMetadata().getColumns().stream() //
+                .map(ColumnMetadata::getId) //
+                .collect(Collectors.joining(",", "[", "]")) //
+                + metadata.getContent().getNbLinesInHeader() + '/' + metadata.getContent().getNbLinesInFooter();
+        if (!layout.equals(records.layout)) {
+            // First read or content layout changed (e.g. header size set by content analysis): read content again
+            records.open(metadata, layout);
+        }
+        return Optional.of(records);
+    }
+
+    /**
+     * The analysis scope (closing it doesn't throw checked exceptions).
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    /**
+     * Records of a data set, read on demand from a single content stream.
+     */
+    private class Records {
+
+        private final String dataSetId;
+
+        /** Columns and header / footer sizes of the content being read (null if not read yet). */
+        private String layout;
+
+        /** The content being read. */
+        private Stream<DataSetRow> stream;
+
+        private Iterator<DataSetRow> iterator;
+
+        /** The first {@link #maxRecords} records. */
+        private List<String[]> values = new ArrayList<>();
+
+        /** The number of records read so far. */
+        private long count;
+
+        private Records(String dataSetId) {
+            this.dataSetId = dataSetId;
+        }
+
+        private void open(DataSetMetadata metadata, String layout) {
+            close();
+            this.layout = layout;
+            this.stream = store.stream(metadata, StreamOptions.RAW);
+            this.iterator = stream.iterator();
+            this.values = new ArrayList<>();
+            this.count = 0;
+        }
+
+        /**
+         * Reads content until <code>expected</code> records are read (or content is over).
+         */
+        private void readUpTo(long expected) {
+            while (count < expected && iterator.hasNext()) {
+                final DataSetRow row = iterator.next();
+                if (count < maxRecords) {
+                    values.add(row.toArray(DataSetRow.SKIP_TDP_ID));
+                }
+                count++;
+            }
+        }
+
+        private void close() {
+            if (stream != null) {
+                LOGGER.debug("Read {} records of data set #{} for synchronous analysis.", count, dataSetId);
+                stream.close();
+                stream = null;
+            }
+        }
+    }
+}
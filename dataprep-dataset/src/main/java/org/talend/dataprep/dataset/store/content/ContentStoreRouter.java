@@ -50,6 +50,7 @@ public class ContentStoreRouter extends DataSetContentStore {
     public void storeAsRaw(DataSetMetadata dataSetMetadata, InputStream dataSetContent) {
         DataSetContentStore target = wrapStore(dataSetMetadata);
         target.storeAsRaw(dataSetMetadata, dataSetContent);
+        evictInvalidCells(dataSetMetadata);
     }
 
     /**
@@ -89,6 +90,7 @@ public class ContentStoreRouter extends DataSetContentStore {
     public void delete(DataSetMetadata dataSetMetadata) {
         DataSetContentStore target = wrapStore(dataSetMetadata);
         target.delete(dataSetMetadata);
+        evictInvalidCells(dataSetMetadata);
     }
 
     @Override
@@ -97,6 +99,24 @@ public class ContentStoreRouter extends DataSetContentStore {
         return target.stream(dataSetMetadata);
     }
 
+    @Override
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.stream(dataSetMetadata, limit);
+    }
+
+    @Override
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, StreamOptions options) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.stream(dataSetMetadata, options);
+    }
+
+    @Override
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit, StreamOptions options) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.stream(dataSetMetadata, limit, options);
+    }
+
     /**
      * @see DataSetContentStore#clear()
      */
@@ -105,6 +125,20 @@ public class ContentStoreRouter extends DataSetContentStore {
         // find the local store and clear it
         DataSetContentStore target = getLocalContentStore();
         target.clear();
+        if (invalidCells != null) {
+            invalidCells.clear();
+        }
+    }
+
+    /**
+     * Evicts cached invalid cells of a data set whose content changed.
+     *
+     * @param dataSetMetadata the dataset metadata.
+     */
+    private void evictInvalidCells(DataSetMetadata dataSetMetadata) {
+        if (invalidCells != null) {
+            invalidCells.evict(dataSetMetadata.getId());
+        }
     }
 
     /**
@@ -0,0 +1,82 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content.columnar;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * <p>
+ * Constants and low level encoding helpers for the columnar data set content format. A columnar content is laid out
+ * as:
+ * </p>
+ * <ul>
+ * <li>A header: magic number, format version, a signature of the metadata used to parse the raw content and the
+ * column ids.</li>
+ * <li>A sequence of row groups: the number of rows in the group, then for each column a dictionary of the distinct
+ * values in the group followed by one dictionary index per row (0 meaning <code>null</code>).</li>
+ * <li>A row group with 0 rows marks the end of content.</li>
+ * </ul>
+ * All integers except the magic number are written as unsigned variable length integers.
+ */
+final class ColumnarFormat {
+
+    /** Magic number at the beginning of every columnar content ("TDPC"). */
+    static final int MAGIC = 0x54445043;
+
+    /** Current version of the format. */
+    static final int VERSION = 1;
+
+    /** Default number of rows in a row group. */
+    static final int DEFAULT_ROW_GROUP_SIZE = 4096;
+
+    private ColumnarFormat() {
+    }
+
+    static void writeVarInt(DataOutput output, int value) throws IOException {
+        int current = value;
+        while ((current & ~0x7F) != 0) {
+            output.writeByte((current & 0x7F) | 0x80);
+            current >>>= 7;
+        }
+        output.writeByte(current);
+    }
+
+    static int readVarInt(DataInput input) throws IOException {
+        int value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = input.readByte();
+            value |= (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+
+    static void writeString(DataOutput output, String value) throws IOException {
+        final byte[] bytes = value.getBytes(UTF_8);
+        writeVarInt(output, bytes.length);
+        output.write(bytes);
+    }
+
+    static String readString(DataInput input) throws IOException {
+        final byte[] bytes = new byte[readVarInt(input)];
+        input.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
@@ -0,0 +1,148 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content.columnar;
+
+import static org.talend.dataprep.dataset.store.content.columnar.ColumnarFormat.*;
+
+import java.io.*;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * Iterator of dataset rows read from content in the columnar format (see {@link ColumnarFormat}). As
+ * {@link org.talend.dataprep.api.dataset.json.DataSetRowIterator}, the same {@link DataSetRow} instance is cleaned and
+ * reused at each iteration.
+ */
+public class ColumnarRowIterator implements Iterator<DataSetRow>, Closeable {
+
+    private final DataInputStream input;
+
+    private final String signature;
+
+    private final String[] columnIds;
+
+    private final DataSetRow row = new DataSetRow(new RowMetadata());
+
+    private final long limit;
+
+    private long read;
+
+    /** Dictionaries of the current row group (one per column). */
+    private String[][] dictionaries;
+
+    /** Dictionary indexes of the current row group (one array per column, 0 means null). */
+    private int[][] indexes;
+
+    private int groupSize;
+
+    private int groupPosition;
+
+    private boolean end;
+
+    /**
+     * @param input The columnar content.
+     * @param limit Maximum number of rows to return (use -1 for "no limit").
+     * @throws IOException If content can't be read or isn't in expected format.
+     */
+    public ColumnarRowIterator(InputStream input, long limit) throws IOException {
+        this.input = new DataInputStream(new BufferedInputStream(input));
+        this.limit = limit;
+        if (this.input.readInt() != MAGIC) {
+            throw new IOException("Content is not in columnar format.");
+        }
+        final int version = readVarInt(this.input);
+        if (version != VERSION) {
+            throw new IOException("Unsupported columnar format version " + version + ".");
+        }
+        this.signature = readString(this.input);
+        this.columnIds = new String[readVarInt(this.input)];
+        for (int i = 0; i < columnIds.length; i++) {
+            columnIds[i] = readString(this.input);
+        }
+    }
+
+    /**
+     * @return The signature of the metadata that was used to write this content.
+     */
+    public String getSignature() {
+        return signature;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (end || (limit > 0 && read >= limit)) {
+            return false;
+        }
+        if (groupPosition < groupSize) {
+            return true;
+        }
+        try {
+            readRowGroup();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return !end;
+    }
+
+    @Override
+    public DataSetRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        row.clear();
+        for (int i = 0; i < columnIds.length; i++) {
+            final int index = indexes[i][groupPosition];
+            if (index > 0) {
+                row.set(columnIds[i], dictionaries[i][index - 1]);
+            }
+        }
+        groupPosition++;
+        read++;
+        return row;
+    }
+
+    private void readRowGroup() throws IOException {
+        groupSize = readVarInt(input);
+        groupPosition = 0;
+        if (groupSize == 0) {
+            end = true;
+            return;
+        }
+        if (dictionaries == null) {
+            dictionaries = new String[columnIds.length][];
+            indexes = new int[columnIds.length][];
+        }
+        for (int i = 0; i < columnIds.length; i++) {
+            final String[] dictionary = new String[readVarInt(input)];
+            for (int j = 0; j < dictionary.length; j++) {
+                dictionary[j] = readString(input);
+            }
+            dictionaries[i] = dictionary;
+            if (indexes[i] == null || indexes[i].length < groupSize) {
+                indexes[i] = new int[groupSize];
+            }
+            for (int row = 0; row < groupSize; row++) {
+                indexes[i][row] = readVarInt(input);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
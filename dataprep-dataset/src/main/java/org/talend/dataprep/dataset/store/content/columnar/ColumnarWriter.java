@@ -0,0 +1,146 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content.columnar;
+
+import static org.talend.dataprep.dataset.store.content.columnar.ColumnarFormat.*;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * Writes {@link DataSetRow rows} in the columnar format described in {@link ColumnarFormat}. Rows are buffered in
+ * memory until a row group is complete, so callers must {@link #close()} the writer to flush the last group.
+ */
+public class ColumnarWriter implements Closeable {
+
+    private final DataOutputStream output;
+
+    private final String[] columnIds;
+
+    private final int rowGroupSize;
+
+    /** Values of the current row group, indexed by column then by row. */
+    private final String[][] buffer;
+
+    private int rowCount;
+
+    /**
+     * Create a writer with the default row group size.
+     *
+     * @param output Where to write content.
+     * @param signature A signature of the metadata used to read the content being written.
+     * @param columnIds The column ids, in the order they are stored.
+     * @throws IOException In case header can't be written.
+     */
+    public ColumnarWriter(OutputStream output, String signature, List<String> columnIds) throws IOException {
+        this(output, signature, columnIds, DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    /**
+     * @param output Where to write content.
+     * @param signature A signature of the metadata used to read the content being written.
+     * @param columnIds The column ids, in the order they are stored.
+     * @param rowGroupSize The number of rows in each row group.
+     * @throws IOException In case header can't be written.
+     */
+    public ColumnarWriter(OutputStream output, String signature, List<String> columnIds, int rowGroupSize)
+            throws IOException {
+        if (rowGroupSize <= 0) {
+            throw new IllegalArgumentException("Row group size must be > 0.");
+        }
+        this.output = new DataOutputStream(new BufferedOutputStream(output));
+        this.columnIds = columnIds.toArray(new String[columnIds.size()]);
+        this.rowGroupSize = rowGroupSize;
+        this.buffer = new String[this.columnIds.length][rowGroupSize];
+        // Header
+        this.output.writeInt(MAGIC);
+        writeVarInt(this.output, VERSION);
+        writeString(this.output, signature);
+        writeVarInt(this.output, this.columnIds.length);
+        for (String columnId : this.columnIds) {
+            writeString(this.output, columnId);
+        }
+    }
+
+    /**
+     * Add a row to the content.
+     *
+     * @param row The row to write, only values of the columns declared at creation are written.
+     * @throws IOException In case content can't be written.
+     */
+    public void write(DataSetRow row) throws IOException {
+        for (int i = 0; i < columnIds.length; i++) {
+            buffer[i][rowCount] = row.get(columnIds[i]);
+        }
+        rowCount++;
+        if (rowCount == rowGroupSize) {
+            flushRowGroup();
+        }
+    }
+
+    private void flushRowGroup() throws IOException {
+        writeVarInt(output, rowCount);
+        final Map<String, Integer> dictionary = new HashMap<>();
+        final int[] indexes = new int[rowCount];
+        for (String[] column : buffer) {
+            dictionary.clear();
+            for (int row = 0; row < rowCount; row++) {
+                final String value = column[row];
+                if (value == null) {
+                    indexes[row] = 0;
+                } else {
+                    Integer index = dictionary.get(value);
+                    if (index == null) {
+                        index = dictionary.size() + 1;
+                        dictionary.put(value, index);
+                    }
+                    indexes[row] = index;
+                }
+                column[row] = null;
+            }
+            final String[] entries = new String[dictionary.size()];
+            dictionary.forEach((value, index) -> entries[index - 1] = value);
+            writeVarInt(output, entries.length);
+            for (String entry : entries) {
+                writeString(output, entry);
+            }
+            for (int row = 0; row < rowCount; row++) {
+                writeVarInt(output, indexes[row]);
+            }
+        }
+        rowCount = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (rowCount > 0) {
+                flushRowGroup();
+            }
+            // Empty row group marks end of content
+            writeVarInt(output, 0);
+            output.flush();
+        } finally {
+            output.close();
+        }
+    }
+}
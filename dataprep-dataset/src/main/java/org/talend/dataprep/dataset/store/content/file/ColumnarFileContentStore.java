@@ -0,0 +1,278 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content.file;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Resource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.talend.daikon.content.ContentServiceEnabled;
+import org.talend.daikon.content.DeletableResource;
+import org.talend.daikon.content.ResourceResolver;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetContent;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.dataset.store.content.columnar.ColumnarRowIterator;
+import org.talend.dataprep.dataset.store.content.columnar.ColumnarWriter;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.util.ReentrantReadWriteLockGroup;
+
+/**
+ * <p>
+ * Local dataset content that stores raw content in files (as {@link LocalFileContentStore}) and keeps next to it a
+ * columnar binary copy of the parsed content. Rows are then read from the columnar copy instead of parsing the raw
+ * content with the format family serializer on every read.
+ * </p>
+ * <p>
+ * The columnar copy is built once, in background, after first read of a data set whose schema is analyzed: reads
+ * use raw content until the copy exists. It is tagged with a signature of the metadata used to parse raw content
+ * (format, encoding, parameters, columns...) and rebuilt if this metadata changes. Raw content is kept for re-import
+ * and {@link #getAsRaw(DataSetMetadata, long)}.
+ * </p>
+ */
+@Component("ContentStore#local")
+@ConditionalOnBean(ContentServiceEnabled.class)
+@ConditionalOnProperty(name = "content-service.store.local.format", havingValue = "columnar")
+public class ColumnarFileContentStore extends LocalFileContentStore {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ColumnarFileContentStore.class);
+
+    private static final String COLUMNAR_ROOT = ROOT + "columnar/";
+
+    /** Prevents concurrent conversions of the same data set and deletion of columnar content while it's opened. */
+    private final ReentrantReadWriteLockGroup locks = new ReentrantReadWriteLockGroup(true, 100);
+
+    /** Ids of the data sets being (or about to be) converted. */
+    private final Set<String> conversions = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    private ResourceResolver resolver;
+
+    /** Runs the conversions to columnar content. */
+    @Resource(name = "columnar#executor")
+    private TaskExecutor executor;
+
+    private DeletableResource getColumnarResource(DataSetMetadata dataSetMetadata) {
+        return resolver.getResource(COLUMNAR_ROOT + dataSetMetadata.getId());
+    }
+
+    @Override
+    public void storeAsRaw(DataSetMetadata dataSetMetadata, InputStream dataSetContent) {
+        final Lock lock = locks.getLock(dataSetMetadata.getId()).writeLock();
+        lock.lock();
+        try {
+            deleteColumnar(dataSetMetadata);
+            super.storeAsRaw(dataSetMetadata, dataSetContent);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(DataSetMetadata dataSetMetadata) {
+        super.delete(dataSetMetadata);
+        deleteColumnar(dataSetMetadata);
+    }
+
+    @Override
+    protected Stream<DataSetRow> rows(DataSetMetadata dataSetMetadata, long limit) {
+        if (!isReadyForColumnar(dataSetMetadata)) {
+            return super.rows(dataSetMetadata, limit);
+        }
+        final String signature = signature(dataSetMetadata);
+        final ColumnarRowIterator rowIterator = open(dataSetMetadata, signature, limit);
+        if (rowIterator == null) {
+            // Don't make readers wait for conversion: read raw content until columnar content exists
+            convertLater(dataSetMetadata, signature);
+            return super.rows(dataSetMetadata, limit);
+        }
+        final Iterable<DataSetRow> rowIterable = () -> rowIterator;
+        return StreamSupport.stream(rowIterable.spliterator(), false).onClose(() -> {
+            try {
+                rowIterator.close();
+            } catch (IOException e) {
+                throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+            }
+        });
+    }
+
+    /**
+     * Columnar content is only built once the columns are known (schema analyzed) and for non draft data sets.
+     */
+    private static boolean isReadyForColumnar(DataSetMetadata dataSetMetadata) {
+        return !dataSetMetadata.isDraft() //
+                && dataSetMetadata.getLifecycle().schemaAnalyzed() //
+                && dataSetMetadata.getContent().getFormatFamilyId() != null;
+    }
+
+    /**
+     * Computes a signature of all the metadata that affects how raw content is parsed into rows.
+     */
+    private static String signature(DataSetMetadata dataSetMetadata) {
+        final DataSetContent content = dataSetMetadata.getContent();
+        return content.getFormatFamilyId() //
+                + '|' + dataSetMetadata.getEncoding() //
+                + '|' + dataSetMetadata.getSheetName() //
+                + '|' + content.getNbLinesInHeader() //
+                + '|' + content.getNbLinesInFooter() //
+                + '|' + (content.getParameters() == null ? "" : new TreeMap<>(content.getParameters())) //
+                + '|' + columnIds(dataSetMetadata).stream().collect(joining(","));
+    }
+
+    private static List<String> columnIds(DataSetMetadata dataSetMetadata) {
+        return dataSetMetadata.getRowMetadata().getColumns().stream() //
+                .map(ColumnMetadata::getId) //
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Opens the columnar content of the data set.
+     *
+     * @return The columnar content or <code>null</code> if it doesn't exist or is outdated.
+     */
+    private ColumnarRowIterator open(DataSetMetadata dataSetMetadata, String signature, long limit) {
+        ColumnarRowIterator iterator = null;
+        // Once opened, content remains readable even if columnar content is replaced or deleted
+        final Lock lock = locks.getLock(dataSetMetadata.getId()).readLock();
+        lock.lock();
+        try {
+            final DeletableResource resource = getColumnarResource(dataSetMetadata);
+            if (!resource.exists()) {
+                return null;
+            }
+            iterator = new ColumnarRowIterator(resource.getInputStream(), limit);
+            if (signature.equals(iterator.getSignature())) {
+                return iterator;
+            }
+            LOGGER.debug("Columnar content of data set #{} is outdated.", dataSetMetadata.getId());
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read columnar content of data set #{}.", dataSetMetadata.getId(), e);
+        } finally {
+            lock.unlock();
+        }
+        try {
+            if (iterator != null) {
+                iterator.close();
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Unable to close columnar content of data set #{}.", dataSetMetadata.getId(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Schedules the conversion of the data set to columnar content, unless it's already scheduled.
+     */
+    private void convertLater(DataSetMetadata dataSetMetadata, String signature) {
+        final String id = dataSetMetadata.getId();
+        if (!conversions.add(id)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    convert(dataSetMetadata, signature);
+                } finally {
+                    conversions.remove(id);
+                }
+            });
+        } catch (RuntimeException e) {
+            conversions.remove(id);
+            LOGGER.debug("Unable to schedule conversion of data set #{} to columnar content.", id, e);
+        }
+    }
+
+    /**
+     * Parses the whole raw content and writes it as columnar content. Content is written to a temporary resource then
+     * moved so concurrent readers never see partial content.
+     */
+    private void convert(DataSetMetadata dataSetMetadata, String signature) {
+        final Lock lock = locks.getLock(dataSetMetadata.getId()).writeLock();
+        lock.lock();
+        DeletableResource temporary = null;
+        try {
+            // Content may have been converted by a previous conversion
+            final ColumnarRowIterator existing = open(dataSetMetadata, signature, -1);
+            if (existing != null) {
+                existing.close();
+                return;
+            }
+            LOGGER.debug("Converting data set #{} to columnar content...", dataSetMetadata.getId());
+            final long start = System.currentTimeMillis();
+            temporary = resolver.getResource(COLUMNAR_ROOT + dataSetMetadata.getId() + '.' + UUID.randomUUID());
+            try (Stream<DataSetRow> rows = super.rows(dataSetMetadata, -1);
+                    OutputStream output = temporary.getOutputStream();
+                    ColumnarWriter writer = new ColumnarWriter(output, signature, columnIds(dataSetMetadata))) {
+                for (DataSetRow row : (Iterable<DataSetRow>) rows::iterator) {
+                    writer.write(row);
+                }
+            }
+            temporary.move(COLUMNAR_ROOT + dataSetMetadata.getId());
+            temporary = null;
+            LOGGER.debug("Data set #{} converted to columnar content in {} ms.", dataSetMetadata.getId(),
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            LOGGER.warn("Unable to convert data set #{} to columnar content.", dataSetMetadata.getId(), e);
+            deleteQuietly(temporary, dataSetMetadata);
+            deleteQuietly(getColumnarResource(dataSetMetadata), dataSetMetadata);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the columnar content of the data set (and only this one: other data set ids may start with this id).
+     */
+    private void deleteColumnar(DataSetMetadata dataSetMetadata) {
+        final Lock lock = locks.getLock(dataSetMetadata.getId()).writeLock();
+        lock.lock();
+        try {
+            deleteQuietly(getColumnarResource(dataSetMetadata), dataSetMetadata);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void deleteQuietly(DeletableResource resource, DataSetMetadata dataSetMetadata) {
+        try {
+            if (resource != null && resource.exists()) {
+                resource.delete();
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to delete columnar content of data set #{}.", dataSetMetadata.getId(), e);
+        }
+    }
+}
@@ -14,13 +14,17 @@ package org.talend.dataprep.dataset.store.content.file;
 
 import static org.talend.daikon.exception.ExceptionContext.build;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
 import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.talend.daikon.content.ContentServiceEnabled;
 import org.talend.daikon.content.DeletableResource;
@@ -29,15 +33,20 @@ import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.dataset.store.content.DataSetContentStore;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.DataSetErrorCodes;
+import org.talend.dataprep.io.LocalFileInputStream;
 
 /**
  * Local dataset content that stores content in files.
  */
 @Component("ContentStore#local")
 @ConditionalOnBean(ContentServiceEnabled.class)
+@ConditionalOnProperty(name = "content-service.store.local.format", havingValue = "raw", matchIfMissing = true)
 public class LocalFileContentStore extends DataSetContentStore {
 
-    private static final String ROOT = "/store/datasets/content/dataset/";
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalFileContentStore.class);
+
+    static final String ROOT = "/store/datasets/content/dataset/";
 
     @Autowired
     private ResourceResolver resolver;
@@ -61,7 +70,15 @@ public class LocalFileContentStore extends DataSetContentStore {
     public InputStream getAsRaw(DataSetMetadata dataSetMetadata, long limit) {
         final DeletableResource resource = getResource(dataSetMetadata);
         try {
-            return resource.getInputStream();
+            final File file;
+            try {
+                file = resource.getFile();
+            } catch (IOException e) {
+                LOGGER.debug("Content of data set #{} is not a local file.", dataSetMetadata.getId(), e);
+                return resource.getInputStream();
+            }
+            // Let serializers open the stored file directly (e.g. XLSX doesn't need a temporary copy)
+            return new LocalFileInputStream(file);
         } catch (IOException e) {
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_READ_DATASET_CONTENT, e);
         }
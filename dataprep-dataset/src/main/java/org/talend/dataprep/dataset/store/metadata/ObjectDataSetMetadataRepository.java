@@ -3,6 +3,8 @@ package org.talend.dataprep.dataset.store.metadata;
 import static org.talend.dataprep.util.SortAndOrderHelper.getDataSetMetadataComparator;
 
 import java.util.Comparator;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -10,22 +12,82 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.filter.ObjectPredicateVisitor;
+import org.talend.dataprep.filter.SecondaryIndexes;
 import org.talend.dataprep.lock.DistributedLock;
 import org.talend.dataprep.util.SortAndOrderHelper.Order;
 import org.talend.dataprep.util.SortAndOrderHelper.Sort;
 import org.talend.tql.parser.Tql;
 
+/**
+ * A {@link DataSetMetadataRepository} that evaluates TQL filters on stored metadata. Filters are planned using
+ * {@link SecondaryIndexes indexes} on commonly queried fields (id, name, author, lastModificationDate), only filters on
+ * other fields need to go through all stored metadata.
+ * <p>
+ * Implementations must call {@link #updateIndexes(DataSetMetadata)}, {@link #removeFromIndexes(String)} and
+ * {@link #clearIndexes()} when content changes.
+ * </p>
+ */
 public abstract class ObjectDataSetMetadataRepository extends DataSetMetadataRepositoryAdapter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ObjectDataSetMetadataRepository.class);
 
+    private final SecondaryIndexes<DataSetMetadata> indexes = new SecondaryIndexes<>(DataSetMetadata::getId) //
+            .on("name", DataSetMetadata::getName) //
+            .on("author", DataSetMetadata::getAuthor) //
+            .on("lastModificationDate", DataSetMetadata::getLastModificationDate);
+
     protected abstract Stream<DataSetMetadata> source();
 
+    /**
+     * Returns the stored metadata among <code>ids</code>, in the same order as {@link #source()}. Implementations may
+     * override this method to avoid reading metadata that is not in <code>ids</code>.
+     *
+     * @param ids The ids of the wanted metadata.
+     * @return The stored metadata with one of the given ids.
+     */
+    protected Stream<DataSetMetadata> source(Set<String> ids) {
+        return source().filter(m -> ids.contains(m.getId()));
+    }
+
     @Override
     public boolean exist(String filter) {
+        return matching(filter).findAny().isPresent();
+    }
+
+    private Stream<DataSetMetadata> matching(String filter) {
         final Predicate<Object> accept = (Predicate<Object>) Tql.parse(filter)
                 .accept(new ObjectPredicateVisitor(DataSetMetadata.class));
-        return source().filter(accept).findAny().isPresent();
+        final Optional<Set<String>> candidates = indexes.candidates(filter, this::source);
+        if (candidates.isPresent()) {
+            // keep repository order (candidates are not ordered)
+            return source(candidates.get()).filter(accept);
+        }
+        return source().filter(accept);
+    }
+
+    /**
+     * Updates indexes for saved metadata.
+     *
+     * @param metadata The saved metadata.
+     */
+    protected void updateIndexes(DataSetMetadata metadata) {
+        indexes.add(metadata);
+    }
+
+    /**
+     * Updates indexes for removed metadata.
+     *
+     * @param id The removed metadata id.
+     */
+    protected void removeFromIndexes(String id) {
+        indexes.remove(id);
+    }
+
+    /**
+     * Clears all indexes (indexes are built again on next use).
+     */
+    protected void clearIndexes() {
+        indexes.clear();
     }
 
     @Override
@@ -35,9 +97,7 @@ public abstract class ObjectDataSetMetadataRepository extends DataSetMetadataRep
 
     @Override
     public Stream<DataSetMetadata> list(String filter, Sort sortField, Order sortDirection) {
-        final Predicate<Object> accept = (Predicate<Object>) Tql.parse(filter)
-                .accept(new ObjectPredicateVisitor(DataSetMetadata.class));
-        final Stream<DataSetMetadata> stream = source().filter(accept);
+        final Stream<DataSetMetadata> stream = matching(filter);
         if (sortField != null) {
             final Comparator<DataSetMetadata> dataSetMetadataComparator = getDataSetMetadataComparator(sortField, sortDirection);
             return stream.sorted(dataSetMetadataComparator);
@@ -19,6 +19,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.Set;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
@@ -88,6 +89,7 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
         lock.writeLock().lock();
         try (GZIPOutputStream output = new GZIPOutputStream(new FileOutputStream(file))) {
             mapper.writer().writeValue(output, metadata);
+            updateIndexes(metadata);
         } catch (IOException e) {
             LOG.error("Error saving {}", metadata, e);
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_STORE_DATASET_METADATA, e,  ExceptionContext.build().put("id", metadata.getId()));
@@ -131,6 +133,7 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
     public void remove(String id) {
         final File file = getFile(id);
         FilesHelper.deleteQuietly(file);
+        removeFromIndexes(id);
         LOG.debug("metadata {} successfully deleted", id);
     }
 
@@ -145,6 +148,21 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
         return Arrays.stream(files).map(f -> get(f.getName())).filter(m -> m != null);
     }
 
+    /**
+     * Only reads the files of the wanted metadata.
+     */
+    @Override
+    protected Stream<DataSetMetadata> source(Set<String> ids) {
+        final File[] files = getRootFolder().listFiles();
+        if (files == null) {
+            return Stream.empty();
+        }
+        return Arrays.stream(files) //
+                .filter(f -> ids.contains(f.getName())) //
+                .map(f -> get(f.getName())) //
+                .filter(m -> m != null);
+    }
+
     /**
      * Return the file that matches the given metadata id.
      *
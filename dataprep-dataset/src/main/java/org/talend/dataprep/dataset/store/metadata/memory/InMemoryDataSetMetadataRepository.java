@@ -62,6 +62,7 @@ public class InMemoryDataSetMetadataRepository extends ObjectDataSetMetadataRepo
     @Override
     public void save(DataSetMetadata dataSetMetadata) {
         store.put(dataSetMetadata.getId(), dataSetMetadata);
+        updateIndexes(dataSetMetadata);
     }
 
     /**
@@ -107,6 +108,7 @@ public class InMemoryDataSetMetadataRepository extends ObjectDataSetMetadataRepo
     @Override
     public void remove(String id) {
         store.remove(id);
+        removeFromIndexes(id);
     }
 
 }
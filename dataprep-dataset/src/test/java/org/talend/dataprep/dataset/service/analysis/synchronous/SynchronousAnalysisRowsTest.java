@@ -0,0 +1,96 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.service.analysis.synchronous;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.dataset.DataSetBaseTest;
+
+public class SynchronousAnalysisRowsTest extends DataSetBaseTest {
+
+    @Autowired
+    FormatAnalysis formatAnalysis;
+
+    @Autowired
+    SynchronousAnalysisRows rows;
+
+    @Test
+    public void shouldReadContentOnceDuringAnalysis() throws Exception {
+        // given
+        final DataSetMetadata metadata = createDataSet("1234");
+
+        // when
+        final List<String[]> first;
+        final List<String[]> second;
+        final boolean moreThan50;
+        final boolean moreThan200;
+        try (SynchronousAnalysisRows.Scope scope = rows.open(metadata.getId())) {
+            first = read(rows.records(metadata, 10));
+            moreThan50 = rows.hasMoreThan(metadata, 50);
+            moreThan200 = rows.hasMoreThan(metadata, 200);
+            second = read(rows.records(metadata, 20));
+        }
+
+        // then
+        assertThat(first.size(), is(10));
+        assertThat(second.size(), is(20));
+        assertThat(second.get(0), sameInstance(first.get(0)));
+        assertThat(second.get(0)[1], is("Michelle"));
+        assertThat(moreThan50, is(true));
+        assertThat(moreThan200, is(false));
+    }
+
+    @Test
+    public void shouldReadStoreOutOfAnalysis() throws Exception {
+        // given
+        final DataSetMetadata metadata = createDataSet("5678");
+
+        // when
+        final List<String[]> first = read(rows.records(metadata, 10));
+        final List<String[]> second = read(rows.records(metadata, 10));
+
+        // then
+        assertThat(first.size(), is(10));
+        assertThat(second.get(0), not(sameInstance(first.get(0))));
+        assertThat(second.get(0)[1], is("Michelle"));
+        assertThat(rows.hasMoreThan(metadata, 50), is(true));
+        assertThat(rows.hasMoreThan(metadata, 200), is(false));
+    }
+
+    private DataSetMetadata createDataSet(String id) {
+        final DataSetMetadata metadata = metadataBuilder.metadata().id(id).build();
+        dataSetMetadataRepository.save(metadata);
+        contentStore.storeAsRaw(metadata, this.getClass().getResourceAsStream("100_lines.csv"));
+        formatAnalysis.analyze(id);
+        final DataSetMetadata analyzed = dataSetMetadataRepository.get(id);
+        analyzed.getContent().setNbLinesInHeader(1);
+        return analyzed;
+    }
+
+    private static List<String[]> read(Stream<String[]> records) {
+        try (Stream<String[]> stream = records) {
+            return stream.collect(toList());
+        }
+    }
+}
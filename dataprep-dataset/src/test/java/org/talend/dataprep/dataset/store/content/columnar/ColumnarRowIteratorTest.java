@@ -0,0 +1,106 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content.columnar;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+public class ColumnarRowIteratorTest {
+
+    private static byte[] write(int rows, int rowGroupSize) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ColumnarWriter writer = new ColumnarWriter(output, "signature", asList("0000", "0001"), rowGroupSize)) {
+            for (int i = 0; i < rows; i++) {
+                final Map<String, String> values = new HashMap<>();
+                values.put("0000", "value" + i);
+                if (i % 2 == 0) {
+                    values.put("0001", "even");
+                }
+                writer.write(new DataSetRow(new RowMetadata(), values));
+            }
+        }
+        return output.toByteArray();
+    }
+
+    @Test
+    public void should_read_written_rows() throws Exception {
+        // given
+        final byte[] content = write(10, 3);
+
+        // when
+        try (ColumnarRowIterator iterator = new ColumnarRowIterator(new ByteArrayInputStream(content), -1)) {
+            // then
+            assertEquals("signature", iterator.getSignature());
+            for (int i = 0; i < 10; i++) {
+                assertTrue(iterator.hasNext());
+                final DataSetRow row = iterator.next();
+                assertEquals("value" + i, row.get("0000"));
+                if (i % 2 == 0) {
+                    assertEquals("even", row.get("0001"));
+                } else {
+                    assertNull(row.get("0001"));
+                }
+            }
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    @Test
+    public void should_apply_limit() throws Exception {
+        // given
+        final byte[] content = write(10, 4);
+
+        // when
+        int count = 0;
+        try (ColumnarRowIterator iterator = new ColumnarRowIterator(new ByteArrayInputStream(content), 5)) {
+            while (iterator.hasNext()) {
+                iterator.next();
+                count++;
+            }
+        }
+
+        // then
+        assertEquals(5, count);
+    }
+
+    @Test
+    public void should_read_empty_content() throws Exception {
+        // given
+        final byte[] content = write(0, 4);
+
+        // when
+        try (ColumnarRowIterator iterator = new ColumnarRowIterator(new ByteArrayInputStream(content), -1)) {
+            // then
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void should_fail_on_unknown_content() throws Exception {
+        new ColumnarRowIterator(new ByteArrayInputStream("[{\"0000\":\"a\"}]".getBytes()), -1);
+    }
+}
@@ -0,0 +1,97 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.api.transformer;
+
+import java.io.IOException;
+
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * A {@link TransformerWriter} that broadcasts all calls to two writers (e.g. the service output and a cache entry).
+ */
+public class TeeTransformerWriter implements TransformerWriter {
+
+    private final TransformerWriter first;
+
+    private final TransformerWriter second;
+
+    public TeeTransformerWriter(TransformerWriter first, TransformerWriter second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    @Override
+    public void write(RowMetadata columns) throws IOException {
+        first.write(columns);
+        second.write(columns);
+    }
+
+    @Override
+    public void writeHeader(RowMetadata columns) throws IOException {
+        first.writeHeader(columns);
+        second.writeHeader(columns);
+    }
+
+    @Override
+    public boolean needsColumnTypes() {
+        return first.needsColumnTypes() || second.needsColumnTypes();
+    }
+
+    @Override
+    public void write(DataSetRow row) throws IOException {
+        first.write(row);
+        second.write(row);
+    }
+
+    @Override
+    public void startArray() throws IOException {
+        first.startArray();
+        second.startArray();
+    }
+
+    @Override
+    public void endArray() throws IOException {
+        first.endArray();
+        second.endArray();
+    }
+
+    @Override
+    public void startObject() throws IOException {
+        first.startObject();
+        second.startObject();
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        first.endObject();
+        second.endObject();
+    }
+
+    @Override
+    public void fieldName(String name) throws IOException {
+        first.fieldName(name);
+        second.fieldName(name);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        first.flush();
+        second.flush();
+    }
+
+    @Override
+    public String toString() {
+        return "TeeTransformerWriter{" + first + ", " + second + '}';
+    }
+}
@@ -32,6 +32,27 @@ public interface TransformerWriter {
      */
     void write(RowMetadata columns) throws IOException;
 
+    /**
+     * Write the given RowMetadata before any row, when columns are known not to change until the end of the
+     * transformation. Writers that need columns first (e.g. for a header) may then write rows as they come instead of
+     * buffering them. {@link #write(RowMetadata)} is still called once all rows are written.
+     *
+     * @param columns the row metadata of the rows to come.
+     * @throws IOException if an unexpected error occurs.
+     * @see #needsColumnTypes()
+     */
+    default void writeHeader(RowMetadata columns) throws IOException {
+        // default implementation to ease implementations development
+    }
+
+    /**
+     * @return <code>true</code> if rows are written according to column types (and not only column names), in which
+     * case {@link #writeHeader(RowMetadata)} is only called when column types are also known.
+     */
+    default boolean needsColumnTypes() {
+        return false;
+    }
+
     /**
      * Write the given row.
      *
@@ -67,6 +67,11 @@ public class Configuration {
      */
     private final OutputStream output;
 
+    /**
+     * Where to cache the transformed content (may be <code>null</code>).
+     */
+    private final OutputStream cacheOutput;
+
     private final boolean allowMetadataChange;
 
     private final boolean globalStatistics;
@@ -81,6 +86,7 @@ public class Configuration {
      * Constructor for the transformer configuration.
      */
     protected Configuration(final OutputStream output, //
+                            final OutputStream cacheOutput, //
                             final Predicate<DataSetRow> filter, //
                             final Function<RowMetadata, Predicate<DataSetRow>> outFilter, //
                             final Supplier<Node> monitorSupplier, //
@@ -94,6 +100,7 @@ public class Configuration {
                             boolean globalStatistics, //
                             final Volume dataVolume) {
         this.output = output;
+        this.cacheOutput = cacheOutput;
         this.filter = filter;
         this.outFilter = outFilter;
         this.monitorSupplier = monitorSupplier;
@@ -151,6 +158,13 @@ public class Configuration {
         return output;
     }
 
+    /**
+     * @return where to cache the transformed dataset, or <code>null</code> if transformation should not be cached.
+     */
+    public OutputStream cacheOutput() {
+        return cacheOutput;
+    }
+
     public Volume volume() {
         return dataVolume;
     }
@@ -218,6 +232,11 @@ public class Configuration {
          */
         private OutputStream output;
 
+        /**
+         * Where to cache the transformed content.
+         */
+        private OutputStream cacheOutput;
+
         /**
          * Gives hint on the amount of data the transformer may expect
          */
@@ -251,11 +270,20 @@ public class Configuration {
             return this;
         }
 
+        /**
+         * @param cacheOutput where to cache the transformed dataset.
+         * @return the mapper to chain calls.
+         */
+        public Builder cacheOutput(final OutputStream cacheOutput) {
+            this.cacheOutput = cacheOutput;
+            return this;
+        }
+
         /**
          * @return a new {@link Configuration} from the mapper setup.
          */
         public Configuration build() {
-            return new Configuration(output, filter, outFilter, monitorSupplier, sourceType, format, actions, arguments, preparation, stepId, allowMetadataChange, globalStatistics, dataVolume);
+            return new Configuration(output, cacheOutput, filter, outFilter, monitorSupplier, sourceType, format, actions, arguments, preparation, stepId, allowMetadataChange, globalStatistics, dataVolume);
         }
 
         /**
@@ -31,7 +31,7 @@ public class PreviewConfiguration extends Configuration {
     private final List<Long> indexes;
 
     protected PreviewConfiguration(Configuration configuration, String previewActions, List<Long> indexes) {
-        super(configuration.output(), configuration.getFilter(), configuration.getOutFilter(), configuration.getMonitor(), configuration.getSourceType(), configuration.formatId(), configuration.getActions(), configuration.getArguments(),
+        super(configuration.output(), configuration.cacheOutput(), configuration.getFilter(), configuration.getOutFilter(), configuration.getMonitor(), configuration.getSourceType(), configuration.formatId(), configuration.getActions(), configuration.getArguments(),
                 configuration.getPreparation(), configuration.stepId(), false, false, configuration.volume());
         this.previewActions = previewActions;
         this.indexes = indexes;
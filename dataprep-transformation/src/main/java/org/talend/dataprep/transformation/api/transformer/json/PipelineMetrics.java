@@ -0,0 +1,74 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.api.transformer.json;
+
+import java.util.concurrent.TimeUnit;
+
+import org.talend.dataprep.metrics.MetricsRegistry;
+import org.talend.dataprep.transformation.pipeline.Monitored;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.Visitor;
+import org.talend.dataprep.transformation.pipeline.node.ActionNode;
+import org.talend.dataprep.transformation.pipeline.node.StepNode;
+
+/**
+ * Records the time spent and the rows processed by each {@link Monitored} node of an executed pipeline in the
+ * {@link MetricsRegistry}: "pipeline.action.&lt;action name&gt;" for actions, "pipeline.&lt;node class&gt;" for other
+ * nodes (writer, type detection...).
+ */
+class PipelineMetrics extends Visitor {
+
+    private static final String PREFIX = "pipeline.";
+
+    private final MetricsRegistry registry;
+
+    PipelineMetrics(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void visitAction(ActionNode actionNode) {
+        record(actionNode);
+        super.visitAction(actionNode);
+    }
+
+    @Override
+    public void visitStepNode(StepNode stepNode) {
+        final Node lastNode = stepNode.getLastNode();
+        if (lastNode instanceof ActionNode) {
+            record((ActionNode) lastNode);
+        } else if (lastNode instanceof Monitored) {
+            record(PREFIX + lastNode.getClass().getSimpleName(), (Monitored) lastNode);
+        }
+        super.visitStepNode(stepNode);
+    }
+
+    @Override
+    public void visitNode(Node node) {
+        if (node instanceof Monitored) {
+            record(PREFIX + node.getClass().getSimpleName(), (Monitored) node);
+        }
+        super.visitNode(node);
+    }
+
+    private void record(ActionNode actionNode) {
+        record(PREFIX + "action." + actionNode.getAction().getName(), actionNode);
+    }
+
+    private void record(String name, Monitored monitored) {
+        final long totalTime = monitored.getTotalTime();
+        registry.timer(name).record(totalTime, TimeUnit.MILLISECONDS);
+        registry.meter(name + ".rows").mark(monitored.getCount(), totalTime, TimeUnit.MILLISECONDS);
+    }
+}
@@ -14,13 +14,23 @@ package org.talend.dataprep.transformation.api.transformer.json;
 
 import static org.talend.dataprep.cache.ContentCache.TimeToLive.DEFAULT;
 import static org.talend.dataprep.transformation.api.transformer.configuration.Configuration.Volume.SMALL;
+import static org.talend.dataprep.transformation.format.JsonFormat.JSON;
 
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import javax.annotation.Resource;
+
+import org.apache.commons.io.output.TeeOutputStream;
+import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.RowMetadata;
@@ -28,18 +38,29 @@ import org.talend.dataprep.api.preparation.PreparationMessage;
 import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.cache.ContentCache;
 import org.talend.dataprep.dataset.StatisticsAdapter;
+import org.talend.dataprep.metrics.MetricsRegistry;
 import org.talend.dataprep.quality.AnalyzerService;
+import org.talend.dataprep.transformation.actions.common.RunnableAction;
 import org.talend.dataprep.transformation.api.action.ActionParser;
 import org.talend.dataprep.transformation.api.transformer.ConfiguredCacheWriter;
+import org.talend.dataprep.transformation.api.transformer.TeeTransformerWriter;
 import org.talend.dataprep.transformation.api.transformer.Transformer;
 import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
 import org.talend.dataprep.transformation.api.transformer.configuration.Configuration;
+import org.talend.dataprep.transformation.cache.CacheEntryCodec;
 import org.talend.dataprep.transformation.cache.CacheKeyGenerator;
+import org.talend.dataprep.transformation.cache.CheckpointCacheKey;
+import org.talend.dataprep.transformation.cache.StepCheckpointPolicy;
 import org.talend.dataprep.transformation.cache.TransformationMetadataCacheKey;
 import org.talend.dataprep.transformation.format.WriterRegistrationService;
 import org.talend.dataprep.transformation.pipeline.ActionRegistry;
+import org.talend.dataprep.transformation.pipeline.Monitored;
+import org.talend.dataprep.transformation.pipeline.Node;
 import org.talend.dataprep.transformation.pipeline.Pipeline;
 import org.talend.dataprep.transformation.pipeline.Visitor;
+import org.talend.dataprep.transformation.pipeline.builder.ActionsProfile;
+import org.talend.dataprep.transformation.pipeline.builder.ActionsStaticProfiler;
+import org.talend.dataprep.transformation.pipeline.model.CheckpointNode;
 import org.talend.dataprep.transformation.pipeline.model.WriterNode;
 import org.talend.dataprep.transformation.pipeline.node.StepNode;
 import org.talend.dataprep.transformation.service.PreparationUpdater;
@@ -71,6 +92,33 @@ public class PipelineTransformer implements Transformer {
     @Autowired
     CacheKeyGenerator cacheKeyGenerator;
 
+    @Autowired
+    CacheEntryCodec cacheEntryCodec;
+
+    /** Number of rows submitted at once to the pipeline nodes. */
+    @Value("${transformation.pipeline.batch.size:1}")
+    private int batchSize;
+
+    /** Number of groups of actions running concurrently (1 to run the whole pipeline in the calling thread). */
+    @Value("${transformation.pipeline.stages:1}")
+    private int stages;
+
+    @Resource(name = "pipeline#executor")
+    private TaskExecutor pipelineExecutor;
+
+    /** Number of partitions of a batch running concurrently (1 to run the whole pipeline in the calling thread). */
+    @Value("${transformation.pipeline.partitions:1}")
+    private int partitions;
+
+    @Resource(name = "pipeline#partitions#executor")
+    private TaskExecutor partitionsExecutor;
+
+    @Autowired
+    private StepCheckpointPolicy checkpointPolicy;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
     @Autowired
     private TransformationRowMetadataUtils transformationRowMetadataUtils;
 
@@ -84,47 +132,122 @@ public class PipelineTransformer implements Transformer {
         // prepare the fallback row metadata
         RowMetadata fallBackRowMetadata = transformationRowMetadataUtils.getMatchingEmptyRowMetadata(rowMetadata);
 
-        final TransformerWriter writer = writerRegistrationService.getWriter(configuration.formatId(), configuration.output(),
-                configuration.getArguments());
+        final TransformerWriter writer = getWriter(configuration);
         final ConfiguredCacheWriter metadataWriter = new ConfiguredCacheWriter(contentCache, DEFAULT);
         final TransformationMetadataCacheKey metadataKey = cacheKeyGenerator.generateMetadataKey(configuration.getPreparationId(),
                 configuration.stepId(), configuration.getSourceType());
         final PreparationMessage preparation = configuration.getPreparation();
+        final List<RunnableAction> actions = actionParser.parse(configuration.getActions());
+        final boolean writeHeader = isHeaderKnown(writer, rowMetadata, actions);
         final Pipeline pipeline = Pipeline.Builder.builder().withAnalyzerService(analyzerService) //
                 .withActionRegistry(actionRegistry) //
                 .withPreparation(preparation) //
-                .withActions(actionParser.parse(configuration.getActions())) //
+                .withActions(actions) //
                 .withInitialMetadata(rowMetadata, configuration.volume() == SMALL) //
                 .withMonitor(configuration.getMonitor()) //
                 .withFilter(configuration.getFilter()) //
                 .withFilterOut(configuration.getOutFilter()) //
-                .withOutput(() -> new WriterNode(writer, metadataWriter, metadataKey, fallBackRowMetadata)) //
+                .withOutput(() -> new WriterNode(writer, metadataWriter, metadataKey, fallBackRowMetadata, writeHeader)) //
                 .withStatisticsAdapter(adapter) //
                 .withGlobalStatistics(configuration.isGlobalStatistics()) //
                 .allowMetadataChange(configuration.isAllowMetadataChange()) //
+                .withBatchSize(batchSize) //
+                .withConcurrency(pipelineExecutor, stages) //
+                .withPartitions(partitionsExecutor, partitions) //
+                .withCheckpoints(step -> getCheckpoint(configuration, step)) //
                 .build();
         try {
             LOGGER.debug("Before transformation: {}", pipeline);
             pipeline.execute(input);
+            pipeline.accept(new PipelineMetrics(metricsRegistry));
         } finally {
             LOGGER.debug("After transformation: {}", pipeline);
         }
 
         if (preparation != null) {
             List<Step> stepsToUpdate = new ArrayList<>();
+            Map<String, Long> actionTimes = new LinkedHashMap<>();
             pipeline.accept(new Visitor() {
                 @Override
                 public void visitStepNode(StepNode stepNode) {
                     stepsToUpdate.add(stepNode.getStep());
+                    if (stepNode.getLastNode() instanceof Monitored) {
+                        actionTimes.put(stepNode.getStep().id(), ((Monitored) stepNode.getLastNode()).getTotalTime());
+                    }
                     super.visitStepNode(stepNode);
                 }
             });
 
+            checkpointPolicy.learn(actionTimes);
             preparation.setSteps(stepsToUpdate);
             preparationUpdater.update(preparation.getId(), preparation.getSteps());
         }
     }
 
+    /**
+     * Tells whether the columns received by the writer with the first row are the final ones, so that writer can write
+     * them before the rows (see {@link TransformerWriter#writeHeader(RowMetadata)}): actions must not create columns,
+     * and if writer needs column types, actions must not change values (types are then not analyzed again).
+     *
+     * @param writer The transformation writer.
+     * @param rowMetadata The row metadata of the transformed data set.
+     * @param actions The actions to run.
+     * @return <code>true</code> if columns can be written before the rows.
+     */
+    private boolean isHeaderKnown(TransformerWriter writer, RowMetadata rowMetadata, List<RunnableAction> actions) {
+        final ActionsProfile profile = new ActionsStaticProfiler(actionRegistry).profile(rowMetadata.getColumns(), actions,
+                null);
+        return writer.needsColumnTypes() ? !profile.needFullAnalysis() : !profile.createColumns();
+    }
+
+    /**
+     * Returns the node that caches rows produced by <code>step</code> if step is a checkpoint (see
+     * {@link StepCheckpointPolicy}). Checkpoints are only written for JSON transformations of all the data set rows,
+     * and are read back by {@link org.talend.dataprep.transformation.service.export.OptimizedExportStrategy}.
+     *
+     * @param configuration The transformation configuration.
+     * @param step A step of the transformed preparation.
+     * @return A {@link CheckpointNode} or <code>null</code> if <code>step</code> does not need to be cached.
+     */
+    private Node getCheckpoint(Configuration configuration, Step step) {
+        final PreparationMessage preparation = configuration.getPreparation();
+        if (!checkpointPolicy.isEnabled() || configuration.getFilter() != null || !JSON.equals(configuration.formatId())
+                || StringUtils.equals(step.id(), configuration.stepId())
+                || !checkpointPolicy.isCheckpoint(preparation.getSteps(), step)) {
+            return null;
+        }
+        final CheckpointCacheKey key = cacheKeyGenerator.generateCheckpointKey(preparation.getDataSetId(),
+                preparation.getId(), step.id(), configuration.getSourceType());
+        if (contentCache.has(key)) {
+            return null;
+        }
+        LOGGER.debug("Checkpoint for preparation #{} @ step #{}", preparation.getId(), step.id());
+        return new CheckpointNode(contentCache, cacheEntryCodec, key);
+    }
+
+    /**
+     * Returns the writer for the configuration output. If transformation is to be cached, JSON content is cached using
+     * the {@link CacheEntryCodec cache codec} (JSON is only needed for the service output), other formats are cached as
+     * is.
+     *
+     * @param configuration The transformation configuration.
+     * @return The writer to use for transformation.
+     */
+    private TransformerWriter getWriter(Configuration configuration) {
+        final OutputStream cacheOutput = configuration.cacheOutput();
+        if (cacheOutput == null) {
+            return writerRegistrationService.getWriter(configuration.formatId(), configuration.output(),
+                    configuration.getArguments());
+        } else if (JSON.equals(configuration.formatId())) {
+            final TransformerWriter output = writerRegistrationService.getWriter(JSON, configuration.output(),
+                    configuration.getArguments());
+            return new TeeTransformerWriter(output, cacheEntryCodec.writer(cacheOutput));
+        } else {
+            final OutputStream tee = new TeeOutputStream(configuration.output(), cacheOutput);
+            return writerRegistrationService.getWriter(configuration.formatId(), tee, configuration.getArguments());
+        }
+    }
+
     @Override
     public boolean accept(Configuration configuration) {
         return Configuration.class.equals(configuration.getClass());
@@ -0,0 +1,403 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.talend.dataprep.api.dataset.row.BinaryDataSetFormat.readString;
+import static org.talend.dataprep.api.dataset.row.BinaryDataSetFormat.readVarLong;
+import static org.talend.dataprep.api.dataset.row.BinaryDataSetFormat.writeString;
+import static org.talend.dataprep.api.dataset.row.BinaryDataSetFormat.writeVarLong;
+
+import java.io.*;
+import java.util.*;
+import java.util.stream.StreamSupport;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.dataset.row.FlagNames;
+import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p>
+ * A {@link CacheEntryCodec codec} that stores cache entries as length-prefixed binary records. Column ids are written
+ * once (the first time they appear) and then referenced by index in rows. Content may optionally be compressed.
+ * </p>
+ * <p>
+ * An entry is laid out as a header (magic number, version, flags) followed by records, each starting with its type:
+ * </p>
+ * <ul>
+ * <li>{@link #KEY}: declares the next column id.</li>
+ * <li>{@link #ROW}: technical id, (column index, value) pairs, then the row flags: invalid column ids, row diff flag
+ * and (column index, diff flag) pairs.</li>
+ * <li>{@link #COLUMNS}: the columns metadata as JSON (written once at the end).</li>
+ * <li>{@link #END}: end of entry.</li>
+ * </ul>
+ * <p>
+ * Technical flags ({@link FlagNames}) are encoded explicitly so the JSON output of an entry is the same as the one of
+ * the {@link JsonCacheEntryCodec}. When entry is {@link #read(InputStream) read as rows}, diff flags are dropped (as
+ * when reading JSON content).
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "transformation.cache.codec", havingValue = "binary")
+public class BinaryCacheEntryCodec implements CacheEntryCodec {
+
+    private static final int MAGIC = 0x54445042; // "TDPB"
+
+    private static final int VERSION = 2;
+
+    private static final int COMPRESSED = 1;
+
+    private static final int KEY = 1;
+
+    private static final int ROW = 2;
+
+    private static final int COLUMNS = 3;
+
+    private static final int END = 0;
+
+    /** The data-prep ready jackson module. */
+    @Autowired
+    private ObjectMapper mapper;
+
+    /** Whether cache entries should be compressed. */
+    @Value("${transformation.cache.codec.compression:true}")
+    private boolean compression;
+
+    @Override
+    public TransformerWriter writer(OutputStream output) {
+        return new BinaryWriter(output);
+    }
+
+    @Override
+    public DataSet read(InputStream input) throws IOException {
+        final BinaryReader reader = new BinaryReader(input);
+        final Iterable<DataSetRow> rowIterable = () -> reader;
+        final DataSet dataSet = new DataSet();
+        dataSet.setRecords(StreamSupport.stream(rowIterable.spliterator(), false));
+        return dataSet;
+    }
+
+    @Override
+    public void toJson(InputStream input, OutputStream output) throws IOException {
+        final BinaryReader reader = new BinaryReader(input);
+        final JsonGenerator generator = mapper.getFactory().createGenerator(output);
+        generator.writeStartObject();
+        generator.writeFieldName("records");
+        generator.writeStartArray();
+        while (reader.hasNext()) {
+            reader.readRow();
+            generator.writeStartObject();
+            if (!reader.rowDiff.isEmpty()) {
+                generator.writeStringField(FlagNames.ROW_DIFF_KEY, reader.rowDiff);
+            }
+            for (int i = 0; i < reader.size; i++) {
+                generator.writeStringField(reader.keys.get(reader.rowKeys[i]), reader.rowValues[i]);
+            }
+            if (!reader.invalid.isEmpty()) {
+                generator.writeStringField(FlagNames.TDP_INVALID, reader.invalid);
+            }
+            if (reader.diffSize > 0) {
+                generator.writeFieldName(FlagNames.DIFF_KEY);
+                generator.writeStartObject();
+                for (int i = 0; i < reader.diffSize; i++) {
+                    generator.writeStringField(reader.keys.get(reader.diffKeys[i]), reader.diffFlags[i]);
+                }
+                generator.writeEndObject();
+            }
+            if (reader.tdpId != null) {
+                generator.writeNumberField(FlagNames.TDP_ID, reader.tdpId);
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeFieldName("metadata");
+        generator.writeStartObject();
+        generator.writeFieldName("columns");
+        generator.writeRawValue(reader.columns == null ? "[]" : reader.columns);
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    /**
+     * Encodes rows and columns. Structure calls (arrays, objects, field names) are ignored as the binary layout does not
+     * need them.
+     */
+    private class BinaryWriter implements TransformerWriter {
+
+        private final Map<String, Integer> keys = new HashMap<>();
+
+        /** The column values of the row being written. */
+        private final List<Map.Entry<String, Object>> columns = new ArrayList<>();
+
+        private final OutputStream output;
+
+        private DataOutputStream data;
+
+        private Deflater deflater;
+
+        private DeflaterOutputStream deflaterOutput;
+
+        /** True once entry is ended (no more content can be written). */
+        private boolean ended;
+
+        private BinaryWriter(OutputStream output) {
+            this.output = output;
+        }
+
+        private DataOutputStream data() throws IOException {
+            if (data == null) {
+                final DataOutputStream header = new DataOutputStream(output);
+                header.writeInt(MAGIC);
+                header.writeByte(VERSION);
+                header.writeByte(compression ? COMPRESSED : 0);
+                if (compression) {
+                    deflater = new Deflater(Deflater.BEST_SPEED);
+                    deflaterOutput = new DeflaterOutputStream(output, deflater, 8192, true);
+                    data = new DataOutputStream(new BufferedOutputStream(deflaterOutput));
+                } else {
+                    data = new DataOutputStream(new BufferedOutputStream(output));
+                }
+            }
+            return data;
+        }
+
+        @Override
+        public void write(DataSetRow row) throws IOException {
+            final DataOutputStream out = data();
+            final Map<String, Object> values = row.values();
+            columns.clear();
+            String invalid = "";
+            String rowDiff = "";
+            Map<?, ?> diff = Collections.emptyMap();
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                final String key = entry.getKey();
+                if (FlagNames.TDP_INVALID.equals(key)) {
+                    invalid = entry.getValue() == null ? "" : (String) entry.getValue();
+                } else if (FlagNames.ROW_DIFF_KEY.equals(key)) {
+                    rowDiff = entry.getValue() == null ? "" : (String) entry.getValue();
+                } else if (FlagNames.DIFF_KEY.equals(key)) {
+                    diff = (Map<?, ?>) entry.getValue();
+                } else if (!FlagNames.TDP_ID.equals(key)) {
+                    declare(out, key);
+                    columns.add(entry);
+                }
+            }
+            for (Object column : diff.keySet()) {
+                declare(out, (String) column);
+            }
+            out.writeByte(ROW);
+            writeVarLong(out, row.getTdpId() == null ? 0 : row.getTdpId() + 1);
+            writeVarLong(out, columns.size());
+            for (Map.Entry<String, Object> column : columns) {
+                // column index and whether value is null
+                final Object value = column.getValue();
+                writeVarLong(out, keys.get(column.getKey()) * 2L + (value == null ? 1 : 0));
+                if (value != null) {
+                    writeString(out, (String) value);
+                }
+            }
+            writeString(out, invalid);
+            writeString(out, rowDiff);
+            writeVarLong(out, diff.size());
+            for (Map.Entry<?, ?> flag : diff.entrySet()) {
+                writeVarLong(out, keys.get(flag.getKey()));
+                writeString(out, String.valueOf(flag.getValue()));
+            }
+        }
+
+        /**
+         * Declares a column id the first time it appears.
+         */
+        private void declare(DataOutputStream out, String key) throws IOException {
+            if (!keys.containsKey(key)) {
+                keys.put(key, keys.size());
+                out.writeByte(KEY);
+                writeString(out, key);
+            }
+        }
+
+        /**
+         * Columns are written once all rows are written: this ends the cache entry.
+         */
+        @Override
+        public void write(RowMetadata columns) throws IOException {
+            final DataOutputStream out = data();
+            out.writeByte(COLUMNS);
+            writeString(out, new String(mapper.writeValueAsBytes(columns.getColumns()), UTF_8));
+            out.writeByte(END);
+            out.flush();
+            if (deflaterOutput != null) {
+                deflaterOutput.finish();
+                deflater.end();
+            }
+            ended = true;
+            output.flush();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (data != null && !ended) {
+                data.flush();
+            }
+            output.flush();
+        }
+
+        @Override
+        public String toString() {
+            return "BinaryCacheEntryWriter";
+        }
+    }
+
+    /**
+     * Decodes rows. When used as an {@link Iterator}, the same {@link DataSetRow} instance is cleaned and reused at each
+     * iteration (as {@link org.talend.dataprep.api.dataset.json.DataSetRowIterator} does).
+     */
+    private static class BinaryReader implements Iterator<DataSetRow> {
+
+        private final DataInputStream data;
+
+        private final List<String> keys = new ArrayList<>();
+
+        private final DataSetRow row = new DataSetRow(new RowMetadata());
+
+        private int[] rowKeys = new int[16];
+
+        private String[] rowValues = new String[16];
+
+        private int size;
+
+        private Long tdpId;
+
+        /** Invalid column ids of the row (comma separated, empty if none). */
+        private String invalid;
+
+        /** Row diff flag (empty if none). */
+        private String rowDiff;
+
+        private int[] diffKeys = new int[16];
+
+        private String[] diffFlags = new String[16];
+
+        private int diffSize;
+
+        private String columns;
+
+        /** Type of the next record to read (-1 if not read yet). */
+        private int next = -1;
+
+        private BinaryReader(InputStream input) throws IOException {
+            final DataInputStream header = new DataInputStream(input);
+            if (header.readInt() != MAGIC) {
+                throw new IOException("Cache entry is not in binary format.");
+            }
+            final int version = header.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary cache entry version " + version + ".");
+            }
+            if ((header.readByte() & COMPRESSED) != 0) {
+                data = new DataInputStream(new BufferedInputStream(new InflaterInputStream(input)));
+            } else {
+                data = new DataInputStream(new BufferedInputStream(input));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next < 0) {
+                    final int type = data.read();
+                    switch (type) {
+                    case KEY:
+                        keys.add(readString(data));
+                        break;
+                    case COLUMNS:
+                        columns = readString(data);
+                        break;
+                    case ROW:
+                        next = ROW;
+                        break;
+                    default:
+                        // END or end of content
+                        next = END;
+                    }
+                }
+                return next == ROW;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void readRow() throws IOException {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final long id = readVarLong(data);
+            tdpId = id == 0 ? null : id - 1;
+            size = (int) readVarLong(data);
+            if (rowKeys.length < size) {
+                rowKeys = new int[size];
+                rowValues = new String[size];
+            }
+            for (int i = 0; i < size; i++) {
+                final long key = readVarLong(data);
+                rowKeys[i] = (int) (key / 2);
+                rowValues[i] = (key & 1) == 0 ? readString(data) : null;
+            }
+            invalid = readString(data);
+            rowDiff = readString(data);
+            diffSize = (int) readVarLong(data);
+            if (diffKeys.length < diffSize) {
+                diffKeys = new int[diffSize];
+                diffFlags = new String[diffSize];
+            }
+            for (int i = 0; i < diffSize; i++) {
+                diffKeys[i] = (int) readVarLong(data);
+                diffFlags[i] = readString(data);
+            }
+            next = -1;
+        }
+
+        @Override
+        public DataSetRow next() {
+            try {
+                readRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            row.clear();
+            for (int i = 0; i < size; i++) {
+                row.set(keys.get(rowKeys[i]), rowValues[i]);
+            }
+            if (!invalid.isEmpty()) {
+                for (String invalidColumnId : invalid.split(",")) {
+                    row.setInvalid(invalidColumnId);
+                }
+            }
+            row.setTdpId(tdpId);
+            return row;
+        }
+    }
+}
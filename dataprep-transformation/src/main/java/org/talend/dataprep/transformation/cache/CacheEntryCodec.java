@@ -0,0 +1,54 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
+
+/**
+ * Encodes and decodes transformed content (records + columns) stored in the
+ * {@link org.talend.dataprep.cache.ContentCache content cache}. Cached content is read back by the transformation
+ * service (optimized export, preview, semantic domains...), JSON is only needed when content is sent to clients.
+ */
+public interface CacheEntryCodec {
+
+    /**
+     * @param output The cache entry output.
+     * @return A {@link TransformerWriter writer} that encodes transformed content in the cache entry.
+     */
+    TransformerWriter writer(OutputStream output);
+
+    /**
+     * Decodes a cache entry written with {@link #writer(OutputStream)}. Records are lazily decoded, so
+     * <code>input</code> must remain open while records are consumed.
+     *
+     * @param input The cache entry content.
+     * @return The cached data set (only records are guaranteed to be set).
+     * @throws IOException If content can't be decoded.
+     */
+    DataSet read(InputStream input) throws IOException;
+
+    /**
+     * Writes a cache entry written with {@link #writer(OutputStream)} as the JSON document that
+     * {@link org.talend.dataprep.transformation.format.JsonWriter} would have produced.
+     *
+     * @param input The cache entry content.
+     * @param output Where to write JSON content.
+     * @throws IOException If content can't be decoded or written.
+     */
+    void toJson(InputStream input, OutputStream output) throws IOException;
+}
@@ -71,6 +71,19 @@ public class CacheKeyGenerator {
         return new TransformationMetadataCacheKey(preparationId, stepId, actualSourceType, actualUserId);
     }
 
+    /**
+     * Build a cache key to identify the checkpoint of a step (see {@link CheckpointCacheKey#getMetadataKey()} for its
+     * row metadata).
+     * When source type is HEAD, the user id is not included in cache key, as the HEAD sample is common for all users
+     */
+    public CheckpointCacheKey generateCheckpointKey(final String datasetId, final String preparationId,
+            final String stepId, final ExportParameters.SourceType sourceType) {
+        final ExportParameters.SourceType actualSourceType = sourceType == null ? HEAD : sourceType;
+        final String actualUserId = actualSourceType == HEAD ? null : security.getUserId();
+
+        return new CheckpointCacheKey(datasetId, preparationId, stepId, actualSourceType, actualUserId);
+    }
+
     /**
      * @return a builder for metadata cache key
      */
@@ -0,0 +1,128 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+import org.talend.dataprep.api.export.ExportParameters;
+import org.talend.dataprep.cache.ContentCacheKey;
+
+/**
+ * Content cache key of a step checkpoint (rows produced by a step, before any type detection or statistics, see
+ * {@link StepCheckpointPolicy}). Checkpoints have their own key namespace: they are only read by
+ * {@link org.talend.dataprep.transformation.service.export.OptimizedExportStrategy}, never served as a step content.
+ * <p>
+ * A checkpoint is made of two entries: the content (this key) and the row metadata ({@link #getMetadataKey()}).
+ * Content is written under a {@link #getTemporaryKey() temporary key} and only moved to this key once complete and
+ * once metadata is stored, so content presence is enough to tell a checkpoint is available.
+ * </p>
+ */
+public class CheckpointCacheKey implements ContentCacheKey {
+
+    private static final String PREFIX = "checkpoint_";
+
+    private static final String CONTENT = "_content";
+
+    private static final String METADATA = "_metadata";
+
+    private static final String TEMPORARY = "_writing_";
+
+    private final String datasetId;
+
+    private final String preparationId;
+
+    private final String stepId;
+
+    private final ExportParameters.SourceType sourceType;
+
+    private final String userId;
+
+    /** The entry of the checkpoint: content, row metadata or content being written. */
+    private final String entry;
+
+    CheckpointCacheKey(final String datasetId, final String preparationId, final String stepId,
+            final ExportParameters.SourceType sourceType, final String userId) {
+        this(datasetId, preparationId, stepId, sourceType, userId, CONTENT);
+    }
+
+    private CheckpointCacheKey(final String datasetId, final String preparationId, final String stepId,
+            final ExportParameters.SourceType sourceType, final String userId, final String entry) {
+        if (StringUtils.equals("head", stepId)) {
+            throw new IllegalArgumentException("'head' is not allowed as step id for cache key");
+        }
+        this.datasetId = datasetId;
+        this.preparationId = preparationId;
+        this.stepId = stepId;
+        this.sourceType = sourceType;
+        this.userId = userId;
+        this.entry = entry;
+    }
+
+    /**
+     * @return The key of the row metadata of this checkpoint.
+     */
+    public CheckpointCacheKey getMetadataKey() {
+        return new CheckpointCacheKey(datasetId, preparationId, stepId, sourceType, userId, METADATA);
+    }
+
+    /**
+     * @return A new key (unique to the caller) where content of this checkpoint is written before being moved to this
+     * key.
+     */
+    public CheckpointCacheKey getTemporaryKey() {
+        final String id = UUID.randomUUID().toString().replace("-", "");
+        return new CheckpointCacheKey(datasetId, preparationId, stepId, sourceType, userId, TEMPORARY + id);
+    }
+
+    @Override
+    public String getKey() {
+        return PREFIX + preparationId + "_"
+                + DigestUtils.sha1Hex(datasetId + stepId + sourceType + userId) + entry;
+    }
+
+    @Override
+    public Predicate<String> getMatcher() {
+        final Pattern pattern = Pattern.compile(PREFIX + preparationId + "_.*");
+        return str -> pattern.matcher(str).matches();
+    }
+
+    @Override
+    public String getPrefix() {
+        return PREFIX + preparationId + "_";
+    }
+
+    public String getPreparationId() {
+        return preparationId;
+    }
+
+    public String getStepId() {
+        return stepId;
+    }
+
+    @Override
+    public String toString() {
+        return "CheckpointCacheKey{" + //
+                "datasetId='" + datasetId + '\'' + //
+                ", preparationId='" + preparationId + '\'' + //
+                ", stepId='" + stepId + '\'' + //
+                ", sourceType=" + sourceType + //
+                ", userId='" + userId + '\'' + //
+                ", entry='" + entry + '\'' + //
+                '}';
+    }
+}
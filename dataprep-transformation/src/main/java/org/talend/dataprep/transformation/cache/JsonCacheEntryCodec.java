@@ -0,0 +1,62 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import static java.util.Collections.emptyMap;
+import static org.talend.dataprep.transformation.format.JsonFormat.JSON;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
+import org.talend.dataprep.transformation.format.WriterRegistrationService;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A {@link CacheEntryCodec codec} that stores cache entries in the same JSON format as the service output.
+ */
+@Component
+@ConditionalOnProperty(name = "transformation.cache.codec", havingValue = "json", matchIfMissing = true)
+public class JsonCacheEntryCodec implements CacheEntryCodec {
+
+    /** The data-prep ready jackson module. */
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private WriterRegistrationService writerRegistrationService;
+
+    @Override
+    public TransformerWriter writer(OutputStream output) {
+        return writerRegistrationService.getWriter(JSON, output, emptyMap());
+    }
+
+    @Override
+    public DataSet read(InputStream input) throws IOException {
+        final JsonParser parser = mapper.getFactory().createParser(input);
+        return mapper.readerFor(DataSet.class).readValue(parser);
+    }
+
+    @Override
+    public void toJson(InputStream input, OutputStream output) throws IOException {
+        IOUtils.copy(input, output);
+    }
+}
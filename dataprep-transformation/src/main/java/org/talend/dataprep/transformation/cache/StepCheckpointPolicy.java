@@ -0,0 +1,124 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.preparation.Step;
+
+/**
+ * Decides which steps of a preparation are cached during a transformation (checkpoints), so that later transformations
+ * of the preparation can resume from the nearest cached step. A step is a checkpoint when:
+ * <ul>
+ * <li>it is every {@link #steps K} steps in the transformed steps,</li>
+ * <li>or time spent in actions since previous checkpoint crossed {@link #threshold time threshold} in a previous
+ * transformation that included this step.</li>
+ * </ul>
+ */
+@Component
+public class StepCheckpointPolicy {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StepCheckpointPolicy.class);
+
+    /** Maximum number of remembered costly steps. */
+    private static final int MAX_COSTLY_STEPS = 10000;
+
+    /** Number of steps between 2 checkpoints (0 to disable). */
+    @Value("${transformation.cache.checkpoint.steps:0}")
+    private int steps;
+
+    /** Time (in ms) spent in actions after which a step becomes a checkpoint (0 to disable). */
+    @Value("${transformation.cache.checkpoint.time:0}")
+    private long threshold;
+
+    /** Ids of the steps that crossed the time threshold (least recently used ids are forgotten first). */
+    private final Set<String> costlySteps = Collections.synchronizedSet(Collections.newSetFromMap( //
+            new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > MAX_COSTLY_STEPS;
+                }
+            }));
+
+    /**
+     * @return <code>true</code> if checkpoints are enabled.
+     */
+    public boolean isEnabled() {
+        return steps > 0 || threshold > 0;
+    }
+
+    /**
+     * @param transformedSteps The steps of the transformation (from the first replayed step to the head).
+     * @param step One of the <code>transformedSteps</code>.
+     * @return <code>true</code> if rows produced by <code>step</code> should be cached.
+     */
+    public boolean isCheckpoint(List<Step> transformedSteps, Step step) {
+        if (Step.ROOT_STEP.id().equals(step.id())) {
+            return false;
+        }
+        if (costlySteps.contains(step.id())) {
+            return true;
+        }
+        if (steps > 0) {
+            int position = 0;
+            for (Step transformedStep : transformedSteps) {
+                if (!Step.ROOT_STEP.id().equals(transformedStep.id())) {
+                    position++;
+                }
+                if (transformedStep.id().equals(step.id())) {
+                    return position % steps == 0;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remembers steps where time spent in actions (since previous checkpoint) crossed the threshold, so that next
+     * transformations cache them.
+     *
+     * @param actionTimes The time spent in each step's actions by step id, in steps order (from first to last step).
+     */
+    public void learn(Map<String, Long> actionTimes) {
+        if (threshold <= 0) {
+            return;
+        }
+        long cumulativeTime = 0;
+        int position = 0;
+        for (Map.Entry<String, Long> actionTime : actionTimes.entrySet()) {
+            position++;
+            final String stepId = actionTime.getKey();
+            if (costlySteps.contains(stepId) || steps > 0 && position % steps == 0) {
+                // already a checkpoint
+                cumulativeTime = 0;
+                continue;
+            }
+            cumulativeTime += actionTime.getValue();
+            if (cumulativeTime >= threshold) {
+                LOGGER.debug("Step #{} is a checkpoint ({} ms spent in actions).", stepId, cumulativeTime);
+                costlySteps.add(stepId);
+                cumulativeTime = 0;
+            }
+        }
+    }
+}
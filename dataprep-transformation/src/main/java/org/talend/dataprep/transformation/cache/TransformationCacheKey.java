@@ -111,4 +111,9 @@ public class TransformationCacheKey implements ContentCacheKey {
         final Pattern pattern = Pattern.compile(regex);
         return str -> pattern.matcher(str).matches();
     }
+
+    @Override
+    public String getPrefix() {
+        return "transformation_" + preparationId + "_";
+    }
 }
@@ -0,0 +1,163 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.lock.DistributedLock;
+import org.talend.dataprep.lock.LockFactory;
+
+/**
+ * Makes sure a transformation cache entry is computed once when identical transformations are requested concurrently:
+ * the first request computes the content (and writes it to the cache), later requests for the same
+ * {@link TransformationCacheKey key} wait for it and stream the cached entry.
+ * <p>
+ * Requests are coordinated within this service instance (so waiting does not depend on the lock implementation) and
+ * across instances with a {@link DistributedLock} per key. If the first request fails, a waiting request computes the
+ * content itself.
+ * </p>
+ */
+@Component
+public class TransformationCacheLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransformationCacheLoader.class);
+
+    /** Transformations in progress in this instance, by lock id. */
+    private final ConcurrentMap<String, CountDownLatch> inProgress = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ContentCache contentCache;
+
+    @Autowired
+    private CacheEntryCodec cacheEntryCodec;
+
+    @Autowired
+    private LockFactory lockFactory;
+
+    /**
+     * Writes content for <code>key</code> to <code>output</code>, either from the cache if another request computed it
+     * in the meantime, or by running <code>transformation</code>.
+     *
+     * @param key The cache key of the transformation content.
+     * @param json <code>true</code> if content is cached with the {@link CacheEntryCodec} (JSON exports), otherwise
+     * cached content is the export content.
+     * @param output Where to write the content.
+     * @param transformation The transformation to run when content is not cached, it must write the content to both
+     * <code>output</code> and the cache output it receives.
+     * @throws Exception If transformation fails.
+     */
+    public void load(TransformationCacheKey key, boolean json, OutputStream output, Transformation transformation)
+            throws Exception {
+        final String lockId = getLockId(key);
+        while (true) {
+            final CountDownLatch latch = new CountDownLatch(1);
+            final CountDownLatch running = inProgress.putIfAbsent(lockId, latch);
+            if (running != null) {
+                LOGGER.debug("Waiting for transformation '{}' in progress.", key.getKey());
+                running.await();
+                if (copyCached(key, json, output)) {
+                    return;
+                }
+                continue; // previous transformation failed
+            }
+            final DistributedLock lock = lockFactory.getLock(lockId);
+            lock.lock();
+            try {
+                if (!copyCached(key, json, output)) {
+                    transform(key, transformation);
+                }
+                return;
+            } finally {
+                lock.unlock();
+                inProgress.remove(lockId, latch);
+                latch.countDown();
+            }
+        }
+    }
+
+    /**
+     * Waits for any transformation in progress for <code>key</code> (the cache entry exists while it's being written).
+     *
+     * @param key The cache key of the transformation content.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public void await(TransformationCacheKey key) throws InterruptedException {
+        final String lockId = getLockId(key);
+        final CountDownLatch running = inProgress.get(lockId);
+        if (running != null) {
+            running.await();
+        }
+        final DistributedLock lock = lockFactory.getLock(lockId);
+        if (!lock.tryLock()) {
+            lock.lock();
+        }
+        lock.unlock();
+    }
+
+    private void transform(TransformationCacheKey key, Transformation transformation) throws Exception {
+        try (final OutputStream cacheOutput = contentCache.put(key, ContentCache.TimeToLive.DEFAULT)) {
+            transformation.transform(cacheOutput);
+        } catch (Throwable e) { // NOSONAR
+            LOGGER.debug("evicting cache {}", key.getKey());
+            contentCache.evict(key);
+            throw e;
+        }
+    }
+
+    private boolean copyCached(TransformationCacheKey key, boolean json, OutputStream output) throws Exception {
+        if (!contentCache.has(key)) {
+            return false;
+        }
+        try (InputStream content = contentCache.get(key)) {
+            if (content == null) {
+                return false;
+            }
+            LOGGER.debug("Transformation '{}' served from cache.", key.getKey());
+            if (json) {
+                cacheEntryCodec.toJson(content, output);
+            } else {
+                IOUtils.copy(content, output);
+            }
+            output.flush();
+            return true;
+        }
+    }
+
+    private static String getLockId(TransformationCacheKey key) {
+        return "transformation#" + key.getKey();
+    }
+
+    /**
+     * A transformation whose content is written to the cache.
+     */
+    @FunctionalInterface
+    public interface Transformation {
+
+        /**
+         * @param cacheOutput The cache entry output.
+         * @throws Exception If transformation fails.
+         */
+        void transform(OutputStream cacheOutput) throws Exception;
+    }
+}
@@ -59,6 +59,11 @@ public class TransformationMetadataCacheKey implements ContentCacheKey {
         return str -> pattern.matcher(str).matches();
     }
 
+    @Override
+    public String getPrefix() {
+        return "transformation-metadata_" + (preparationId == null ? "" : preparationId + "_");
+    }
+
     public String getPreparationId() {
         return preparationId;
     }
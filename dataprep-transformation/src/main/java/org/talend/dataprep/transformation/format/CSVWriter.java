@@ -53,9 +53,14 @@ public class CSVWriter implements TransformerWriter {
 
     private final char separator;
 
-    private final File bufferFile;
+    /** Temporary file of records written before columns are known (created on first record if needed). */
+    private File bufferFile;
 
-    private final au.com.bytecode.opencsv.CSVWriter recordsWriter;
+    /** Where records are written: the buffer file, or the output once the header is written. */
+    private au.com.bytecode.opencsv.CSVWriter recordsWriter;
+
+    /** <code>true</code> if header was written before the records (records are then written directly to output). */
+    private boolean headerWritten;
 
     /**
      * Simple constructor with default separator value.
@@ -73,19 +78,30 @@ public class CSVWriter implements TransformerWriter {
      * @param parameters parameters to get the separator from.
      */
     public CSVWriter(final OutputStream output, Map<String, String> parameters) {
-        try {
-            this.output = output;
-            String separatorParameter = parameters.get(SEPARATOR_PARAM_NAME);
-            if (separatorParameter == null || StringUtils.isEmpty(separatorParameter) || separatorParameter.length() > 1) {
-                this.separator = String.valueOf(DEFAULT_SEPARATOR).charAt(0);
-            } else {
-                this.separator = separatorParameter.charAt(0);
-            }
-            bufferFile = File.createTempFile("csvWriter", ".csv");
-            recordsWriter = new au.com.bytecode.opencsv.CSVWriter(new FileWriter(bufferFile), separator);
-        } catch (IOException e) {
-            throw new TDPException(TransformationErrorCodes.UNABLE_TO_USE_EXPORT, e);
+        this.output = output;
+        String separatorParameter = parameters.get(SEPARATOR_PARAM_NAME);
+        if (separatorParameter == null || StringUtils.isEmpty(separatorParameter) || separatorParameter.length() > 1) {
+            this.separator = String.valueOf(DEFAULT_SEPARATOR).charAt(0);
+        } else {
+            this.separator = separatorParameter.charAt(0);
+        }
+    }
+
+    /**
+     * Writes the header to the output so that records can be written directly to the output (instead of a temporary
+     * file). Ignored if records were already written.
+     *
+     * @see TransformerWriter#writeHeader(RowMetadata)
+     */
+    @Override
+    public void writeHeader(final RowMetadata rowMetadata) throws IOException {
+        if (recordsWriter != null) {
+            LOGGER.debug("Records already buffered, header will be written at the end.");
+            return;
         }
+        recordsWriter = new au.com.bytecode.opencsv.CSVWriter(new OutputStreamWriter(output), separator);
+        recordsWriter.writeNext(getColumnsName(rowMetadata));
+        headerWritten = true;
     }
 
     /**
@@ -93,28 +109,41 @@ public class CSVWriter implements TransformerWriter {
      */
     @Override
     public void write(final RowMetadata rowMetadata) throws IOException {
+        if (headerWritten) {
+            // header and records are already written
+            recordsWriter.flush();
+            return;
+        }
         // write the columns names
-        String[] columnsName = rowMetadata.getColumns().stream().map(ColumnMetadata::getName).toArray(String[]::new);
         au.com.bytecode.opencsv.CSVWriter csvWriter = //
         new au.com.bytecode.opencsv.CSVWriter(new OutputStreamWriter(output), separator);
-        csvWriter.writeNext(columnsName);
+        csvWriter.writeNext(getColumnsName(rowMetadata));
         csvWriter.flush();
         // Write buffered records
-        recordsWriter.flush();
-        try (InputStream input = new FileInputStream(bufferFile)) {
-            IOUtils.copy(input, output);
-        } finally {
-            recordsWriter.close();
+        if (recordsWriter != null) {
+            recordsWriter.flush();
+            try (InputStream input = new FileInputStream(bufferFile)) {
+                IOUtils.copy(input, output);
+            } finally {
+                recordsWriter.close();
+            }
         }
-
     }
 
     /**
      * @see TransformerWriter#write(DataSetRow)
-     * @throws UnsupportedOperationException if CsvWriter#write(RowMetadata) was not called before.
      */
     @Override
     public void write(final DataSetRow row) throws IOException {
+        if (recordsWriter == null) {
+            // columns are not known yet: buffer records until write(RowMetadata) is called
+            try {
+                bufferFile = File.createTempFile("csvWriter", ".csv");
+                recordsWriter = new au.com.bytecode.opencsv.CSVWriter(new FileWriter(bufferFile), separator);
+            } catch (IOException e) {
+                throw new TDPException(TransformationErrorCodes.UNABLE_TO_USE_EXPORT, e);
+            }
+        }
         // values need to be written in the same order as the columns
         recordsWriter.writeNext(row.order().toArray(DataSetRow.SKIP_TDP_ID));
     }
@@ -125,11 +154,17 @@ public class CSVWriter implements TransformerWriter {
     @Override
     public void flush() throws IOException {
         output.flush();
-        try {
-            FilesHelper.delete(bufferFile);
-        } catch (IOException e) {
-            LOGGER.warn("Unable to delete temporary file '{}'", bufferFile, e);
+        if (bufferFile != null) {
+            try {
+                FilesHelper.delete(bufferFile);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to delete temporary file '{}'", bufferFile, e);
+            }
         }
     }
 
+    private static String[] getColumnsName(RowMetadata rowMetadata) {
+        return rowMetadata.getColumns().stream().map(ColumnMetadata::getName).toArray(String[]::new);
+    }
+
 }
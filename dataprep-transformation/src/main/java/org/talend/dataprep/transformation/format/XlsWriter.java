@@ -16,7 +16,9 @@ package org.talend.dataprep.transformation.format;
 import static org.talend.dataprep.transformation.format.XlsFormat.XLSX;
 
 import java.io.*;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang.StringUtils;
@@ -55,11 +57,14 @@ public class XlsWriter implements TransformerWriter {
 
     private final Sheet sheet;
 
-    // Holds a temporary buffer on disk (as CSV) of records to be written
-    private final File bufferFile;
+    // Holds a temporary buffer on disk (as CSV) of records written before columns are known (created if needed)
+    private File bufferFile;
 
     // The CSV Writer to write to buffer
-    private final au.com.bytecode.opencsv.CSVWriter recordsWriter;
+    private au.com.bytecode.opencsv.CSVWriter recordsWriter;
+
+    // The columns of the header when it's written before the records (records are then written directly to sheet)
+    private List<ColumnMetadata> headerColumns;
 
     private int rowIdx = 0;
 
@@ -68,32 +73,48 @@ public class XlsWriter implements TransformerWriter {
     }
 
     public XlsWriter(final OutputStream output, Map<String, String> parameters) {
-        try {
-            this.outputStream = output;
-            // we limit to only 50 rows in memory
-            this.workbook = new SXSSFWorkbook(50);
-            // TODO sheet name as an option?
-            this.sheet = this.workbook.createSheet("sheet1");
-            bufferFile = File.createTempFile("xlsWriter", ".csv");
-            recordsWriter = new au.com.bytecode.opencsv.CSVWriter(new FileWriter(bufferFile), BUFFER_CSV_SEPARATOR);
-        } catch (IOException e) {
-            throw new TDPException(TransformationErrorCodes.UNABLE_TO_USE_EXPORT, e);
+        this.outputStream = output;
+        // we limit to only 50 rows in memory
+        this.workbook = new SXSSFWorkbook(50);
+        // TODO sheet name as an option?
+        this.sheet = this.workbook.createSheet("sheet1");
+    }
+
+    /**
+     * Writes the header row so that records can be written directly to the sheet (instead of a temporary file).
+     * Ignored if records were already written.
+     *
+     * @see TransformerWriter#writeHeader(RowMetadata)
+     */
+    @Override
+    public void writeHeader(RowMetadata columns) throws IOException {
+        if (recordsWriter != null || columns.getColumns().isEmpty()) {
+            LOGGER.debug("Header will be written at the end.");
+            return;
         }
+        headerColumns = new ArrayList<>(columns.getColumns());
+        writeHeaderRow(headerColumns);
+    }
+
+    /**
+     * Cells of numeric and boolean columns are typed, so types must be known when header is written.
+     *
+     * @see TransformerWriter#needsColumnTypes()
+     */
+    @Override
+    public boolean needsColumnTypes() {
+        return true;
     }
 
     @Override
     public void write(RowMetadata columns) throws IOException {
         LOGGER.debug("write RowMetadata: {}", columns);
-        if (columns.getColumns().isEmpty()) {
+        if (headerColumns != null || columns.getColumns().isEmpty()) {
             return;
         }
-        CreationHelper createHelper = this.workbook.getCreationHelper();
-        // writing headers so first row
-        Row headerRow = this.sheet.createRow(rowIdx++);
-        int cellIdx = 0;
-        for (ColumnMetadata columnMetadata : columns.getColumns()) {
-            // TODO apply some formatting as it's an header cell?
-            headerRow.createCell(cellIdx++).setCellValue(createHelper.createRichTextString(columnMetadata.getName()));
+        writeHeaderRow(columns.getColumns());
+        if (recordsWriter == null) {
+            return;
         }
         // Empty buffer
         recordsWriter.flush();
@@ -102,38 +123,7 @@ public class XlsWriter implements TransformerWriter {
             try (CSVReader bufferReader = new CSVReader(reader, BUFFER_CSV_SEPARATOR, '\"', '\0')) {
                 String[] nextRow;
                 while ((nextRow = bufferReader.readNext()) != null) {
-                    // writing data
-                    Row row = this.sheet.createRow(rowIdx++);
-                    cellIdx = 0;
-                    for (ColumnMetadata columnMetadata : columns.getColumns()) {
-                        Cell cell = row.createCell(cellIdx);
-                        String val = nextRow[cellIdx];
-                        switch (Type.get(columnMetadata.getType())) {
-                            case NUMERIC:
-                            case INTEGER:
-                            case DOUBLE:
-                            case FLOAT:
-                                try {
-                                    if (!StringUtils.isEmpty(val)) {
-                                        cell.setCellValue(Double.valueOf(val));
-                                    }
-                                } catch (NumberFormatException e) {
-                                    LOGGER.debug("Skip NumberFormatException and use string for value '{}' row '{}' column '{}'", //
-                                            val, rowIdx - 1, cellIdx - 1);
-                                    cell.setCellValue(val);
-                                }
-                                break;
-                            case BOOLEAN:
-                                cell.setCellValue(Boolean.valueOf(val));
-                                break;
-                            // FIXME ATM we don't have any idea about the date format so this can generate exceptions
-                            // case "date":
-                            // cell.setCellValue( );
-                            default:
-                                cell.setCellValue(val);
-                        }
-                        cellIdx++;
-                    }
+                    writeRow(nextRow, columns.getColumns());
                 }
             }
         }
@@ -141,18 +131,79 @@ public class XlsWriter implements TransformerWriter {
 
     @Override
     public void write(DataSetRow row) throws IOException {
-        LOGGER.trace("Buffering DataSetRow (metadata not ready): {}", row);
         // values need to be written in the same order as the columns
-        recordsWriter.writeNext(row.order().toArray(DataSetRow.SKIP_TDP_ID));
+        final String[] values = row.order().toArray(DataSetRow.SKIP_TDP_ID);
+        if (headerColumns != null) {
+            writeRow(values, headerColumns);
+            return;
+        }
+        LOGGER.trace("Buffering DataSetRow (metadata not ready): {}", row);
+        if (recordsWriter == null) {
+            try {
+                bufferFile = File.createTempFile("xlsWriter", ".csv");
+                recordsWriter = new au.com.bytecode.opencsv.CSVWriter(new FileWriter(bufferFile), BUFFER_CSV_SEPARATOR);
+            } catch (IOException e) {
+                throw new TDPException(TransformationErrorCodes.UNABLE_TO_USE_EXPORT, e);
+            }
+        }
+        recordsWriter.writeNext(values);
     }
 
     @Override
     public void flush() throws IOException {
         this.workbook.write(outputStream);
-        try {
-            FilesHelper.delete(bufferFile);
-        } catch (IOException e) {
-            LOGGER.warn("Unable to delete temporary file '{}'", bufferFile, e);
+        if (bufferFile != null) {
+            try {
+                FilesHelper.delete(bufferFile);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to delete temporary file '{}'", bufferFile, e);
+            }
+        }
+    }
+
+    private void writeHeaderRow(List<ColumnMetadata> columns) {
+        CreationHelper createHelper = this.workbook.getCreationHelper();
+        // writing headers so first row
+        Row headerRow = this.sheet.createRow(rowIdx++);
+        int cellIdx = 0;
+        for (ColumnMetadata columnMetadata : columns) {
+            // TODO apply some formatting as it's an header cell?
+            headerRow.createCell(cellIdx++).setCellValue(createHelper.createRichTextString(columnMetadata.getName()));
+        }
+    }
+
+    private void writeRow(String[] values, List<ColumnMetadata> columns) {
+        // writing data
+        Row row = this.sheet.createRow(rowIdx++);
+        int cellIdx = 0;
+        for (ColumnMetadata columnMetadata : columns) {
+            Cell cell = row.createCell(cellIdx);
+            String val = values[cellIdx];
+            switch (Type.get(columnMetadata.getType())) {
+                case NUMERIC:
+                case INTEGER:
+                case DOUBLE:
+                case FLOAT:
+                    try {
+                        if (!StringUtils.isEmpty(val)) {
+                            cell.setCellValue(Double.valueOf(val));
+                        }
+                    } catch (NumberFormatException e) {
+                        LOGGER.debug("Skip NumberFormatException and use string for value '{}' row '{}' column '{}'", //
+                                val, rowIdx - 1, cellIdx - 1);
+                        cell.setCellValue(val);
+                    }
+                    break;
+                case BOOLEAN:
+                    cell.setCellValue(Boolean.valueOf(val));
+                    break;
+                // FIXME ATM we don't have any idea about the date format so this can generate exceptions
+                // case "date":
+                // cell.setCellValue( );
+                default:
+                    cell.setCellValue(val);
+            }
+            cellIdx++;
         }
     }
 
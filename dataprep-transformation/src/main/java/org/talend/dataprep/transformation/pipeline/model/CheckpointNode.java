@@ -0,0 +1,196 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.model;
+
+import static org.talend.dataprep.cache.ContentCache.TimeToLive.DEFAULT;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.transformation.api.transformer.ConfiguredCacheWriter;
+import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
+import org.talend.dataprep.transformation.cache.CacheEntryCodec;
+import org.talend.dataprep.transformation.cache.CheckpointCacheKey;
+import org.talend.dataprep.transformation.pipeline.Monitored;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataprep.transformation.pipeline.node.BasicNode;
+
+/**
+ * A node that caches the rows (and row metadata) produced by a step of a preparation, so that a later transformation
+ * can resume from this step instead of replaying all the preparation (a checkpoint). Rows are always forwarded to next
+ * nodes: an error while caching only discards the checkpoint.
+ */
+public class CheckpointNode extends BasicNode implements Monitored {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CheckpointNode.class);
+
+    private final ContentCache contentCache;
+
+    private final CacheEntryCodec codec;
+
+    private final CheckpointCacheKey key;
+
+    /** The key where content is written until the checkpoint is complete. */
+    private CheckpointCacheKey temporaryKey;
+
+    private OutputStream output;
+
+    private TransformerWriter writer;
+
+    private RowMetadata lastRowMetadata;
+
+    /** <code>true</code> when checkpoint is written, discarded or canceled (rows are no longer cached). */
+    private boolean ended;
+
+    private long totalTime;
+
+    private long count;
+
+    /**
+     * @param contentCache The cache where checkpoint is stored.
+     * @param codec The codec used to write content.
+     * @param key The key of the step checkpoint.
+     */
+    public CheckpointNode(ContentCache contentCache, CacheEntryCodec codec, CheckpointCacheKey key) {
+        this.contentCache = contentCache;
+        this.codec = codec;
+        this.key = key;
+    }
+
+    @Override
+    public void receive(DataSetRow row, RowMetadata metadata) {
+        write(row, metadata);
+        super.receive(row, metadata);
+    }
+
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        for (DataSetRow row : rows) {
+            write(row, metadata);
+        }
+        forwardBatch(rows, metadata);
+    }
+
+    @Override
+    public void signal(Signal signal) {
+        switch (signal) {
+        case END_OF_STREAM:
+            endOfStream();
+            break;
+        case CANCEL:
+        case STOP:
+            discard();
+            break;
+        default:
+            LOGGER.debug("Unhandled signal {}.", signal);
+        }
+        super.signal(signal);
+    }
+
+    private void write(DataSetRow row, RowMetadata metadata) {
+        if (ended) {
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        try {
+            if (writer == null) {
+                temporaryKey = key.getTemporaryKey();
+                output = contentCache.put(temporaryKey, DEFAULT);
+                writer = codec.writer(output);
+                writer.startObject();
+                writer.fieldName("records");
+                writer.startArray();
+            }
+            lastRowMetadata = metadata;
+            if (row.shouldWrite()) {
+                writer.write(row);
+                count++;
+            }
+        } catch (Exception e) {
+            LOGGER.debug("Unable to write checkpoint '{}'.", key.getKey(), e);
+            discard();
+        } finally {
+            totalTime += System.currentTimeMillis() - start;
+        }
+    }
+
+    private void endOfStream() {
+        if (ended || writer == null) {
+            // nothing received: no checkpoint for this step
+            ended = true;
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        try {
+            writer.endArray();
+            writer.fieldName("metadata");
+            writer.startObject();
+            writer.fieldName("columns");
+            writer.write(lastRowMetadata);
+            writer.endObject();
+            writer.endObject();
+            writer.flush();
+            output.close();
+            // metadata goes first: readers only look for content, that appears once complete
+            new ConfiguredCacheWriter(contentCache, DEFAULT).write(key.getMetadataKey(), lastRowMetadata);
+            contentCache.move(temporaryKey, key, DEFAULT);
+            ended = true;
+            LOGGER.debug("New checkpoint {} ({} rows).", key.getKey(), count);
+        } catch (Exception e) {
+            LOGGER.debug("Unable to end checkpoint '{}'.", key.getKey(), e);
+            discard();
+        } finally {
+            totalTime += System.currentTimeMillis() - start;
+        }
+    }
+
+    /**
+     * Stops caching rows and removes the incomplete checkpoint content from cache.
+     */
+    private void discard() {
+        if (ended) {
+            return;
+        }
+        ended = true;
+        if (output != null) {
+            try {
+                output.close();
+            } catch (IOException e) {
+                LOGGER.debug("Unable to close checkpoint '{}'.", key.getKey(), e);
+            }
+            contentCache.evict(temporaryKey);
+        }
+    }
+
+    @Override
+    public Node copyShallow() {
+        return new CheckpointNode(contentCache, codec, key);
+    }
+
+    @Override
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    @Override
+    public long getCount() {
+        return count;
+    }
+}
@@ -40,6 +40,9 @@ public class WriterNode extends BasicNode implements Monitored {
     /** Fall back raw metadata when no row (hence row metadata) is received. */
     private RowMetadata fallBackRowMetadata;
 
+    /** <code>true</code> if row metadata of the first row is final and can be written before the rows. */
+    private final boolean writeHeader;
+
     private RowMetadata lastRowMetadata;
 
     private boolean startRecords = false;
@@ -62,10 +65,27 @@ public class WriterNode extends BasicNode implements Monitored {
      */
     public WriterNode(final TransformerWriter writer, final ConfiguredCacheWriter metadataCacheWriter,
             final ContentCacheKey metadataKey, RowMetadata fallBackRowMetadata) {
+        this(writer, metadataCacheWriter, metadataKey, fallBackRowMetadata, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param writer the transformer writer.
+     * @param metadataCacheWriter the metadata cache writer.
+     * @param metadataKey the transformation metadata cache key to use.
+     * @param fallBackRowMetadata fallback raw metadata to be able to write an empty content even if no row/rowMetadata id
+     * received.
+     * @param writeHeader <code>true</code> if the columns received with the first row won't change until the end of
+     * stream, so they can be written before the rows (see {@link TransformerWriter#writeHeader(RowMetadata)}).
+     */
+    public WriterNode(final TransformerWriter writer, final ConfiguredCacheWriter metadataCacheWriter,
+            final ContentCacheKey metadataKey, RowMetadata fallBackRowMetadata, boolean writeHeader) {
         this.writer = writer;
         this.metadataCacheWriter = metadataCacheWriter;
         this.metadataKey = metadataKey;
         this.fallBackRowMetadata = fallBackRowMetadata;
+        this.writeHeader = writeHeader;
     }
 
     /**
@@ -90,6 +110,9 @@ public class WriterNode extends BasicNode implements Monitored {
                 writer.fieldName("records");
                 writer.startArray();
                 startRecords = true;
+                if (writeHeader) {
+                    writer.writeHeader(metadata);
+                }
             }
             lastRowMetadata = metadata;
             if (row.shouldWrite()) {
@@ -104,6 +127,18 @@ public class WriterNode extends BasicNode implements Monitored {
         }
     }
 
+    /**
+     * Synchronized method not to clash with the signal method (the whole batch is written at once).
+     *
+     * @see WriterNode#receive(DataSetRow, RowMetadata)
+     */
+    @Override
+    public synchronized void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        for (DataSetRow row : rows) {
+            receive(row, metadata);
+        }
+    }
+
     /**
      * Synchronized method not to clash with the receive method.
      *
@@ -195,7 +230,7 @@ public class WriterNode extends BasicNode implements Monitored {
 
     @Override
     public Node copyShallow() {
-        return new WriterNode(writer, metadataCacheWriter, metadataKey, fallBackRowMetadata);
+        return new WriterNode(writer, metadataCacheWriter, metadataKey, fallBackRowMetadata, writeHeader);
     }
 
     @Override
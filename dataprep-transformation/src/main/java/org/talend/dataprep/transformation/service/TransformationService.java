@@ -71,6 +71,7 @@ import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.BinaryDataSetFormat;
 import org.talend.dataprep.api.dataset.row.Flag;
 import org.talend.dataprep.api.dataset.statistics.SemanticDomain;
 import org.talend.dataprep.api.export.ExportParameters;
@@ -109,7 +110,9 @@ import org.talend.dataprep.transformation.api.transformer.configuration.Configur
 import org.talend.dataprep.transformation.api.transformer.configuration.PreviewConfiguration;
 import org.talend.dataprep.transformation.api.transformer.suggestion.Suggestion;
 import org.talend.dataprep.transformation.api.transformer.suggestion.SuggestionEngine;
+import org.talend.dataprep.transformation.cache.CacheEntryCodec;
 import org.talend.dataprep.transformation.cache.CacheKeyGenerator;
+import org.talend.dataprep.transformation.cache.CheckpointCacheKey;
 import org.talend.dataprep.transformation.cache.TransformationMetadataCacheKey;
 import org.talend.dataprep.transformation.pipeline.ActionRegistry;
 import org.talend.dataprep.transformation.preview.api.PreviewParameters;
@@ -186,6 +189,9 @@ public class TransformationService extends BaseTransformationService {
     @Autowired
     private ContentCache contentCache;
 
+    @Autowired
+    private CacheEntryCodec cacheEntryCodec;
+
     @Autowired
     private BeanConversionService beanConversionService;
 
@@ -311,13 +317,13 @@ public class TransformationService extends BaseTransformationService {
                 throw new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE, e);
             }
         } else {
-            final DataSetGet dataSetGet = context.getBean(DataSetGet.class, parameters.getDatasetId(), false, true);
+            final DataSetGet dataSetGet = context.getBean(DataSetGet.class, parameters.getDatasetId(), false, true, true);
             contentToAggregate = dataSetGet.execute();
         }
 
         // apply the aggregation
-        try (JsonParser parser = mapper.getFactory().createParser(contentToAggregate)) {
-            final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
+        try {
+            final DataSet dataSet = BinaryDataSetFormat.read(contentToAggregate, mapper);
             return aggregationService.aggregate(parameters, dataSet);
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNABLE_TO_PARSE_JSON, e);
@@ -377,8 +383,7 @@ public class TransformationService extends BaseTransformationService {
         );
 
         try (final InputStream metadata = contentCache.get(metadataKey); //
-            final InputStream content = contentCache.get(contentKey); //
-            final JsonParser contentParser = mapper.getFactory().createParser(content)) {
+            final InputStream content = contentCache.get(contentKey)) {
 
             // build metadata
             final RowMetadata rowMetadata = mapper.readerFor(RowMetadata.class).readValue(metadata);
@@ -386,7 +391,7 @@ public class TransformationService extends BaseTransformationService {
             dataSetMetadata.setRowMetadata(rowMetadata);
 
             // build dataset
-            final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(contentParser);
+            final DataSet dataSet = cacheEntryCodec.read(content);
             dataSet.setMetadata(dataSetMetadata);
 
             // trigger diff
@@ -404,17 +409,16 @@ public class TransformationService extends BaseTransformationService {
 
     private void executeDiffOnDataset(final PreviewParameters previewParameters, final OutputStream output) {
         // because of dataset records streaming, the dataset content must be within an auto closeable block
-        final DataSetGet dataSetGet = context.getBean(DataSetGet.class, previewParameters.getDataSetId(), false, true);
+        final DataSetGet dataSetGet = context.getBean(DataSetGet.class, previewParameters.getDataSetId(), false, true, true);
 
         boolean identityReleased = false;
         securityProxy.asTechnicalUser();
-        try (final InputStream dataSetContent = dataSetGet.execute(); //
-                final JsonParser parser = mapper.getFactory().createParser(dataSetContent)) {
+        try (final InputStream dataSetContent = dataSetGet.execute()) {
 
             securityProxy.releaseIdentity();
             identityReleased = true;
 
-            final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
+            final DataSet dataSet = BinaryDataSetFormat.read(dataSetContent, mapper);
             executePreview( //
                     previewParameters.getNewActions(), //
                     previewParameters.getBaseActions(), //
@@ -473,6 +477,9 @@ public class TransformationService extends BaseTransformationService {
         for(final ExportParameters.SourceType sourceType : ExportParameters.SourceType.values()) {
             evictCache(preparationId, sourceType);
         }
+        // matches all checkpoint entries of the preparation: content, metadata, any data set, step, source or user
+        final CheckpointCacheKey checkpointKey = cacheKeyGenerator.generateCheckpointKey(null, preparationId, null, null);
+        contentCache.evictMatch(checkpointKey);
     }
 
     private void evictCache(final String preparationId, final ExportParameters.SourceType sourceType) {
@@ -836,8 +843,8 @@ public class TransformationService extends BaseTransformationService {
         final Analyzer<Analyzers.Result> analyzer = analyzerService.build(columnMetadata, SEMANTIC);
         analyzer.init();
 
-        try (final JsonParser parser = mapper.getFactory().createParser(records)) {
-            final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
+        try (final InputStream content = records) {
+            final DataSet dataSet = cacheEntryCodec.read(content);
             dataSet.getRecords() //
                     .map(r -> r.get(columnId)) //
                     .forEach(analyzer::analyze);
@@ -13,11 +13,11 @@
 package org.talend.dataprep.transformation.service.export;
 
 import static org.talend.dataprep.transformation.api.transformer.configuration.Configuration.Volume.SMALL;
+import static org.talend.dataprep.transformation.format.JsonFormat.JSON;
 
 import java.io.InputStream;
 import java.io.OutputStream;
 
-import org.apache.commons.io.output.TeeOutputStream;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,9 +25,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.row.BinaryDataSetFormat;
 import org.talend.dataprep.api.export.ExportParameters;
 import org.talend.dataprep.api.preparation.Preparation;
-import org.talend.dataprep.cache.ContentCache;
 import org.talend.dataprep.command.dataset.DataSetGet;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.TransformationErrorCodes;
@@ -35,11 +35,10 @@ import org.talend.dataprep.format.export.ExportFormat;
 import org.talend.dataprep.transformation.api.transformer.configuration.Configuration;
 import org.talend.dataprep.transformation.cache.CacheKeyGenerator;
 import org.talend.dataprep.transformation.cache.TransformationCacheKey;
+import org.talend.dataprep.transformation.cache.TransformationCacheLoader;
 import org.talend.dataprep.transformation.service.ExportStrategy;
 import org.talend.dataprep.transformation.service.ExportUtils;
 
-import com.fasterxml.jackson.core.JsonParser;
-
 /**
  * A {@link ExportStrategy strategy} to apply a preparation on a different dataset (different from the one initially
  * in the preparation).
@@ -52,6 +51,9 @@ public class ApplyPreparationExportStrategy extends StandardExportStrategy {
     @Autowired
     private CacheKeyGenerator cacheKeyGenerator;
 
+    @Autowired
+    private TransformationCacheLoader transformationCacheLoader;
+
     @Override
     public boolean accept(ExportParameters parameters) {
         if (parameters == null) {
@@ -81,19 +83,18 @@ public class ApplyPreparationExportStrategy extends StandardExportStrategy {
         final ExportFormat format = getFormat(parameters.getExportType());
 
         // get the dataset content (in an auto-closable block to make sure it is properly closed)
-        final DataSetGet dataSetGet = applicationContext.getBean(DataSetGet.class, dataSetId, false, true);
-        try (final InputStream datasetContent = dataSetGet.execute();
-             final JsonParser parser = mapper.getFactory().createParser(datasetContent)) {
+        final DataSetGet dataSetGet = applicationContext.getBean(DataSetGet.class, dataSetId, false, true, true);
+        try (final InputStream datasetContent = dataSetGet.execute()) {
             // head is not allowed as step id
             final String version = getCleanStepId(preparation, stepId);
 
             // Create dataset
-            final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
+            final DataSet dataSet = BinaryDataSetFormat.read(datasetContent, mapper);
 
             // get the actions to apply (no preparation ==> dataset export ==> no actions)
             final String actions = getActions(preparationId, version);
 
-            // create tee to broadcast to cache + service output
+            // transformed content is written to both cache and service output
             final TransformationCacheKey key = cacheKeyGenerator.generateContentKey(
                     dataSetId,
                     preparationId,
@@ -104,7 +105,8 @@ public class ApplyPreparationExportStrategy extends StandardExportStrategy {
             );
             LOGGER.debug("Cache key: " + key.getKey());
             LOGGER.debug("Cache key details: " + key.toString());
-            try (final TeeOutputStream tee = new TeeOutputStream(outputStream, contentCache.put(key, ContentCache.TimeToLive.DEFAULT))) {
+            // identical concurrent exports are computed once
+            transformationCacheLoader.load(key, JSON.equals(formatName), outputStream, cacheOutput -> {
                 final Configuration configuration = Configuration.builder() //
                         .args(parameters.getArguments()) //
                         .outFilter(rm -> filterService.build(parameters.getFilter(), rm)) //
@@ -114,15 +116,12 @@ public class ApplyPreparationExportStrategy extends StandardExportStrategy {
                         .preparation(getPreparation(preparationId)) //
                         .stepId(version) //
                         .volume(SMALL) //
-                        .output(tee) //
+                        .output(outputStream) //
+                        .cacheOutput(cacheOutput) //
                         .build();
                 factory.get(configuration).transform(dataSet, configuration);
-                tee.flush();
-            } catch (Throwable e) { // NOSONAR
-                LOGGER.debug("evicting cache {}", key.getKey());
-                contentCache.evict(key);
-                throw e;
-            }
+                outputStream.flush();
+            });
         } catch (TDPException e) {
             throw e;
         } catch (Exception e) {
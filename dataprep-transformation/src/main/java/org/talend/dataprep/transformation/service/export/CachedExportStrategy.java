@@ -12,6 +12,10 @@
 
 package org.talend.dataprep.transformation.service.export;
 
+import static org.talend.dataprep.transformation.format.JsonFormat.JSON;
+
+import java.io.InputStream;
+
 import org.apache.commons.lang.StringUtils;
 import org.apache.poi.util.IOUtils;
 import org.slf4j.Logger;
@@ -23,8 +27,11 @@ import org.talend.dataprep.api.export.ExportParameters;
 import org.talend.dataprep.api.preparation.PreparationMessage;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.PreparationErrorCodes;
+import org.talend.dataprep.exception.error.TransformationErrorCodes;
+import org.talend.dataprep.transformation.cache.CacheEntryCodec;
 import org.talend.dataprep.transformation.cache.CacheKeyGenerator;
 import org.talend.dataprep.transformation.cache.TransformationCacheKey;
+import org.talend.dataprep.transformation.cache.TransformationCacheLoader;
 import org.talend.dataprep.transformation.service.ExportStrategy;
 import org.talend.dataprep.transformation.service.ExportUtils;
 
@@ -40,6 +47,12 @@ public class CachedExportStrategy extends StandardExportStrategy {
     @Autowired
     private CacheKeyGenerator cacheKeyGenerator;
 
+    @Autowired
+    private CacheEntryCodec cacheEntryCodec;
+
+    @Autowired
+    private TransformationCacheLoader transformationCacheLoader;
+
     @Override
     public boolean accept(ExportParameters parameters) {
         if (parameters == null) {
@@ -66,7 +79,31 @@ public class CachedExportStrategy extends StandardExportStrategy {
     public StreamingResponseBody execute(ExportParameters parameters) {
         final TransformationCacheKey contentKey = getCacheKey(parameters);
         ExportUtils.setExportHeaders(parameters.getExportName(), getFormat(parameters.getExportType()));
-        return outputStream -> IOUtils.copy(contentCache.get(contentKey), outputStream);
+        if (JSON.equals(parameters.getExportType())) {
+            // JSON content is cached using the cache codec
+            return outputStream -> {
+                awaitContent(contentKey);
+                try (InputStream content = contentCache.get(contentKey)) {
+                    cacheEntryCodec.toJson(content, outputStream);
+                }
+            };
+        }
+        return outputStream -> {
+            awaitContent(contentKey);
+            IOUtils.copy(contentCache.get(contentKey), outputStream);
+        };
+    }
+
+    /**
+     * Cache entry exists while content is written, so wait for any transformation in progress for this key.
+     */
+    private void awaitContent(TransformationCacheKey contentKey) {
+        try {
+            transformationCacheLoader.await(contentKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TDPException(TransformationErrorCodes.UNABLE_TO_TRANSFORM_DATASET, e);
+        }
     }
 
     private TransformationCacheKey getCacheKey(ExportParameters parameters) {
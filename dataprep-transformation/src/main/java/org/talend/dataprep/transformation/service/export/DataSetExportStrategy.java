@@ -18,6 +18,7 @@ import org.apache.commons.lang.StringUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.row.BinaryDataSetFormat;
 import org.talend.dataprep.api.export.ExportParameters;
 import org.talend.dataprep.command.dataset.DataSetGet;
 import org.talend.dataprep.command.dataset.DataSetGetMetadata;
@@ -28,8 +29,6 @@ import org.talend.dataprep.transformation.api.transformer.configuration.Configur
 import org.talend.dataprep.transformation.service.ExportStrategy;
 import org.talend.dataprep.transformation.service.ExportUtils;
 
-import com.fasterxml.jackson.core.JsonParser;
-
 /**
  * A {@link ExportStrategy strategy} to export a data set, without using a preparation.
  */
@@ -54,23 +53,21 @@ public class DataSetExportStrategy extends StandardExportStrategy {
         return outputStream -> {
             // get the dataset content (in an auto-closable block to make sure it is properly closed)
             final String datasetId = parameters.getDatasetId();
-            final DataSetGet dataSetGet = applicationContext.getBean(DataSetGet.class, datasetId, false, true);
+            final DataSetGet dataSetGet = applicationContext.getBean(DataSetGet.class, datasetId, false, true, true);
             final DataSetGetMetadata dataSetGetMetadata = applicationContext.getBean(DataSetGetMetadata.class, datasetId);
             try (InputStream datasetContent = dataSetGet.execute()) {
-                try (JsonParser parser = mapper.getFactory().createParser(datasetContent)) {
-                    // Create dataset
-                    final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
-                    dataSet.setMetadata(dataSetGetMetadata.execute());
-                    // get the actions to apply (no preparation ==> dataset export ==> no actions)
-                    Configuration configuration = Configuration.builder() //
-                            .args(parameters.getArguments()) //
-                            .outFilter(rm -> filterService.build(parameters.getFilter(), rm)) //
-                            .format(format.getName()) //
-                            .volume(Configuration.Volume.SMALL) //
-                            .output(outputStream) //
-                            .build();
-                    factory.get(configuration).transform(dataSet, configuration);
-                }
+                // Create dataset
+                final DataSet dataSet = BinaryDataSetFormat.read(datasetContent, mapper);
+                dataSet.setMetadata(dataSetGetMetadata.execute());
+                // get the actions to apply (no preparation ==> dataset export ==> no actions)
+                Configuration configuration = Configuration.builder() //
+                        .args(parameters.getArguments()) //
+                        .outFilter(rm -> filterService.build(parameters.getFilter(), rm)) //
+                        .format(format.getName()) //
+                        .volume(Configuration.Volume.SMALL) //
+                        .output(outputStream) //
+                        .build();
+                factory.get(configuration).transform(dataSet, configuration);
             } catch (TDPException e) {
                 throw e;
             } catch (Exception e) {
@@ -12,6 +12,8 @@
 
 package org.talend.dataprep.transformation.service.export;
 
+import static org.talend.dataprep.transformation.format.JsonFormat.JSON;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -19,7 +21,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.apache.commons.io.output.TeeOutputStream;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,22 +33,25 @@ import org.talend.dataprep.api.export.ExportParameters;
 import org.talend.dataprep.api.preparation.Preparation;
 import org.talend.dataprep.api.preparation.PreparationMessage;
 import org.talend.dataprep.api.preparation.Step;
-import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.ContentCacheKey;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.TransformationErrorCodes;
 import org.talend.dataprep.format.export.ExportFormat;
 import org.talend.dataprep.transformation.api.transformer.configuration.Configuration;
+import org.talend.dataprep.transformation.cache.CacheEntryCodec;
 import org.talend.dataprep.transformation.cache.CacheKeyGenerator;
+import org.talend.dataprep.transformation.cache.CheckpointCacheKey;
 import org.talend.dataprep.transformation.cache.TransformationCacheKey;
+import org.talend.dataprep.transformation.cache.TransformationCacheLoader;
 import org.talend.dataprep.transformation.cache.TransformationMetadataCacheKey;
 import org.talend.dataprep.transformation.service.ExportStrategy;
 import org.talend.dataprep.transformation.service.ExportUtils;
 
-import com.fasterxml.jackson.core.JsonParser;
-
 /**
  * A {@link ExportStrategy strategy} to export a preparation (using its default data set), using any information
- * available in cache (metadata and content).
+ * available in cache (metadata and content): export resumes from the result of the previous step or from the nearest
+ * {@link org.talend.dataprep.transformation.cache.StepCheckpointPolicy checkpoint} before the exported step, and only
+ * replays the next steps.
  */
 @Component
 public class OptimizedExportStrategy extends StandardExportStrategy {
@@ -57,6 +61,12 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
     @Autowired
     private CacheKeyGenerator cacheKeyGenerator;
 
+    @Autowired
+    private CacheEntryCodec cacheEntryCodec;
+
+    @Autowired
+    private TransformationCacheLoader transformationCacheLoader;
+
     @Override
     public boolean accept(ExportParameters parameters) {
         if (parameters == null) {
@@ -90,55 +100,56 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
         }
         final String preparationId = parameters.getPreparationId();
         final String dataSetId = optimizedPreparationInput.getDataSetId();
-        final TransformationCacheKey transformationCacheKey = optimizedPreparationInput.getTransformationCacheKey();
+        final ContentCacheKey previousContentKey = optimizedPreparationInput.getContentKey();
         final DataSetMetadata metadata = optimizedPreparationInput.getMetadata();
         final String previousVersion = optimizedPreparationInput.getPreviousVersion();
         final String version = optimizedPreparationInput.getVersion();
         final ExportFormat format = getFormat(parameters.getExportType());
 
-        // Get content from previous step
-        try (JsonParser parser = mapper.getFactory().createParser(contentCache.get(transformationCacheKey))) {
-            // Create dataset
-            final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
-            dataSet.setMetadata(metadata);
-
-            // get the actions to apply (no preparation ==> dataset export ==> no actions)
-            final String actions = getActions(preparationId, previousVersion, version);
-            final PreparationMessage preparation = getPreparation(preparationId);
-            preparation.setSteps(getMatchingSteps(preparation.getSteps(), previousVersion, version));
-
-            LOGGER.debug("Running optimized strategy for preparation {} @ step #{}", preparationId, version);
-
-            // create tee to broadcast to cache + service output
-            final TransformationCacheKey key = cacheKeyGenerator.generateContentKey(
-                    dataSetId,
-                    preparationId,
-                    version,
-                    parameters.getExportType(),
-                    parameters.getFrom(),
-                    parameters.getArguments()
-            );
-            LOGGER.debug("Cache key: " + key.getKey());
-            LOGGER.debug("Cache key details: " + key.toString());
-
-            try (final TeeOutputStream tee = new TeeOutputStream(outputStream, contentCache.put(key, ContentCache.TimeToLive.DEFAULT))) {
-                final Configuration configuration = Configuration.builder() //
-                        .args(parameters.getArguments()) //
-                        .outFilter(rm -> filterService.build(parameters.getFilter(), rm)) //
-                        .sourceType(parameters.getFrom())
-                        .format(format.getName()) //
-                        .actions(actions) //
-                        .preparation(preparation) //
-                        .stepId(version) //
-                        .volume(Configuration.Volume.SMALL) //
-                        .output(tee) //
-                        .build();
-                factory.get(configuration).transform(dataSet, configuration);
-                tee.flush();
-            } catch (Throwable e) { // NOSONAR
-                contentCache.evict(key);
-                throw e;
-            }
+        // transformed content is written to both cache and service output
+        final TransformationCacheKey key = cacheKeyGenerator.generateContentKey(
+                dataSetId,
+                preparationId,
+                version,
+                parameters.getExportType(),
+                parameters.getFrom(),
+                parameters.getArguments()
+        );
+        LOGGER.debug("Cache key: " + key.getKey());
+        LOGGER.debug("Cache key details: " + key.toString());
+
+        try {
+            // identical concurrent exports are computed once
+            transformationCacheLoader.load(key, JSON.equals(parameters.getExportType()), outputStream, cacheOutput -> {
+                // Get content from previous step
+                try (InputStream content = contentCache.get(previousContentKey)) {
+                    // Create dataset
+                    final DataSet dataSet = cacheEntryCodec.read(content);
+                    dataSet.setMetadata(metadata);
+
+                    // get the actions to apply (no preparation ==> dataset export ==> no actions)
+                    final String actions = getActions(preparationId, previousVersion, version);
+                    final PreparationMessage preparation = getPreparation(preparationId);
+                    preparation.setSteps(getMatchingSteps(preparation.getSteps(), previousVersion, version));
+
+                    LOGGER.debug("Running optimized strategy for preparation {} @ step #{}", preparationId, version);
+
+                    final Configuration configuration = Configuration.builder() //
+                            .args(parameters.getArguments()) //
+                            .outFilter(rm -> filterService.build(parameters.getFilter(), rm)) //
+                            .sourceType(parameters.getFrom())
+                            .format(format.getName()) //
+                            .actions(actions) //
+                            .preparation(preparation) //
+                            .stepId(version) //
+                            .volume(Configuration.Volume.SMALL) //
+                            .output(outputStream) //
+                            .cacheOutput(cacheOutput) //
+                            .build();
+                    factory.get(configuration).transform(dataSet, configuration);
+                    outputStream.flush();
+                }
+            });
         } catch (TDPException e) {
             throw e;
         } catch (Exception e) {
@@ -195,7 +206,11 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
 
         private DataSetMetadata metadata;
 
-        private TransformationCacheKey transformationCacheKey;
+        /** Key of the content to resume from. */
+        private ContentCacheKey contentKey;
+
+        /** Key of the metadata of the content to resume from. */
+        private ContentCacheKey metadataKey;
 
         private String previousVersion;
 
@@ -228,8 +243,8 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
             return metadata;
         }
 
-        private TransformationCacheKey getTransformationCacheKey() {
-            return transformationCacheKey;
+        private ContentCacheKey getContentKey() {
+            return contentKey;
         }
 
         private boolean applicable() {
@@ -252,8 +267,6 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
                 return null;
             }
             // head is not allowed as step id
-            version = stepId;
-            previousVersion = rootStep.getId();
             final List<String> steps = preparation.getSteps().stream().map(Step::id).collect(Collectors.toList());
             if (steps.size() <= 2) {
                 LOGGER.debug("Not enough steps ({}) in preparation.", steps.size());
@@ -261,39 +274,73 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
             }
             if (StringUtils.equals("head", stepId) || StringUtils.isEmpty(stepId)) {
                 version = steps.get(steps.size() - 1);
-                previousVersion = steps.get(steps.size() - 2);
+            } else {
+                version = stepId;
+            }
+            // Look for the nearest cached step before version (root step is never cached)
+            final int index = steps.indexOf(version);
+            for (int i = index - 1; i > 0; i--) {
+                if (isCached(steps.get(i), i == index - 1)) {
+                    try (InputStream input = contentCache.get(metadataKey)) {
+                        if (input == null) {
+                            LOGGER.debug("Metadata of version '{}' no longer in cache", steps.get(i));
+                            continue;
+                        }
+                        metadata = mapper.readerFor(DataSetMetadata.class).readValue(input);
+                    }
+                    previousVersion = steps.get(i);
+                    LOGGER.debug("Resume from step '{}' ({} step(s) to replay)", previousVersion, index - i);
+                    return this;
+                }
+            }
+            LOGGER.debug("No cached step before version '{}'", version);
+            return null;
+        }
+
+        /**
+         * Checks if transformation can resume from <code>candidate</code> step: either this step has a
+         * {@link CheckpointCacheKey checkpoint}, or (for the step right before the exported one) its own transformation
+         * result is in cache.
+         *
+         * @param candidate A step id.
+         * @param previous <code>true</code> if candidate is the step right before the exported step.
+         * @return <code>true</code> if content of <code>candidate</code> step is in cache.
+         */
+        private boolean isCached(String candidate, boolean previous) {
+            final CheckpointCacheKey checkpointKey = cacheKeyGenerator.generateCheckpointKey(dataSetId, preparationId,
+                    candidate, sourceType);
+            if (contentCache.has(checkpointKey)) {
+                LOGGER.debug("Checkpoint found for version '{}' (key: '{}')", candidate, checkpointKey.getKey());
+                contentKey = checkpointKey;
+                metadataKey = checkpointKey.getMetadataKey();
+                return true;
+            }
+            if (!previous) {
+                return false;
             }
-            // Get metadata of previous step
-            final TransformationMetadataCacheKey transformationMetadataCacheKey = cacheKeyGenerator.generateMetadataKey(preparationId, previousVersion, sourceType);
+            final TransformationMetadataCacheKey transformationMetadataCacheKey = cacheKeyGenerator
+                    .generateMetadataKey(preparationId, candidate, sourceType);
             if (!contentCache.has(transformationMetadataCacheKey)) {
-                LOGGER.debug("No metadata cached for previous version '{}' (key for lookup: '{}')", previousVersion,
+                LOGGER.debug("No metadata cached for previous version '{}' (key for lookup: '{}')", candidate,
                         transformationMetadataCacheKey.getKey());
-                return null;
-            }
-            try (InputStream input = contentCache.get(transformationMetadataCacheKey)) {
-                metadata = mapper.readerFor(DataSetMetadata.class).readValue(input);
+                return false;
             }
-            transformationCacheKey = cacheKeyGenerator.generateContentKey(
+            final TransformationCacheKey transformationCacheKey = cacheKeyGenerator.generateContentKey(
                     dataSetId,
                     preparationId,
-                    previousVersion,
+                    candidate,
                     formatName,
                     sourceType
             );
             LOGGER.debug("Previous content cache key: " + transformationCacheKey.getKey());
             LOGGER.debug("Previous content cache key details: " + transformationCacheKey.toString());
-            final InputStream inputStream = contentCache.get(transformationCacheKey);
-            try {
-                if (inputStream == null) {
-                    LOGGER.debug("No content cached for previous version '{}'", previousVersion);
-                    return null;
-                }
-            } finally {
-                if (inputStream != null) {
-                    inputStream.close();
-                }
+            if (!contentCache.has(transformationCacheKey)) {
+                LOGGER.debug("No content cached for previous version '{}'", candidate);
+                return false;
             }
-            return this;
+            contentKey = transformationCacheKey;
+            metadataKey = transformationMetadataCacheKey;
+            return true;
         }
     }
 
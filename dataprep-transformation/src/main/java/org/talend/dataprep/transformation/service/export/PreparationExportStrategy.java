@@ -13,11 +13,11 @@
 package org.talend.dataprep.transformation.service.export;
 
 import static org.talend.dataprep.api.export.ExportParameters.SourceType.HEAD;
+import static org.talend.dataprep.transformation.format.JsonFormat.JSON;
 
 import java.io.InputStream;
 import java.io.OutputStream;
 
-import org.apache.commons.io.output.TeeOutputStream;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,9 +25,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.row.BinaryDataSetFormat;
 import org.talend.dataprep.api.export.ExportParameters;
 import org.talend.dataprep.api.preparation.Preparation;
-import org.talend.dataprep.cache.ContentCache;
 import org.talend.dataprep.command.dataset.DataSetGet;
 import org.talend.dataprep.command.dataset.DataSetGetMetadata;
 import org.talend.dataprep.exception.TDPException;
@@ -37,11 +37,10 @@ import org.talend.dataprep.security.SecurityProxy;
 import org.talend.dataprep.transformation.api.transformer.configuration.Configuration;
 import org.talend.dataprep.transformation.cache.CacheKeyGenerator;
 import org.talend.dataprep.transformation.cache.TransformationCacheKey;
+import org.talend.dataprep.transformation.cache.TransformationCacheLoader;
 import org.talend.dataprep.transformation.service.ExportStrategy;
 import org.talend.dataprep.transformation.service.ExportUtils;
 
-import com.fasterxml.jackson.core.JsonParser;
-
 /**
  * A {@link ExportStrategy strategy} to export a preparation, using its default data set with {@link ExportParameters.SourceType HEAD} sample.
  */
@@ -56,6 +55,9 @@ public class PreparationExportStrategy extends StandardExportStrategy {
     @Autowired
     private SecurityProxy securityProxy;
 
+    @Autowired
+    private TransformationCacheLoader transformationCacheLoader;
+
     @Override
     public boolean accept(final ExportParameters parameters) {
         if (parameters == null) {
@@ -83,41 +85,40 @@ public class PreparationExportStrategy extends StandardExportStrategy {
         final Preparation preparation = getPreparation(preparationId);
         final String dataSetId = preparation.getDataSetId();
         final ExportFormat format = getFormat(parameters.getExportType());
+        // head is not allowed as step id
+        final String version = getCleanStepId(preparation, stepId);
+
+        final TransformationCacheKey key = cacheKeyGenerator.generateContentKey(
+                dataSetId,
+                preparationId,
+                version,
+                formatName,
+                parameters.getFrom(),
+                parameters.getArguments()
+        );
+        LOGGER.debug("Cache key: " + key.getKey());
+        LOGGER.debug("Cache key details: " + key.toString());
+
+        try {
+            // identical concurrent exports are computed once
+            transformationCacheLoader.load(key, JSON.equals(formatName), outputStream, cacheOutput -> {
+                // get the dataset content (in an auto-closable block to make sure it is properly closed)
+                boolean releasedIdentity = false;
+                securityProxy.asTechnicalUser(); // Allow get dataset and get dataset metadata access whatever share status is
+                final DataSetGet dataSetGet = applicationContext.getBean(DataSetGet.class, dataSetId, false, true, true);
+                final DataSetGetMetadata dataSetGetMetadata = applicationContext.getBean(DataSetGetMetadata.class, dataSetId);
+                try (InputStream datasetContent = dataSetGet.execute()) {
+                    // Create dataset
+                    final DataSet dataSet = BinaryDataSetFormat.read(datasetContent, mapper);
+                    dataSet.setMetadata(dataSetGetMetadata.execute());
+
+                    // All good, can already release identity
+                    securityProxy.releaseIdentity();
+                    releasedIdentity = true;
+
+                    // get the actions to apply (no preparation ==> dataset export ==> no actions)
+                    final String actions = getActions(preparationId, version);
 
-        // get the dataset content (in an auto-closable block to make sure it is properly closed)
-        boolean releasedIdentity = false;
-        securityProxy.asTechnicalUser(); // Allow get dataset and get dataset metadata access whatever share status is
-        final DataSetGet dataSetGet = applicationContext.getBean(DataSetGet.class, dataSetId, false, true);
-        final DataSetGetMetadata dataSetGetMetadata = applicationContext.getBean(DataSetGetMetadata.class, dataSetId);
-        try (InputStream datasetContent = dataSetGet.execute()) {
-            try (JsonParser parser = mapper.getFactory().createParser(datasetContent)) {
-                // head is not allowed as step id
-                final String version = getCleanStepId(preparation, stepId);
-
-                // Create dataset
-                final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
-                dataSet.setMetadata(dataSetGetMetadata.execute());
-
-                // All good, can already release identity
-                securityProxy.releaseIdentity();
-                releasedIdentity = true;
-
-                // get the actions to apply (no preparation ==> dataset export ==> no actions)
-                final String actions = getActions(preparationId, version);
-
-                final TransformationCacheKey key = cacheKeyGenerator.generateContentKey(
-                        dataSetId,
-                        preparationId,
-                        version,
-                        formatName,
-                        parameters.getFrom(),
-                        parameters.getArguments()
-                );
-                LOGGER.debug("Cache key: " + key.getKey());
-                LOGGER.debug("Cache key details: " + key.toString());
-
-                try (final TeeOutputStream tee = new TeeOutputStream(outputStream,
-                        contentCache.put(key, ContentCache.TimeToLive.DEFAULT))) {
                     final Configuration configuration = Configuration.builder() //
                             .args(parameters.getArguments()) //
                             .outFilter(rm -> filterService.build(parameters.getFilter(), rm)) //
@@ -127,23 +128,21 @@ public class PreparationExportStrategy extends StandardExportStrategy {
                             .preparation(getPreparation(preparationId)) //
                             .stepId(version) //
                             .volume(Configuration.Volume.SMALL) //
-                            .output(tee) //
+                            .output(outputStream) //
+                            .cacheOutput(cacheOutput) //
                             .build();
                     factory.get(configuration).transform(dataSet, configuration);
-                    tee.flush();
-                } catch (Throwable e) { // NOSONAR
-                    contentCache.evict(key);
-                    throw e;
+                    outputStream.flush();
+                } finally {
+                    if (!releasedIdentity) {
+                        securityProxy.releaseIdentity(); // Release identity in case of error.
+                    }
                 }
-            }
+            });
         } catch (TDPException e) {
             throw e;
         } catch (Exception e) {
             throw new TDPException(TransformationErrorCodes.UNABLE_TO_TRANSFORM_DATASET, e);
-        } finally {
-            if (!releasedIdentity) {
-                securityProxy.releaseIdentity(); // Release identity in case of error.
-            }
         }
     }
 }
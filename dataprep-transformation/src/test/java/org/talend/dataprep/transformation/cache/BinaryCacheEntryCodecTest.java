@@ -0,0 +1,157 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit test for the BinaryCacheEntryCodec.
+ *
+ * @see BinaryCacheEntryCodec
+ */
+public class BinaryCacheEntryCodecTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private BinaryCacheEntryCodec codec(boolean compression) {
+        final BinaryCacheEntryCodec codec = new BinaryCacheEntryCodec();
+        ReflectionTestUtils.setField(codec, "mapper", mapper);
+        ReflectionTestUtils.setField(codec, "compression", compression);
+        return codec;
+    }
+
+    private byte[] write(BinaryCacheEntryCodec codec) throws Exception {
+        final List<DataSetRow> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final Map<String, String> values = new HashMap<>();
+            values.put("0000", "value" + i);
+            values.put("0001", "other");
+            final DataSetRow row = new DataSetRow(new RowMetadata(), values);
+            row.setTdpId((long) i + 1);
+            rows.add(row);
+        }
+        return write(codec, rows);
+    }
+
+    private byte[] write(BinaryCacheEntryCodec codec, List<DataSetRow> rows) throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final TransformerWriter writer = codec.writer(output);
+        // same sequence as WriterNode
+        writer.startObject();
+        writer.fieldName("records");
+        writer.startArray();
+        for (DataSetRow row : rows) {
+            writer.write(row);
+        }
+        writer.endArray();
+        writer.fieldName("metadata");
+        writer.startObject();
+        writer.fieldName("columns");
+        writer.write(new RowMetadata());
+        writer.endObject();
+        writer.endObject();
+        writer.flush();
+        return output.toByteArray();
+    }
+
+    @Test
+    public void shouldReadWrittenRows() throws Exception {
+        for (boolean compression : new boolean[] { true, false }) {
+            // given
+            final BinaryCacheEntryCodec codec = codec(compression);
+            final byte[] content = write(codec);
+
+            // when
+            final List<String> values = codec.read(new ByteArrayInputStream(content)).getRecords() //
+                    .map(r -> r.getTdpId() + ":" + r.get("0000") + ":" + r.get("0001")) //
+                    .collect(Collectors.toList());
+
+            // then
+            assertEquals(3, values.size());
+            assertEquals("1:value0:other", values.get(0));
+            assertEquals("3:value2:other", values.get(2));
+        }
+    }
+
+    @Test
+    public void shouldConvertToJson() throws Exception {
+        // given
+        final BinaryCacheEntryCodec codec = codec(true);
+        final byte[] content = write(codec);
+
+        // when
+        final ByteArrayOutputStream json = new ByteArrayOutputStream();
+        codec.toJson(new ByteArrayInputStream(content), json);
+
+        // then
+        final JsonNode node = mapper.readTree(json.toByteArray());
+        assertEquals(3, node.get("records").size());
+        assertEquals("value1", node.get("records").get(1).get("0000").asText());
+        assertEquals(2, node.get("records").get(1).get("tdpId").asLong());
+        assertEquals(0, node.get("metadata").get("columns").size());
+    }
+
+    @Test
+    public void shouldKeepRowFlags() throws Exception {
+        // given
+        final Map<String, String> values = new HashMap<>();
+        values.put("0000", "new value");
+        values.put("0001", "invalid");
+        final DataSetRow row = new DataSetRow(new RowMetadata(), values);
+        row.setTdpId(7L);
+        row.setInvalid("0001");
+        final Map<String, String> oldValues = new HashMap<>(values);
+        oldValues.put("0000", "old value");
+        row.diff(new DataSetRow(new RowMetadata(), oldValues));
+        final JsonNode expected = mapper.valueToTree(row.valuesWithId());
+
+        for (boolean compression : new boolean[] { true, false }) {
+            final BinaryCacheEntryCodec codec = codec(compression);
+            final byte[] content = write(codec, Collections.singletonList(row));
+
+            // when
+            final ByteArrayOutputStream json = new ByteArrayOutputStream();
+            codec.toJson(new ByteArrayInputStream(content), json);
+            final DataSetRow read = codec.read(new ByteArrayInputStream(content)).getRecords().findFirst().get();
+
+            // then
+            assertEquals(expected, mapper.readTree(json.toByteArray()).get("records").get(0));
+            assertEquals("update", expected.get("__tdpDiff").get("0000").asText());
+            assertEquals("new value", read.get("0000"));
+            assertTrue(read.isInvalid("0001"));
+            assertFalse(read.isInvalid("0000"));
+            assertEquals(7L, (long) read.getTdpId());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.talend.ServiceBaseTest;
+import org.talend.dataprep.api.export.ExportParameters;
+import org.talend.dataprep.cache.ContentCache;
+
+public class TransformationCacheLoaderTest extends ServiceBaseTest {
+
+    @Autowired
+    private TransformationCacheLoader loader;
+
+    @Autowired
+    private CacheKeyGenerator cacheKeyGenerator;
+
+    @Autowired
+    private ContentCache cache;
+
+    @Test
+    public void shouldTransformOnceForConcurrentRequests() throws Exception {
+        // given
+        final TransformationCacheKey key = cacheKeyGenerator.generateContentKey("dataset", "preparation", "step", "text",
+                ExportParameters.SourceType.HEAD);
+        final AtomicInteger transformations = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final TransformationCacheLoader.Transformation transformation = cacheOutput -> {
+            transformations.incrementAndGet();
+            started.countDown();
+            release.await();
+            cacheOutput.write("content".getBytes());
+        };
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // when
+            final Future<?> firstRequest = executor.submit(() -> {
+                loader.load(key, false, first, cacheOutput -> {
+                    transformation.transform(cacheOutput);
+                    first.write("content".getBytes());
+                });
+                return null;
+            });
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            final Future<?> secondRequest = executor.submit(() -> {
+                loader.load(key, false, second, transformation);
+                return null;
+            });
+            release.countDown();
+            firstRequest.get(10, TimeUnit.SECONDS);
+            secondRequest.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        assertThat(transformations.get(), is(1));
+        assertThat(first.toString(), is("content"));
+        assertThat(second.toString(), is("content"));
+        assertTrue(cache.has(key));
+    }
+
+    @Test
+    public void shouldTransformAgainWhenFirstTransformationFails() throws Exception {
+        // given
+        final TransformationCacheKey key = cacheKeyGenerator.generateContentKey("dataset", "preparation", "step2", "text",
+                ExportParameters.SourceType.HEAD);
+        try {
+            loader.load(key, false, new ByteArrayOutputStream(), cacheOutput -> {
+                throw new IllegalStateException("on purpose");
+            });
+            fail("transformation should fail");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        // when
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        loader.load(key, false, output, cacheOutput -> {
+            cacheOutput.write("content".getBytes());
+            output.write("content".getBytes());
+        });
+
+        // then
+        assertThat(output.toString(), is("content"));
+        assertTrue(cache.has(key));
+    }
+}
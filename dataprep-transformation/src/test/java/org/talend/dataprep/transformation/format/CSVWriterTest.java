@@ -124,4 +124,48 @@ public class CSVWriterTest extends BaseFormatTest {
         assertThat(outputStream.toString()).isEqualTo(expectedCsv);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void write_should_stream_rows_when_header_is_known() throws Exception {
+        // given
+        final ColumnMetadata column1 = ColumnMetadata.Builder.column().id(1).name("id").type(Type.STRING).build();
+        final ColumnMetadata column2 = ColumnMetadata.Builder.column().id(2).name("firstname").type(Type.STRING).build();
+        final RowMetadata rowMetadata = new RowMetadata(Arrays.asList(column1, column2));
+
+        final DataSetRow row = new DataSetRow(Collections.emptyMap());
+        row.set("0001", "64a5456ac148b64524ef165");
+        row.set("0002", "Superman");
+
+        // when
+        writer.writeHeader(rowMetadata);
+        writer.write(row);
+        writer.write(rowMetadata);
+        writer.flush();
+
+        // then
+        final String expectedCsv = "\"id\";\"firstname\"\n" + "\"64a5456ac148b64524ef165\";\"Superman\"\n";
+        assertThat(outputStream.toString()).isEqualTo(expectedCsv);
+    }
+
+    @Test
+    public void write_should_ignore_header_when_rows_are_buffered() throws Exception {
+        // given
+        final ColumnMetadata column1 = ColumnMetadata.Builder.column().id(1).name("id").type(Type.STRING).build();
+        final ColumnMetadata column2 = ColumnMetadata.Builder.column().id(2).name("firstname").type(Type.STRING).build();
+        final RowMetadata rowMetadata = new RowMetadata(Arrays.asList(column1, column2));
+
+        final DataSetRow row = new DataSetRow(Collections.emptyMap());
+        row.set("0001", "64a5456ac148b64524ef165");
+        row.set("0002", "Superman");
+
+        // when
+        writer.write(row);
+        writer.writeHeader(rowMetadata);
+        writer.write(rowMetadata);
+        writer.flush();
+
+        // then
+        final String expectedCsv = "\"id\";\"firstname\"\n" + "\"64a5456ac148b64524ef165\";\"Superman\"\n";
+        assertThat(outputStream.toString()).isEqualTo(expectedCsv);
+    }
+
+}
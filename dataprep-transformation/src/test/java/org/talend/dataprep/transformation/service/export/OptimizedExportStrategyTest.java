@@ -12,6 +12,8 @@
 
 package org.talend.dataprep.transformation.service.export;
 
+import static com.jayway.restassured.RestAssured.given;
+import static java.util.Collections.singletonMap;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.talend.dataprep.api.export.ExportParameters.SourceType.HEAD;
@@ -24,14 +26,20 @@ import org.junit.Ignore;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.export.ExportParameters;
 import org.talend.dataprep.api.preparation.Preparation;
 import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.cache.ContentCache;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.preparation.store.PreparationRepository;
+import org.talend.dataprep.transformation.cache.CacheEntryCodec;
 import org.talend.dataprep.transformation.cache.CacheKeyGenerator;
+import org.talend.dataprep.transformation.cache.CheckpointCacheKey;
 import org.talend.dataprep.transformation.cache.TransformationCacheKey;
+import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataprep.transformation.pipeline.model.CheckpointNode;
 import org.talend.dataprep.transformation.service.TransformationServiceBaseTest;
 
 public class OptimizedExportStrategyTest extends TransformationServiceBaseTest {
@@ -52,6 +60,9 @@ public class OptimizedExportStrategyTest extends TransformationServiceBaseTest {
     @Autowired
     CacheKeyGenerator cacheKeyGenerator;
 
+    @Autowired
+    CacheEntryCodec cacheEntryCodec;
+
     @Test
     public void testAcceptNullParameters() throws Exception {
         assertFalse(optimizedExportStrategy.accept(null));
@@ -175,6 +186,127 @@ public class OptimizedExportStrategyTest extends TransformationServiceBaseTest {
         assertTrue(optimizedExportStrategy.accept(exportParameters));
     }
 
+    @Test
+    public void testAcceptOK_withCachedAncestor() throws Exception {
+        // Given
+        final String datasetId = "1234";
+        final String format = "";
+        final String preparation = createEmptyPreparationFromDataset(datasetId, "test");
+        applyAction(preparation, "[{}]");
+        applyAction(preparation, "[{}]");
+        applyAction(preparation, "[{}]");
+
+        // only first step (after root step) has a checkpoint
+        final Step firstStep = getPreparation(preparation).getSteps().get(1);
+        final CheckpointCacheKey key = cacheKeyGenerator.generateCheckpointKey(datasetId, preparation, firstStep.id(), HEAD);
+        try (OutputStream content = contentCache.put(key.getMetadataKey(), ContentCache.TimeToLive.DEFAULT)) {
+            content.write("{}".getBytes());
+            content.flush();
+        }
+        try (OutputStream content = contentCache.put(key, ContentCache.TimeToLive.DEFAULT)) {
+            content.write("{}".getBytes());
+            content.flush();
+        }
+
+        ExportParameters exportParameters = new ExportParameters();
+        exportParameters.setPreparationId(preparation);
+        exportParameters.setDatasetId(datasetId);
+        exportParameters.setExportType(format);
+        exportParameters.setFrom(HEAD);
+
+        // Then
+        assertTrue(optimizedExportStrategy.accept(exportParameters));
+    }
+
+    @Test
+    public void testAcceptKO_withEvictedCheckpoint() throws Exception {
+        // Given
+        final String datasetId = "1234";
+        final String preparation = createEmptyPreparationFromDataset(datasetId, "test");
+        applyAction(preparation, "[{}]");
+        applyAction(preparation, "[{}]");
+        applyAction(preparation, "[{}]");
+
+        final Step firstStep = getPreparation(preparation).getSteps().get(1);
+        final CheckpointCacheKey key = cacheKeyGenerator.generateCheckpointKey(datasetId, preparation, firstStep.id(), HEAD);
+        final CheckpointNode checkpoint = new CheckpointNode(contentCache, cacheEntryCodec, key);
+        checkpoint.receive(new DataSetRow(singletonMap("0000", "a")), new RowMetadata());
+        checkpoint.signal(Signal.END_OF_STREAM);
+
+        ExportParameters exportParameters = new ExportParameters();
+        exportParameters.setPreparationId(preparation);
+        exportParameters.setDatasetId(datasetId);
+        exportParameters.setExportType("");
+        exportParameters.setFrom(HEAD);
+        assertTrue(optimizedExportStrategy.accept(exportParameters));
+
+        // When
+        given() //
+                .expect().statusCode(200).log().ifError()//
+                .when() //
+                .delete("/preparation/{preparationId}/cache", preparation) //
+                .asString();
+
+        // Then (no checkpoint to resume from: content is computed again from data set)
+        assertFalse(contentCache.has(key));
+        assertFalse(contentCache.has(key.getMetadataKey()));
+        assertFalse(optimizedExportStrategy.accept(exportParameters));
+    }
+
+    @Test
+    public void testCheckpointOnlyAvailableOnceComplete() throws Exception {
+        // Given
+        final CheckpointCacheKey key = cacheKeyGenerator.generateCheckpointKey("1234", "prepId", "step1", HEAD);
+        final CheckpointNode checkpoint = new CheckpointNode(contentCache, cacheEntryCodec, key);
+
+        // When
+        checkpoint.receive(new DataSetRow(singletonMap("0000", "a")), new RowMetadata());
+
+        // Then
+        assertFalse(contentCache.has(key));
+        checkpoint.signal(Signal.END_OF_STREAM);
+        assertTrue(contentCache.has(key));
+        assertTrue(contentCache.has(key.getMetadataKey()));
+    }
+
+    @Test
+    public void testAcceptKO_withCachedAncestorResult() throws Exception {
+        // Given
+        final String datasetId = "1234";
+        final String format = "";
+        final String preparation = createEmptyPreparationFromDataset(datasetId, "test");
+        applyAction(preparation, "[{}]");
+        applyAction(preparation, "[{}]");
+        applyAction(preparation, "[{}]");
+
+        // first step (after root step) has a transformation result in cache, but no checkpoint
+        final Step firstStep = getPreparation(preparation).getSteps().get(1);
+        try (OutputStream content = contentCache.put(cacheKeyGenerator.generateMetadataKey(preparation, firstStep.id(), HEAD), ContentCache.TimeToLive.DEFAULT)) {
+            content.write("{}".getBytes());
+            content.flush();
+        }
+        final TransformationCacheKey key = cacheKeyGenerator.generateContentKey(
+                datasetId,
+                preparation,
+                firstStep.id(),
+                format,
+                HEAD
+        );
+        try (OutputStream content = contentCache.put(key, ContentCache.TimeToLive.DEFAULT)) {
+            content.write("{}".getBytes());
+            content.flush();
+        }
+
+        ExportParameters exportParameters = new ExportParameters();
+        exportParameters.setPreparationId(preparation);
+        exportParameters.setDatasetId(datasetId);
+        exportParameters.setExportType(format);
+        exportParameters.setFrom(HEAD);
+
+        // Then
+        assertFalse(optimizedExportStrategy.accept(exportParameters));
+    }
+
     @Test
     public void testExecute() throws Exception {
         // Given